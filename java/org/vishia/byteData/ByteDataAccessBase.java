@@ -1,6 +1,8 @@
 package org.vishia.byteData;
 
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 
@@ -152,6 +154,11 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   
   /**The version, history and license. 
    * <ul>
+   * <li>2026-10-18 Hartmut new: {@link #assignBuffer(ByteBuffer, int, int)} to access a direct {@link ByteBuffer},
+   *   for example a receive buffer of a {@link java.nio.channels.DatagramChannel} or a {@link java.nio.MappedByteBuffer} of a file,
+   *   without copying to a byte[]. Then {@link #data} is null and {@link #buffer} is used. The access routines for 2, 4 and 8 bytes
+   *   use the absolute getShort/getInt/getLong of the buffer, the endian is adjusted with reverseBytes.
+   * <li>2026-10-18 Hartmut bugfix: {@link #_setLong(int, int, long)} for {@link #setLittleEndianBig2()} has not regarded the {@link #ixBegin} of a child.
    * <li>2022-09-26 Hartmut new {@link #setLittleEndianBig2()} necessary if there is little endian for data, but big endian only for 16 bit image.
    * <li>2018-12-27 Hartmut new {@link #upcast(ByteDataAccessBase, int)} replaces the {@link #assignCasted(ByteDataAccessBase, int, int)}. Problems detect on usage of assignCasted:
    *   The cast of a child should influence the parent because the next {@link #addChild(ByteDataAccessBase)} should regard the casting operation. The casting is regarded
@@ -237,7 +244,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
    * 
    * 
    */
-  public final static String version = "2018-09-18";
+  public final static String version = "2026-10-18";
   
   
   
@@ -250,6 +257,17 @@ public class ByteDataAccessBase implements InfoFormattedAppend
    * may be changed or held more flexible for newer versions. The usage should not deal with this reference immediately.
    * Use addChild etc. to adapt to data. */
   protected @Java4C.PtrVal byte[] data;
+
+  /**The direct buffer if assigned with {@link #assignBuffer(ByteBuffer, int, int)}, then {@link #data} is null. It is null if a byte[] is assigned.
+   * It is a duplicate of the given buffer in native byte order, only absolute access is used.
+   * The position and limit of the user's buffer are not changed therefore.
+   */
+  @Java4C.Exclude
+  protected ByteBuffer buffer;
+
+  /**true if the native order of the {@link #buffer} is big endian. Then bytes are reversed for little endian access. */
+  @Java4C.Exclude
+  private static final boolean bNativeBigEndian = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
   
   /**Index of the beginning of the actual element in data*/
   private int ixBegin;
@@ -387,6 +405,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.NoStackTrace 
   protected final long _getLong(final int idxInChild, final int nrofBytesAndSign)
   { if(!checkData()) { return 0; }
+    if(this.data == null) { return _getLongBuffer(ixBegin + idxInChild, nrofBytesAndSign, bLittleEndianBig2); }
     long val = 0;
     int idxStep;
     int idx;
@@ -454,6 +473,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.NoStackTrace 
   protected final int _getInt(final int idxInChild, final int nrofBytesAndSign)
   { if(!checkData()) { return 0; }
+    if(this.data == null) { return (int)_getLongBuffer(ixBegin + idxInChild, nrofBytesAndSign, bLittleEndianBig2); }
     int val = 0;
     int idxStep;
     int idx;
@@ -518,10 +538,11 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.NoStackTrace 
   protected final void _setLong(int idx, int nrofBytes, long val)
   { if(!checkData()) { return; }
+    if(this.data == null) { _setLongBuffer(ixBegin + idx, nrofBytes, val, bLittleEndianBig2); return; }
     int idx1, nrofBytes1 = nrofBytes; long val1 = val;  //prevent change of parameters, use register internally.
     int idxStep;
     if(bLittleEndianBig2) {
-      idx1 = idx;
+      idx1 = ixBegin + idx;
       nrofBytes1 = nrofBytes; 
       while(nrofBytes1 >=2) {
         nrofBytes1 -=2;
@@ -564,6 +585,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.NoStackTrace 
   protected final void _setInt(int idx, int nrofBytes, int val)
   { if(!checkData()) { return; }
+    if(this.data == null) { _setLongBuffer(ixBegin + idx, nrofBytes, val, false); return; }
     int idx1, nrofBytes1 = nrofBytes, val1 = val;  //prevent change of parameters, use register internally.
     int idxStep;
     if(bBigEndian)
@@ -585,6 +607,113 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   
   
 
+  /**Variant of {@link #_getLong(int, int)} for the {@link #buffer}.
+   * For 2, 4 and 8 bytes the absolute getShort/getInt/getLong of the buffer is used, which reads the value at once
+   * for a direct buffer. The endian is adjusted with reverseBytes.
+   * @param ix absolute position in the buffer
+   * @param nrofBytesAndSign see {@link #_getLong(int, int)}
+   * @param bBig2 true then 16 bit words in big endian, the words in little endian, see {@link #setLittleEndianBig2()}
+   */
+  @Java4C.Exclude
+  private final long _getLongBuffer(final int ix, final int nrofBytesAndSign, final boolean bBig2)
+  { final int nrofBytes = nrofBytesAndSign >=0 ? nrofBytesAndSign : -nrofBytesAndSign;
+    final boolean bSwap = bBigEndian != bNativeBigEndian;
+    final ByteBuffer buffer = this.buffer;
+    long val = 0;
+    if(bBig2 && nrofBytes != 2) {   //Note: for 1 byte it returns 0 adequate to _getLong(...)
+      for(int ix1 = ix + nrofBytes -2; ix1 >= ix; ix1 -=2) { //the 16 bit words as big endian, the last one is the high word
+        val = (val<<16) | ((buffer.get(ix1)<<8) & 0x00ff00) | (buffer.get(ix1+1) & 0xff);
+      }
+    } else {
+      switch(nrofBytes) {
+        case 8: { long val1 = buffer.getLong(ix); val = bSwap ? Long.reverseBytes(val1) : val1; } break;
+        case 4: { int val1 = buffer.getInt(ix); val = (bSwap ? Integer.reverseBytes(val1) : val1) & 0xffffffffL; } break;
+        case 2: { short val1 = buffer.getShort(ix); val = (bSwap ? Short.reverseBytes(val1) : val1) & 0xffffL; } break;
+        case 1: val = buffer.get(ix) & 0xffL; break;
+        default: {
+          for(int ii = 0; ii < nrofBytes; ++ii) {
+            val = (val<<8) | (buffer.get(bBigEndian ? ix + ii : ix + nrofBytes -1 - ii) & 0xffL);
+          }
+        }
+      }
+    }
+    if(nrofBytesAndSign < 0 && nrofBytes < 8) {
+      int shift = 64 - 8 * nrofBytes;
+      val = (val << shift) >> shift;     //supplement the sign bits.
+    }
+    return val;
+  }
+
+
+
+  /**Variant of {@link #_setLong(int, int, long)} for the {@link #buffer}, see {@link #_getLongBuffer(int, int, boolean)}.
+   * @param ix absolute position in the buffer
+   */
+  @Java4C.Exclude
+  private final void _setLongBuffer(final int ix, final int nrofBytes, final long val, final boolean bBig2)
+  { final boolean bSwap = bBigEndian != bNativeBigEndian;
+    final ByteBuffer buffer = this.buffer;
+    if(bBig2 && nrofBytes > 2) {
+      int ix1 = ix; long val1 = val;
+      for(int nrofBytes1 = nrofBytes; nrofBytes1 >0; nrofBytes1 -=2) {
+        if(nrofBytes1 ==1) {
+          buffer.put(ix1, (byte)(val1));    // the only one byte on end
+        } else {
+          buffer.put(ix1++, (byte)(val1>>8)); //write 16 bit as big endian
+          buffer.put(ix1++, (byte)(val1));
+          val1 >>=16;                        // next words little endian after it.
+        }
+      }
+    } else {
+      switch(nrofBytes) {
+        case 8: buffer.putLong(ix, bSwap ? Long.reverseBytes(val) : val); break;
+        case 4: buffer.putInt(ix, bSwap ? Integer.reverseBytes((int)val) : (int)val); break;
+        case 2: buffer.putShort(ix, bSwap ? Short.reverseBytes((short)val) : (short)val); break;
+        case 1: buffer.put(ix, (byte)val); break;
+        default: {
+          long val1 = val;
+          for(int ii = nrofBytes -1; ii >=0; --ii) {
+            buffer.put(bBigEndian ? ix + ii : ix + nrofBytes -1 - ii, (byte)val1);
+            val1 >>=8;
+          }
+        }
+      }
+    }
+  }
+
+
+
+  /**Copies bytes from the {@link #buffer}, used for Strings and debug outputs.
+   * @param ix absolute position in the buffer
+   */
+  @Java4C.Exclude
+  private final byte[] bytesFromBuffer(int ix, int nrofBytes)
+  { byte[] dst = new byte[nrofBytes];
+    ByteBuffer buffer1 = this.buffer.duplicate();
+    buffer1.position(ix);
+    buffer1.get(dst);
+    return dst;
+  }
+
+
+
+  /**Sets one byte either in {@link #data} or in the {@link #buffer}.
+   * @param ix absolute position
+   */
+  private final void setByte(int ix, byte value)
+  { if(this.data !=null) { this.data[ix] = value; }
+    else { this.buffer.put(ix, value); }
+  }
+
+
+
+  /**Returns the length of the {@link #data} or the limit of the {@link #buffer}, 0 if nothing is assigned. */
+  private final int lengthData()
+  { return this.data !=null ? this.data.length : this.buffer !=null ? this.buffer.limit() : 0;
+  }
+
+
+
   /**Increments the {@link #ixNextChild} and/or increments the ixEnd of this and all parents.
    * It is called if a new child is added inside method addChild(child) and recursively to correct
    * in all parents. It is called for {@link #setLengthElement(int)}
@@ -595,8 +724,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   private final void _expand(int ixNextChildNew, int ixEndNew)
   { assert(ixEndNew < 0 || ixEndNew >= ixBegin + sizeHead);
     if(!checkData()) { return; }
-    if(ixEndNew > data.length){
-      throw new IllegalArgumentException("child long as data, data.length= " + data.length + ", ixChildEndNew= " + ixEndNew);
+    if(ixEndNew > lengthData()){
+      throw new IllegalArgumentException("child long as data, data.length= " + lengthData() + ", ixChildEndNew= " + ixEndNew);
     }
     if(bExpand) {
       if(ixEnd < ixEndNew) { 
@@ -704,6 +833,43 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     }
   } 
   
+  /**Assigns a ByteBuffer to this element, adequate {@link #assign(byte[], int, int)}.
+   * It is especially for a direct buffer, for example the receive buffer of a {@link java.nio.channels.DatagramChannel}
+   * or a {@link java.nio.MappedByteBuffer} of a capture file: The data are accessed immediately in the buffer without copying.
+   * If the buffer has an accessible array (heap buffer) then this array is assigned as {@link #data} regarding the {@link ByteBuffer#arrayOffset()}.
+   * <br>
+   * The position, limit and byte order of the given buffer are not changed, the access uses absolute indices.
+   * The endian is determined by {@link #setBigEndian(boolean)} as usual, not by the order of the buffer.
+   * @param bufferP The buffer. The limit is the length of data.
+   * @param lengthData see {@link #assign(byte[], int, int)}
+   * @param index Start position in the buffer, often 0.
+   * @throws IllegalArgumentException if the buffer is shorter than index + lengthData
+   */
+  @Java4C.Exclude
+  public final void assignBuffer(ByteBuffer bufferP, int lengthData, int index)
+  throws IllegalArgumentException
+  { if(bufferP.hasArray()) {
+      assign(bufferP.array(), lengthData, bufferP.arrayOffset() + index);
+      //Note: the ixBegin is related to the array, it is the same as the index for a not sliced buffer.
+    } else {
+      assign((byte[])null, lengthData, index);  //sets all indices, data remains null
+      this.buffer = bufferP.duplicate().order(ByteOrder.nativeOrder());
+      if(this.ixEnd > this.buffer.limit())
+      { throw new IllegalArgumentException("not enough data bytes, requested=" + ixEnd + ", buffer-limit=" + this.buffer.limit());
+      }
+    }
+  }
+
+
+
+  /**Assigns the remaining bytes of the buffer, from its position to its limit,
+   * for example a received telegram after {@link ByteBuffer#flip()}. See {@link #assignBuffer(ByteBuffer, int, int)}.
+   */
+  @Java4C.Exclude
+  public final void assignBuffer(ByteBuffer bufferP){ assignBuffer(bufferP, bufferP.remaining(), bufferP.position()); }
+
+
+
   /**Initializes a top level instance, the data will be cleared, set to 0, overall.
    * <br>
    * If this instance is using before, its connection to an other parent is dissolved.
@@ -792,6 +958,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   final protected void assignCasted(ByteDataAccessBase src, int offsetCastToInput, int lengthDst)
   throws IllegalArgumentException
   { assign(src.data(), lengthDst, src.ixBegin + offsetCastToInput);
+    this.buffer = src.buffer;
     bExpand = src.bExpand;
     bBigEndian = src.bBigEndian;
     this.bLittleEndianBig2 = src.bLittleEndianBig2;
@@ -807,6 +974,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   
   final private void copyStdValues(ByteDataAccessBase src) {
     this.data = src.data;
+    this.buffer = src.buffer;
     this.bExpand = src.bExpand;
     this.bExc = src.bExc;
     this.bBigEndian = src.bBigEndian;
@@ -886,18 +1054,30 @@ public class ByteDataAccessBase implements InfoFormattedAppend
 
 
 
-  /**Gets the data from parent if {@link #data} == null 
+  /**Returns the direct buffer if assigned with {@link #assignBuffer(ByteBuffer, int, int)}.
+   * @return null if a byte[] is assigned, then {@link #getData()} returns it.
+   */
+  @Java4C.Exclude
+  public final ByteBuffer getByteBuffer()
+  { getData(99);
+    return this.buffer;
+  }
+
+
+
+  /**Gets the data from parent if {@link #data} == null, also the {@link #buffer}.
    * @param recursion if <0 ends and call {@link #throwexc(String, int)}
-   * @return data, maybe null if all parents have null.
+   * @return data, maybe null if all parents have null or a {@link #buffer} is used.
    * @since 2018-09
    */
   private final byte[] getData(int recursion)
-  { if(this.data == null && parent !=null) {
+  { if(this.data == null && this.buffer == null && parent !=null) {
       if(--recursion <0) {
         throwexc("too many recursions in parent relation",0);
         return null;
       }
       this.data = parent.getData(recursion-1);
+      this.buffer = parent.buffer;
       this.bBigEndian = parent.bBigEndian;
       this.bLittleEndianBig2 = parent.bLittleEndianBig2;
     }
@@ -978,7 +1158,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.Retinline
   final public int getMaxNrofBytes()
   { if(!checkData()) { return 0; }
-    if(bExpand) return data.length - ixBegin;
+    if(bExpand) return lengthData() - ixBegin;
     else return ixEnd - ixBegin;
   }
 
@@ -1037,7 +1217,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.Inline
   public final void clearHead(){
     if(!checkData()) { return; }
-    Arrays.fill(data, ixBegin, ixBegin + sizeHead, (byte)0);
+    if(data == null) { for(int ix = ixBegin; ix < ixBegin + sizeHead; ++ix) { buffer.put(ix, (byte)0); } }
+    else { Arrays.fill(data, ixBegin, ixBegin + sizeHead, (byte)0); }
   }
 
 
@@ -1050,13 +1231,14 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.Inline
   public final void clearData(){
     if(!checkData()) { return; }
-    Arrays.fill(data, ixBegin, ixEnd, (byte)0);
+    if(data == null) { for(int ix = ixBegin; ix < ixEnd; ++ix) { buffer.put(ix, (byte)0); } }
+    else { Arrays.fill(data, ixBegin, ixEnd, (byte)0); }
   }
 
 
   @Java4C.Retinline
   final public boolean isInUse()
-  { return data() !=null;
+  { return data() !=null || buffer !=null;
   }
 
   
@@ -1093,7 +1275,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.Retinline
   final public int getMaxNrofBytesForNextChild() throws IllegalArgumentException
   { if(!checkData()) { return 0; }
-    return (bExpand ? data.length : ixEnd) - ixNextChild;
+    return (bExpand ? lengthData() : ixEnd) - ixNextChild;
   }
 
 
@@ -1159,6 +1341,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     child.bExc = bExc;
     child.bExpand = bExpand;
     child.data = this.data;
+    child.buffer = this.buffer;
     child.parent = this;
     child.charset = this.charset;
     child.ixNextChild = child.ixBegin + child.sizeHead;  //the child does not contain grand children.
@@ -1214,6 +1397,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     if(!checkData()) { return; }
     if(child.parent !=null && child.parent.currChild == child){ child.parent.currChild = null; } //detatch
     child.data = data;
+    child.buffer = buffer;
     int idxBegin = this.ixBegin + idxChild;
     child.ixBegin = idxBegin;
     child.ixBeginLocal = idxChild;
@@ -1352,7 +1536,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     //NOTE: to read from idxInChild = 0, build the difference as shown:
     for(int ii=0; ii<nrofBytes; ++ii){
       byte charByte = (byte)(valueCs.charAt(ii));  //TODO encoding
-      data[ixChild1+ii] = charByte;
+      setByte(ixChild1+ii, charByte);
     }
     return true;
   }
@@ -1570,6 +1754,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
       currChild = null;  //necessary if currentChild don't refers this parent because any error before.
     }
     data = null;
+    buffer = null;
     parent = null;
     ixBegin = ixEnd = 0;
     //don't change ixBeginLocal.
@@ -1618,10 +1803,17 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     if(len > (this.ixEnd - this.ixBegin)) {
       len = this.ixEnd - this.ixBegin;
     }
-    if(data.length < this.ixBegin + len){
+    if(lengthData() < this.ixBegin + len){
       throwexc("copy, dst to small", len);
     }
-    System.arraycopy(src.data,src.ixBegin,data,ixBegin,len);
+    if(data !=null && src.data !=null) {
+      System.arraycopy(src.data,src.ixBegin,data,ixBegin,len);
+    } else { //any of them uses a buffer
+      byte[] srcData = src.data !=null ? src.data : src.bytesFromBuffer(src.ixBegin, len);
+      int ixSrc = src.data !=null ? src.ixBegin : 0;
+      if(data !=null) { System.arraycopy(srcData, ixSrc, data, ixBegin, len); }
+      else { ByteBuffer dst = buffer.duplicate(); dst.position(ixBegin); dst.put(srcData, ixSrc, len); }
+    }
   }
 
 
@@ -1660,7 +1852,12 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   { if(!checkData()) { return null; }
     int idxData = idx + ixBegin;
     int idxEnd1 = idxData + nrofBytes;
-    assert(idxEnd1 <= ixEnd && idxEnd1 <= data.length);
+    assert(idxEnd1 <= ixEnd && idxEnd1 <= lengthData());
+    byte[] data = this.data;
+    if(data == null) {              //buffer: copy only the bytes of the String.
+      data = bytesFromBuffer(idxData, nrofBytes);
+      idxData = 0; idxEnd1 = nrofBytes;
+    }
     while( data[--idxEnd1] ==0 && idxEnd1 > idxData);  //skip 0 character on end
     int len = idxEnd1 +1 - idxData; //resulting len without 0-character.
     String value;
@@ -1689,7 +1886,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     catch (UnsupportedEncodingException e){ byteRepresentation = null; }
     int len = byteRepresentation.length;
     if(len > nmax){ len = nmax; } //truncate.
-    System.arraycopy(byteRepresentation, 0, data, ixBegin + idx, len);
+    if(data == null) { ByteBuffer dst = buffer.duplicate(); dst.position(ixBegin + idx); dst.put(byteRepresentation, 0, len); }
+    else { System.arraycopy(byteRepresentation, 0, data, ixBegin + idx, len); }
     return len;
   }
   
@@ -1726,11 +1924,11 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     for(int ii=0; ii < srcLen; ++ii)
     { byte cc = chars[ii];
       if(preventCtrlChars && cc < 0x20){ cc = 0x3f; } //'?' in ASCII
-      data[idxData++] = cc;
+      setByte(idxData++, cc);
     }
     //fill up the rest of the string with 0-chars. 
     while(idxData < idxEnd)
-    { data[idxData++] = 0;
+    { setByte(idxData++, (byte)0);
     }
   }
   
@@ -1782,6 +1980,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.NoStackTrace
   protected final int getInt32(int idx)
   { if(!checkData()) { return 0; }
+    if(data == null) { return (int)_getLongBuffer(ixBegin + idx, 4, false); }
     int val;
     if(bBigEndian)
     { val =  ((  data[ixBegin + idx])<<24)  //NOTE all 24 low-bits are 0
@@ -1815,6 +2014,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.NoStackTrace
   protected final int getUint16(int idx)
   { if(!checkData()) { return 0; }
+    if(data == null) { return (int)_getLongBuffer(ixBegin + idx, 2, false); }
     int val;
     if(bBigEndian)
     { val =  (( (data[ixBegin + idx  ])<< 8) & 0x0000ff00 ) //depending on sign of byte. Mask it!
@@ -1836,6 +2036,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.NoStackTrace
   protected final short getInt16(int idx)
   { if(!checkData()) { return 0; }
+    if(data == null) { return (short)_getLongBuffer(ixBegin + idx, 2, false); }
     int val;
     if(bBigEndian)
     { val =  (( (data[ixBegin + idx  ])<< 8) & 0xff00 ) //depending on sign of byte. Mask it!
@@ -1859,7 +2060,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   protected final char getChar(int idx)
   { if(!checkData()) { return 0; }
     char val;
-    val = (char) data[ixBegin + idx];
+    val = (char) (data == null ? buffer.get(ixBegin + idx) : data[ixBegin + idx]);
     return val;
   }
   
@@ -1874,7 +2075,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   protected final byte getInt8(int idx)
   { byte val;
     if(!checkData()) { return 0; }
-    val = data[ixBegin + idx];
+    val = data == null ? buffer.get(ixBegin + idx) : data[ixBegin + idx];
     return val;
   }
 
@@ -1890,7 +2091,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   protected final short getUint8(int idx)
   { short val;
     if(!checkData()) { return 0; }
-    val = data[ixBegin + idx];
+    val = data == null ? buffer.get(ixBegin + idx) : data[ixBegin + idx];
     if(val < 0){ val += 0x100; }
     return val;
   }
@@ -1974,6 +2175,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
    * */
   protected final void setInt32(int idx, int value)
   { if(!checkData()) { return; }
+    if(data == null) { _setLongBuffer(ixBegin + idx, 4, value, false); return; }
     if(bBigEndian)
     { data[ixBegin + idx]   = (byte)((value>>24) & 0xff);
       data[ixBegin + idx+1] = (byte)((value>>16) & 0xff);
@@ -1997,7 +2199,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   @Java4C.Inline
   protected final void setInt8(int idx, int value)
   { if(!checkData()) { return; }
-    data[ixBegin + idx] = (byte)(value & 0xff);
+    setByte(ixBegin + idx, (byte)(value & 0xff));
   }
 
 
@@ -2021,6 +2223,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   * */
   protected final void setUint32(int idx, long value)
   { if(!checkData()) { return; }
+    if(data == null) { _setLongBuffer(ixBegin + idx, 4, value, false); return; }
     //the same algorithm in source, but other action on machine level,
     //because value is long!
     if(bBigEndian)
@@ -2048,6 +2251,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
    * */
   protected final void setInt16(int idx, int value)
   { if(!checkData()) { return; }
+    if(data == null) { _setLongBuffer(ixBegin + idx, 2, value, false); return; }
     if(bBigEndian)
     { data[ixBegin + idx]   = (byte)((value>>8) & 0xff);
       data[ixBegin + idx+1] = (byte)(value & 0xff);
@@ -2151,7 +2355,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
   { assert(sizeChild >=0);
     assert(ixNextChild >=0);          //==0 os possible on an empty element without head.
     if(!checkData()) { return 0; }
-    int ixMax = bExpand? data.length : ixEnd;
+    int ixMax = bExpand? lengthData() : ixEnd;
     if(ixNextChild + sizeChild > ixMax) return RetOrException.illegalArgument(bExc, -1, "child on limit of expand");
     int ixChild1 = ixNextChild;
     ixNextChild += sizeChild;  
@@ -2176,12 +2380,13 @@ public class ByteDataAccessBase implements InfoFormattedAppend
    * @since 2018-09
    */
   boolean checkData() {
-    if(data == null && parent !=null) {
+    if(data == null && buffer == null && parent !=null) {
       data = parent.getData(99);
+      buffer = parent.buffer;
       bBigEndian = parent.bBigEndian;
       this.bLittleEndianBig2 = parent.bLittleEndianBig2;
     }
-    if(data == null) {
+    if(data == null && buffer == null) {
       throwexc("--no data--",0);
       return false;
     } else {
@@ -2206,13 +2411,14 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     int bytesHex = getLengthHead();
     if(bytesHex > 16){ bytesHex = 16; }
     if(bytesHex <0){ bytesHex = 0; }
-    if(ixBegin + bytesHex > data.length){ bytesHex = data.length - ixBegin; }  
+    if(ixBegin + bytesHex > lengthData()){ bytesHex = lengthData() - ixBegin; }    
     infoAppendHead(u, bytesHex);
     if(bytesHex < 24 && currChild ==null) {
       int bytesHexChild = ixEnd - ixBegin - sizeHead;
       if(bytesHexChild >(24 - bytesHex)) { bytesHexChild = (24 - bytesHex); }  //don't show more as 24 bytes in sum.
       if(bytesHexChild >0) {
-        u.add(": ").addHexLine(data, ixBegin + sizeHead, bytesHexChild, bBigEndian? StringFormatter.k4left: StringFormatter.k4right);
+        if(data == null) { u.add(": ").addHexLine(bytesFromBuffer(ixBegin + sizeHead, bytesHexChild), 0, bytesHexChild, bBigEndian? StringFormatter.k4left: StringFormatter.k4right); }
+        else { u.add(": ").addHexLine(data, ixBegin + sizeHead, bytesHexChild, bBigEndian? StringFormatter.k4left: StringFormatter.k4right); }
       }
     }
     else if(currChild !=null && u.length() < 2200) {
@@ -2233,7 +2439,8 @@ public class ByteDataAccessBase implements InfoFormattedAppend
     .add("..").addint(ixNextChild,"333331")
     .add(bExpand ? '+' : ':').addint(ixEnd,"333331").add(":");
     if(!checkData()) { u.add("--no-data--"); return; }
-    u.addHexLine(data(), ixBegin, bytesHex, bBigEndian? StringFormatter.k4left: StringFormatter.k4right);
+    if(data == null) { u.addHexLine(bytesFromBuffer(ixBegin, bytesHex), 0, bytesHex, bBigEndian? StringFormatter.k4left: StringFormatter.k4right); }
+    else { u.addHexLine(data, ixBegin, bytesHex, bBigEndian? StringFormatter.k4left: StringFormatter.k4right); }
   }
 
  
@@ -2245,7 +2452,7 @@ public class ByteDataAccessBase implements InfoFormattedAppend
    @Java4C.Exclude
    public String toString() 
    { //NOTE: do not create a new object in every call, it is uneffective.
-     if(data==null){ return "no data"; }
+     if(data==null && buffer==null){ return "no data"; }
      else
      { if(toStringformatter == null){ toStringformatter = new StringFormatter(); }
        else { toStringformatter.reset(); }
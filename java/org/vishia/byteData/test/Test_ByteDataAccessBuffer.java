@@ -0,0 +1,135 @@
+package org.vishia.byteData.test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.vishia.byteData.ByteDataAccessBase;
+import org.vishia.util.TestOrg;
+
+/**Test of {@link ByteDataAccessBase#assignBuffer(ByteBuffer, int, int)} with a direct buffer.
+ * The values are written and read in the direct buffer and compared with the access to a byte[].
+ */
+public class Test_ByteDataAccessBuffer {
+
+  /**Access to the protected accessors, with a head of 16 bytes. */
+  static class Access extends ByteDataAccessBase {
+
+    Access() { super(16); }
+
+    /**Writes the values for the test, all in the head. */
+    void setValues() throws Exception {
+      setInt32(0, 0x12345678);
+      setInt16(4, -2);
+      setInt8(6, 0x7f);
+      setUint8(7, 0xa5);
+      setFloat(8, 3.5f);
+      _setLong(12, 4, 0x87654321L);
+    }
+
+    /**Writes the values after the head. */
+    void setValuesData() throws Exception {
+      setDouble(16, -1.25);
+      _setLong(24, 8, 0x0123456789abcdefL);
+      _setString(32, 16, "abc", "ISO-8859-1", false);
+    }
+
+    String getValues() {
+      return String.format("%08x %d %d %d %s %08x %s %016x %s", getInt32(0), getInt16(4), getInt8(6), getUint8(7)
+          , Float.toString(getFloat(8)), getUint32(12), Double.toString(getDouble(16)), getInt64(24), getString(32, 16));
+    }
+  }
+
+
+  /**Access to a child, reads the 4 bytes of the head. */
+  static class Child extends ByteDataAccessBase {
+
+    Child() { super(4); }
+
+    int getValue() { return getInt32(0); }
+  }
+
+
+  public static void main(String[] args) {
+    TestOrg test = new TestOrg("Test_ByteDataAccessBuffer", 2, args);
+    Test_ByteDataAccessBuffer thiz = new Test_ByteDataAccessBuffer();
+    thiz.testDirectBuffer(test, true);
+    thiz.testDirectBuffer(test, false);
+    thiz.testHeapBuffer(test);
+    test.finish();
+  }
+
+
+  /**Writes the values with the access to a byte[] and with the access to a direct buffer, the bytes should be the same.
+   * The values are read from the direct buffer.
+   */
+  void testDirectBuffer(TestOrg parent, boolean bBigEndian) {
+    TestOrg test = new TestOrg("direct buffer, " + (bBigEndian ? "big endian" : "little endian"), 4, parent);
+    try {
+      byte[] data = new byte[64];
+      Access accArray = new Access();
+      accArray.assign(data, 64);
+      accArray.setBigEndian(bBigEndian);
+      accArray.setValues();
+      accArray.setValuesData();
+      String sValues = accArray.getValues();
+      ByteBuffer buffer = ByteBuffer.allocateDirect(80);
+      buffer.position(8);                                  // the data start at position 8 in the buffer
+      buffer.limit(72);
+      Access accBuffer = new Access();
+      accBuffer.assignBuffer(buffer);
+      accBuffer.setBigEndian(bBigEndian);
+      accBuffer.setValues();
+      accBuffer.setValuesData();
+      test.expect(buffer.position() == 8 && buffer.limit() == 72, 5, "position and limit of the buffer unchanged");
+      test.expect(accBuffer.getData() == null, 5, "no array for the direct buffer");
+      byte[] dataBuffer = new byte[64];
+      buffer.get(dataBuffer);
+      test.expect(Arrays.equals(data, dataBuffer), 5, "same bytes written as in the array");
+      test.expect(sValues, accBuffer.getValues(), 5, "same values read as from the array");
+      buffer.position(8);
+      Access accRead = new Access();                       // reads the values written via byte[]
+      buffer.put(data);
+      buffer.position(8);
+      accRead.assignBuffer(buffer, 64, 8);
+      accRead.setBigEndian(bBigEndian);
+      test.expect(sValues, accRead.getValues(), 5, "values read from the buffer");
+      Child child = new Child();
+      accRead.addChild(child);                             // after the head of 16 bytes
+      test.expect(child.getValue() == getInt32(data, 16, bBigEndian), 5, "child in the buffer");
+    } catch(Exception exc) {
+      test.exception(exc);
+    }
+    test.finish();
+  }
+
+
+  /**A heap ByteBuffer with an array offset is assigned with its array. */
+  void testHeapBuffer(TestOrg parent) {
+    TestOrg test = new TestOrg("heap buffer with array offset", 4, parent);
+    try {
+      byte[] data = new byte[80];
+      ByteBuffer buffer = ByteBuffer.wrap(data, 4, 76).slice(); // arrayOffset is 4
+      buffer.position(4);
+      Access accBuffer = new Access();
+      accBuffer.assignBuffer(buffer, 64, 4);
+      accBuffer.setBigEndian(true);
+      accBuffer.setValues();
+      test.expect(accBuffer.getData() == data, 5, "the array of the buffer is used");
+      test.expect(getInt32(data, 8, true) == 0x12345678, 5, "written on the position regarding the array offset");
+    } catch(Exception exc) {
+      test.exception(exc);
+    }
+    test.finish();
+  }
+
+
+  static int getInt32(byte[] data, int idx, boolean bBigEndian) {
+    int value = 0;
+    for(int ix = 0; ix < 4; ++ix) {
+      int b = data[idx + (bBigEndian ? ix : 3 - ix)] & 0xff;
+      value = (value << 8) | b;
+    }
+    return value;
+  }
+
+}
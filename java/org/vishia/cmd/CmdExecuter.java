@@ -5,14 +5,24 @@ import java.io.BufferedWriter;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.script.ScriptException;
 
@@ -34,6 +44,13 @@ public class CmdExecuter implements Closeable
 {
   /**Version, License and History:
    * <ul>
+   * <li>2026-10-18 Hartmut new: ctor {@link #CmdExecuter(boolean)} with shared threads: The output and error output of a process
+   *   is read in threads of the {@link #executorDrain} shared for all instances only while the process runs, 
+   *   instead two own threads for ever. Used in {@link JZtxtcmdExecuter} which may create many instances.
+   *   The error output of the {@link #setParallel(int)} commands is read there too.
+   * <li>2026-10-18 Hartmut new: {@link #setParallel(int)}: {@link #executeCmdQueue(boolean)} executes some command processes parallel
+   *   in a thread pool. The outputs of any command are captured in own buffers and written to the given outputs
+   *   in order of the queue if the command is finished, see {@link ParallelCmd}.
    * <li>2022-01-21 Hartmut new {@link #setEnvIgnoreCase(String, String)}: The Problem is that windows does not distinguish upper/lower case.
    *   If an environment variable is existing, and the same with other case is set in the Map from Java's {@link ProcessBuilder#environment()},
    *   then this variable is twice, with all following catastrophics. This routine repairs, as also {@link #prefixEnvIgnoreCase(String, String)}.
@@ -107,7 +124,7 @@ public class CmdExecuter implements Closeable
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    * 
    */
-  public static final String version = "2022-01-24";
+  public static final String version = "2026-10-18";
 
   
   /**Composite instance of the java.lang.ProcessBuilder. */
@@ -154,6 +171,28 @@ public class CmdExecuter implements Closeable
   
   public ConcurrentLinkedQueue<CmdQueueEntry> cmdQueue;
   
+  /**Number of commands from {@link #cmdQueue} which are executed parallel, see {@link #setParallel(int)}. */
+  private int nrParallelCmds = 1;
+  
+  /**Thread pool for parallel execution of the {@link #cmdQueue}, created on demand, finished on {@link #close()}. */
+  private ExecutorService executorParallel;
+  
+  /**Thread pool to read the outputs of processes, shared for all instances. The threads are created on demand,
+   * reused for the next process and finished if they are not used a minute. They are daemon threads.
+   * Reading of a process output is not possible with a selector (non blocking), hence one thread per stream is necessary while the process runs.
+   */
+  private static final ExecutorService executorDrain = Executors.newCachedThreadPool((run) -> {
+    Thread thread = new Thread(run, "CmdExecuter-drain");
+    thread.setDaemon(true);
+    return thread;
+  });
+  
+  /**True then the outputs are read with the {@link #executorDrain}, the {@link #outThread} and {@link #errThread} are not started. */
+  private final boolean bSharedThreads;
+  
+  /**All processes which are running in the {@link #executorParallel}, to abort. */
+  private final List<Process> processesParallel = new LinkedList<Process>();
+  
   /**For {@link JZtxtcmdScript.Subroutine}. It is created on demand if necessity.
    * 
    */
@@ -173,13 +212,31 @@ public class CmdExecuter implements Closeable
    * 
    */
   public CmdExecuter()
+  { this(false);
+  }
+  
+  
+  /**Constructs, see {@link #CmdExecuter()}.
+   * @param bSharedThreads false: same as {@link #CmdExecuter()}, with two own threads to read the process outputs.
+   *   true: the outputs of a process are read with threads from a pool shared for all instances, only while the process runs.
+   *   This is proper if many instances are used, any one for a short time, or many instances are existing. 
+   *   The {@link #close()} is not necessary then to finish threads. 
+   */
+  public CmdExecuter(boolean bSharedThreads)
   { this.processBuilder = new ProcessBuilder("");
-    this.threadExecOut = new Thread(this.outThread, "execOut");
-    this.threadExecError = new Thread(this.errThread, "execError");
+    this.bSharedThreads = bSharedThreads;
     this.threadExecIn = null; //TODO new Thread(inputThread, "execIn");
     this.bRunThreads = true;
-    this.threadExecOut.start();
-    this.threadExecError.start();
+    if(bSharedThreads) {
+      this.threadExecOut = null;
+      this.threadExecError = null;
+      this.outThread.state = this.errThread.state = 'x';   //not running
+    } else {
+      this.threadExecOut = new Thread(this.outThread, "execOut");
+      this.threadExecError = new Thread(this.errThread, "execError");
+      this.threadExecOut.start();
+      this.threadExecError.start();
+    }
     //threadExecIn.start();
   }
   
@@ -328,6 +385,27 @@ public class CmdExecuter implements Closeable
    */
   public void setEchoCmdOut(Appendable echo) { this.echoCmd = echo; }
   
+  
+  /**Sets the number of commands which are executed parallel by {@link #executeCmdQueue(boolean)}.
+   * With more as 1, the command processes from the queue are started in a thread pool, 
+   * any process gets the current directory and environment valid on start.
+   * The outputs of any process are captured in own buffers. They are written to the outputs given with the addCmd(...) operations 
+   * and the {@link ExecuteAfterFinish} is executed in the thread of {@link #executeCmdQueue(boolean)}
+   * in order of the queue, if the command is finished and all commands before are finished.
+   * Hence the outputs are not mixed, but they are not seen while the command is running.
+   * A JZtxtcmd subroutine in the queue is executed after all commands before are finished.
+   * <br>
+   * Usual the number of processors, {@link Runtime#availableProcessors()}, is proper for compiler invocations.
+   * @param nrParallel 1: (default) execute one command after another as before, the outputs are written while the command runs.
+   */
+  public void setParallel(int nrParallel) { 
+    if(nrParallel != this.nrParallelCmds && this.executorParallel !=null) {
+      this.executorParallel.shutdown();
+      this.executorParallel = null;
+    }
+    this.nrParallelCmds = nrParallel < 1 ? 1 : nrParallel; 
+  }
+  
   public void addCmd(String cmdline
       , String input
       , Appendable output
@@ -458,17 +536,13 @@ public class CmdExecuter implements Closeable
    * @return the last executed entry if an error occurs and 'abortOnError'==true. Elsewhere null
    */
   public CmdQueueEntry executeCmdQueue(boolean abortOnError)
-  { CmdQueueEntry e = null;
+  { if(this.nrParallelCmds > 1) {
+      return executeCmdQueueParallel(abortOnError);
+    }
+    CmdQueueEntry e = null;
     while( this.cmdQueue !=null && (e = this.cmdQueue.poll())!=null) {
       if(e.jzsub !=null) {
-        try{ this.jzcmdExecuter.execSub(e.jzsub, e.args, true, e.out1, e.currentDir, CmdExecuter.this);
-        } catch(ScriptException exc){ 
-          String text = "\nexecuteCmdQueue JZsub, scriptexception: " + exc.getMessage();
-          try{ e.out1.append(text); } catch(IOException exc1){}
-        }
-        if(e.executeAfterFinish !=null) {
-          e.executeAfterFinish.exec(0, e.out1, null);
-        }
+        executeJzSub(e);
       } else {
         if(e.currentDir !=null) {
           setCurrentDir(e.currentDir);
@@ -484,6 +558,98 @@ public class CmdExecuter implements Closeable
   
   
   
+  private void executeJzSub(CmdQueueEntry e) {
+    try{ this.jzcmdExecuter.execSub(e.jzsub, e.args, true, e.out1, e.currentDir, CmdExecuter.this);
+    } catch(ScriptException exc){ 
+      String text = "\nexecuteCmdQueue JZsub, scriptexception: " + exc.getMessage();
+      try{ e.out1.append(text); } catch(IOException exc1){}
+    }
+    if(e.executeAfterFinish !=null) {
+      e.executeAfterFinish.exec(0, e.out1, null);
+    }
+  }
+  
+  
+  
+  /**Executes the {@link #cmdQueue} with {@link #nrParallelCmds} parallel processes, see {@link #setParallel(int)}.
+   * Entries are taken from the queue only if a process can be started. 
+   * If abortOnError, entries are not taken furthermore after a command has returned an error, 
+   * but all started commands are finished and its outputs are written.
+   * The entries which are not taken remain in the queue, as in the sequential execution.
+   * @return the first entry in order of the queue with an error if 'abortOnError'==true. Elsewhere null.
+   */
+  private CmdQueueEntry executeCmdQueueParallel(boolean abortOnError) {
+    if(this.executorParallel == null) {
+      this.executorParallel = Executors.newFixedThreadPool(this.nrParallelCmds, (run) -> {
+        Thread thread = new Thread(run, "CmdExecuter-parallel");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    CompletionService<Integer> completion = new ExecutorCompletionService<Integer>(this.executorParallel);
+    LinkedList<ParallelCmd> started = new LinkedList<ParallelCmd>();  //in order of the queue, till the outputs are written.
+    int nrRunning = 0;
+    CmdQueueEntry eError = null;
+    CmdQueueEntry e = null;
+    while( eError == null && this.cmdQueue !=null && (e = this.cmdQueue.peek())!=null) {
+      //                                     //e is removed from queue only if it is executed, not on error before.
+      if(e.jzsub !=null) {                   //executes in this thread after all commands before are finished.
+        for(; nrRunning > 0; --nrRunning) { waitFinished(completion); }
+        eError = writeFinishedParallel(started, abortOnError);
+        if(eError == null) {
+          this.cmdQueue.poll();              //it is e
+          executeJzSub(e);
+        }
+      } else {
+        while(eError == null && nrRunning >= this.nrParallelCmds) {
+          waitFinished(completion);
+          nrRunning -=1;
+          eError = writeFinishedParallel(started, abortOnError);
+        }
+        if(eError == null) {
+          this.cmdQueue.poll();              //it is e
+          if(e.currentDir !=null) {
+            setCurrentDir(e.currentDir);
+          }
+          ParallelCmd cmd = new ParallelCmd(e);
+          started.add(cmd);
+          completion.submit(cmd);
+          nrRunning +=1;
+        }
+      }
+    }
+    for(; nrRunning > 0; --nrRunning) {      //finish all started, also on error.
+      waitFinished(completion);
+      CmdQueueEntry eError1 = writeFinishedParallel(started, abortOnError);
+      if(eError == null) { eError = eError1; }
+    }
+    return eError;
+  }
+  
+  
+  private static void waitFinished(CompletionService<Integer> completion) {
+    try { completion.take(); } 
+    catch(InterruptedException exc) { throw new RuntimeException(exc); }
+  }
+  
+  
+  /**Writes the outputs of all finished commands in order till the first one which is not finished. 
+   * @return the first written entry with error if abortOnError, else null. */
+  private CmdQueueEntry writeFinishedParallel(LinkedList<ParallelCmd> started, boolean abortOnError) {
+    CmdQueueEntry eError = null;
+    while(!started.isEmpty() && started.getFirst().bFinished) {
+      ParallelCmd cmd = started.removeFirst();
+      cmd.writeOutputs();
+      if(eError == null && abortOnError && cmd.entry.errorCmd !=0) {
+        eError = cmd.entry;
+      }
+    }
+    return eError;
+  }
+  
+  
+  
+  
   /**Executes a command with arguments and waits for its finishing.
    * @param cmdLine The command and its arguments in one line. 
    *        To separate the command and its argument the method {@link #splitArgs(String)} is used.
@@ -620,47 +786,51 @@ public class CmdExecuter implements Closeable
     {
       this.process = this.processBuilder.start();       //starts another process on operation system.
       //
-      if(errors !=null){                     //it follows immediately: capture the error output from the process
-        this.errThread.bProcessIsRunning = true;  //in the error thread.
-        this.errThread.processOut = new BufferedReader(new InputStreamReader(this.process.getErrorStream(), this.charsetCmd));
-        this.errThread.outs = errors;             
-        synchronized(this.errThread){ this.errThread.notify(); }  //wake up to work!
-        //processIn = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()));
-      }
-      if(outputs !=null){                    //it follows immediately: capture the output from the process
-        this.outThread.bProcessIsRunning = true;  //in the output thread.
-        this.outThread.processOut = new BufferedReader(new InputStreamReader(this.process.getInputStream(), this.charsetCmd));
-        this.outThread.outs = outputs;
-        synchronized(this.outThread){ this.outThread.notify(); }  //wake up to work!
-      }
-      if(input !=null){
-        OutputStream sinput = this.process.getOutputStream();
-        sinput.write(input.getBytes());
-        //Writer processIn = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()));
-      }
-      //
-      //wait for
-      if(input !=null || outputs !=null || errors !=null){
-        exitCode = this.process.waitFor();  //wait for finishing the process
-        //If the outThread or errThread will be attempt to wait, it realizes that the process has been finished. 
-        this.outThread.bProcessIsRunning =false;
-        this.errThread.bProcessIsRunning =false;
-        //It is possible that the last output isn't gotten because the outThread or errThread
-        //is not run in the last time. Run it till it has recognized the end of process itself.
-        synchronized(this.outThread){
-          if(this.outThread.processOut !=null){ //will be set to null on 'end of file' detection.
-            this.outThread.wait();   //wait for finishing getting output. It will be notified if end of file is detected
-          }
+      if(this.bSharedThreads) {
+        exitCode = executeShared(this.process, input, outputs, errors, donotwait, executeAfterCmd);
+      } else {
+        if(errors !=null){                     //it follows immediately: capture the error output from the process
+          this.errThread.bProcessIsRunning = true;  //in the error thread.
+          this.errThread.processOut = new BufferedReader(new InputStreamReader(this.process.getErrorStream(), this.charsetCmd));
+          this.errThread.outs = errors;             
+          synchronized(this.errThread){ this.errThread.notify(); }  //wake up to work!
+          //processIn = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()));
         }
-        synchronized(this.errThread){
-          if(this.errThread.processOut !=null){ //may be null if err isn't used, will be set to null on 'end of file' detection
-            this.errThread.wait();   //wait for finishing getting error output. It will be notified if end of file is detected 
+        if(outputs !=null){                    //it follows immediately: capture the output from the process
+          this.outThread.bProcessIsRunning = true;  //in the output thread.
+          this.outThread.processOut = new BufferedReader(new InputStreamReader(this.process.getInputStream(), this.charsetCmd));
+          this.outThread.outs = outputs;
+          synchronized(this.outThread){ this.outThread.notify(); }  //wake up to work!
+        }
+        if(input !=null){
+          OutputStream sinput = this.process.getOutputStream();
+          sinput.write(input.getBytes());
+          //Writer processIn = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()));
+        }
+        //
+        //wait for
+        if(input !=null || outputs !=null || errors !=null){
+          exitCode = this.process.waitFor();  //wait for finishing the process
+          //If the outThread or errThread will be attempt to wait, it realizes that the process has been finished. 
+          this.outThread.bProcessIsRunning =false;
+          this.errThread.bProcessIsRunning =false;
+          //It is possible that the last output isn't gotten because the outThread or errThread
+          //is not run in the last time. Run it till it has recognized the end of process itself.
+          synchronized(this.outThread){
+            if(this.outThread.processOut !=null){ //will be set to null on 'end of file' detection.
+              this.outThread.wait();   //wait for finishing getting output. It will be notified if end of file is detected
+            }
           }
+          synchronized(this.errThread){
+            if(this.errThread.processOut !=null){ //may be null if err isn't used, will be set to null on 'end of file' detection
+              this.errThread.wait();   //wait for finishing getting error output. It will be notified if end of file is detected 
+            }
+          }
+        } else if(donotwait){
+          exitCode = 0; //don't wait
+        } else {
+          exitCode = this.process.waitFor(); //wait without input, outputs, errors
         }
-      } else if(donotwait){
-        exitCode = 0; //don't wait
-      } else {
-        exitCode = this.process.waitFor(); //wait without input, outputs, errors
       }
       synchronized(this){
         this.process = null;  //no more used
@@ -697,6 +867,66 @@ public class CmdExecuter implements Closeable
   
   
   
+  /**Executes a started process in the mode {@link #bSharedThreads}.
+   * The outputs are read in {@link #executorDrain} threads and written while the process runs. 
+   * The executeAfterCmd is executed in this thread.
+   */
+  private int executeShared(Process process, String input, List<Appendable> outputs, List<Appendable> errors
+      , boolean donotwait, ExecuteAfterFinish executeAfterCmd) 
+  throws IOException, InterruptedException, ExecutionException {
+    Future<?> errFuture = errors == null ? null : drainShared(process.getErrorStream(), this.charsetCmd, errors);
+    Future<?> outFuture = outputs == null ? null : drainShared(process.getInputStream(), this.charsetCmd, outputs);
+    if(input !=null){
+      OutputStream sinput = process.getOutputStream();
+      sinput.write(input.getBytes());
+      sinput.close();
+    }
+    int exitCode;
+    if(input !=null || outputs !=null || errors !=null){
+      exitCode = process.waitFor();
+      if(outFuture !=null) { outFuture.get(); }   //all outputs are written.
+      if(errFuture !=null) { errFuture.get(); }
+      this.executeAfterCmd = null;
+      if(outputs !=null && executeAfterCmd !=null) {
+        try {
+          executeAfterCmd.exec(exitCode, outputs.get(0), errors == null ? null : errors.get(0));
+        } catch (Exception exc) {
+          System.err.println("CmdExecuter - exception in executeAfterCmd");
+        }
+      }
+    } else if(donotwait){
+      exitCode = 0; //don't wait
+    } else {
+      exitCode = process.waitFor(); //wait without input, outputs, errors
+    }
+    return exitCode;
+  }
+  
+  
+  /**Reads the lines from a process output stream in a thread of the {@link #executorDrain} and writes it to all outs
+   * till the end of the stream, it is the end of the process.
+   */
+  private static Future<?> drainShared(final InputStream stream, final Charset charset, final List<Appendable> outs) {
+    return executorDrain.submit(() -> {
+      BufferedReader rd = new BufferedReader(new InputStreamReader(stream, charset));
+      try {
+        String sLine;
+        while( (sLine = rd.readLine()) !=null) {
+          for(Appendable out: outs){
+            try{
+              out.append(sLine).append("\n");
+            } catch(Exception exc){
+              //do nothing. continue.
+            }
+          }
+        }
+      } finally { rd.close(); }
+      return null;
+    });
+  }
+  
+  
+  
   /**Aborts the running cmd. 
    * @return true if any cmd is aborted.
    */
@@ -723,6 +953,12 @@ public class CmdExecuter implements Closeable
       this.outThread.outs = null;  //to abort
       this.errThread.outs = null;
     }
+    synchronized(this.processesParallel) {
+      for(Process process: this.processesParallel) {
+        if(bForcibly) { process.destroyForcibly(); } else { process.destroy(); }
+        destroyed = true;
+      }
+    }
     //TODO doesn't work:
     /*
     if(outThread.processOut !=null){
@@ -858,7 +1094,121 @@ public class CmdExecuter implements Closeable
   
   
   
-  /**An implementation of this interface can be evaluate the output of the process after finish.
+  /**A command from the {@link CmdExecuter#cmdQueue} which is executed in the {@link CmdExecuter#executorParallel}.
+   * The command, the current directory and the environment are taken on construction in the thread of 
+   * {@link CmdExecuter#executeCmdQueue(boolean)}. The output and error output are captured in own buffers,
+   * the error output in a thread of the {@link CmdExecuter#executorDrain}. 
+   */
+  private final class ParallelCmd implements Callable<Integer>
+  {
+    final CmdQueueEntry entry;
+    
+    final File dir;
+    
+    final Map<String, String> env;
+    
+    final StringBuilder bufOut = new StringBuilder(), bufErr;
+    
+    /**Set on end of {@link #call()}, the outputs can be written. */
+    volatile boolean bFinished;
+    
+    ParallelCmd(CmdQueueEntry entry) {
+      this.entry = entry;
+      this.dir = CmdExecuter.this.processBuilder.directory();
+      this.env = new HashMap<String, String>(CmdExecuter.this.processBuilder.environment());
+      this.bufErr = entry.err == null ? null : new StringBuilder();
+    }
+    
+    @Override public Integer call() {
+      Process process = null;
+      try {
+        ProcessBuilder builder = new ProcessBuilder(this.entry.cmd);
+        builder.directory(this.dir);
+        builder.environment().clear();
+        builder.environment().putAll(this.env);
+        builder.redirectErrorStream(this.bufErr == null);
+        process = builder.start();
+        synchronized(CmdExecuter.this.processesParallel) { CmdExecuter.this.processesParallel.add(process); }
+        final InputStream errStream = process.getErrorStream();
+        Future<?> errFuture = this.bufErr == null ? null 
+            : drainShared(errStream, CmdExecuter.this.charsetCmd, Collections.<Appendable>singletonList(this.bufErr));
+        OutputStream sinput = process.getOutputStream();
+        if(this.entry.input !=null) {
+          sinput.write(this.entry.input.getBytes());
+        }
+        sinput.close();
+        readLines(process.getInputStream(), this.bufOut);
+        if(errFuture !=null) { errFuture.get(); }
+        this.entry.errorCmd = process.waitFor();
+      } catch(Exception exc) {
+        (this.bufErr !=null ? this.bufErr : this.bufOut).append("CmdExecuter - Problem;").append(exc.getMessage());
+        this.entry.errorCmd = -1;
+      } finally {
+        if(process !=null) {
+          synchronized(CmdExecuter.this.processesParallel) { CmdExecuter.this.processesParallel.remove(process); }
+        }
+        this.bFinished = true;
+      }
+      return Integer.valueOf(this.entry.errorCmd);
+    }
+    
+    
+    private Void readLines(InputStream stream, StringBuilder buffer) throws IOException {
+      BufferedReader rd = new BufferedReader(new InputStreamReader(stream, CmdExecuter.this.charsetCmd));
+      try {
+        String sLine;
+        while( (sLine = rd.readLine()) !=null) {
+          buffer.append(sLine).append('\n');
+        }
+      } finally { rd.close(); }
+      return null;
+    }
+    
+    
+    /**Writes the captured outputs, the echo and calls the {@link CmdQueueEntry#executeAfterFinish}. 
+     * Called in the thread of {@link CmdExecuter#executeCmdQueue(boolean)}. */
+    void writeOutputs() {
+      Appendable echo = CmdExecuter.this.echoCmd;
+      try {
+        if(echo !=null) {
+          echo.append(">cmdExecuter>");
+          for(String arg: this.entry.cmd) { echo.append(" ").append(arg); }
+          echo.append("\n");
+        }
+        writeOutput(this.bufOut, this.entry.out);
+        writeOutput(this.bufErr, this.entry.err !=null ? this.entry.err : this.entry.out);
+        if(echo !=null) {
+          if(this.entry.errorCmd !=0) {
+            echo.append(">cmdExecuter exit:").append(Integer.toString(this.entry.errorCmd)).append("\n");
+          } else {
+            echo.append(">cmdExecuter finished\n");
+          }
+        }
+      } catch(IOException exc) {
+        //do nothing, continue, same as in OutThread
+      }
+      if(this.entry.executeAfterFinish !=null) {
+        this.entry.executeAfterFinish.exec
+        ( this.entry.errorCmd
+        , this.entry.out == null || this.entry.out.isEmpty() ? null : this.entry.out.get(0)
+        , this.entry.err == null || this.entry.err.isEmpty() ? null : this.entry.err.get(0)
+        );
+      }
+    }
+    
+    
+    private void writeOutput(StringBuilder buffer, List<Appendable> outs) throws IOException {
+      if(buffer !=null && buffer.length() >0 && outs !=null) {
+        for(Appendable out: outs) {
+          if(out !=null) { out.append(buffer); }
+        }
+      }
+    }
+  }
+  
+  
+  
+  /**An implementation of this interface can evaluate the output of the process after finish.
    */
   public interface ExecuteAfterFinish
   {
@@ -1002,6 +1352,10 @@ public class CmdExecuter implements Closeable
   @Override public void close()
   {
     this.bRunThreads = false;
+    if(this.executorParallel !=null) {
+      this.executorParallel.shutdown();
+      this.executorParallel = null;
+    }
     while(  this.outThread !=null && this.outThread.state == 'r'
          || this.errThread !=null && this.errThread.state == 'r'
          //|| inThread !=null && inThread == 'r'
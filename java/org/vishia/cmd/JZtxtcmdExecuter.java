@@ -18,6 +18,7 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -28,6 +29,8 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import javax.script.Bindings;
 import javax.script.ScriptContext;
@@ -46,6 +49,7 @@ import org.vishia.util.Debugutil;
 import org.vishia.util.FilePath;
 import org.vishia.util.FileFunctions;
 //import org.vishia.util.IndexMultiTable;
+import org.vishia.util.SlotMap;
 import org.vishia.util.StringFormatter;
 import org.vishia.util.StringFunctions;
 import org.vishia.util.StringPartAppend;
@@ -85,6 +89,20 @@ public class JZtxtcmdExecuter {
   
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-18 Hartmut new {@link #setZmakeBuildState(File)}, {@link JzTcMain#setZmakeBuildState(String)}:
+   *   {@link ExecuteLevel#exec_zmake(org.vishia.cmd.JZtxtcmdScript.Zmake, StringFormatter, int, int)} skips targets 
+   *   with unchanged inputs, see {@link ZmakeBuildState}. The state is saved also on an exception.
+   * <li>2026-10-18 Hartmut The {@link CmdExecuter} for cmd statements is created with {@link CmdExecuter#CmdExecuter(boolean)} with shared threads,
+   *   because any level, also any parallel for level, creates an own instance which was never closed.
+   * <li>2026-10-18 Hartmut fix: The arguments of operations and an indirect identifier in a datapath are calculated 
+   *   in a {@link DataAccess.ActualArgs} for this execution, no more set in the {@link DataAccess.DatapathElement}
+   *   which is shared between the threads of <code>for parallel</code>.
+   * <li>2026-10-18 Hartmut new {@link ExecuteLevel#exec_forParallel(org.vishia.cmd.JZtxtcmdScript.ForStatement, StringFormatter, int, int)}
+   *   for <code>for parallel(var: container) {...}</code>. A condition is evaluated in order before execution, 
+   *   break is not admissible in the body. 
+   * <li>2026-10-18 Hartmut {@link ExecuteLevel#localVariables} of a subroutine level is a {@link SlotMap} 
+   *   with the variable names resolved one time per subroutine, instead a new TreeMap per call.
+   * <li>2026-10-18 Hartmut {@link ExecuteLevel#calculateExpression(CalculatorExpr)} uses {@link CalculatorExpr#compile()}.
    * <li>2023-12-08 new {@link JzTcMain#new_int(int)} and {@link JzTcMain#new_String(int)} to get an int[] via script forexmpl: <code>Obj intArray = jztc.new_int(12);</code>
    * <li>2023-12-08 {@link ExecuteLevel#evalObject(org.vishia.cmd.JZtxtcmdScript.JZcmditem, boolean)} whith conversion '~'
    *   calls now {@link FileFunctions#absolutePath(String, File)} which also replaces /tmp/, ~/, $Env/ with the correct file path parts.
@@ -361,7 +379,7 @@ public class JZtxtcmdExecuter {
    * 
    */
   //@SuppressWarnings("hiding")
-  static final public String version = "2023-07-21";
+  static final public String version = "2026-10-18";
 
   /**This class is the jzcmd main level from a script.
    * @author Hartmut Schorrig
@@ -430,6 +448,10 @@ public class JZtxtcmdExecuter {
      * @since 2021-06
      */
     public Map<String, DataAccess.Variable<Object>> envar;
+    
+    /**State of the built zmake targets, null if not used. See {@link #setZmakeBuildState(String)}. 
+     * @since 2026-10 */
+    ZmakeBuildState zmakeBuildState;
 
     JzTcMain(LogMessage log, JZtxtcmdExecuter jzCmdExecuter){
       this.log = log;
@@ -504,12 +526,38 @@ public class JZtxtcmdExecuter {
 
     public long calctime(){ return System.currentTimeMillis() - this.startmilli; }
 
+    
+    /**Sets the file for the state of the built zmake targets, the zmake statement skips a target with unchanged inputs then. 
+     * Usage in script: <code>jztc.setZmakeBuildState("path/to/file");</code> before the zmake statements.
+     * The state is written on end of the script.
+     * @param sFile relative to the current directory of the script.
+     * @throws IOException on read error of an existing file
+     */
+    public void setZmakeBuildState(String sFile) throws IOException {
+      File file = new File(sFile);
+      if(!file.isAbsolute()) { file = new File(currdir().toString(), sFile); }
+      this.zmakeBuildState = new ZmakeBuildState(file);
+    }
+
 
     private Map<String, DataAccess.Variable<Object>> new_Variables(){
       return new TreeMap<String, DataAccess.Variable<Object>>();
       //return new IndexMultiTable<String, DataAccess.Variable<Object>>(IndexMultiTable.providerString);
     }
 
+    /**Creates the local variables for a level of a subroutine as {@link SlotMap} with the 
+     * {@link JZtxtcmdScript.Subroutine#variableSlots(java.util.Collection)}, which are resolved on the first call.
+     * The names of the script variables are regarded as slots, because they are copied to any subroutine level. 
+     * @param subroutine if null then {@link #new_Variables()} is used. 
+     */
+    private Map<String, DataAccess.Variable<Object>> new_Variables(JZtxtcmdScript.Subroutine subroutine){
+      if(subroutine == null || this.scriptLevel == null) { 
+        return new_Variables(); 
+      } else {
+        return new SlotMap<DataAccess.Variable<Object>>(subroutine.variableSlots(this.scriptLevel.localVariables.keySet()));
+      }
+    }
+
     /**Creates a int array with the given size, can be used in scripts.
      * @param size
      * @return
@@ -1241,23 +1289,27 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
     //return execute(execFile, contentScript, true);
     this.acc.startmilli = System.currentTimeMillis();
     this.acc.startnano = System.nanoTime();
-    if(mainRoutine !=null) {
-      ret = execFile.execute(mainRoutine.statementlist, this.acc.textline, 0, execFile.localVariables, -1);
-    } else {
-      System.out.println("JZcmdExecuter - main routine not found.");
-      ret = 0;
-    }
-    if(bWaitForThreads){
-      boolean bWait = true;
-      while(bWait){
-        synchronized(acc.threads){
-          bWait = this.acc.threads.size() !=0;
-          if(bWait){
-            try{ this.acc.threads.wait(1000); }
-            catch(InterruptedException exc){}
+    try {
+      if(mainRoutine !=null) {
+        ret = execFile.execute(mainRoutine.statementlist, this.acc.textline, 0, execFile.localVariables, -1);
+      } else {
+        System.out.println("JZcmdExecuter - main routine not found.");
+        ret = 0;
+      }
+      if(bWaitForThreads){
+        boolean bWait = true;
+        while(bWait){
+          synchronized(acc.threads){
+            bWait = this.acc.threads.size() !=0;
+            if(bWait){
+              try{ this.acc.threads.wait(1000); }
+              catch(InterruptedException exc){}
+            }
           }
         }
       }
+    } finally {
+      saveZmakeBuildState();      //the state of the built targets also on an exception
     }
     if(acc.textline !=null) {
       try{ this.acc.textline.close(); } 
@@ -1391,6 +1443,8 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
       ret = this.acc.scriptLevel.exec_Subroutine(statement, level, null, arglist, this.acc.textline, 1, 0);
     } catch(Exception exc) {
       throw new JzScriptException(exc.getMessage(), this.acc.scriptThread.excSrcfile, this.acc.scriptThread.excLine, this.acc.scriptThread.excColumn);
+    } finally {
+      saveZmakeBuildState();      //the state of the built targets also on an exception
     }
     if(acc.textline !=null) {
       try{ this.acc.textline.close(); } 
@@ -1415,6 +1469,25 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
   
   
   
+  /**Sets the file for the state of the built zmake targets, see {@link JzTcMain#setZmakeBuildState(String)}.
+   * @param file An existing file is read. The file is written on end of execution.
+   * @throws IOException on read error
+   */
+  public void setZmakeBuildState(File file) throws IOException {
+    this.acc.zmakeBuildState = new ZmakeBuildState(file);
+  }
+  
+  
+  /**Writes the state of the built zmake targets if used. An error is only reported. */
+  private void saveZmakeBuildState() {
+    if(this.acc.zmakeBuildState !=null) {
+      try{ this.acc.zmakeBuildState.save(); }
+      catch(IOException exc){ this.acc.log.writeWarning("JZcmd - cannot write zmake build state; %s", exc.getMessage()); }
+    }
+  }
+  
+  
+  
   
   /**Sets a script variable for a given initialized script.
    * The routine {@link DataAccess.createOrReplaceVariable()} will be called 
@@ -1506,6 +1579,10 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
     /**Used while a for-container loop runs. */
     private boolean bForHasNext;
     
+    /**Output for <code>&lt;+>text&lt;.+></code> without channel, null then {@link JzTcMain#textline} is used.
+     * It is set for the elements of a <code>for parallel(...)</code> and taken from the parent level. */
+    private StringFormatter textline;
+    
     private boolean debug_dataAccessArguments;
     
     /**The error level which is returned from an operation system cmd invocation.
@@ -1532,8 +1609,9 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
       if(parent !=null) {
         this.currdir = parent.currdir;
         this.sCurrdir = parent.sCurrdir;
+        this.textline = parent.textline;
       }
-      this.localVariables = acc.new_Variables();
+      this.localVariables = acc.new_Variables(subRoutine);
       if(parentVariables != null) {
         this.localVariables.putAll(parentVariables);  //use the same if it is not a subText, only a 
       } else if(acc.scriptLevel !=null) {
@@ -2135,6 +2213,9 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
     private short exec_forContainer(JZtxtcmdScript.ForStatement statement, StringFormatter out, int indentOut, int nDebug) 
     throws Exception
     {
+      if(statement.bParallel) {
+        return exec_forParallel(statement, out, indentOut, nDebug);
+      }
       JZtxtcmdScript.StatementList subContent = statement.statementlist();  //The same sub content is used for all container elements.
       //Note: don't use an extra ExecuteLevel to save calculation time. Especially the forVariable and some inner defined variables
       //      are existing outside of the for loop body namely, but that property is defined in the JZcmd language description.
@@ -2230,6 +2311,147 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
     
     
     
+    /**Executes <code>for parallel(var: container) {...}</code>. 
+     * Any element is executed in an own {@link ExecuteLevel} with its own for-variable, with own variables defined in the body
+     * and with its own {@link JZtxtcmdThreadData}, using the {@link ForkJoinPool#commonPool()}.
+     * The text output of any element, to out and to the text output (<code>&lt;+>...&lt;.+></code>), is written to own buffers.
+     * The buffers are appended in order of the elements after all elements are executed. 
+     * Hence the output is in the same order as for the sequential execution.
+     * <br>
+     * The condition <code>for parallel(var: container && cond)</code> is evaluated in this level in order of the elements 
+     * before the bodies are executed. The first false condition finishes the loop as in the sequential for, 
+     * the following elements are not executed. Because of that the condition should not depend on the execution of the body. 
+     * A <code>break</code> in the body is not admissible, it throws an exception before execution, 
+     * because it cannot stop the other elements which are executed parallel.
+     * <br>
+     * The variables of the outer level are shared. They should not be changed in the body, outputs to channels (<code>&lt;+name></code>)
+     * are not buffered.
+     * An exception, a return or exit is reported after all elements are executed, the first one in order of the elements.
+     * The for-variable is set as after the sequential for: null if all elements are executed, 
+     * the element with the false condition, or the element with the first exception, return or exit.
+     */
+    private short exec_forParallel(final JZtxtcmdScript.ForStatement statement, final StringFormatter out, final int indentOut, final int nDebug) 
+    throws Exception
+    {
+      final JZtxtcmdScript.StatementList subContent = statement.statementlist();
+      if(statement.containsBreak()) {
+        throw new IllegalArgumentException("JZcmd.execFor - break is not admissible in for parallel(" + statement.forVariable + ": ...)");
+      }
+      DataAccess.Variable<Object> forVariable = DataAccess.createOrReplaceVariable(this.localVariables, statement.forVariable, 'O', null, false);
+      Object container = dataAccess(statement.forContainer, this.localVariables, this.jzcmdMain.bAccessPrivate, false, false, null);
+      final List<Object> elements = new ArrayList<Object>();
+      if(container instanceof String && ((String)container).startsWith("<?")){
+        throw new IllegalArgumentException("JZcmd.execFor - faulty container type;" + (String)container);
+      }
+      else if(container instanceof Iterable<?>){
+        for(Object element: (Iterable<?>)container) { elements.add(element); }
+      }
+      else if(container instanceof Map<?,?>){
+        elements.addAll(((Map<?,?>)container).values());
+      }
+      else if(container !=null && container.getClass().isArray()){
+        Collections.addAll(elements, (Object[])container);
+      }
+      else if(container instanceof CalculatorExpr.Value) {
+        int endValue = (int)((CalculatorExpr.Value)container).longValue();
+        for(int ix = 0; ix < endValue; ++ix) { elements.add(new CalculatorExpr.Value(ix)); }
+      }
+      else if(container !=null) {
+        elements.add(container);
+      }
+      int zElementsExec = elements.size();
+      if(statement.condition !=null) {           // evaluate the condition in order before, the first false finishes the loop.
+        boolean bForHasNextOld = this.bForHasNext;
+        for(int ix = 0; ix < zElementsExec; ++ix) {
+          forVariable.setValue(elements.get(ix));
+          this.bForHasNext = ix < elements.size() -1;
+          if(!evalCondition(statement.condition)) {
+            zElementsExec = ix;                  // forVariable remains with this element as in the sequential for.
+            break;
+          }
+        }
+        this.bForHasNext = bForHasNextOld;
+      }
+      final int zElements = zElementsExec;
+      final boolean bCompleted = zElements == elements.size();
+      final List<String> namesBody = statement.namesVariablesBody();
+      final ExecuteLevel[] levels = new ExecuteLevel[zElements];
+      final StringFormatter[] outs = new StringFormatter[zElements];
+      final StringBuilder[] textlines = new StringBuilder[zElements];
+      final Exception[] excs = new Exception[zElements];
+      final short[] results = new short[zElements];
+      List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>(zElements);
+      for(int ix = 0; ix < zElements; ++ix) {
+        final int ixElement = ix;
+        final Object element = elements.get(ix);
+        tasks.add(ForkJoinTask.adapt(() -> {
+          try {
+            ExecuteLevel level = new ExecuteLevel(this.jzcmdMain, this.subRoutine, this.jzClass, new JZtxtcmdThreadData(), this, this.localVariables);
+            levels[ixElement] = level;
+            StringFormatter textline = level.textline !=null ? level.textline : this.jzcmdMain.textline;
+            if(textline !=null) {
+              textlines[ixElement] = new StringBuilder();  //note: StringFormatter#flush() writes to it.
+              level.textline = new StringFormatter(textlines[ixElement], false, null, 200);
+            }
+            for(String name: namesBody) { level.localVariables.remove(name); }  //to define own ones.
+            level.localVariables.put(statement.forVariable, new DataAccess.Variable<Object>('O', statement.forVariable, element));
+            level.bForHasNext = ixElement < elements.size() -1;
+            short cont = kSuccess;
+            if(subContent !=null) {
+              StringFormatter outElement = out == null ? null : new StringFormatter();
+              outs[ixElement] = outElement;
+              cont = level.execute(subContent, outElement, indentOut, level.localVariables, nDebug);
+            }
+            if(level.textline !=null) { level.textline.flush(); }
+            level.close();
+            results[ixElement] = cont;
+          } catch(Exception exc) {
+            excs[ixElement] = exc;
+          }
+        }));
+      }
+      ForkJoinTask.invokeAll(tasks);
+      short cont = kSuccess;
+      for(int ix = 0; ix < zElements; ++ix) {
+        if(outs[ix] !=null) {
+          out.append(outs[ix].getBuffer());
+        }
+        if(textlines[ix] !=null) {
+          StringFormatter textline = this.textline !=null ? this.textline : this.jzcmdMain.textline;
+          synchronized(textline) {
+            textline.append(textlines[ix]);
+            textline.flush();
+          }
+        }
+        if(excs[ix] !=null) {
+          forVariable.setValue(elements.get(ix));
+          throw excs[ix];
+        }
+        cont = results[ix];
+        if(cont != kSuccess) {
+          forVariable.setValue(elements.get(ix));  //as in the sequential for, the variable remains with this element.
+        }
+        if(cont == kException) {
+          JZtxtcmdThreadData threadData = levels[ix].threadData;
+          this.threadData.exception = threadData.exception;
+          this.threadData.excStatement = threadData.excStatement;
+          this.threadData.excLine = threadData.excLine;
+          this.threadData.excColumn = threadData.excColumn;
+          this.threadData.excSrcfile = threadData.excSrcfile;
+          this.threadData.error.setValue(threadData.error.value());
+          break;
+        } else if(cont != kSuccess) {
+          break;                                 //return, exit
+        }
+      }
+      if(cont == kSuccess && bCompleted) {
+        forVariable.setValue(null);              //on any completed loop, elsewhere it remains set.
+      }
+      return cont;
+    }
+    
+    
+    
     /**Executes the statements or output the text if in textArg if a for-container has a next element.
      * 
      * @param statement the hasnext-Statement. 
@@ -2411,7 +2633,7 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
           //bShouldClose = false;
         }
       } else {
-        out1 = jzcmdMain.textline;  //output to the text output.
+        out1 = this.textline !=null ? this.textline : jzcmdMain.textline;  //output to the text output.
         //bShouldClose = false;
       }
       if(statement.statementlist !=null){
@@ -2448,6 +2670,41 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
     private short exec_Call(JZtxtcmdScript.CallStatement callStatement, List<DataAccess.Variable<Object>> additionalArgs
         , StringFormatter out, int indentOut, int nDebug) 
     throws IllegalArgumentException, Exception
+    { return exec_Call(callStatement, evalCallName(callStatement), callStatement.actualArgs, additionalArgs, out, indentOut, nDebug);
+    }
+    
+    
+    /**Evaluates the name of the called subroutine.
+     * @return a {@link JZtxtcmdScript.Subroutine} or a {@link DataAccess.Variable} of type 'X' if the name is given by a datapath,
+     *   elsewhere the name of the subroutine as CharSequence.
+     */
+    private Object evalCallName(JZtxtcmdScript.CallStatement callStatement) throws Exception {
+      final Object oName;
+      if(callStatement.call_Name.dataAccess !=null) {
+        oName = dataAccess(callStatement.call_Name.dataAccess, this.localVariables, this.jzcmdMain.bAccessPrivate, false, false, null);
+        //Object o = arg.dataAccess.getDataObj(localVariables, this.acc.bAccessPrivate, false);
+        if(oName ==null){ 
+          throw new NoSuchElementException("JZcmdExecuter - subroutine variable emtpy; " );
+        }
+      } else {
+        oName = evalString(callStatement.call_Name);
+        if(oName ==null) {
+          throw new NoSuchElementException("JZcmdExecuter - subroutine name emtpy; " );
+        }
+      }
+      return oName;
+    }
+    
+    
+    /**Executes a call with the already evaluated name.
+     * @param oName from {@link #evalCallName(org.vishia.cmd.JZtxtcmdScript.CallStatement)}
+     * @param actualArgs the arguments of the call statement which are evaluated in the subroutine call, 
+     *   null if they are given as already evaluated additionalArgs.
+     */
+    private short exec_Call(JZtxtcmdScript.CallStatement callStatement, Object oName
+        , List<JZtxtcmdScript.Argument> actualArgs, List<DataAccess.Variable<Object>> additionalArgs
+        , StringFormatter out, int indentOut, int nDebug) 
+    throws IllegalArgumentException, Exception
     { short success = kSuccess;
       final CharSequence nameSubtext;
       JZtxtcmdScript.Subroutine subroutine = null;
@@ -2459,32 +2716,20 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
       } else {
         nameSubtext = statement.name;
       }*/
-      if(callStatement.call_Name.dataAccess !=null) {
-        Object o = dataAccess(callStatement.call_Name.dataAccess, this.localVariables, this.jzcmdMain.bAccessPrivate, false, false, null);
-        //Object o = arg.dataAccess.getDataObj(localVariables, this.acc.bAccessPrivate, false);
-        if(o instanceof JZtxtcmdScript.Subroutine) {
-          subroutine = (JZtxtcmdScript.Subroutine)o;  //eval codeblock
-          nameSubtext = null;
-        } else if(o instanceof DataAccess.Variable && ((DataAccess.Variable<?>)o).type() == 'X'){ 
-          //This possibility is not full tested yet, <:subtext:&variable>
-          nameSubtext = null; 
-          subroutine = null;  
-          @SuppressWarnings("unchecked") 
-          DataAccess.Variable<JZtxtcmdScript.StatementList> var = (DataAccess.Variable<JZtxtcmdScript.StatementList>)o;
-          JZtxtcmdScript.StatementList statements = var.value();
-          //The exec_subroutine is not invoked here, execute it without extra level and without arguments.
-          success = execute(statements, out, indentOut, this.localVariables, nDebug);
-        } else if(o ==null){ 
-          throw new NoSuchElementException("JZcmdExecuter - subroutine variable emtpy; " );
-        } else {
-          nameSubtext = o.toString(); 
-        }
-
+      if(oName instanceof JZtxtcmdScript.Subroutine) {
+        subroutine = (JZtxtcmdScript.Subroutine)oName;  //eval codeblock
+        nameSubtext = null;
+      } else if(oName instanceof DataAccess.Variable && ((DataAccess.Variable<?>)oName).type() == 'X'){ 
+        //This possibility is not full tested yet, <:subtext:&variable>
+        nameSubtext = null; 
+        subroutine = null;  
+        @SuppressWarnings("unchecked") 
+        DataAccess.Variable<JZtxtcmdScript.StatementList> var = (DataAccess.Variable<JZtxtcmdScript.StatementList>)oName;
+        JZtxtcmdScript.StatementList statements = var.value();
+        //The exec_subroutine is not invoked here, execute it without extra level and without arguments.
+        success = execute(statements, out, indentOut, this.localVariables, nDebug);
       } else {
-        nameSubtext = evalString(callStatement.call_Name);
-        if(nameSubtext ==null) {
-          throw new NoSuchElementException("JZcmdExecuter - subroutine name emtpy; " );
-        }
+        nameSubtext = oName.toString(); 
       }
       if(subroutine == null && nameSubtext !=null) {
         subroutine = this.jzClass.subroutines.get(nameSubtext.toString());
@@ -2497,7 +2742,7 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
       } else {  //subroutine !=null)  
         //TODO use execSubroutine, same code!
         final ExecuteLevel sublevel = levelForSubroutine(subroutine);
-        success = exec_Subroutine(subroutine, sublevel, callStatement.actualArgs, additionalArgs, out, indentOut, nDebug);
+        success = exec_Subroutine(subroutine, sublevel, actualArgs, additionalArgs, out, indentOut, nDebug);
         if(success == kSuccess){
           if(callStatement.variable !=null || callStatement.assignObjs !=null){
             DataAccess.Variable<Object> retVar = sublevel.localVariables.get("return");
@@ -2731,6 +2976,12 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
     
     /**Executes a Zmake subroutine call. Additional to {@link #exec_Call(org.vishia.cmd.JZtxtcmdScript.CallStatement, List, StringFormatter, int, int)}
      * a {@link ZmakeTarget} will be prepared and stored as 'target' in the localVariables of the sublevel.
+     * If the {@link JzTcMain#zmakeBuildState} is given, the subroutine is not called if the target is up to date.
+     * The state is stored if the subroutine has written the output file. 
+     * The name and the arguments of the call are evaluated only one time for the state and the call,
+     * the arguments are given to the subroutine as additional arguments. 
+     * Only the inputs of the zmake statement are regarded, not files which are used by them (for example included C headers),
+     * see {@link ZmakeBuildState}.
      * @param statement
      * @param out
      * @param indentOut
@@ -2753,8 +3004,40 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
       DataAccess.Variable<Object> targetV = new DataAccess.Variable<Object>('O',"target", target, true);
       args.add(targetV);
       //
-      //same as a normal subroutine.
-      return exec_Call(statement, args, out, indentOut, nDebug);
+      ZmakeBuildState buildState = this.jzcmdMain.zmakeBuildState;
+      if(buildState == null) {
+        //same as a normal subroutine.
+        return exec_Call(statement, args, out, indentOut, nDebug);
+      } else {
+        File fileOutput = new File(target.output.absfile().toString());
+        //evaluate name and arguments only one time, for the state and for the call.
+        Object oName = evalCallName(statement);
+        StringBuilder sCall = new StringBuilder(200);
+        ZmakeBuildState.appendValue(sCall, oName instanceof JZtxtcmdScript.Subroutine ? ((JZtxtcmdScript.Subroutine)oName).name : oName);
+        sCall.append(':').append(statement.name).append(':').append(fileOutput.getAbsolutePath());
+        if(statement.actualArgs !=null) {
+          for(JZtxtcmdScript.Argument arg: statement.actualArgs) {
+            Object value = evalObject(arg, false);
+            sCall.append(';').append(arg.identArgJbat).append('=');
+            ZmakeBuildState.appendValue(sCall, value);
+            args.add(new DataAccess.Variable<Object>('O', arg.identArgJbat, value, true));
+          }
+        }
+        List<File> inputs = new ArrayList<File>();
+        for(JZtxtcmdFilepath input: target.allInputFilesExpanded()) {
+          inputs.add(new File(input.absfile().toString()));
+        }
+        String sState = buildState.targetState(sCall, inputs);
+        if(buildState.isUptodate(fileOutput, sState)) {
+          return kSuccess;                       //nothing to do
+        }
+        long timeOutputBefore = fileOutput.lastModified();
+        short success = exec_Call(statement, oName, null, args, out, indentOut, nDebug);
+        if(success == kSuccess && fileOutput.lastModified() != timeOutputBefore) { //output is written.
+          buildState.setBuilt(fileOutput, sState);
+        }
+        return success;
+      }
     }
     
     
@@ -2895,7 +3178,7 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
       }
       
       if(cmdExecuter == null){ 
-        cmdExecuter = new CmdExecuter(); 
+        cmdExecuter = new CmdExecuter(true); 
         Map<String,String> env = cmdExecuter.environment();
         //Iterator<DataAccess.Variable<Object>> iter = localVariables.iterator("$");
         Iterator<Map.Entry<String, DataAccess.Variable<Object>>> iter = localVariables.entrySet().iterator(); //("$");
@@ -3574,8 +3857,8 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
           return new File(currdir, dataAccess.filepath);
         }
       } else */{
-        calculateArguments(dataAccess);  //resolves an indirectDatapath too.
-        return DataAccess.access(dataAccess.datapath(), dataPool, accessPrivate, bContainer, null, null, bVariable, dst);
+        DataAccess.ActualArgs actualArgs = calculateArguments(dataAccess, null);  //resolves an indirectDatapath too.
+        return DataAccess.access(dataAccess.datapath(), dataPool, accessPrivate, bContainer, null, null, bVariable, dst, actualArgs);
       }
     }
       
@@ -3586,16 +3869,16 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
     , Object value
     , boolean accessPrivate
     )throws Exception {
-      calculateArguments(dataAccess);
-      dataAccess.storeValue(dataPool, value, accessPrivate);
+      DataAccess.ActualArgs actualArgs = calculateArguments(dataAccess, null);
+      dataAccess.storeValue(dataPool, value, accessPrivate, actualArgs);
     }
 
     
     
-    /**This routine invokes {@link CalculatorExpr#calcDataAccess(Map, Object...)}, but before
+    /**This routine invokes {@link CalculatorExpr#compile()} and calculates, but before
      * the arguments of all operations will be calculated if necessary.
      * All operations are gotten with {@link CalculatorExpr#listOperations()}.
-     * with that dataPath  {@link #calculateArguments(DataAccess)} is called.
+     * with that dataPath  {@link #calculateArguments(DataAccess, org.vishia.util.DataAccess.ActualArgs)} is called.
      * with 
      * @param expr
      * @return
@@ -3603,19 +3886,27 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
      */
     private CalculatorExpr.Value calculateExpression(CalculatorExpr expr) 
     throws Exception {
+      DataAccess.ActualArgs actualArgs = null;
       for(CalculatorExpr.Operation operation: expr.listOperations()){
         DataAccess datapath = operation.datapath();
         if(datapath !=null){
-          calculateArguments(datapath);
+          actualArgs = calculateArguments(datapath, actualArgs);
         }
       }
-      return expr.calcDataAccess(localVariables);
+      return expr.compile().calc(localVariables, actualArgs, null);
     }
     
     
     
     
-    private void calculateArguments(DataAccess dataAccess) throws Exception {
+    /**Calculates the arguments of all operations in the datapath and an indirect given identifier.
+     * They are not stored in the datapath elements, which are shared, for example in <code>for parallel</code>,
+     * but in the returned actualArgs for this execution.
+     * @param actualArgs null or an instance to complete, for more as one datapath of an expression.
+     * @return actualArgs or a new instance if arguments are calculated, null if the datapath has not arguments.
+     */
+    private DataAccess.ActualArgs calculateArguments(DataAccess dataAccess, DataAccess.ActualArgs actualArgs) throws Exception {
+      DataAccess.ActualArgs actualArgsRet = actualArgs;
       if(debug_dataAccessArguments){
         debug(); //set breakpoint into!
         debug_dataAccessArguments = false;
@@ -3623,6 +3914,7 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
       for(DataAccess.DatapathElement dataElement : dataAccess.datapath()){  //loop over all elements of the path with or without arguments.
         //check all datapath elements whether they have method calls with arguments:
         List<JZtxtcmdScript.JZcmditem> fnArgsExpr = null;
+        String ident = null;
 
         if(  dataElement instanceof JZtxtcmdScript.JZcmdDatapathElementClass){
           JZtxtcmdScript.JZcmdDatapathElementClass jzcmdDataElement = (JZtxtcmdScript.JZcmdDatapathElementClass)dataElement;
@@ -3642,22 +3934,26 @@ public ExecuteLevel newExecuteLevel ( JZtxtcmdThreadData threadData ) {
           JZtxtcmdScript.JZcmdDatapathElement jzcmdDataElement = (JZtxtcmdScript.JZcmdDatapathElement)dataElement;
           if(jzcmdDataElement.indirectDatapath !=null){
             Object oIdent = dataAccess(jzcmdDataElement.indirectDatapath, localVariables, jzcmdMain.bAccessPrivate, false, false, null);
-            dataElement.setIdent(oIdent.toString());
+            ident = oIdent.toString();
           }
           fnArgsExpr = jzcmdDataElement.fnArgsExpr;
         }
+        Object[] args = null;
         if(fnArgsExpr !=null) {
           int nrofArgs = fnArgsExpr.size();
-          Object[] args = new Object[nrofArgs];
+          args = new Object[nrofArgs];
           int iArgs = -1;
           for(JZtxtcmdScript.JZcmditem expr: fnArgsExpr){
             Object arg = evalObject(expr, false);
             args[++iArgs] = arg;
           }
-          dataElement.setActualArgumentArray(args);
+        }
+        if(args !=null || ident !=null) {
+          if(actualArgsRet == null) { actualArgsRet = new DataAccess.ActualArgs(); }
+          actualArgsRet.set(dataElement, args, ident);
         }
       }
-
+      return actualArgsRet;
     }
     
     
@@ -1,12 +1,27 @@
 package org.vishia.cmd;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +45,7 @@ import org.vishia.util.FileSet;
 import org.vishia.util.GetTypeToUse;
 import org.vishia.util.IndexMultiTable;
 import org.vishia.util.SetLineColumn_ifc;
+import org.vishia.util.SlotMap;
 import org.vishia.util.StringFunctions_B;
 import org.vishia.util.StringPartFromFileLines;
 import org.vishia.util.StringPartScan;
@@ -57,6 +73,15 @@ public class JZtxtcmdScript extends CompiledScript
   /**Version, history and license.
    * 
    * <ul>
+   * <li>2026-10-18 Hartmut new: {@link #setParseResultCache(File)}: The parse result of a script and of any included script
+   *   is stored in a cache directory with the hash of its content as file name. 
+   *   The script is not parsed again if it is unchanged, the result is read from the cache.
+   * <li>2026-10-18 Hartmut new: {@link ForStatement#bParallel} for <code>for parallel(...)</code>.
+   * <li>2026-10-18 Hartmut new: {@link JZcmditem#resolveSlots(SlotMap.Slots, Set)} resolves the variables in all statements 
+   *   of a subroutine to the slot index, on building the {@link Subroutine#variableSlots(Collection)}. 
+   * <li>2026-10-18 Hartmut new: {@link Subroutine#variableSlots(Collection)} with {@link StatementList#collectVariableNames(Collection)}:
+   *   Resolution of the local variable names of a subroutine to slot indices for a {@link SlotMap}
+   *   used in {@link JZtxtcmdExecuter.ExecuteLevel#localVariables}.
    * <li>2023-01-28 Hartmut new: {@link #iterSubroutines()} necessary to search all sub routines with a specified name pattern,
    *   Used for {@link org.vishia.gral.cfg.GuiCfg} in srcJava_vishiaGui component. 
    * <li>2023-01-28 Hartmut chg {@link JZcmditem#writeStructLine(Appendable)} starts now with "JZtxtcmdScript: " 
@@ -199,7 +224,7 @@ public class JZtxtcmdScript extends CompiledScript
    * 
    */
   //@SuppressWarnings("hiding")
-  static final public String version = "2022-02-22";
+  static final public String version = "2026-10-18";
 
   final LogMessage console;
 
@@ -236,6 +261,12 @@ public class JZtxtcmdScript extends CompiledScript
   /**The class which presents the script level. */
   JZcmdClass scriptClass;
   
+  /**Directory for parse results of scripts, see {@link #setParseResultCache(File)}. null: not used. */
+  private static File dirParseResultCache;
+  
+  /**Hash of the {@link JZtxtcmdSyntax#syntax}, calculated on demand. It is a part of the hash of any script in the cache. */
+  private static byte[] hashSyntax;
+  
   //public String scriptclassMain;
 
   /**Creates.
@@ -330,10 +361,17 @@ public class JZtxtcmdScript extends CompiledScript
     } catch(ParseException exc){ throw new ScriptException("JZcmd.ctor - internal syntax error; " + exc.getMessage()); }
     //
     parserGenCtrl.setXmlSrcline(checkXmlOutput !=null);
-    bOk = parserGenCtrl.parse(sourceScript);
-    if(!bOk){
-      String sError = parserGenCtrl.getSyntaxErrorReport();
-      throw new ScriptException("\n" + sError, sourceScript.getInputfile(), -1, -1);
+    File fileCache = checkXmlOutput == null ? fileParseResultCache(sourceScript) : null;
+    bOk = fileCache !=null && readParseResultCache(parserGenCtrl, fileCache, sourceScript.getInputfile());
+    if(!bOk) {
+      bOk = parserGenCtrl.parse(sourceScript);
+      if(!bOk){
+        String sError = parserGenCtrl.getSyntaxErrorReport();
+        throw new ScriptException("\n" + sError, sourceScript.getInputfile(), -1, -1);
+      }
+      if(fileCache !=null) {
+        writeParseResultCache(parserGenCtrl, fileCache);
+      }
     }
     if(checkXmlOutput !=null){  //may be used if probles with parserGenCtrl2Java.setContent are given.
       try {
@@ -448,6 +486,87 @@ public class JZtxtcmdScript extends CompiledScript
   
   
   
+  /**Sets a directory to store the parse results of scripts. 
+   * If a script or an included script is translated a second time with the same content, 
+   * the parse result is read from this directory instead parsing again.
+   * The file name is built from a hash of the syntax of JZtxtcmd and the content of the script.
+   * Hence a changed script, also a changed included script, is parsed again, and the result is written as new file. 
+   * Old files are not removed. The directory can be removed or cleaned at any time.
+   * <br>
+   * The cache is not used if a checkXmlOutput is given on translation.
+   * @param dir null: do not use a cache (default). The directory is created if necessary.
+   */
+  public static void setParseResultCache(File dir) {
+    dirParseResultCache = dir;
+  }
+  
+  
+  /**Returns the file in {@link #dirParseResultCache} for this script or null if the cache is not used or not possible.
+   * Note: The sourceScript should contain the whole content in its buffer, it is so if it is read with the file length.
+   */
+  private static File fileParseResultCache(StringPartScan sourceScript) {
+    File dir = dirParseResultCache;
+    if(dir == null) return null;
+    try {
+      MessageDigest md = MessageDigest.getInstance("SHA-256");
+      if(hashSyntax == null) {
+        hashSyntax = md.digest(JZtxtcmdSyntax.syntax.getBytes(StandardCharsets.UTF_8));
+      }
+      md.update(hashSyntax);
+      md.update(StandardCharsets.UTF_8.encode(CharBuffer.wrap(sourceScript)));
+      StringBuilder name = new StringBuilder(80);
+      for(byte b: md.digest()) {
+        name.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+      }
+      return new File(dir, name.append(".zbnfResult").toString());
+    } catch(NoSuchAlgorithmException exc) {
+      return null;                             //never expected, SHA-256 should be supported by any JRE
+    }
+  }
+  
+  
+  /**Reads the parse result from the cache.
+   * @return false if the file does not exist or is not able to read, also if its content is faulty, 
+   *   then the script should be parsed. */
+  private boolean readParseResultCache(ZbnfParser parser, File fileCache, String sInputfile) {
+    if(!fileCache.exists()) return false;
+    InputStream inp = null;
+    try {
+      inp = new FileInputStream(fileCache);
+      return parser.readParseResult(new BufferedInputStream(inp, 0x10000), sInputfile, fileCache.length());
+    } catch(IOException | RuntimeException exc) {    // RuntimeException on faulty content which is not detected as faulty.
+      if(this.console !=null) { this.console.writeWarning("JZtxtcmdScript - faulty parse result cache file, parse; %s", fileCache.getAbsolutePath()); }
+      return false;
+    } finally {
+      if(inp !=null) { try { inp.close(); } catch(IOException exc) { /*ignore*/ } }
+    }
+  }
+  
+  
+  /**Writes the parse result to the cache. It writes firstly a temporary file and renames it, 
+   * because another process may read the same file. An error is only reported, it is not necessary to write the cache. */
+  private void writeParseResultCache(ZbnfParser parser, File fileCache) {
+    File fileTmp = new File(fileCache.getParentFile(), fileCache.getName() + "." + Long.toHexString(System.nanoTime()) + ".tmp");
+    OutputStream out = null;
+    try {
+      if(!fileCache.getParentFile().exists()) { fileCache.getParentFile().mkdirs(); }
+      out = new BufferedOutputStream(new FileOutputStream(fileTmp), 0x10000);
+      parser.writeParseResult(out);
+      out.close();
+      out = null;
+      Files.move(fileTmp.toPath(), fileCache.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch(IOException exc) {
+      if(this.console !=null) { this.console.writeWarning("JZtxtcmdScript - cannot write parse result cache; %s", exc.getMessage()); }
+    } finally {
+      if(out !=null) { try { out.close(); } catch(IOException exc) { /*ignore*/ } }
+      if(fileTmp.exists()) { fileTmp.delete(); }
+    }
+  }
+  
+  
+  
+  
+  
   /**Executes the main routine of the script. Before that the script variables will be created.
    * @see javax.script.CompiledScript#eval(javax.script.ScriptContext)
    */
@@ -659,6 +778,43 @@ public class JZtxtcmdScript extends CompiledScript
     }
     
     
+    /**Resolves the variables used in this item to the slot indices of the local variables of the subroutine,
+     * see {@link Subroutine#variableSlots(Collection)}. Derived classes resolve their additional data accesses.
+     * @param visited the already resolved statement lists, a statement list can be referenced more as one time.
+     */
+    void resolveSlots(SlotMap.Slots slots, Set<StatementList> visited) {
+      resolveSlots(this.dataAccess, slots, visited);
+      if(this.expression !=null) {
+        for(CalculatorExpr.Operation oper: this.expression.listOperations()) {
+          resolveSlots(oper.datapath(), slots, visited);
+        }
+      }
+      if(this.subitem !=null) { this.subitem.resolveSlots(slots, visited); }
+      if(this.statementlist !=null) { this.statementlist.resolveSlots(slots, visited); }
+    }
+    
+    
+    /**Resolves the start element of the path with {@link DataAccess.DatapathElement#resolveSlot(SlotMap.Slots)}, 
+     * it is the variable, and the arguments of all elements. 
+     * @param access maybe null, then does nothing.
+     */
+    static void resolveSlots(DataAccess access, SlotMap.Slots slots, Set<StatementList> visited) {
+      List<DataAccess.DatapathElement> path = access == null ? null : access.datapath();
+      if(path !=null && path.size() >0) {
+        path.get(0).resolveSlot(slots);
+        for(DataAccess.DatapathElement element: path) {
+          if(element instanceof JZcmdDatapathElement) {
+            JZcmdDatapathElement elementJz = (JZcmdDatapathElement)element;
+            if(elementJz.fnArgsExpr !=null) {
+              for(JZcmditem arg: elementJz.fnArgsExpr) { arg.resolveSlots(slots, visited); }
+            }
+            resolveSlots(elementJz.indirectDatapath, slots, visited);
+          }
+        }
+      }
+    }
+    
+    
     @Override public void setLineColumnFile(int line, int column, String sFile){
       if(this.srcFile !=null && !this.srcFile.equals("")){
         Debugutil.stop();
@@ -1498,6 +1654,21 @@ public class JZtxtcmdScript extends CompiledScript
     
     //public void set_name(String val){}
     
+    /**Adds the name of the variable to names if it is a simple name, used for {@link Subroutine#variableSlots(Collection)}. */
+    void addVariableIdent(Collection<String> names) {
+      List<DataAccess.DatapathElement> path = this.defVariable == null ? null : this.defVariable.datapath();
+      if(path !=null && path.size() == 1) {
+        names.add(path.get(0).ident());
+      }
+    }
+    
+    
+    @Override void resolveSlots(SlotMap.Slots slots, Set<StatementList> visited) {
+      super.resolveSlots(slots, visited);
+      resolveSlots(this.defVariable, slots, visited);
+    }
+    
+    
     /**Returns the simple variable name if the variable is on one level only.
      * Returns name.name for more levels.
      * @return
@@ -1787,6 +1958,14 @@ public class JZtxtcmdScript extends CompiledScript
     { super(parentList, elementType);
     }
     
+    @Override void resolveSlots(SlotMap.Slots slots, Set<StatementList> visited) {
+      super.resolveSlots(slots, visited);
+      resolveSlots(this.variable, slots, visited);
+      if(this.assignObjs !=null) {
+        for(JZcmdDataAccess assignObj: this.assignObjs) { resolveSlots(assignObj, slots, visited); }
+      }
+    }
+    
     /**From Zbnf: [{ <dataAccess?-assign> = }] 
      */
     public JZcmdDataAccess new_assign(){ return new JZcmdDataAccess(); }
@@ -1836,6 +2015,11 @@ public class JZtxtcmdScript extends CompiledScript
     { super(parentList, elementType);
     }
     
+    @Override void resolveSlots(SlotMap.Slots slots, Set<StatementList> visited) {
+      super.resolveSlots(slots, visited);
+      resolveSlots(this.variable, slots, visited);
+    }
+    
     
     
     /**Sets the column where the syntax component TextOut has its start in the source.
@@ -1960,6 +2144,11 @@ public class JZtxtcmdScript extends CompiledScript
     CondStatement(StatementList parentList, char type){
       super(parentList, type);
     }
+    
+    @Override void resolveSlots(SlotMap.Slots slots, Set<StatementList> visited) {
+      super.resolveSlots(slots, visited);
+      if(this.condition !=null) { this.condition.resolveSlots(slots, visited); }
+    }
 
     /**From Zbnf: < condition>. A condition is an expression. It is the same like {@link #new_numExpr()}
      */
@@ -2000,10 +2189,51 @@ public class JZtxtcmdScript extends CompiledScript
     
     JZcmdDataAccess forContainer;
     
+    /**Set with <code>for parallel(...)</code>: The elements are executed parallel, 
+     * see {@link JZtxtcmdExecuter.ExecuteLevel#exec_forParallel(ForStatement, org.vishia.util.StringFormatter, int, int)}. */
+    boolean bParallel;
+    
+    /**Names of the variables defined in the body, built on demand for {@link #bParallel}. */
+    private volatile List<String> namesVariablesBody;
+    
     ForStatement(StatementList parentList, char type){
       super(parentList, type);
     }
     
+    @Override void resolveSlots(SlotMap.Slots slots, Set<StatementList> visited) {
+      super.resolveSlots(slots, visited);
+      resolveSlots(this.forContainer, slots, visited);
+    }
+    
+    public void set_parallel(){ this.bParallel = true; }
+    
+    /**Returns the names of the variables which are defined in the statements of the for body. */
+    List<String> namesVariablesBody() {
+      List<String> ret = this.namesVariablesBody;
+      if(ret == null) {
+        ret = new ArrayList<String>();
+        if(this.statementlist !=null) { this.statementlist.collectVariableNames(ret); }
+        this.namesVariablesBody = ret;
+      }
+      return ret;
+    }
+    
+    
+    /**Returns true if the for body contains a break for this loop, also in nested blocks and if, 
+     * but not in the body of a nested loop. Used for {@link #bParallel}, where a break is not admissible. */
+    boolean containsBreak() {
+      return this.statementlist !=null && containsBreak(this.statementlist);
+    }
+    
+    
+    private static boolean containsBreak(StatementList list) {
+      for(JZcmditem item: list.statements) {
+        if(item.elementType == 'b') return true;
+        if(item.statementlist !=null && "fwu".indexOf(item.elementType) <0 && containsBreak(item.statementlist)) return true;
+      }
+      return false;
+    }
+    
     
     public void set_forVariable(String name){ this.forVariable = name; }
 
@@ -2041,6 +2271,9 @@ public class JZtxtcmdScript extends CompiledScript
     
     final JZtxtcmdScript theScript;
     
+    /**The resolved local variable names, built on first call of {@link #variableSlots(Collection)}. */
+    private volatile SlotMap.Slots variableSlots;
+    
     /**
      * @param parentList It is neccessary that parentList is instanceof JZcmdClass, for {@link JZtxtcmdExecuter}
      */
@@ -2171,6 +2404,50 @@ public class JZtxtcmdScript extends CompiledScript
     
     
     
+    /**Returns the slots for the local variables of this subroutine, built on first call.
+     * The slots contain the formal arguments, all variables defined in the statements also in nested blocks,
+     * and the given names. Variables which are created otherwise are not contained, 
+     * they are stored in the {@link SlotMap} as additional entries.
+     * <br>
+     * On building, all variable accesses in the statements are resolved to the slot index, 
+     * see {@link JZcmditem#resolveSlots(SlotMap.Slots, Set)}. On execution the variables are accessed with this index
+     * in the {@link SlotMap}, without search by name. It is done on first call, not while translating the script, 
+     * because the script variables are known only in the execution environment.
+     * @param namesAdd names from the execution environment, especially the script variables. Used only on first call.
+     */
+    public SlotMap.Slots variableSlots(Collection<String> namesAdd) {
+      SlotMap.Slots ret = this.variableSlots;
+      if(ret == null) {
+        synchronized(this) {                     // resolve only one time also if called in more threads.
+          ret = this.variableSlots;
+          if(ret == null) {
+            List<String> names = new ArrayList<String>(namesAdd);
+            if(this.formalArgs !=null) {
+              for(DefVariable arg: this.formalArgs) {
+                arg.addVariableIdent(names);
+              }
+            }
+            if(this.statementlist !=null) {
+              this.statementlist.collectVariableNames(names);
+            }
+            ret = new SlotMap.Slots(names);
+            Set<StatementList> visited = Collections.newSetFromMap(new IdentityHashMap<StatementList, Boolean>());
+            if(this.formalArgs !=null) {
+              for(DefVariable arg: this.formalArgs) {
+                arg.resolveSlots(ret, visited);
+              }
+            }
+            if(this.statementlist !=null) {
+              this.statementlist.resolveSlots(ret, visited);
+            }
+            this.variableSlots = ret;            // volatile, after resolving
+          }
+        }
+      }
+      return ret;
+    }
+    
+    
     @Override void writeStructAdd(int indent, Appendable out) throws IOException{
       if(this.formalArgs !=null){
         for(DefVariable item: this.formalArgs){
@@ -2212,6 +2489,14 @@ public class JZtxtcmdScript extends CompiledScript
       super(parentList, elementType);
     }
     
+    @Override void resolveSlots(SlotMap.Slots slots, Set<StatementList> visited) {
+      super.resolveSlots(slots, visited);
+      if(this.call_Name !=null) { this.call_Name.resolveSlots(slots, visited); }
+      if(this.actualArgs !=null) {
+        for(Argument arg: this.actualArgs) { arg.resolveSlots(slots, visited); }
+      }
+    }
+    
     public JZcmditem new_callName(){ return this.call_Name = new Argument(this.parentList); }
     
     public void set_callName(JZcmditem val){}
@@ -2473,6 +2758,40 @@ public class JZtxtcmdScript extends CompiledScript
      * of variables because new variables should not merge between existing of the outer block.
      */
     public boolean bContainsVariableDef;
+    
+    
+    /**Adds the names of all defined variables in this list and all nested lists to names. 
+     * Used for {@link Subroutine#variableSlots(Collection)}. */
+    void collectVariableNames(Collection<String> names) {
+      collectVariableNames(names, Collections.newSetFromMap(new IdentityHashMap<StatementList, Boolean>()));
+    }
+    
+    
+    /**Resolves the variables of all statements, see {@link JZcmditem#resolveSlots(SlotMap.Slots, Set)}. */
+    void resolveSlots(SlotMap.Slots slots, Set<StatementList> visited) {
+      if(!visited.add(this)) return;           // a statement list can be referenced more as one time
+      for(JZcmditem item: this.statements) {
+        item.resolveSlots(slots, visited);
+      }
+    }
+    
+    
+    private void collectVariableNames(Collection<String> names, Set<StatementList> visited) {
+      if(!visited.add(this)) return;           // a statement list can be referenced more as one time
+      for(JZcmditem item: this.statements) {
+        if(item instanceof DefVariable) {
+          ((DefVariable)item).addVariableIdent(names);
+        }
+        else if(item instanceof ForStatement) {
+          ForStatement forStm = (ForStatement)item;
+          if(forStm.forVariable !=null) { names.add(forStm.forVariable); }
+          if(forStm.checkForVariable !=null) { names.add(forStm.checkForVariable); }
+        }
+        if(item.statementlist !=null) {
+          item.statementlist.collectVariableNames(names, visited);
+        }
+      }
+    }
 
     /**Set with <code><:s></code> in a textExpression to enforce skipping white spaces. 
      * Also true if a text expression starts with &lt;::>, then the first line feed should not be generated 
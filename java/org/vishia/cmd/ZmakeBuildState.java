@@ -0,0 +1,285 @@
+package org.vishia.cmd;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**This class stores the state of built zmake targets in a file, to skip targets with unchanged inputs.
+ * It is used in {@link JZtxtcmdExecuter.ExecuteLevel} for the <code>zmake</code> statement
+ * if {@link JZtxtcmdExecuter#setZmakeBuildState(File)} or <code>jztc.setZmakeBuildState("path")</code> in a script is given.
+ * <br><br>
+ * For any input file the length, the time stamp and a SHA-256 hash of the content is stored.
+ * The content is read only if length or time stamp are changed. Hence a check of unchanged files needs only the file attributes.
+ * <br><br>
+ * For any target the state is a hash built from the call (subroutine name, output file and arguments)
+ * and the path and content hash of all input files. Additionally the length and time stamp of the output file is stored.
+ * A target is up to date if the state is equal and the output file is unchanged.
+ * If the output of a target is the input of another target, and it is built newly with a changed content,
+ * the other target is built newly too, because its state is changed. Hence the order of the targets in the script
+ * should follow the dependencies, as usual.
+ * <br><br>
+ * Only the input files given in the zmake statement are regarded. Files which are used by them without declaration,
+ * for example included headers of a C file, are not detected. If such a file is changed, the target is not built newly.
+ * Add such files to the input fileset of the target, or delete the state file to build all targets.
+ * <br><br>
+ * Arguments of the call are regarded with {@link #appendValue(StringBuilder, Object)}. 
+ * A value without an own <code>toString()</code> is regarded only by its type, not by its content.
+ * <br><br>
+ * The methods are thread safe, zmake can be called in a <code>for parallel(...)</code> or in threads.
+ * The file is written with {@link #save()} on end of the script execution, only if something is changed.
+ * The file is a text file with one line per entry:
+ * <pre>
+ * F length time hash path
+ * T outlength outtime state target
+ * </pre>
+ * @author Hartmut Schorrig
+ *
+ */
+public class ZmakeBuildState
+{
+
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-18 Hartmut created for an incremental build with the zmake statement.
+   * </ul>
+   *
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL ist not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   */
+  static final public String sVersion = "2026-10-18";
+
+
+  /**State of an input file. Immutable. */
+  private static final class FileState {
+    final long length, time;
+    final String hash;
+    FileState(long length, long time, String hash) { this.length = length; this.time = time; this.hash = hash; }
+  }
+
+
+  /**State of a built target. Immutable. */
+  private static final class TargetState {
+    final long outLength, outTime;
+    final String state;
+    TargetState(long outLength, long outTime, String state) { this.outLength = outLength; this.outTime = outTime; this.state = state; }
+  }
+
+
+  /**The file to store the state. */
+  public final File file;
+
+  /**Key is the absolute path. */
+  private final Map<String, FileState> idxFiles = new ConcurrentHashMap<String, FileState>();
+
+  /**Key is the absolute path of the output file of the target. */
+  private final Map<String, TargetState> idxTargets = new ConcurrentHashMap<String, TargetState>();
+
+  /**Set if any state is changed, then {@link #save()} writes the file. */
+  private volatile boolean bChanged;
+
+
+  /**Creates and reads the state from the file if it exists.
+   * @param file to store the state. A faulty content is ignored, all targets are built then.
+   * @throws IOException on read error
+   */
+  public ZmakeBuildState(File file) throws IOException {
+    this.file = file.getAbsoluteFile();
+    if(this.file.exists()) {
+      BufferedReader rd = new BufferedReader(new InputStreamReader(new FileInputStream(this.file), StandardCharsets.UTF_8));
+      try {
+        String sLine;
+        while( (sLine = rd.readLine()) !=null) {
+          String[] parts = sLine.split(" ", 5);
+          if(parts.length == 5) {
+            try {
+              long length = Long.parseLong(parts[1]);
+              long time = Long.parseLong(parts[2]);
+              if(parts[0].equals("F")) { this.idxFiles.put(parts[4], new FileState(length, time, parts[3])); }
+              else if(parts[0].equals("T")) { this.idxTargets.put(parts[4], new TargetState(length, time, parts[3])); }
+            } catch(NumberFormatException exc) { /*ignore this line*/ }
+          }
+        }
+      } finally { rd.close(); }
+    }
+  }
+
+
+  /**Returns the hash of the file content, calculates it only if the length or the time stamp of the file is changed.
+   * @return null if the file does not exist.
+   */
+  public String fileHash(File file) throws IOException {
+    if(!file.isFile()) return null;
+    String sPath = file.getAbsolutePath();
+    long length = file.length();
+    long time = file.lastModified();
+    FileState state = this.idxFiles.get(sPath);
+    if(state == null || state.length != length || state.time != time) {
+      MessageDigest md = sha256();
+      byte[] buffer = new byte[0x10000];
+      InputStream inp = new FileInputStream(file);
+      try {
+        int zRead;
+        while( (zRead = inp.read(buffer)) > 0) {
+          md.update(buffer, 0, zRead);
+        }
+      } finally { inp.close(); }
+      state = new FileState(length, time, hex(md.digest()));
+      this.idxFiles.put(sPath, state);
+      this.bChanged = true;
+    }
+    return state.hash;
+  }
+
+
+  /**Builds the state of a target.
+   * @param sCall describes the call, without the input files, for example subroutine name, output and arguments.
+   * @param inputs all input files.
+   * @return the hash of the call and the content of all inputs.
+   */
+  public String targetState(CharSequence sCall, Collection<File> inputs) throws IOException {
+    MessageDigest md = sha256();
+    md.update(sCall.toString().getBytes(StandardCharsets.UTF_8));
+    for(File input: inputs) {
+      String hash = fileHash(input);
+      md.update((byte)'\n');
+      md.update(input.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+      md.update((byte)'=');
+      if(hash !=null) { md.update(hash.getBytes(StandardCharsets.US_ASCII)); }
+    }
+    return hex(md.digest());
+  }
+
+
+  /**Checks whether a target is up to date.
+   * @param output the output file of the target
+   * @param state from {@link #targetState(CharSequence, Collection)}
+   * @return true if the state is equal with the last built and the output file is not changed since them.
+   */
+  public boolean isUptodate(File output, String state) {
+    TargetState target = this.idxTargets.get(output.getAbsolutePath());
+    return target !=null && target.state.equals(state)
+        && output.exists() && output.length() == target.outLength && output.lastModified() == target.outTime;
+  }
+
+
+  /**Stores the state of a target after it was built successfully.
+   * @param output the output file of the target, it should exist.
+   * @param state from {@link #targetState(CharSequence, Collection)}, calculated before building.
+   */
+  public void setBuilt(File output, String state) {
+    String sPath = output.getAbsolutePath();
+    if(output.exists()) {
+      this.idxTargets.put(sPath, new TargetState(output.length(), output.lastModified(), state));
+    } else {
+      this.idxTargets.remove(sPath);           //build it next time.
+    }
+    this.bChanged = true;
+  }
+
+
+  /**Writes the state to the {@link #file} if anything was changed.
+   * It writes firstly a temporary file and renames it, the old state is valid till the new one is complete. */
+  public synchronized void save() throws IOException {
+    if(!this.bChanged) return;
+    this.bChanged = false;
+    File dir = this.file.getParentFile();
+    if(dir !=null && !dir.exists()) { dir.mkdirs(); }
+    File fileTmp = new File(dir, this.file.getName() + ".tmp");
+    Writer wr = new OutputStreamWriter(Files.newOutputStream(fileTmp.toPath()), StandardCharsets.UTF_8);
+    try {
+      for(Map.Entry<String, FileState> e: this.idxFiles.entrySet()) {
+        FileState state = e.getValue();
+        wr.append("F ").append(Long.toString(state.length)).append(' ').append(Long.toString(state.time))
+          .append(' ').append(state.hash).append(' ').append(e.getKey()).append('\n');
+      }
+      for(Map.Entry<String, TargetState> e: this.idxTargets.entrySet()) {
+        TargetState state = e.getValue();
+        wr.append("T ").append(Long.toString(state.outLength)).append(' ').append(Long.toString(state.outTime))
+          .append(' ').append(state.state).append(' ').append(e.getKey()).append('\n');
+      }
+    } finally { wr.close(); }
+    Files.move(fileTmp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+
+  /**Appends a stable text representation of a value for the state of a target.
+   * Lists and maps are appended element by element. A value whose class does not override <code>toString()</code>
+   * is appended only with its class name, because the identity hash code of {@link Object#toString()} is different on any run.
+   */
+  public static void appendValue(StringBuilder u, Object value) {
+    if(value == null) {
+      u.append("null");
+    } else if(value instanceof CharSequence || value instanceof Number || value instanceof Boolean || value instanceof Character) {
+      u.append(value.toString());
+    } else if(value instanceof Map) {
+      u.append('{');
+      for(Map.Entry<?, ?> e: ((Map<?, ?>)value).entrySet()) {
+        appendValue(u, e.getKey()); u.append('=');
+        appendValue(u, e.getValue()); u.append(',');
+      }
+      u.append('}');
+    } else if(value instanceof Iterable) {
+      u.append('[');
+      for(Object e: (Iterable<?>)value) {
+        appendValue(u, e); u.append(',');
+      }
+      u.append(']');
+    } else {
+      boolean bOwnToString;
+      try { bOwnToString = value.getClass().getMethod("toString").getDeclaringClass() != Object.class; }
+      catch(NoSuchMethodException exc) { bOwnToString = false; }  //never expected
+      u.append(bOwnToString ? value.toString() : value.getClass().getName());
+    }
+  }
+
+
+  private static MessageDigest sha256() {
+    try { return MessageDigest.getInstance("SHA-256"); }
+    catch(NoSuchAlgorithmException exc) { throw new RuntimeException(exc); } //never expected, SHA-256 should be supported by any JRE
+  }
+
+
+  private static String hex(byte[] bytes) {
+    StringBuilder u = new StringBuilder(2 * bytes.length);
+    for(byte b: bytes) {
+      u.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+    }
+    return u.toString();
+  }
+
+
+  @Override public String toString() { return this.file.getPath() + " targets: " + this.idxTargets.size(); }
+}
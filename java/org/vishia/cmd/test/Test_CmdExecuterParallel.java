@@ -0,0 +1,101 @@
+package org.vishia.cmd.test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.vishia.cmd.CmdExecuter;
+import org.vishia.util.TestOrg;
+
+/**Test of {@link CmdExecuter#setParallel(int)} with {@link CmdExecuter#executeCmdQueue(boolean)}.
+ * It needs a shell to start commands, cmd.exe on Windows or sh on other systems.
+ */
+public class Test_CmdExecuterParallel {
+
+  static final boolean bWindows = File.separatorChar == '\\';
+
+  /**Returns the arguments to invoke a command line in the shell. */
+  static String[] shellCmd(String cmdLine) {
+    return bWindows ? new String[] {"cmd.exe", "/C", cmdLine} : new String[] {"sh", "-c", cmdLine};
+  }
+
+
+  public static void main(String[] args) {
+    TestOrg test = new TestOrg("Test_CmdExecuterParallel", 2, args);
+    Test_CmdExecuterParallel thiz = new Test_CmdExecuterParallel();
+    thiz.testOrderOfOutputs(test);
+    thiz.testAbortOnError(test);
+    test.finish();
+  }
+
+
+  /**The outputs of parallel executed commands are written in order of the queue. */
+  void testOrderOfOutputs(TestOrg parent) {
+    TestOrg test = new TestOrg("outputs in order of the queue", 4, parent);
+    CmdExecuter executer = new CmdExecuter(true);
+    try {
+      executer.setParallel(4);
+      StringBuilder out = new StringBuilder();
+      StringBuilder expected = new StringBuilder();
+      for(int ix = 0; ix < 8; ++ix) {
+        List<Appendable> outs = new LinkedList<Appendable>();
+        outs.add(out);
+        String sleep = bWindows ? "" : "sleep 0." + (ix % 3) + "; ";    // later commands are finished earlier
+        executer.addCmd(shellCmd(sleep + "echo cmd" + ix), null, outs, null, null, null);
+        expected.append("cmd").append(ix).append('\n');
+      }
+      CmdExecuter.CmdQueueEntry eError = executer.executeCmdQueue(true);
+      test.expect(eError == null, 5, "no error");
+      test.expect(expected, out.toString().replace("\r", ""), 5, "outputs in order of the queue");
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      executer.close();
+    }
+    test.finish();
+  }
+
+
+  /**On error the failing entry is returned, the entries which are not started remain in the queue.
+   * Any entry is either executed or remains in the queue, none is lost. */
+  void testAbortOnError(TestOrg parent) {
+    TestOrg test = new TestOrg("abortOnError, failing entry returned, not executed entries remain in queue", 4, parent);
+    CmdExecuter executer = new CmdExecuter(true);
+    try {
+      executer.setParallel(2);
+      int zCmds = 8, ixError = 2;
+      StringBuilder[] outs = new StringBuilder[zCmds];
+      for(int ix = 0; ix < zCmds; ++ix) {
+        outs[ix] = new StringBuilder();
+        List<Appendable> outs1 = new LinkedList<Appendable>();
+        outs1.add(outs[ix]);
+        String cmd = ix == ixError ? "echo cmd" + ix + "&& exit 3" : "echo cmd" + ix;
+        executer.addCmd(shellCmd(cmd), null, outs1, null, null, null);
+      }
+      List<CmdExecuter.CmdQueueEntry> entries = new ArrayList<CmdExecuter.CmdQueueEntry>(executer.cmdQueue);
+      CmdExecuter.CmdQueueEntry eError = executer.executeCmdQueue(true);
+      test.expect(eError == entries.get(ixError), 5, "the failing entry is returned");
+      test.expect(eError !=null && eError.errorCmd == 3, 5, "its exit code");
+      int nrLost = 0, nrExecuted = 0;
+      boolean bOrder = true;
+      for(int ix = 0; ix < zCmds; ++ix) {
+        boolean bExecuted = outs[ix].length() > 0;
+        boolean bInQueue = executer.cmdQueue.contains(entries.get(ix));
+        if(bExecuted == bInQueue) { nrLost +=1; }
+        if(bExecuted) { nrExecuted +=1; }
+        if(bInQueue && ix <= ixError) { bOrder = false; }
+      }
+      test.expect(nrLost == 0, 5, "any entry is executed or remains in the queue, %d executed", nrExecuted);
+      test.expect(bOrder, 5, "the failing entry and the entries before are not in the queue");
+      test.expect(nrExecuted < zCmds, 5, "not all entries are executed");
+      executer.cmdQueue.clear();
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      executer.close();
+    }
+    test.finish();
+  }
+
+}
@@ -0,0 +1,112 @@
+package org.vishia.cmd.test;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.vishia.cmd.CmdExecuter;
+import org.vishia.util.TestOrg;
+
+/**Test of {@link CmdExecuter#CmdExecuter(boolean)} with shared threads to read the outputs of the process.
+ * It needs a shell to start commands, cmd.exe on Windows or sh on other systems.
+ */
+public class Test_CmdExecuterSharedThreads {
+
+  public static void main(String[] args) {
+    TestOrg test = new TestOrg("Test_CmdExecuterSharedThreads", 2, args);
+    Test_CmdExecuterSharedThreads thiz = new Test_CmdExecuterSharedThreads();
+    thiz.testOutputsComplete(test);
+    thiz.testConcurrentExecuters(test);
+    test.finish();
+  }
+
+
+  static String cmdLines(String id, int zLines) {
+    return Test_CmdExecuterParallel.bWindows
+        ? "for /L %i in (1,1," + zLines + ") do @(echo " + id + "out%i & echo " + id + "err%i 1>&2)"
+        : "i=1; while [ $i -le " + zLines + " ]; do echo " + id + "out$i; echo " + id + "err$i >&2; i=$((i+1)); done";
+  }
+
+
+  static String expected(String id, String sOut, int zLines) {
+    StringBuilder sb = new StringBuilder();
+    for(int ix = 1; ix <= zLines; ++ix) { sb.append(id).append(sOut).append(ix).append('\n'); }
+    return sb.toString();
+  }
+
+
+  static int nrofThreads(String name) {
+    int nr = 0;
+    for(Thread thread: Thread.getAllStackTraces().keySet()) {
+      if(thread.getName().equals(name)) { nr +=1; }
+    }
+    return nr;
+  }
+
+
+  /**All lines of output and error are written before execute returns, nothing is mixed. */
+  void testOutputsComplete(TestOrg parent) {
+    TestOrg test = new TestOrg("outputs and errors complete with shared threads", 4, parent);
+    int nrThreadsBefore = nrofThreads("execOut");
+    CmdExecuter executer = new CmdExecuter(true);
+    try {
+      test.expect(nrofThreads("execOut") == nrThreadsBefore, 5, "no own thread for the outputs");
+      int zLines = 2000;
+      for(int ixRepeat = 0; ixRepeat < 3; ++ixRepeat) {   // the executer is reused
+        StringBuilder out = new StringBuilder(), err = new StringBuilder();
+        List<Appendable> outs = new LinkedList<Appendable>(), errs = new LinkedList<Appendable>();
+        outs.add(out); errs.add(err);
+        int exitCode = executer.execute(Test_CmdExecuterParallel.shellCmd(cmdLines("a", zLines)), null, outs, errs);
+        test.expect(exitCode == 0, 5, "exit code, run %d", ixRepeat);
+        test.expect(expected("a", "out", zLines), out.toString().replace("\r", ""), 5, "all outputs, run " + ixRepeat);
+        test.expect(expected("a", "err", zLines), err.toString().replace("\r", "").replace(" \n", "\n"), 5, "all errors, run " + ixRepeat);
+      }
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      executer.close();
+    }
+    test.finish();
+  }
+
+
+  /**Some executers in different threads use the same threads to read the outputs. */
+  void testConcurrentExecuters(TestOrg parent) {
+    TestOrg test = new TestOrg("concurrent executers with shared threads", 4, parent);
+    final int zExecuters = 4, zLines = 500;
+    final String[] results = new String[zExecuters];
+    Thread[] threads = new Thread[zExecuters];
+    for(int ix = 0; ix < zExecuters; ++ix) {
+      final int ixExec = ix;
+      threads[ix] = new Thread("Test_CmdExecuter" + ix) {
+        @Override public void run() {
+          CmdExecuter executer = new CmdExecuter(true);
+          try {
+            String id = "x" + ixExec + "_";
+            StringBuilder out = new StringBuilder(), err = new StringBuilder();
+            List<Appendable> outs = new LinkedList<Appendable>(), errs = new LinkedList<Appendable>();
+            outs.add(out); errs.add(err);
+            executer.execute(Test_CmdExecuterParallel.shellCmd(cmdLines(id, zLines)), null, outs, errs);
+            boolean bOk = out.toString().replace("\r", "").equals(expected(id, "out", zLines))
+                       && err.toString().replace("\r", "").replace(" \n", "\n").equals(expected(id, "err", zLines));
+            results[ixExec] = bOk ? "ok" : "faulty outputs";
+          } catch(Exception exc) {
+            results[ixExec] = exc.toString();
+          } finally {
+            executer.close();
+          }
+        }
+      };
+      threads[ix].start();
+    }
+    try {
+      for(Thread thread: threads) { thread.join(60000); }
+      for(int ix = 0; ix < zExecuters; ++ix) {
+        test.expect("ok".equals(results[ix]), 5, "executer %d: %s", ix, results[ix]);
+      }
+    } catch(Exception exc) {
+      test.exception(exc);
+    }
+    test.finish();
+  }
+
+}
@@ -0,0 +1,83 @@
+package org.vishia.cmd.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.vishia.cmd.JZtxtcmdExecuter;
+import org.vishia.jztxtcmd.JZtxtcmd;
+import org.vishia.msgDispatch.LogMessage;
+import org.vishia.msgDispatch.LogMessageStream;
+import org.vishia.util.CalculatorExpr;
+import org.vishia.util.DataAccess;
+import org.vishia.util.StringPartScan;
+import org.vishia.util.TestOrg;
+
+/**Test of <code>for parallel(...)</code> of {@link JZtxtcmdExecuter}.
+ * The same datapath with method arguments is executed in more as one thread.
+ * This instance is the script variable <code>h</code> with the methods called in the script.
+ */
+public class Test_JZtxtcmdForParallel {
+
+  /**Calls methods with the for-variable as argument, the results are checked in {@link #check(Object, Object)}. */
+  static final String script =
+      "==JZtxtcmd==\n"
+    + "main() {\n"
+    + "  for parallel(e: h.l) {\n"
+    + "    Obj r = h.id(e);\n"
+    + "    h.check(e, r);\n"
+    + "    h.check(e, h.id(e));\n"
+    + "  }\n"
+    + "}\n";
+
+  /**Elements for the for parallel. */
+  public final List<Object> l = new ArrayList<Object>();
+
+  final AtomicInteger nrofChecks = new AtomicInteger(), nrofFaulty = new AtomicInteger();
+
+
+  public static void main(String[] args) {
+    System.setProperty("java.util.concurrent.ForkJoinPool.common.parallelism", "16");  //before the pool is used
+    TestOrg test = new TestOrg("Test_JZtxtcmdForParallel", 2, args);
+    Test_JZtxtcmdForParallel thiz = new Test_JZtxtcmdForParallel();
+    thiz.testMethodArgs(test);
+    test.finish();
+  }
+
+
+  /**Returns the next value of the element, the arguments of this call are evaluated per execution. */
+  public Object id(Object e) {
+    Thread.yield();                                        //another thread may evaluate the arguments meanwhile
+    return Integer.valueOf(((Integer)e).intValue() +1);
+  }
+
+
+  /**Checks whether the result r is the next value of e. */
+  public void check(Object e, Object r) {
+    long value = r instanceof CalculatorExpr.Value ? ((CalculatorExpr.Value)r).longValue() : ((Number)r).longValue();
+    if(value != ((Integer)e).intValue() +1) { this.nrofFaulty.incrementAndGet(); }
+    this.nrofChecks.incrementAndGet();
+  }
+
+
+  /**Executes the script with 3000 elements in the common ForkJoinPool. */
+  void testMethodArgs(TestOrg parent) {
+    TestOrg test = new TestOrg("for parallel: method with the for-variable as argument", 4, parent);
+    try {
+      int zElements = 3000;
+      for(int ix = 0; ix < zElements; ++ix) { this.l.add(Integer.valueOf(ix)); }
+      LogMessage log = new LogMessageStream(System.out);
+      Map<String, DataAccess.Variable<Object>> data = new TreeMap<String, DataAccess.Variable<Object>>();
+      data.put("h", new DataAccess.Variable<Object>('O', "h", this, true));
+      JZtxtcmd.execute(new JZtxtcmdExecuter(log), null, new StringPartScan(script), new StringBuilder(), data, ".", false, null, log);
+      test.expect(this.nrofChecks.get() == 2 * zElements, 5, "%d checks", this.nrofChecks.get());
+      test.expect(this.nrofFaulty.get() == 0, 5, "%d faulty results", this.nrofFaulty.get());
+    } catch(Exception exc) {
+      test.exception(exc);
+    }
+    test.finish();
+  }
+
+}
@@ -0,0 +1,121 @@
+package org.vishia.cmd.test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.vishia.cmd.JZtxtcmdExecuter;
+import org.vishia.cmd.ZmakeBuildState;
+import org.vishia.jztxtcmd.JZtxtcmd;
+import org.vishia.msgDispatch.LogMessage;
+import org.vishia.msgDispatch.LogMessageStream;
+import org.vishia.util.FileFunctions;
+import org.vishia.util.TestOrg;
+
+/**Test of the zmake statement with {@link JZtxtcmdExecuter#setZmakeBuildState(File)}, see {@link ZmakeBuildState}.
+ */
+public class Test_ZmakeBuildState {
+
+  /**The subroutine writes "build" to the text output and the inputs and the argument to the output file.
+   * The argument cnt is incremented on any evaluation. */
+  static final String script =
+      "==JZtxtcmd==\n"
+    + "Fileset srcs = ( src/*.c );\n"
+    + "Obj cnt = java new java.util.concurrent.atomic.AtomicInteger();\n"
+    + "sub gen(Obj target: org.vishia.cmd.ZmakeTarget, String opt = \"\", Num nr = 0) {\n"
+    + "  <+>build <&target.output.localfile()> <&nr><.+n>\n"
+    + "  Openfile f = target.output.absfile();\n"
+    + "  <+f>opt=<&opt> nr=<&nr><.+n>\n"
+    + "  for(inp: target.allInputFilesExpanded()) { <+f><&inp.localfile()><.+n> }\n"
+    + "  f.close();\n"
+    + "  if(opt == \"err\") { throw \"error in gen\"; }\n"
+    + "}\n"
+    + "main() {\n"
+    + "  zmake \"out/all.txt\" := gen(&srcs, nr = cnt.incrementAndGet());\n"
+    + "  zmake \"out/one.txt\" := gen(\"src/f1.c\", opt = \"$OPT1\");\n"
+    + "  zmake \"out/two.txt\" := gen(\"out/one.txt\", opt = \"$OPT2\");\n"
+    + "}\n";
+
+
+  final LogMessage log = new LogMessageStream(System.out);
+
+  File dir;
+
+
+  public static void main(String[] args) {
+    TestOrg test = new TestOrg("Test_ZmakeBuildState", 2, args);
+    Test_ZmakeBuildState thiz = new Test_ZmakeBuildState();
+    thiz.testBuildState(test);
+    thiz.testAppendValue(test);
+    test.finish();
+  }
+
+
+  /**Executes the script with a new executer, with the build state file in the directory.
+   * @return the text output, "build ..." for any built target.
+   */
+  String run(String opt1, String opt2) throws Exception {
+    File fileScript = new File(this.dir, "zm.jzTc");
+    Files.write(fileScript.toPath(), script.replace("$OPT1", opt1).replace("$OPT2", opt2).getBytes("UTF-8"));
+    JZtxtcmdExecuter executer = new JZtxtcmdExecuter(this.log);
+    executer.setZmakeBuildState(new File(this.dir, "state.txt"));
+    StringBuilder out = new StringBuilder();
+    JZtxtcmd.execute(executer, fileScript, out, this.dir.getAbsolutePath(), false, null, this.log);
+    return out.toString();
+  }
+
+
+  void testBuildState(TestOrg parent) {
+    TestOrg test = new TestOrg("zmake skips unchanged targets", 4, parent);
+    try {
+      this.dir = Files.createTempDirectory("Test_ZmakeBuildState").toFile();
+      new File(this.dir, "src").mkdirs();
+      new File(this.dir, "out").mkdirs();
+      for(String name: new String[] { "f1.c", "f2.c" }) {
+        Files.write(new File(this.dir, "src/" + name).toPath(), ("//" + name + "\n").getBytes("UTF-8"));
+      }
+      String sOut = run("a", "b");
+      test.expect("build out/all.txt 1\nbuild out/one.txt 0\nbuild out/two.txt 0\n", sOut, 5, "first run builds all, the argument is evaluated one time");
+      test.expect(new File(this.dir, "state.txt").exists(), 5, "state file written");
+      sOut = run("a", "b");
+      test.expect("", sOut, 5, "second run builds nothing");
+      sOut = run("c", "b");
+      test.expect("build out/one.txt 0\nbuild out/two.txt 0\n", sOut, 5, "changed argument, the depending target with changed input is built too");
+      Thread.sleep(1100);                                  //the time stamp of the file should change
+      Files.write(new File(this.dir, "src/f2.c").toPath(), "//f2.c changed\n".getBytes("UTF-8"));
+      sOut = run("c", "b");
+      test.expect("build out/all.txt 1\n", sOut, 5, "changed input file");
+      boolean bException = false;
+      try { run("c", "err"); }
+      catch(Exception exc) { bException = true; }
+      test.expect(bException, 5, "exception in the script");
+      Files.write(new File(this.dir, "src/f1.c").toPath(), "//f1.c changed\n".getBytes("UTF-8"));
+      try { run("d", "err"); }
+      catch(Exception exc) { /*expected*/ }
+      sOut = run("d", "b");
+      test.expect("build out/two.txt 0\n", sOut, 5, "state of a target before an exception is saved");
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      if(this.dir !=null) { FileFunctions.rmdir(this.dir); }
+    }
+    test.finish();
+  }
+
+
+  void testAppendValue(TestOrg parent) {
+    TestOrg test = new TestOrg("stable text of argument values", 4, parent);
+    StringBuilder u1 = new StringBuilder(), u2 = new StringBuilder();
+    ZmakeBuildState.appendValue(u1, new Object());
+    ZmakeBuildState.appendValue(u2, new Object());
+    test.expect(u1, u2, 5, "Object without toString(), without identity hash code");
+    List<Object> list = new ArrayList<Object>();
+    list.add("a"); list.add(Integer.valueOf(5)); list.add(null);
+    u1.setLength(0);
+    ZmakeBuildState.appendValue(u1, list);
+    test.expect("[a,5,null,]", u1, 5, "list element by element");
+    test.finish();
+  }
+
+}
@@ -17,6 +17,10 @@ public interface InterProcessComm
 {
   /**version, history and license:
    * <ul>
+   * <li>2026-10-18 Hartmut fix: default {@link #receiveAll(int[], byte[], Address_InterProcessComm, InterProcessCommRx_ifc)} admits result == null.
+   * <li>2026-10-18 Hartmut new: {@link #receiveAll(int[], byte[], Address_InterProcessComm, InterProcessCommRx_ifc)}
+   *   and {@link #sendQueued(byte[], int, Address_InterProcessComm)} with {@link #flush()} to handle more as one telegram in one call.
+   *   Default implementations with the single telegram operations are given, they are only for Java.
    * <li>2012-08-22 Hartmut chg The constants {@link #receiverShouldbeBlocking} /Polling should be boolean because
    *   the parameter of open is boolean. The might be never used ?
    * <li>2011-01-05 Hartmut created
@@ -47,7 +51,7 @@ public interface InterProcessComm
    * 
    * 
    */
-  public final static int version = 20120820;
+  public final static int version = 20261018;
   /** Mode of receiving, determined on open(). The receive()-call either blocks 
    * if no data are available (it should be called in an extra thread), 
    * or it returns a nullpointer, if no data are available. This is a polling manner.
@@ -128,6 +132,38 @@ public interface InterProcessComm
 	public byte[] receiveData(int[] nrofBytes, byte[] buffer, Address_InterProcessComm sender);
 
 
+  /**Receives all available telegrams and executes them.
+   * The operation blocks till at least one telegram is received if the communication is opened as blocking.
+   * Then all telegrams which are available yet are received without waiting and executed one after another.
+   * Hence a receive thread is woken up only one time for a burst of telegrams.
+   * <br>
+   * The default implementation receives only one telegram with {@link #receiveData(int[], byte[], Address_InterProcessComm)}.
+   * @param result null or [0] is set to the number of bytes of the last telegram, or to the error code <0.
+   * @param buffer The buffer for the data, used for all telegrams. 
+   * @param sender It is set with the sender of the current telegram before execRxData is invoked.
+   * @param execRxData invoked for any telegram with the buffer, the number of bytes and the sender.
+   * @return number of executed telegrams, 0 if nothing is received in non blocking mode, <0 on error.
+   */
+  default int receiveAll(int[] result, byte[] buffer, Address_InterProcessComm sender, InterProcessCommRx_ifc execRxData)
+  { int[] result1 = result !=null ? result : new int[1];
+    byte[] data = receiveData(result1, buffer, sender);
+    if(data == null || result1[0] <0) { return result1[0] <0 ? result1[0] : 0; }
+    execRxData.execRxData(data, result1[0], sender);
+    return 1;
+  }
+
+
+  /**Queues a telegram to send, all queued telegrams are sent with {@link #flush()}. 
+   * The data are copied, the buffer can be used again after this call.
+   * <br>
+   * The default implementation sends immediately with {@link #send(byte[], int, Address_InterProcessComm)}.
+   * @return number of queued bytes, <0 on error.
+   */
+  default int sendQueued(final byte[] data, int nBytes, final Address_InterProcessComm addressee)
+  { return send(data, nBytes, addressee);
+  }
+
+
   /** Relinguishes the data buffer, after it is evaluated.
       @param data The buffer delivered from receive!
   */
@@ -200,7 +236,8 @@ public interface InterProcessComm
 
   public String translateErrorMsg(int nError);
 
-  /**Flushs send data to destination. */
+  /**Flushs send data to destination, especially the telegrams given with {@link #sendQueued(byte[], int, Address_InterProcessComm)}. 
+   * @return number of sent telegrams, <0 on error. */
   public int flush();
 
   /**Gets a buffer for send. */
@@ -18,7 +18,7 @@
  *    You mustn't delete this Copyright/Copyleft inscription in this source file.
  *
  * @author Hartmut Schorrig: hartmut.schorrig@vishia.de, www.vishia.org
- * @version 0.93 2011-01-05  (year-month-day)
+ * @version 0.94 2026-10-18  (year-month-day)
  *******************************************************************************/ 
 package org.vishia.communication;
 
@@ -48,7 +48,13 @@ public class InterProcessCommFactorySocket extends InterProcessCommFactory
  /**Creates a InterProcessComm from a parameter String. The type depends on this String.
   * For example:
   * <ul>
-  * <li>"UDP:192.16.35.3:1234" for UDP via socket. Don't write spaces, set the port after ':'
+  * <li>"UDP:192.16.35.3:1234" for UDP via {@link java.nio.channels.DatagramChannel}, see {@link InterProcessComm_DatagramChannelImpl}.
+  *   Don't write spaces, set the port after ':'. It supports 
+  *   {@link InterProcessComm#receiveAll(int[], byte[], Address_InterProcessComm, InterProcessCommRx_ifc)}
+  *   and {@link InterProcessComm#sendQueued(byte[], int, Address_InterProcessComm)} for bursts of telegrams.
+  * <li>"UDPnio:192.16.35.3:1234" is the same as "UDP:...".
+  * <li>"Socket:192.16.35.3:1234" for UDP via {@link java.net.DatagramSocket}, see {@link InterProcessComm_SocketImpl}, 
+  *   it was used for "UDP:" till 2026-10. 
   * </ul> 
   * @param protocolAndOwnAddr A string which determines the kind of communication and the own address (slot).
   *                           It depends on the underlying system which kind of communication are supported
@@ -57,11 +63,13 @@ public class InterProcessCommFactorySocket extends InterProcessCommFactory
  @Override public InterProcessComm create(String protocolAndOwnAddr, int nPort)
  { final InterProcessComm ipc;
    int posSocketAddr = -1;
- 	if(protocolAndOwnAddr.startsWith("UDP:")){ posSocketAddr = 4; }
- 	else if(protocolAndOwnAddr.startsWith("Socket:")){ posSocketAddr = 7; }
+ 	if(protocolAndOwnAddr.startsWith("Socket:")){ posSocketAddr = 7; }
  	if(posSocketAddr >=0){
  		Address_InterProcessComm ownAddr = createAddressSocket(null, protocolAndOwnAddr, nPort);
  		ipc = new InterProcessComm_SocketImpl(ownAddr);
+ 	} else if(protocolAndOwnAddr.startsWith("UDP:") || protocolAndOwnAddr.startsWith("UDPnio:")){
+ 		Address_InterProcessComm ownAddr = createAddressSocket(null, protocolAndOwnAddr, nPort);
+ 		ipc = new InterProcessComm_DatagramChannelImpl(ownAddr);
  	} else {
  		ipc = null;
  	}
@@ -69,9 +77,17 @@ public class InterProcessCommFactorySocket extends InterProcessCommFactory
  }
  
  
+ /**Creates the same implementation as {@link #create(String, int)} for the type of the address:
+  * {@link InterProcessComm_SocketImpl} for "Socket", elsewhere {@link InterProcessComm_DatagramChannelImpl}.
+  */
  @Override public InterProcessComm create(Address_InterProcessComm addr){
 	 if(addr instanceof Address_InterProcessComm_Socket){
-		 InterProcessComm obj = new InterProcessComm_SocketImpl(addr);
+		 final InterProcessComm obj;
+		 if("Socket".equals(((Address_InterProcessComm_Socket)addr).getType())) {
+			 obj = new InterProcessComm_SocketImpl(addr);
+		 } else {
+			 obj = new InterProcessComm_DatagramChannelImpl(addr);
+		 }
 		 return obj;
 	 } else {
 		 throw new IllegalArgumentException("only Socket-Implementation, fault type of address:");
@@ -103,6 +119,9 @@ public class InterProcessCommFactorySocket extends InterProcessCommFactory
  		String sAddr = protocolAndOwnAddr.substring(4);
  		addr = createAddressSocket(null, protocolAndOwnAddr, nPort);
  		
+	  } else if(protocolAndOwnAddr.startsWith("UDPnio:")){
+ 		addr = createAddressSocket(null, protocolAndOwnAddr, nPort);
+ 		
 	  } else if(protocolAndOwnAddr.startsWith("TCP:")){
  		String sAddr = protocolAndOwnAddr.substring(4);
  		addr = createAddressSocket(null, protocolAndOwnAddr, nPort);
@@ -26,6 +26,11 @@ public class InterProcessCommRxThread
   
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-18 Hartmut fix: receiveAll(...) and sendQueued(...) are only for Java, 
+   *   the C translation uses {@link InterProcessComm#receiveData(int[], byte[], Address_InterProcessComm)} as before, see {@link #bReceiveAll}.
+   * <li>2026-10-18 Hartmut chg: uses {@link InterProcessComm#receiveAll(int[], byte[], Address_InterProcessComm, InterProcessCommRx_ifc)}
+   *   to execute all available telegrams with one wake up of the thread, after them {@link InterProcessComm#flush()}
+   *   to send the answers given with {@link InterProcessComm#sendQueued(byte[], int, Address_InterProcessComm)} together.
    * <li>2015-06-13 Hartmut: Created especially for C-usage of InterProcessCommunication.
    *   It is derived from {@link org.vishia.inspectorTarget.Comm} which uses this class as super class yet.
    * </ul>
@@ -54,7 +59,7 @@ public class InterProcessCommRxThread
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    * 
    */
-  public static final String version = "2015-06-13";
+  public static final String version = "2026-10-18";
 
   
   /**Reference to the execute routine on receiving data. */
@@ -94,6 +99,11 @@ public class InterProcessCommRxThread
   /**@java2c=simpleRef. */
   private final Address_InterProcessComm myAnswerAddress;
   
+  /**true: uses {@link InterProcessComm#receiveAll(int[], byte[], Address_InterProcessComm, InterProcessCommRx_ifc)}, only for Java.
+   * The C translation uses the else branch with {@link InterProcessComm#receiveData(int[], byte[], Address_InterProcessComm)}
+   * because receiveAll is not existing in the C interface. */
+  @Java4C.ExcludeCond private final boolean bReceiveAll = true;
+  
   /**Creates the communication but does not open it yet. See {@link #start()}
    * The InterProcessComm interface implementation is got depending on
    * <ul><li>the ownAddrIpc-string
@@ -200,7 +210,26 @@ public class InterProcessCommRxThread
     @Java4C.DynamicCall InterProcessComm mipc = this.ipc;
     return mipc.send(data, nrofBytesToSend, dstAddr);
   }
-  
+
+
+  /**Queues a telegram to send. It delegates to {@link InterProcessComm#sendQueued(byte[], int, Address_InterProcessComm)}.
+   * If it is called in {@link InterProcessCommRx_ifc#execRxData(byte[], int, Address_InterProcessComm)},
+   * the telegram is sent together with the other answers after all received telegrams are executed.
+   * Elsewhere call {@link #flush()}. Only for Java, sendQueued(...) is not existing in the C interface.
+   */
+  @Java4C.Exclude
+  public final int sendQueued(@Java4C.PtrVal byte[] data, int nrofBytesToSend, Address_InterProcessComm dstAddr){
+    @Java4C.DynamicCall InterProcessComm mipc = this.ipc;
+    return mipc.sendQueued(data, nrofBytesToSend, dstAddr);
+  }
+
+
+  /**Sends the telegrams given with {@link #sendQueued(byte[], int, Address_InterProcessComm)}. */
+  public final int flush(){
+    @Java4C.DynamicCall InterProcessComm mipc = this.ipc;
+    return mipc.flush();
+  }
+
   
 
   private final void runThread()
@@ -233,13 +262,25 @@ public class InterProcessCommRxThread
       //chgData_TestData_Inspc(ythis->testInspc);   //only for test.
       this.nrofBytesReceived[0] = 0; //expected the nrof available data
       //
-      //----> receiveData(...)
+      //----> receiveAll(...), calls execRxData(...) for all available telegrams, in C receiveData(...)
       //
       state = 'r';  //receive
       try{
-        ipcMtbl.receiveData(this.nrofBytesReceived, this.rxBuffer, this.myAnswerAddress);
+        int nrofTelg;
+        if(this.bReceiveAll) {
+          nrofTelg = ipcMtbl.receiveAll(this.nrofBytesReceived, this.rxBuffer, this.myAnswerAddress, execRxDataMtbl);
+        } else {
+          ipcMtbl.receiveData(this.nrofBytesReceived, this.rxBuffer, this.myAnswerAddress);
+          if(this.nrofBytesReceived[0] <0) { 
+            nrofTelg = -1; 
+          } else {
+            execRxDataMtbl.execRxData(this.rxBuffer, this.nrofBytesReceived[0], this.myAnswerAddress);      
+            //unnecessary because usage receiveData: ipcMtbl.freeData(rxBuffer);
+            nrofTelg = 1;
+          }
+        }
         if(state !='x'){
-          if(nrofBytesReceived[0] <0){ //error situation
+          if(nrofTelg <0){ //error situation
             //it is possible that a send request has failed because the destination port is not
             //able to reach any more. Therefore wait a moment and listen new
             state = 'e';  //prevent send
@@ -248,9 +289,8 @@ public class InterProcessCommRxThread
             state = 'r';
             //
             //cmdExecuterMtbl.executeCmd(rxBuffer, nrofBytesReceived[0]);
-          } else {
-            execRxDataMtbl.execRxData(rxBuffer, nrofBytesReceived[0], this.myAnswerAddress);      
-            //unnecessary because usage receiveData: ipcMtbl.freeData(rxBuffer);
+          } else if(nrofTelg >0) {
+            ipcMtbl.flush();  //send the answers queued while executing.
           }
         }
       } catch(Exception exc){
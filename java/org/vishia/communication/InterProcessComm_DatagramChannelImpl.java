@@ -0,0 +1,474 @@
+package org.vishia.communication;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**This class implements the interprocess communication with UDP-IP telegrams using a {@link DatagramChannel}.
+ * It is an alternative to {@link InterProcessComm_SocketImpl}, created by the {@link InterProcessCommFactorySocket}
+ * with the protocol "UDP:" or "UDPnio:", for example "UDP:127.0.0.1:6000".
+ * <br><br>
+ * The telegrams are received in direct {@link ByteBuffer} from a pool:
+ * <ul>
+ * <li>{@link #receiveBuffer(Address_InterProcessComm)} returns the buffer, it can be evaluated immediately for example
+ *   with {@link org.vishia.byteData.ByteDataAccessBase#assignBuffer(ByteBuffer)}.
+ *   After evaluation {@link #freeBuffer(ByteBuffer)} gives the buffer back to the pool.
+ * <li>{@link #receive(int[], Address_InterProcessComm)} and {@link #receiveData(int[], byte[], Address_InterProcessComm)}
+ *   copy the received data from the direct buffer to a byte[], which is taken from a pool too if no buffer is given.
+ *   That is the same effort as for the {@link java.net.DatagramSocket}, which uses a direct buffer internally too.
+ * </ul>
+ * Hence for high telegram rates no buffers are allocated if the user frees the buffers after evaluation.
+ * Other than {@link InterProcessComm_SocketImpl} the non blocking mode on {@link #open(Address_InterProcessComm, boolean)} is supported.
+ * <br><br>
+ * The channel is always non blocking. For the blocking mode a {@link Selector} waits for the next telegram.
+ * Hence {@link #receiveAll(int[], byte[], Address_InterProcessComm, InterProcessCommRx_ifc)} waits only for the first telegram
+ * and receives all further available telegrams without waiting.
+ * {@link #sendQueued(byte[], int, Address_InterProcessComm)} copies the telegrams in reused direct buffers,
+ * {@link #flush()} sends them one after another without a thread switch.
+ *
+ * @author Hartmut Schorrig
+ *
+ */
+public class InterProcessComm_DatagramChannelImpl implements InterProcessComm
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-18 Hartmut chg: {@link #getName()} returns the type of the own address, "UDP" or "UDPnio".
+   * <li>2026-10-18 Hartmut chg: created by the {@link InterProcessCommFactorySocket} also for "UDP:", 
+   *   with the String or with the address, hence the {@link InterProcessCommRxThread} executes bursts of telegrams with {@link #receiveAll(int[], byte[], Address_InterProcessComm, InterProcessCommRx_ifc)}.
+   * <li>2026-10-18 Hartmut fix: The error state of receive is returned in result[0] of {@link #receiveBuffer(int[], Address_InterProcessComm)},
+   *   no more stored in a field which may be changed by a receive in another thread.
+   * <li>2026-10-18 Hartmut new: non blocking channel with {@link Selector}, {@link #receiveAll(int[], byte[], Address_InterProcessComm, InterProcessCommRx_ifc)},
+   *   {@link #sendQueued(byte[], int, Address_InterProcessComm)} and {@link #flush()}.
+   * <li>2026-10-18 Hartmut created, receive in pooled direct buffers.
+   * </ul>
+   * <br><br>
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL is not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   */
+  public static final String version = "2026-10-18";
+
+
+  private final Address_InterProcessComm_Socket ownAddress;
+
+  /**Size of all receive buffers. A longer telegram is truncated. */
+  private final int sizeBuffer;
+
+  private DatagramChannel channel;
+
+  /**Only for the blocking mode to wait for a telegram, null in non blocking mode. */
+  private Selector selector;
+
+  /**Direct buffers for {@link #receiveBuffer(Address_InterProcessComm)}, filled with {@link #freeBuffer(ByteBuffer)}. */
+  private final ArrayBlockingQueue<ByteBuffer> poolRxBuffer;
+
+  /**Arrays for {@link #receive(int[], Address_InterProcessComm)}, filled with {@link #freeData(byte[])}. */
+  private final ArrayBlockingQueue<byte[]> poolRxData;
+
+  private String sRxErrorMsg;
+
+  private String sTxErrorMsg;
+
+  /**Queue for {@link #sendQueued(byte[], int, Address_InterProcessComm)}, the direct buffers are allocated on first usage and reused.
+   * The queue is locked with the {@link #txBuffers}. */
+  private final ByteBuffer[] txBuffers;
+
+  /**Destinations adequate {@link #txBuffers}. */
+  private final SocketAddress[] txDst;
+
+  /**Number of queued telegrams in {@link #txBuffers}. */
+  private int zTx;
+
+
+  /**Creates with 1500 bytes per buffer, it is the usual MTU of Ethernet, and 16 buffers in the pool.
+   * @param ownAddress should be an {@link Address_InterProcessComm_Socket}
+   */
+  public InterProcessComm_DatagramChannelImpl(Address_InterProcessComm ownAddress)
+  { this(ownAddress, 1500, 16);
+  }
+
+
+  /**Creates, but does not open.
+   * @param ownAddress should be an {@link Address_InterProcessComm_Socket}
+   * @param sizeBuffer size of a receive buffer, it should regard the longest telegram.
+   * @param nrofPoolBuffer max number of buffers hold in the pools. It should regard the number of buffers in evaluation at the same time.
+   *   It is also the max number of telegrams for {@link #sendQueued(byte[], int, Address_InterProcessComm)} before they are flushed.
+   */
+  public InterProcessComm_DatagramChannelImpl(Address_InterProcessComm ownAddress, int sizeBuffer, int nrofPoolBuffer)
+  { assert(ownAddress instanceof Address_InterProcessComm_Socket);
+    this.ownAddress = (Address_InterProcessComm_Socket)ownAddress;
+    this.sizeBuffer = sizeBuffer;
+    this.poolRxBuffer = new ArrayBlockingQueue<ByteBuffer>(nrofPoolBuffer);
+    this.poolRxData = new ArrayBlockingQueue<byte[]>(nrofPoolBuffer);
+    this.txBuffers = new ByteBuffer[nrofPoolBuffer];
+    this.txDst = new SocketAddress[nrofPoolBuffer];
+  }
+
+
+  /**Opens the channel bound to the own address.
+   * @param shouldBlock false then the receive operations return null with result 0 if no telegram is available.
+   * @return 0 on success, -1 on error, see {@link #getReceiveErrorMsg(boolean)}.
+   */
+  @Override public int open(final Address_InterProcessComm dstAddress, boolean shouldBlock)
+  { int error = 0;
+    try {
+      DatagramChannel channel1 = DatagramChannel.open();
+      channel1.setOption(StandardSocketOptions.SO_RCVBUF, 64 * this.sizeBuffer);  //regard bursts of telegrams
+      channel1.bind(this.ownAddress.getSocketAddress());
+      channel1.configureBlocking(false);
+      if(shouldBlock) {
+        this.selector = Selector.open();
+        channel1.register(this.selector, SelectionKey.OP_READ);
+      }
+      this.channel = channel1;
+      this.sRxErrorMsg = null;
+    } catch(IOException exc) {
+      this.sRxErrorMsg = exc.getMessage() + " port=" + this.ownAddress.getSocketAddress().getPort();
+      error = -1;
+    }
+    return error;
+  }
+
+
+  /**Closes the channel. A waiting receive in another thread is woken up and returns with an error. */
+  @Override public int close()
+  { DatagramChannel channel1 = this.channel;
+    Selector selector1 = this.selector;
+    this.channel = null;
+    this.selector = null;
+    try {
+      if(channel1 !=null) { channel1.close(); }
+      if(selector1 !=null) { selector1.close(); }   //wakes up a waiting select()
+    } catch(IOException exc) { this.sRxErrorMsg = exc.getMessage(); return -1; }
+    return 0;
+  }
+
+
+  @Override public int send(final byte[] data, int nBytes, final Address_InterProcessComm addresseeP)
+  { Address_InterProcessComm_Socket addressee = (Address_InterProcessComm_Socket) addresseeP;
+    DatagramChannel channel1 = this.channel;
+    if(channel1 == null) { return -1; }  //may be closed in another thread.
+    try {
+      return sendBuffer(channel1, ByteBuffer.wrap(data, 0, nBytes), addressee.getSocketAddress());
+    } catch(IOException exc) {
+      this.sTxErrorMsg = exc.getMessage();
+      return -1;
+    }
+  }
+
+
+  /**Sends the buffer. If the send buffer of the socket is full, it waits in the blocking mode, elsewhere it returns 0. */
+  private int sendBuffer(DatagramChannel channel1, ByteBuffer buffer, SocketAddress dst) throws IOException
+  { int nBytes = channel1.send(buffer, dst);
+    while(nBytes == 0 && buffer.hasRemaining() && this.selector !=null) {
+      LockSupport.parkNanos(100000);        //a moment to transmit the socket's buffer
+      nBytes = channel1.send(buffer, dst);
+    }
+    return nBytes;
+  }
+
+
+  /**Copies the data in a direct buffer of the queue. If the queue is full, it is flushed before.
+   * The data are sent on {@link #flush()}.
+   * @return nBytes, -1 on error or if the queue is full in non blocking mode.
+   */
+  @Override public int sendQueued(final byte[] data, int nBytes, final Address_InterProcessComm addresseeP)
+  { synchronized(this.txBuffers) {
+      if(nBytes > this.sizeBuffer) {           //too long for the queued buffers, send all in order.
+        if(this.zTx >0 && flush() <0) { return -1; }
+        return send(data, nBytes, addresseeP);
+      }
+      if(this.zTx == this.txBuffers.length) {
+        if(flush() <0) { return -1; }
+        if(this.zTx == this.txBuffers.length) { this.sTxErrorMsg = "send queue full"; return -1; }
+      }
+      ByteBuffer buffer = this.txBuffers[this.zTx];
+      if(buffer == null) { buffer = this.txBuffers[this.zTx] = ByteBuffer.allocateDirect(this.sizeBuffer); }
+      buffer.clear();
+      buffer.put(data, 0, nBytes);
+      buffer.flip();
+      this.txDst[this.zTx++] = ((Address_InterProcessComm_Socket)addresseeP).getSocketAddress();
+      return nBytes;
+    }
+  }
+
+
+  /**Sends all telegrams given with {@link #sendQueued(byte[], int, Address_InterProcessComm)}.
+   * In non blocking mode the telegrams which cannot be sent yet remain in the queue for the next flush().
+   * On an error the failed telegram is removed from the queue.
+   * @return number of sent telegrams, -1 on error.
+   */
+  @Override public int flush()
+  { synchronized(this.txBuffers) {
+      DatagramChannel channel1 = this.channel;
+      if(channel1 == null) { return this.zTx == 0 ? 0 : -1; }
+      int ixSent = 0;
+      int ret;
+      try {
+        while(ixSent < this.zTx) {
+          ByteBuffer buffer = this.txBuffers[ixSent];
+          sendBuffer(channel1, buffer, this.txDst[ixSent]);
+          if(buffer.hasRemaining()) break;       //not sent in non blocking mode, socket buffer is full
+          ixSent +=1;
+        }
+        ret = ixSent;
+      } catch(IOException exc) {
+        this.sTxErrorMsg = exc.toString();
+        ixSent +=1;                              //skip the faulty one
+        ret = -1;
+      }
+      int ixDst = 0;
+      for(int ix = ixSent; ix < this.zTx; ++ix) { //move the rest to begin, swap to reuse the sent buffers
+        ByteBuffer buffer = this.txBuffers[ixDst];
+        this.txBuffers[ixDst] = this.txBuffers[ix];
+        this.txBuffers[ix] = buffer;
+        this.txDst[ixDst++] = this.txDst[ix];
+      }
+      for(int ix = ixDst; ix < this.zTx; ++ix) { this.txDst[ix] = null; }
+      this.zTx = ixDst;
+      return ret;
+    }
+  }
+
+
+  /**Receives a telegram in a direct buffer of the pool.
+   * @param senderP null or an address to store the sender.
+   * @return the buffer with position 0 and limit as number of received bytes.
+   *   The user should call {@link #freeBuffer(ByteBuffer)} after evaluation.
+   *   null on error, see {@link #getReceiveErrorMsg(boolean)}, or if no telegram is available in the non blocking mode.
+   *   Use {@link #receiveBuffer(int[], Address_InterProcessComm)} to distinguish both.
+   */
+  public ByteBuffer receiveBuffer(Address_InterProcessComm senderP)
+  { return receiveBuffer(null, senderP, this.selector !=null);
+  }
+
+
+  /**Receives a telegram in a direct buffer of the pool, see {@link #receiveBuffer(Address_InterProcessComm)}.
+   * @param result null or [0] is set to the number of bytes, -1 on error, 0 if nothing is received in non blocking mode.
+   */
+  public ByteBuffer receiveBuffer(int[] result, Address_InterProcessComm senderP)
+  { return receiveBuffer(result, senderP, this.selector !=null);
+  }
+
+
+  /**Receives a telegram in a direct buffer of the pool.
+   * The state is returned in result, not stored in this, because receive may be called in more as one thread.
+   * @param result null or [0] is set to the number of bytes, -1 on error, 0 if nothing is received.
+   * @param bWait true then waits with the {@link #selector} till a telegram is received.
+   */
+  private ByteBuffer receiveBuffer(int[] result, Address_InterProcessComm senderP, boolean bWait)
+  { DatagramChannel channel1 = this.channel;
+    Selector selector1 = this.selector;
+    if(channel1 == null) {
+      if(result !=null) { result[0] = -1; }
+      return null;
+    }
+    ByteBuffer buffer = this.poolRxBuffer.poll();
+    if(buffer == null) { buffer = ByteBuffer.allocateDirect(this.sizeBuffer); }
+    buffer.clear();
+    SocketAddress sender;
+    try {
+      sender = channel1.receive(buffer);
+      while(sender == null && bWait && selector1 !=null) {
+        selector1.select();
+        selector1.selectedKeys().clear();
+        sender = channel1.receive(buffer);
+      }
+      if(result !=null) { result[0] = 0; }
+    }
+    catch(IOException | ClosedSelectorException exc) {  //also if closed in another thread
+      this.sRxErrorMsg = exc.toString();
+      if(result !=null) { result[0] = -1; }
+      sender = null;
+    }
+    if(sender == null) {
+      freeBuffer(buffer);
+      return null;
+    } else {
+      if(senderP !=null) { ((Address_InterProcessComm_Socket)senderP).storeSender(sender); }
+      buffer.flip();
+      if(result !=null) { result[0] = buffer.remaining(); }
+      return buffer;
+    }
+  }
+
+
+  /**Gives the buffer back to the pool for the next {@link #receiveBuffer(Address_InterProcessComm)}.
+   * If the pool is full the buffer is left to the garbage collector.
+   * @param buffer returned from {@link #receiveBuffer(Address_InterProcessComm)}, null is admissible.
+   */
+  public void freeBuffer(ByteBuffer buffer)
+  { if(buffer !=null && buffer.isDirect() && buffer.capacity() == this.sizeBuffer) {
+      this.poolRxBuffer.offer(buffer);
+    }
+  }
+
+
+  @Override public byte[] receive(int[] result, Address_InterProcessComm sender)
+  { return receiveData(result, null, sender);
+  }
+
+
+  /**Receives with {@link #receiveBuffer(Address_InterProcessComm)} and copies the data.
+   * @param result [0] number of bytes, -1 on error, 0 if nothing is received in non blocking mode.
+   * @param bufferP if null then a buffer from the pool is returned, the user should call {@link #freeData(byte[])}.
+   * @return the buffer with the data, null on error or if nothing is received.
+   */
+  @Override public byte[] receiveData(int[] result, byte[] bufferP, Address_InterProcessComm sender)
+  { ByteBuffer rxBuffer = receiveBuffer(result, sender, this.selector !=null);
+    if(rxBuffer == null) {
+      return null;                               //result[0] is set already
+    }
+    byte[] dataBuffer = bufferP;
+    if(dataBuffer == null) {
+      dataBuffer = this.poolRxData.poll();
+      if(dataBuffer == null) { dataBuffer = new byte[this.sizeBuffer]; }
+    }
+    int nrofBytes = Math.min(rxBuffer.remaining(), dataBuffer.length);
+    rxBuffer.get(dataBuffer, 0, nrofBytes);
+    freeBuffer(rxBuffer);
+    if(result !=null) { result[0] = nrofBytes; }
+    return dataBuffer;
+  }
+
+
+  /**Waits for the first telegram in blocking mode, then receives and executes all available telegrams without waiting.
+   * The data are copied in the given buffer for any telegram.
+   */
+  @Override public int receiveAll(int[] result, byte[] buffer, Address_InterProcessComm sender, InterProcessCommRx_ifc execRxData)
+  { int nrofTelg = 0;
+    int nrofBytes = 0;
+    int[] result1 = result !=null ? result : new int[1];   //the receive state, not stored in this, see receiveBuffer(...)
+    ByteBuffer rxBuffer = receiveBuffer(result1, sender, this.selector !=null);
+    while(rxBuffer !=null) {
+      nrofBytes = Math.min(rxBuffer.remaining(), buffer.length);
+      rxBuffer.get(buffer, 0, nrofBytes);
+      freeBuffer(rxBuffer);
+      execRxData.execRxData(buffer, nrofBytes, sender);
+      nrofTelg +=1;
+      rxBuffer = receiveBuffer(result1, sender, false);   //the next one only if available yet.
+    }
+    if(nrofTelg == 0) {
+      return result1[0] <0 ? -1 : 0;
+    }
+    result1[0] = nrofBytes;                      //of the last telegram, an error of the further receive is detected on the next call
+    return nrofTelg;
+  }
+
+
+  /**Gives the buffer back to the pool for {@link #receive(int[], Address_InterProcessComm)}. */
+  @Override public void freeData(byte[] data)
+  { if(data !=null && data.length == this.sizeBuffer) {
+      this.poolRxData.offer(data);
+    }
+  }
+
+
+  @Override public boolean equals(final Address_InterProcessComm address1, final Address_InterProcessComm address2)
+  { return ((Address_InterProcessComm_Socket)address1).getSocketAddress().equals(((Address_InterProcessComm_Socket)address2).getSocketAddress());
+  }
+
+
+  public String getReceiveErrorMsg(boolean clearIt)
+  { String msg = this.sRxErrorMsg;
+    if(clearIt) { this.sRxErrorMsg = null; }
+    return msg;
+  }
+
+
+  public String getSendErrorMsg(boolean clearIt)
+  { String msg = this.sTxErrorMsg;
+    if(clearIt) { this.sTxErrorMsg = null; }
+    return msg;
+  }
+
+
+  /**Closes the channel, a receive in another thread is finished then with an error. */
+  @Override public int abortReceive()
+  { return close();
+  }
+
+
+  @Override public int capacityToSendWithoutBlocking(int nrofBytesToSend)
+  { return nrofBytesToSend;
+  }
+
+
+  @Override public int checkConnection()
+  { return this.channel == null ? -1 : 0;
+  }
+
+
+  @Override public int dataAvailable()
+  { return 0;
+  }
+
+
+  /**@return the type of the own address, "UDP" or "UDPnio", with the address. */
+  @Override public String getName()
+  { return this.ownAddress.getType() + ":" + this.ownAddress;
+  }
+
+
+  @Override public Address_InterProcessComm getOwnAddress()
+  { return this.ownAddress;
+  }
+
+
+  @Override public byte[] getSendBuffer(int len)
+  { return null;
+  }
+
+
+  @Override public String translateErrorMsg(int nError)
+  { return this.sRxErrorMsg;
+  }
+
+
+  @Override public Address_InterProcessComm createAddress()
+  { return new Address_InterProcessComm_Socket();
+  }
+
+  @Override public Address_InterProcessComm createAddress(int p1, int p2)
+  { return new Address_InterProcessComm_Socket("Socket", p1, p2);
+  }
+
+  @Override public Address_InterProcessComm createAddress(String p1, int p2)
+  { return new Address_InterProcessComm_Socket("Socket", p1, p2);
+  }
+
+  @Override public Address_InterProcessComm createAddress(String address)
+  { return new Address_InterProcessComm_Socket(address);
+  }
+
+
+  @Override public String toString() { return getName(); }
+}
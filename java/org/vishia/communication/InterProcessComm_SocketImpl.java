@@ -18,7 +18,7 @@
  *    You mustn't delete this Copyright/Copyleft inscription in this source file.
  *
  * @author Hartmut Schorrig: hartmut.schorrig@vishia.de, www.vishia.org
- * @version 0.93 2011-01-05  (year-month-day)
+ * @version 0.94 2026-10-18  (year-month-day)
  *******************************************************************************/ 
 package org.vishia.communication;
 
@@ -28,12 +28,19 @@ import java.net.DatagramSocket;
 import java.net.SocketException;
 //import java.net.*;
 import java.net.InetSocketAddress;
+import java.util.concurrent.ArrayBlockingQueue;
 
 
 
 
 
 /** This class implements the interprocess communication for mailbox system with UDP-IP telegrams on Windows.
+ * <ul>
+ * <li>2026-10-18 Hartmut new: The buffers returned by {@link #receive(int[], Address_InterProcessComm)}
+ *   are taken from a pool and given back with {@link #freeData(byte[])}. The DatagramPacket is reused.
+ *   Hence receiving does not allocate for high telegram rates if the user calls freeData(...) as described in the interface.
+ *   See also {@link InterProcessComm_DatagramChannelImpl} which receives in direct buffers.
+ * </ul>
 */
 public class InterProcessComm_SocketImpl implements InterProcessComm
 {
@@ -42,6 +49,16 @@ public class InterProcessComm_SocketImpl implements InterProcessComm
 
   private static final int kDataBufferSize = 1500;
 
+  /**Max number of buffers hold in {@link #poolRxBuffer}. More buffers given with {@link #freeData(byte[])} are left to the garbage collector. */
+  private static final int kMaxPoolBuffer = 16;
+
+  /**Buffers for {@link #receive(int[], Address_InterProcessComm)}, filled with {@link #freeData(byte[])}.
+   * It is an array based queue, hence no allocation is necessary for the queue itself. */
+  private final ArrayBlockingQueue<byte[]> poolRxBuffer = new ArrayBlockingQueue<byte[]>(kMaxPoolBuffer);
+
+  /**The packet for receive, only used under its lock, it is reused for any receive. */
+  private final DatagramPacket rxPacket = new DatagramPacket(new byte[0], 0);
+
   private final Address_InterProcessComm_Socket ownAddress;
   
   /** The UDP Socket handling as receiver */
@@ -140,19 +157,24 @@ public class InterProcessComm_SocketImpl implements InterProcessComm
     }
     else
     { Address_InterProcessComm_Socket sender = (Address_InterProcessComm_Socket)(senderP);
-      byte[] dataBuffer = new byte[kDataBufferSize];
-      DatagramPacket datagramPacket = new DatagramPacket(dataBuffer, kDataBufferSize);
-      try{ this.udpSocket.receive(datagramPacket); }
-      catch(IOException exception)
-      { bOk = false;
-        result[0] = -1;
-        dataBuffer = null;
-      } //try it again.
-      if(bOk)
-      {
-        result[0] = datagramPacket.getLength();
-        if(sender != null)
-        { sender.storeSender(datagramPacket.getSocketAddress());
+      byte[] dataBuffer = this.poolRxBuffer.poll();
+      if(dataBuffer == null) { dataBuffer = new byte[kDataBufferSize]; }
+      final DatagramPacket datagramPacket = this.rxPacket;
+      synchronized(datagramPacket) {
+        datagramPacket.setData(dataBuffer, 0, kDataBufferSize);
+        try{ this.udpSocket.receive(datagramPacket); }
+        catch(IOException exception)
+        { bOk = false;
+          result[0] = -1;
+          freeData(dataBuffer);
+          dataBuffer = null;
+        } //try it again.
+        if(bOk)
+        {
+          result[0] = datagramPacket.getLength();
+          if(sender != null)
+          { sender.storeSender(datagramPacket.getSocketAddress());
+          }
         }
       }
       return dataBuffer;
@@ -160,8 +182,14 @@ public class InterProcessComm_SocketImpl implements InterProcessComm
   }
 
 
+  /**Gives the buffer back to the pool for the next {@link #receive(int[], Address_InterProcessComm)}.
+   * The pool takes only buffers with the size of the receive buffer.
+   * If it is full, the buffer is left to the garbage collector.
+   */
   public void freeData(byte[] data)
-  { //This method is left empty because the garbage collector deletes unneccerry data.
+  { if(data !=null && data.length == kDataBufferSize) {
+      this.poolRxBuffer.offer(data);
+    }
   }
 
 
@@ -256,19 +284,27 @@ public class InterProcessComm_SocketImpl implements InterProcessComm
     }
     else
     { Address_InterProcessComm_Socket sender = (Address_InterProcessComm_Socket)(senderP);
-      byte[] dataBuffer = bufferP != null ? bufferP : new byte[kDataBufferSize];
-      DatagramPacket datagramPacket = new DatagramPacket(dataBuffer, dataBuffer.length);
-      try{ this.udpSocket.receive(datagramPacket); }
-      catch(IOException exception)
-      { bOk = false;
-        if(result != null) { result[0] = -1; }
-        dataBuffer = null;
-      } //maybe try it again with later call
-      if(bOk)
-      {
-        if(result !=null){ result[0] = datagramPacket.getLength(); }
-        if(sender != null)
-        { sender.storeSender(datagramPacket.getSocketAddress());
+      byte[] dataBuffer = bufferP;
+      if(dataBuffer == null) {
+        dataBuffer = this.poolRxBuffer.poll();    //the user should call freeData(...)
+        if(dataBuffer == null) { dataBuffer = new byte[kDataBufferSize]; }
+      }
+      final DatagramPacket datagramPacket = this.rxPacket;
+      synchronized(datagramPacket) {
+        datagramPacket.setData(dataBuffer, 0, dataBuffer.length);
+        try{ this.udpSocket.receive(datagramPacket); }
+        catch(IOException exception)
+        { bOk = false;
+          if(result != null) { result[0] = -1; }
+          if(bufferP == null) { freeData(dataBuffer); }
+          dataBuffer = null;
+        } //maybe try it again with later call
+        if(bOk)
+        {
+          if(result !=null){ result[0] = datagramPacket.getLength(); }
+          if(sender != null)
+          { sender.storeSender(datagramPacket.getSocketAddress());
+          }
         }
       }
       return dataBuffer;
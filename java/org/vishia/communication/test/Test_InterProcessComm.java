@@ -0,0 +1,245 @@
+package org.vishia.communication.test;
+
+import java.nio.ByteBuffer;
+
+import org.vishia.communication.Address_InterProcessComm;
+import org.vishia.communication.Address_InterProcessComm_Socket;
+import org.vishia.communication.InterProcessComm;
+import org.vishia.communication.InterProcessCommFactory;
+import org.vishia.communication.InterProcessCommFactorySocket;
+import org.vishia.communication.InterProcessCommRxThread;
+import org.vishia.communication.InterProcessCommRx_ifc;
+import org.vishia.communication.InterProcessComm_DatagramChannelImpl;
+import org.vishia.communication.InterProcessComm_SocketImpl;
+import org.vishia.util.TestOrg;
+
+/**Test of the UDP implementations of {@link InterProcessComm} via loopback, on the ports 46001..46012.
+ */
+public class Test_InterProcessComm {
+
+  public static void main(String[] args) {
+    TestOrg test = new TestOrg("Test_InterProcessComm", 2, args);
+    Test_InterProcessComm thiz = new Test_InterProcessComm();
+    thiz.testSocketImplPool(test);
+    thiz.testDatagramChannelReceive(test);
+    thiz.testDatagramChannelState(test);
+    thiz.testDefaultReceiveAll(test);
+    thiz.testRxThreadBurst(test);
+    test.finish();
+  }
+
+
+  static Address_InterProcessComm addr(int port) { return new Address_InterProcessComm_Socket("UDP:127.0.0.1:" + port); }
+
+
+  static byte[] telg(int nr, int size) {
+    byte[] data = new byte[size];
+    for(int ix = 0; ix < size; ++ix) { data[ix] = (byte)(nr + ix); }
+    return data;
+  }
+
+
+  static boolean checkTelg(byte[] data, int nrofBytes, int nr, int size) {
+    if(data == null || nrofBytes != size) return false;
+    for(int ix = 0; ix < size; ++ix) { if(data[ix] != (byte)(nr + ix)) return false; }
+    return true;
+  }
+
+
+  /**The buffers of receive(...) are taken from the pool after freeData(...). */
+  void testSocketImplPool(TestOrg parent) {
+    TestOrg test = new TestOrg("InterProcessComm_SocketImpl: received in pooled buffers", 4, parent);
+    InterProcessComm rx = new InterProcessComm_SocketImpl(addr(46001));
+    InterProcessComm tx = new InterProcessComm_SocketImpl(addr(46002));
+    try {
+      test.expect(rx.open(null, true) >=0 && tx.open(null, true) >=0, 5, "open");
+      Address_InterProcessComm sender = rx.createAddress();
+      int[] result = new int[1];
+      int nrOk = 0;
+      byte[] bufferLast = null;
+      boolean bReused = true;
+      for(int nr = 0; nr < 10; ++nr) {
+        tx.send(telg(nr, 100 + nr), 100 + nr, addr(46001));
+        byte[] data = rx.receive(result, sender);
+        if(checkTelg(data, result[0], nr, 100 + nr)) { nrOk +=1; }
+        if(bufferLast !=null && data != bufferLast) { bReused = false; }
+        bufferLast = data;
+        rx.freeData(data);
+      }
+      test.expect(nrOk == 10, 5, "%d telegrams received", nrOk);
+      test.expect(bReused, 5, "the buffer is reused after freeData");
+      test.expect(sender.toString().endsWith(":46002"), 5, "sender stored");
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      rx.close(); tx.close();
+    }
+    test.finish();
+  }
+
+
+  /**Receive in direct buffers, the result contains the number of bytes. */
+  void testDatagramChannelReceive(TestOrg parent) {
+    TestOrg test = new TestOrg("InterProcessComm_DatagramChannelImpl: receive in direct buffers", 4, parent);
+    InterProcessComm_DatagramChannelImpl rx = new InterProcessComm_DatagramChannelImpl(addr(46003));
+    InterProcessComm_DatagramChannelImpl tx = new InterProcessComm_DatagramChannelImpl(addr(46004));
+    try {
+      test.expect(rx.open(null, true) >=0 && tx.open(null, true) >=0, 5, "open");
+      Address_InterProcessComm sender = rx.createAddress();
+      int[] result = new int[1];
+      int nrOk = 0;
+      ByteBuffer bufferLast = null;
+      boolean bReused = true;
+      for(int nr = 0; nr < 10; ++nr) {
+        tx.send(telg(nr, 200 + nr), 200 + nr, addr(46003));
+        ByteBuffer buffer = rx.receiveBuffer(result, sender);
+        byte[] data = null;
+        if(buffer !=null) {
+          test.expect(buffer.isDirect(), 6, "direct buffer");
+          data = new byte[buffer.remaining()];
+          buffer.get(data);
+        }
+        if(checkTelg(data, result[0], nr, 200 + nr)) { nrOk +=1; }
+        if(bufferLast !=null && buffer != bufferLast) { bReused = false; }
+        bufferLast = buffer;
+        rx.freeBuffer(buffer);
+      }
+      test.expect(nrOk == 10, 5, "%d telegrams received", nrOk);
+      test.expect(bReused, 5, "the buffer is reused after freeBuffer");
+      tx.send(telg(3, 50), 50, addr(46003));
+      byte[] data = rx.receiveData(result, null, sender);
+      test.expect(checkTelg(data, result[0], 3, 50), 5, "receiveData copies");
+      rx.freeData(data);
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      rx.close(); tx.close();
+    }
+    test.finish();
+  }
+
+
+  /**The receive state is returned in result: nothing received in non blocking mode and the error after close are distinguished.
+   * A receive in another thread does not change the state. */
+  void testDatagramChannelState(TestOrg parent) {
+    TestOrg test = new TestOrg("InterProcessComm_DatagramChannelImpl: receive state in result", 4, parent);
+    final InterProcessComm_DatagramChannelImpl rx = new InterProcessComm_DatagramChannelImpl(addr(46005));
+    InterProcessComm_DatagramChannelImpl tx = new InterProcessComm_DatagramChannelImpl(addr(46006));
+    final InterProcessComm_DatagramChannelImpl rxBlocking = new InterProcessComm_DatagramChannelImpl(addr(46007));
+    try {
+      test.expect(rx.open(null, false) >=0 && tx.open(null, true) >=0 && rxBlocking.open(null, true) >=0, 5, "open");
+      Address_InterProcessComm sender = rx.createAddress();
+      int[] result = { 99 };
+      ByteBuffer buffer = rx.receiveBuffer(result, sender);
+      test.expect(buffer == null && result[0] == 0, 5, "non blocking: nothing received, result=%d", result[0]);
+      tx.send(telg(1, 20), 20, addr(46005));
+      long timeEnd = System.currentTimeMillis() + 2000;
+      do { buffer = rx.receiveBuffer(result, sender); } while(buffer == null && result[0] == 0 && System.currentTimeMillis() < timeEnd);
+      test.expect(buffer !=null && result[0] == 20, 5, "non blocking: received, result=%d", result[0]);
+      rx.freeBuffer(buffer);
+      //
+      final int[] resultThread = { 99 };
+      Thread thread = new Thread("Test_InterProcessComm") {
+        @Override public void run() {
+          byte[] data = rxBlocking.receiveData(resultThread, null, rxBlocking.createAddress());
+          rxBlocking.freeData(data);
+        }
+      };
+      thread.start();
+      Thread.sleep(200);                                   //the thread waits for a telegram
+      rx.close();
+      buffer = rx.receiveBuffer(result, sender);
+      test.expect(buffer == null && result[0] == -1, 5, "closed: error, result=%d", result[0]);
+      tx.send(telg(2, 30), 30, addr(46007));
+      thread.join(5000);
+      test.expect(resultThread[0] == 30, 5, "receive in another thread not affected, result=%d", resultThread[0]);
+      rxBlocking.close();
+      result[0] = 99;
+      byte[] data = rxBlocking.receiveData(result, null, sender);
+      test.expect(data == null && result[0] == -1, 5, "blocking closed: error, result=%d", result[0]);
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      rx.close(); tx.close(); rxBlocking.close();
+    }
+    test.finish();
+  }
+
+
+  /**The default receiveAll(...) of the interface, used by the SocketImpl, admits result == null. */
+  void testDefaultReceiveAll(TestOrg parent) {
+    TestOrg test = new TestOrg("InterProcessComm_SocketImpl: default receiveAll", 4, parent);
+    InterProcessComm rx = new InterProcessComm_SocketImpl(addr(46008));
+    InterProcessComm tx = new InterProcessComm_SocketImpl(addr(46009));
+    try {
+      test.expect(rx.open(null, true) >=0 && tx.open(null, true) >=0, 5, "open");
+      final int[] nrofBytes = { 0 };
+      InterProcessCommRx_ifc exec = new InterProcessCommRx_ifc() {
+        @Override public void execRxData(byte[] buffer, int nrofBytesReceived, Address_InterProcessComm sender) {
+          nrofBytes[0] = nrofBytesReceived;
+        }
+      };
+      tx.send(telg(5, 40), 40, addr(46008));
+      int nrofTelg = rx.receiveAll(null, new byte[1500], rx.createAddress(), exec);
+      test.expect(nrofTelg == 1 && nrofBytes[0] == 40, 5, "one telegram executed without result");
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      rx.close(); tx.close();
+    }
+    test.finish();
+  }
+
+
+  /**A burst of telegrams is executed in the {@link InterProcessCommRxThread} with receiveAll(...),
+   * the answers are given with sendQueued(...) and sent with flush() after each burst. */
+  void testRxThreadBurst(TestOrg parent) {
+    TestOrg test = new TestOrg("InterProcessCommRxThread: burst of telegrams with answers", 4, parent);
+    if(InterProcessCommFactory.getInstance() == null) { new InterProcessCommFactorySocket(); }  //creates the singleton
+    final InterProcessCommRxThread[] rxThread = new InterProcessCommRxThread[1];
+    final int[] nrofExec = { 0 };
+    InterProcessCommRx_ifc echo = new InterProcessCommRx_ifc() {
+      @Override public void execRxData(byte[] buffer, int nrofBytesReceived, Address_InterProcessComm sender) {
+        nrofExec[0] +=1;
+        rxThread[0].sendQueued(buffer, nrofBytesReceived, sender);  //the sender address is the same for the whole burst
+      }
+    };
+    rxThread[0] = InterProcessCommRxThread.create("UDP:127.0.0.1:46010", echo);
+    InterProcessComm_DatagramChannelImpl client = new InterProcessComm_DatagramChannelImpl(addr(46011));
+    try {
+      InterProcessComm ipc = InterProcessCommFactory.getInstance().create("UDP:127.0.0.1:46012");
+      test.expect(ipc instanceof InterProcessComm_DatagramChannelImpl, 5, "\"UDP:\" creates the DatagramChannel implementation");
+      test.expect(ipc.getName().startsWith("UDP:"), 5, "name %s", ipc.getName());
+      InterProcessComm ipcAddr = InterProcessCommFactory.getInstance().create(addr(46012));
+      test.expect(ipcAddr instanceof InterProcessComm_DatagramChannelImpl, 5, "the same implementation created with the address");
+      ipcAddr = InterProcessCommFactory.getInstance().create(new Address_InterProcessComm_Socket("Socket:127.0.0.1:46012"));
+      test.expect(ipcAddr instanceof InterProcessComm_SocketImpl, 5, "\"Socket:\" creates the DatagramSocket implementation");
+      test.expect(rxThread[0].start(), 5, "start");
+      test.expect(client.open(null, false) >=0, 5, "open client");
+      int zTelg = 50;
+      for(int nr = 0; nr < zTelg; ++nr) {
+        client.sendQueued(telg(nr, 10 + nr), 10 + nr, addr(46010));
+      }
+      client.flush();
+      int[] result = new int[1];
+      byte[] data = new byte[1500];
+      int nrOk = 0, nrRx = 0;
+      long timeEnd = System.currentTimeMillis() + 5000;
+      while(nrRx < zTelg && System.currentTimeMillis() < timeEnd) {
+        if(client.receiveData(result, data, null) == null) { Thread.sleep(1); }
+        else {
+          if(checkTelg(data, result[0], nrRx, 10 + nrRx)) { nrOk +=1; }
+          nrRx +=1;
+        }
+      }
+      test.expect(nrOk == zTelg, 5, "%d answers received in order, %d telegrams executed", nrOk, nrofExec[0]);
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      client.close();
+      rxThread[0].shutdown();
+    }
+    test.finish();
+  }
+
+}
@@ -11,7 +11,11 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.FileSystemLoopException;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.FileVisitor;
@@ -20,6 +24,10 @@ import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.DosFileAttributes;
 import java.nio.file.attribute.FileTime;
@@ -29,6 +37,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 //import org.vishia.event.EventCmdtypeWithBackEvent;
 import org.vishia.event.EventConsumer;
@@ -43,6 +55,7 @@ import org.vishia.fileRemote.FileCluster;
 import org.vishia.fileRemote.FileMark;
 import org.vishia.fileRemote.FileRemote;
 import org.vishia.fileRemote.FileRemoteAccessor;
+import org.vishia.fileRemote.FileRemoteCallbackSearch;
 import org.vishia.fileRemote.FileRemoteCmdEventData;
 import org.vishia.fileRemote.FileRemoteWalkerCallback;
 import org.vishia.fileRemote.FileRemoteProgressEvData;
@@ -67,6 +80,17 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
   
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-18 Hartmut fix: {@link #walkFileTreeExecInThisThread(FileRemoteCmdEventData, boolean, EventWithDst, boolean)}
+   *   calls {@link FileRemoteWalkerCallback#finished(FileRemote)} also on a RuntimeException, and a stored
+   *   {@link FileRemoteProgressEvData#error()} of a file is sent with the done event.
+   * <li>2026-10-18 Hartmut new: {@link FileRemoteCmdEventData.Cmd#walkSearch} with {@link FileRemoteCallbackSearch}.
+   * <li>2026-10-18 Hartmut new: {@link #walkFileTreeParallel(Path, int, WalkFileTreeVisitor, int)} walks through the sub directories
+   *   in several threads, used if {@link FileRemoteCmdEventData#setParallelWalk(int)} is given
+   *   or with {@link #setParallelRefresh(int)} for walking without callback, refresh and mark.
+   *   The progress in {@link WalkFileTreeVisitor} and the sums in the {@link FileRemoteWalker.WalkInfo} are synchronized therefore.
+   * <li>2026-10-18 Hartmut new: {@link #setParallelCopy(int)} for {@link FileCallbackLocalCopy}, 
+   *   {@link #copyFile(FileRemoteCmdEventData, EventWithDst)} uses {@link FileCallbackLocalCopy#copyFile(Path, Path, FileRemoteProgressEvData)}.
+   * <li>2026-10-18 Hartmut new: {@link #watch(FileRemote, EventWithDst)} with a {@link WatchService}, updates only the changed children.
    * <li>2024-04-02 {@link WalkFileTreeVisitor#preVisitDirectory(Path, BasicFileAttributes)}:
    *   If the parent directory is marked with {@link FileMark#cmpAlone} and this bit is part of the select mask in the command (commision),
    *   then the directory is marked with {@link FileRemoteCmdEventData#markSet()}, means the bits to set for selection. 
@@ -149,7 +173,7 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    * 
    */
-  public static final String sVersion = "2024-02-12";
+  public static final String sVersion = "2026-10-18";
 
   /**Some experience possible: if true, then store File objects in {@link FileRemote#children} instead
    * {@link FileRemote} objects. The File objects may be replaces by FileRemote later if necessary. This may be done
@@ -160,7 +184,29 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
   
   
   private static FileRemoteAccessor instance;
-  
+
+  /**Number of threads for walking without callback, see {@link #setParallelRefresh(int)}. */
+  private static int nrParallelRefresh = 1;
+
+  /**Number of threads to copy files for {@link FileRemoteCmdEventData.Cmd#walkCopyDirTree}, see {@link #setParallelCopy(int)}. */
+  private static int nrParallelCopy = 4;
+
+  /**Created on the first {@link #watch(FileRemote, EventWithDst)}, with the {@link #threadWatch}. */
+  private WatchService watchService;
+
+  /**Thread which waits for the changes of the {@link #watchService}, see {@link #runWatch(WatchService)}. */
+  private Thread threadWatch;
+
+  /**All watched directories, key is the registration in the {@link #watchService}. */
+  private final Map<WatchKey, WatchDir> idxWatch = new ConcurrentHashMap<WatchKey, WatchDir>();
+
+  /**A watched directory with the back event. */
+  private static final class WatchDir {
+    final FileRemote dir;
+    final EventWithDst<FileRemoteProgressEvData,?> evBack;
+    WatchDir(FileRemote dir, EventWithDst<FileRemoteProgressEvData,?> evBack) { this.dir = dir; this.evBack = evBack; }
+  }
+
   
   /**Type of the attributes of files. Set on constructor depending on the operation system.
    * 
@@ -256,6 +302,24 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
   
   
   
+  /**Sets the number of threads to walk through the sub directories concurrently for walking without callback,
+   * it is for refresh and mark, see {@link FileRemote#refreshAndMark(boolean, int, int, int, String, int, SortedTreeWalkerCallback, EventWithDst)}.
+   * For walking with callback {@link FileRemoteCmdEventData#setParallelWalk(int)} is used,
+   * because the callback should be thread safe.
+   * @param nrThreads 1: walk in one thread (default).
+   */
+  public static void setParallelRefresh(int nrThreads) { nrParallelRefresh = nrThreads; }
+
+
+
+  /**Sets the number of threads to copy files for {@link FileRemote#copyDirTreeTo(boolean, FileRemote, int, String, int, EventWithDst)}.
+   * The directory tree is walked in one thread, but the files are copied concurrently, see {@link FileCallbackLocalCopy}.
+   * @param nrThreads 1: copy in the walker thread. Default is 4.
+   */
+  public static void setParallelCopy(int nrThreads) { nrParallelCopy = nrThreads; }
+
+
+
   /**Returns the singleton instance of this class.
    * Note: The instance will be created and the thread will be started if this routine was called firstly.
    * @return The singleton instance.
@@ -609,7 +673,7 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
   protected static String copyFile(FileRemoteCmdEventData co, EventWithDst<FileRemoteProgressEvData,?> evBack) {
     String sError = null;
     try {
-      Files.copy(co.filesrc().path(), co.filedst().path(), StandardCopyOption.COPY_ATTRIBUTES, StandardCopyOption.REPLACE_EXISTING);
+      FileCallbackLocalCopy.copyFile(co.filesrc().path(), co.filedst().path(), evBack == null ? null : evBack.data());
     } 
     catch(Exception exc) {
       sError = org.vishia.util.ExcUtil.exceptionInfo("copyFile", exc, 0, 10).toString();
@@ -654,6 +718,118 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
 
 
   
+  /**Watches the directory with a {@link WatchService}, see {@link FileRemoteAccessor#watch(FileRemote, EventWithDst)}.
+   * On any change in the directory only the affected child is updated: 
+   * a created or modified child is refreshed with its properties, a deleted child is removed.
+   * Also the time stamp of the directory is updated, the children remain valid without {@link FileRemote#refreshPropertiesAndChildren(boolean, EventWithDst)}.
+   * If the operation system has lost changes (overflow), the directory is marked with {@link FileRemote#setShouldRefresh()}
+   * and {@link FileRemote#timeChildren} is set to 0, a refresh is necessary.
+   * <br><br>
+   * The evBack is sent after all changes of one notification with {@link FileRemoteProgressEvData.ProgressCmd#refreshFile}
+   * and the changed file in {@link FileRemoteProgressEvData#currFile} if only one file is changed, 
+   * elsewhere with {@link FileRemoteProgressEvData.ProgressCmd#refreshDirPost} and {@link FileRemoteProgressEvData#currFile} = null.
+   * The changes are done in the own thread "FileAccessor-watch".
+   * @return true, watching is supported. Watching a directory twice replaces the evBack.
+   */
+  @Override public synchronized boolean watch ( FileRemote dir, EventWithDst<FileRemoteProgressEvData,?> evBack) throws IOException {
+    if(this.watchService == null) {
+      final WatchService watchService = FileSystems.getDefault().newWatchService();
+      this.watchService = watchService;
+      this.threadWatch = new Thread("FileAccessor-watch") {
+        @Override public void run() { runWatch(watchService); }
+      };
+      this.threadWatch.setDaemon(true);
+      this.threadWatch.start();
+    }
+    WatchKey key = dir.path().register(this.watchService
+        , StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+    this.idxWatch.put(key, new WatchDir(dir, evBack));   // same key for the same directory
+    return true;
+  }
+  
+  
+  @Override public synchronized boolean unwatch ( FileRemote dir) {
+    for(Map.Entry<WatchKey, WatchDir> e: this.idxWatch.entrySet()) {
+      if(e.getValue().dir == dir) {
+        e.getKey().cancel();
+        this.idxWatch.remove(e.getKey());
+        return true;
+      }
+    }
+    return false;
+  }
+  
+  
+  /**Thread routine for {@link #threadWatch}, runs till the {@link #watchService} is closed. 
+   * @param watchService the service of this thread, {@link #watchService} is set to null on {@link #close()}.
+   */
+  void runWatch ( WatchService watchService) {
+    while(true) {
+      WatchKey key;
+      try { key = watchService.take(); }
+      catch(InterruptedException exc) { continue; }
+      catch(ClosedWatchServiceException exc) { break; }
+      WatchDir watchDir = this.idxWatch.get(key);
+      List<WatchEvent<?>> events = key.pollEvents();
+      if(watchDir !=null) {
+        FileRemote dir = watchDir.dir;
+        FileRemote fileChanged = null;
+        int nrChanged = 0;
+        boolean bOverflow = false;
+        for(WatchEvent<?> ev: events) {
+          if(ev.kind() == StandardWatchEventKinds.OVERFLOW) {
+            bOverflow = true;
+          } else {
+            String name = ((Path)ev.context()).toString();
+            FileRemote child = dir.getChild(name);
+            Path path = dir.path().resolve(name);
+            BasicFileAttributes attribs;
+            try { attribs = ev.kind() == StandardWatchEventKinds.ENTRY_DELETE ? null : Files.readAttributes(path, BasicFileAttributes.class); }
+            catch(IOException exc) { attribs = null; }   // removed meanwhile
+            if(attribs !=null) {
+              if(child == null) {
+                child = dir.internalAccess().newChild(name, 0, 0, 0, 0, 0, null);  // puts it in the children under its lock
+              }
+              Map<String, FileRemote> children = dir.children();
+              synchronized(children !=null ? children : dir) { // lock of the children, also used in FileCluster#saveSnapshot(...)
+                setAttributes(child, path, attribs);
+                child.timeRefresh = System.currentTimeMillis();
+              }
+            } else if(child !=null) {
+              child.internalAccess().setDeleted();       // removes it from the children under its lock
+            }
+            if(child !=null && child != fileChanged) {
+              fileChanged = child;
+              nrChanged +=1;
+            }
+          }
+        }
+        if(bOverflow) {
+          dir.setShouldRefresh();
+          dir.timeChildren = 0;                          // the children are not valid, refresh necessary
+        } else {
+          try {                                          // the directory time stamp is changed, regard it for FileCluster#saveSnapshot(...)
+            dir.internalAccess().setLengthAndDate(-1, Files.getLastModifiedTime(dir.path()).toMillis(), -1, -1);
+          } catch(IOException exc) { /*removed, the key is invalid then*/ }
+        }
+        EventWithDst<FileRemoteProgressEvData,?> evBack = watchDir.evBack;
+        if(evBack !=null && (nrChanged >0 || bOverflow) && evBack.occupy(1000, this.evSrc, null, null)) {
+          FileRemoteProgressEvData progress = evBack.data();
+          progress.currDir = dir;
+          progress.currFile = nrChanged == 1 && !bOverflow ? fileChanged : null;
+          progress.progressCmd = progress.currFile !=null ? FileRemoteProgressEvData.ProgressCmd.refreshFile 
+                                                          : FileRemoteProgressEvData.ProgressCmd.refreshDirPost;
+          evBack.sendEvent("watch");
+        }
+      }
+      if(!key.reset()) {                                 // the directory is not accessible furthermore
+        this.idxWatch.remove(key);
+      }
+    }
+  }
+  
+  
+  
   @Override public boolean isLocalFileSystem()
   {  return true;
   }
@@ -744,7 +920,7 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
       break;
     case walkCopyDirTree:
       assert(co.callback() == null);
-      co.setCallback(new FileCallbackLocalCopy(co.filesrc(), co.filedst(), null, evBack));  //evCallback);
+      co.setCallback(new FileCallbackLocalCopy(co.filesrc(), co.filedst(), null, evBack, nrParallelCopy));  //evCallback);
       FileAccessorLocalJava7.this.walkFileTreeExecInThisThread(co, false, evBack , false); 
       break;
     case walkMoveDirTree:
@@ -762,6 +938,11 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
       co.setCallback(new FileCallbackLocalCmp(co.filesrc(), co.filedst(), co.modeCmpOper, null, evBack));
       FileAccessorLocalJava7.this.walkFileTreeExecInThisThread(co, true, evBack , false); 
       break;
+    case walkSearch:
+      assert(co.callback() == null);
+      co.setCallback(new FileRemoteCallbackSearch(co.filesrc(), co.search(), null, evBack));
+      FileAccessorLocalJava7.this.walkFileTreeExecInThisThread(co, true, evBack , false); 
+      break;
     case walkTest:
       assert(co.callback() == null);
       co.setCallback(new FileRemoteTestCallback());
@@ -987,6 +1168,14 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
 
   @Override public void close()
   { if(this.singleThreadForCommission !=null) { this.singleThreadForCommission.close(); }
+    synchronized(this) {                                 // same as watch(...)
+      if(this.watchService !=null) {
+        try { this.watchService.close(); } catch(IOException exc) { /*ignore on close*/ }
+        this.watchService = null;                        // a new watch(...) creates a new one
+        this.threadWatch = null;                         // finishes with ClosedWatchServiceException
+        this.idxWatch.clear();
+      }
+    }
     for(WalkerThread th: this.walkerThread) {
       if(th !=null) { th.bRun = false; }
     }
@@ -1076,6 +1265,7 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
    *   {@link FileCallbackLocalCopy}, {@link FileCallbackLocalMove} and {@link FileCallbackLocalDelete}. 
    * <li>_F_: After walking {@link FileRemoteWalkerCallback#finished(FileRemote)} is called
    *   from 'co' if {@link FileRemoteCmdEventData#callback} is given.
+   *   It is called in finally, also on an unexpected exception, to release resources of the callback.
    * <li>_G_: Then  {@link FileRemoteProgressEvData#done(org.vishia.fileRemote.FileRemoteCmdEventData.Cmd, String)}   
    *   is called from given 'evBack' {@link EventWithDst#d} (the payload) 
    * <li>_H_: At least the given 'evBack' is sent to its sender instance (queue) via {@link EventWithDst#sendEvent(Object)}.  
@@ -1118,25 +1308,165 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
           , co, evBack, debugOut);
       Set<FileVisitOption> options = new TreeSet<FileVisitOption>();
       options.add(FileVisitOption.FOLLOW_LINKS);
-      //======>>>>                ----------------- call of the java.nio-walker
-      //==========                ----------------- set breakpoints in visitFile etc. in the following class WalkFileTreeVisitor
-      java.nio.file.Files.walkFileTree(co.filesrc().path(), options, depth1, visitor);  
+      int nrThreads = co.nrParallelWalk() >0 ? co.nrParallelWalk() : co.callback() == null ? nrParallelRefresh : 1;
+      if(nrThreads >1) {
+        walkFileTreeParallel(co.filesrc().path(), depth1, visitor, nrThreads);
+      } else {
+        //======>>>>                ----------------- call of the java.nio-walker
+        //==========                ----------------- set breakpoints in visitFile etc. in the following class WalkFileTreeVisitor
+        java.nio.file.Files.walkFileTree(co.filesrc().path(), options, depth1, visitor);
+      }
       if(visitor.timeOrderProgress !=null ) { visitor.timeOrderProgress.deactivate(); }
     } catch(IOException exc){
       sError = org.vishia.util.ExcUtil.exceptionInfo("FileAccessorLocalJava7.walkFileTree - unexpected Exception; ", exc, 0, 20).toString();
       progressFinish = EventConsumer.mEventConsumerException;
-    }
-    if(co.callback() !=null) { 
-      co.callback().finished(co.filesrc());               // callback for finish 
+    } finally {                                          // also on RuntimeException, finished() releases resources
+      if(co.callback() !=null) { 
+        co.callback().finished(co.filesrc());             // callback for finish 
+      }
     }
     if(evBack !=null ) {                       // back event for finish
       FileRemoteProgressEvData progress = evBack.data();
-      progress.done(co.cmd(), sError);
+      progress.done(co.cmd(), sError !=null ? sError : progress.error());  // maybe an error on a file is stored
       evBack.sendEvent("walkFileTreeExecInThisThread-done");
     }
   }
   //end::walkFileTreeExecInThisThread[]
-  
+
+
+
+  /**Walks through the directory tree adequate {@link java.nio.file.Files#walkFileTree(Path, Set, int, FileVisitor)}
+   * with {@link FileVisitOption#FOLLOW_LINKS}, but the sub directories are walked concurrently in a {@link ForkJoinPool}.
+   * Any directory is handled by a {@link WalkDirTask}, which calls the visitor for all entries of the directory in its thread.
+   * Hence the {@link FileRemote#children()} of a directory are only changed in one thread.
+   * The postVisitDirectory(...) for a directory is called after all sub directories are finished.
+   * {@link FileVisitResult#SKIP_SIBLINGS} on postVisitDirectory(...) is ignored, the siblings may run already.
+   * @param start the start directory
+   * @param depth max depth
+   * @param visitor It is used for the start directory,
+   *   for the sub directories copies are used, see {@link WalkFileTreeVisitor#WalkFileTreeVisitor(WalkFileTreeVisitor, FileRemoteWalker.WalkInfo)}
+   * @param nrThreads number of threads
+   * @throws IOException if the start directory cannot be accessed.
+   */
+  protected void walkFileTreeParallel(Path start, int depth, WalkFileTreeVisitor visitor, int nrThreads) throws IOException {
+    BasicFileAttributes attrs = Files.readAttributes(start, BasicFileAttributes.class);
+    if(depth == 0 || !attrs.isDirectory()) {
+      visitor.visitFile(start, attrs);
+    } else if(visitor.preVisitDirectory(start, attrs) == FileVisitResult.CONTINUE) {
+      ForkJoinPool pool = new ForkJoinPool(nrThreads);
+      try {
+        pool.invoke(new WalkDirTask(visitor, start, attrs.fileKey(), null, 0, depth, new AtomicBoolean()));
+      } finally {
+        pool.shutdown();
+      }
+    }
+  }
+
+
+
+  /**Task for one directory for {@link FileAccessorLocalJava7#walkFileTreeParallel(Path, int, WalkFileTreeVisitor, int)}.
+   * The preVisitDirectory(...) for the directory is called already, with CONTINUE as result.
+   */
+  @SuppressWarnings("serial")
+  private static final class WalkDirTask extends RecursiveAction {
+
+    /**The visitor which's {@link WalkFileTreeVisitor#walkInfo} is the level of {@link #dir}. */
+    final WalkFileTreeVisitor visitor;
+
+    final Path dir;
+
+    /**Key of the directory to detect cycles via symbolic links, maybe null. */
+    final Object fileKey;
+
+    final WalkDirTask parent;
+
+    final int level, depth;
+
+    /**Common for all tasks, set on {@link FileVisitResult#TERMINATE}. */
+    final AtomicBoolean terminate;
+
+    WalkDirTask(WalkFileTreeVisitor visitor, Path dir, Object fileKey, WalkDirTask parent, int level, int depth, AtomicBoolean terminate) {
+      this.visitor = visitor; this.dir = dir; this.fileKey = fileKey; this.parent = parent;
+      this.level = level; this.depth = depth; this.terminate = terminate;
+    }
+
+
+    /**Checks whether a directory is the same as this or a parent, it is a cycle via symbolic links. */
+    private boolean isLoop(Path subdir, Object subKey) {
+      for(WalkDirTask task = this; task !=null; task = task.parent) {
+        if(subKey !=null && task.fileKey !=null) {
+          if(subKey.equals(task.fileKey)) return true;
+        } else {
+          try { if(Files.isSameFile(subdir, task.dir)) return true; }
+          catch(IOException exc) { /*ignore, not a loop*/ }
+        }
+      }
+      return false;
+    }
+
+
+    @Override protected void compute() {
+      List<WalkDirTask> subTasks = new LinkedList<WalkDirTask>();
+      IOException excDir = null;
+      try {
+        DirectoryStream<Path> entries = Files.newDirectoryStream(this.dir);
+        try {
+          for(Path entry: entries) {
+            if(this.terminate.get()) break;
+            FileVisitResult result;
+            BasicFileAttributes attrs;
+            try { attrs = Files.readAttributes(entry, BasicFileAttributes.class); } // follows links
+            catch(IOException exc) {
+              try { attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS); } // broken link
+              catch(IOException exc2) { attrs = null; }
+            }
+            if(attrs == null) {
+              result = this.visitor.visitFileFailed(entry, new IOException("cannot read attributes"));
+            } else if(attrs.isDirectory() && this.level +1 < this.depth) {
+              Object subKey = attrs.fileKey();
+              if(isLoop(entry, subKey)) {
+                result = this.visitor.visitFileFailed(entry, new FileSystemLoopException(entry.toString()));
+              } else {
+                FileRemoteWalker.WalkInfo walkInfo = this.visitor.walkInfo;
+                result = this.visitor.preVisitDirectory(entry, attrs);  // in this thread, it changes the children of this dir
+                if(result == FileVisitResult.CONTINUE) {
+                  WalkFileTreeVisitor subVisitor = this.visitor.outer().new WalkFileTreeVisitor(this.visitor, this.visitor.walkInfo);
+                  this.visitor.walkInfo = walkInfo;    // the level of this directory
+                  WalkDirTask subTask = new WalkDirTask(subVisitor, entry, subKey, this, this.level +1, this.depth, this.terminate);
+                  subTask.fork();
+                  subTasks.add(subTask);
+                }
+              }
+            } else {
+              result = this.visitor.visitFile(entry, attrs);
+            }
+            if(result == FileVisitResult.TERMINATE) {
+              this.terminate.set(true);
+            } else if(result == FileVisitResult.SKIP_SIBLINGS) {
+              break;
+            }
+          }
+        } finally {
+          entries.close();
+        }
+      } catch(IOException exc) {
+        excDir = exc;
+      }
+      for(WalkDirTask subTask: subTasks) {
+        subTask.join();
+      }
+      if(!this.terminate.get()) {
+        try {
+          if(this.visitor.postVisitDirectory(this.dir, excDir) == FileVisitResult.TERMINATE) {
+            this.terminate.set(true);
+          }
+        } catch(IOException exc) {
+          this.terminate.set(true);
+        }
+      }
+    }
+  }
+
   
 
 
@@ -1259,6 +1589,30 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
       reset();
     }
 
+
+    /**Constructs a copy for walking in a sub directory in another thread,
+     * see {@link FileAccessorLocalJava7#walkFileTreeParallel(Path, int, WalkFileTreeVisitor, int)}.
+     * All is shared, except the {@link #walkInfo}.
+     * @param src the visitor of the parent directory
+     * @param walkInfo the level of the sub directory
+     */
+    WalkFileTreeVisitor(WalkFileTreeVisitor src, FileRemoteWalker.WalkInfo walkInfo) {
+      this.debugOut = src.debugOut;
+      this.fileCluster = src.fileCluster;
+      this.bRefresh = src.bRefresh;
+      this.co = src.co;
+      this.fileFilter = src.fileFilter;
+      this.callback = src.callback;
+      this.evBack = src.evBack;
+      this.progress = src.progress;
+      this.timeOrderProgress = src.timeOrderProgress;
+      this.startTime = src.startTime;
+      this.walkInfo = walkInfo;
+    }
+
+
+    FileAccessorLocalJava7 outer() { return FileAccessorLocalJava7.this; }
+
     private FileVisitResult translateResult(FileRemoteWalkerCallback.Result result){
       FileVisitResult ret;
       switch(result){
@@ -1390,7 +1744,7 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
         }
       }
       
-      if(this.progress !=null) {                         
+      if(this.progress !=null) synchronized(this.progress) {                         
         //--------------------------------------- creates or updates a time order for the state. 
         if(this.timeOrderProgress !=null) { this.timeOrderProgress.hold(); }
         this.progress.progressCmd = FileRemoteProgressEvData.ProgressCmd.refreshDirPre;
@@ -1463,7 +1817,7 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
       } else {
         result = SortedTreeWalkerCallback.Result.cont;
       }
-      if(this.progress !=null) {                         
+      if(this.progress !=null) synchronized(this.progress) {                         
         //--------------------------------------- creates or updates a time order for the state. 
         if(this.timeOrderProgress !=null) { this.timeOrderProgress.hold(); }
         this.progress.progressCmd = FileRemoteProgressEvData.ProgressCmd.refreshDirPost;
@@ -1478,7 +1832,7 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
         }
       }
       if(this.debugOut) System.out.println("FileRemoteAccessorLocalJava7.walker - post dir; " + this.walkInfo.dir.getAbsolutePath());
-      if(this.walkInfo.parent !=null) {
+      if(this.walkInfo.parent !=null) synchronized(this.walkInfo.parent) { // sibling directories may run in other threads
         this.walkInfo.parent.nrBytesInDirSelected += this.walkInfo.nrBytesInDirSelected;
         this.walkInfo.parent.nrofFilesSelected += this.walkInfo.nrofFilesSelected;
       }
@@ -1504,7 +1858,7 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
         if(name.startsWith("constant-values.html"))
           Debugutil.stop();
         boolean bDirectory = Files.isDirectory(file); //  attrs.isDirectory();
-        if(this.progress !=null) {
+        if(this.progress !=null) synchronized(this.progress) {
           if(bDirectory) {
             this.progress.nrDirVisited +=1;
           } else {
@@ -1566,7 +1920,7 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
             } else {
               fileRemote.setMarked(this.co.markSet());
             }
-            if(this.progress !=null) {
+            if(this.progress !=null) synchronized(this.progress) {
               this.progress.nrofFilesMarked +=1;
             }
           }
@@ -1574,10 +1928,12 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
           setAttributes(fileRemote, file, attrs);            // copy the file attributes from nio.file..Path to FileRemote
           long size = attrs.size();
           assert(this.walkInfo.dir == fileRemote.getParentFile());
-          this.walkInfo.nrBytesInDir += size;
-          this.walkInfo.nrBytesInDirSelected += size;
-          this.walkInfo.nrofFilesSelected +=1;
-          if(this.progress !=null) {                         
+          synchronized(this.walkInfo) {                     // sub directories add its sums to this level in other threads
+            this.walkInfo.nrBytesInDir += size;
+            this.walkInfo.nrBytesInDirSelected += size;
+            this.walkInfo.nrofFilesSelected +=1;
+          }
+          if(this.progress !=null) synchronized(this.progress) {                         
             //--------------------------------------- creates or updates a time order for the state. 
             if(this.timeOrderProgress !=null) { this.timeOrderProgress.hold(); }
             this.progress.progressCmd = FileRemoteProgressEvData.ProgressCmd.refreshFile;
@@ -1628,7 +1984,7 @@ public final class FileAccessorLocalJava7 extends FileRemoteAccessor {
     public FileVisitResult visitFileFailed(Path file, IOException exc)
         throws IOException
     {
-      if(this.progress !=null) {                         
+      if(this.progress !=null) synchronized(this.progress) {                         
         //--------------------------------------- creates or updates a time order for the state. 
         if(this.timeOrderProgress !=null) { this.timeOrderProgress.hold(); }
         this.progress.progressCmd = FileRemoteProgressEvData.ProgressCmd.refreshFileFaulty;
@@ -5,6 +5,11 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -47,6 +52,9 @@ public class FileCallbackLocalCmp extends FileRemoteWalkerCallback
   
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-18 Hartmut new: {@link #compareBinary(Path, Path)} as fast comparison of the content with memory mapped blocks.
+   *   {@link #compareFileContent(FileRemote, FileRemote)} uses the line by line comparison with ignored parts
+   *   only if the files are not binary equal and not binary, see {@link #isBinary(Path)}.
    * <li>2024-04-08 {@link #offerParentNode(FileRemote, Object, Object)} do not skip but enter empty directories,
    *   because the files intern should be also marked with {@link FileMark#cmpAlone}.
    * <li>2024-02-12 Comparison of file trees now also in mode fast, without content:
@@ -89,7 +97,7 @@ public class FileCallbackLocalCmp extends FileRemoteWalkerCallback
    * 
    */
   //@SuppressWarnings("hiding")
-  static final public String sVersion = "2024-02-12";
+  static final public String sVersion = "2026-10-18";
   
   class CompareCtrl {
     
@@ -111,6 +119,13 @@ public class FileCallbackLocalCmp extends FileRemoteWalkerCallback
   }
 
   
+  /**Files till this size are compared in heap buffers, greater files in memory mapped blocks of this size. */
+  private static final int blockCmpBinary = 0x1000000;
+  
+  /**Number of bytes at start of a file which are checked for a 0-byte, see {@link #isBinary(Path)}. */
+  private static final int sizeCheckBinary = 8000;
+  
+  
   @SuppressWarnings("removal") // the cache function for this value since Java9 may force a too long cache. Use the old approach" 
   static Integer objCmpAlone = new Integer(FileMark.cmpAlone);
   
@@ -382,12 +397,20 @@ public class FileCallbackLocalCmp extends FileRemoteWalkerCallback
   
   
   /**Compare two files.
+   * Firstly the content is compared binary, see {@link #compareBinary(Path, Path)}.
+   * Only if it is not equal then the files are compared line by line with the ignored parts in {@link #cmpCtrl}.
+   * This is not done for binary files (see {@link #isBinary(Path)}), which are not equal then without reading twice.
    * @param file
    * @throws FileNotFoundException 
    */
   boolean compareFileContent(FileRemote file1, FileRemote file2) 
   throws IOException
   {
+    if(compareBinary(file1.path(), file2.path())) {
+      return true;                               // binary equal, also equal with ignored parts
+    } else if(isBinary(file1.path()) || isBinary(file2.path())) {
+      return false;                              // ignore rules are only for text lines
+    }                                            // else compare line by line with the ignore rules.
     boolean bEqu = true;
     BufferedReader r1 =null, r2 = null;
     r1 = new BufferedReader(new FileReader(file1));
@@ -460,6 +483,63 @@ public class FileCallbackLocalCmp extends FileRemoteWalkerCallback
   
 
   
+  /**Compares the content of two files binary. 
+   * Small files are read in heap buffers, greater files are compared in memory mapped blocks,
+   * which avoids copying the content into the Java heap.
+   * @return true if both files have the same length and the same content.
+   * @throws IOException on file access problems
+   */
+  public static boolean compareBinary(Path file1, Path file2) throws IOException {
+    FileChannel ch1 = FileChannel.open(file1, StandardOpenOption.READ);
+    try {
+      FileChannel ch2 = FileChannel.open(file2, StandardOpenOption.READ);
+      try {
+        long len = ch1.size();
+        if(len != ch2.size()) {
+          return false;
+        } else if(len <= blockCmpBinary) {
+          ByteBuffer buffer1 = ByteBuffer.allocate((int)len);
+          ByteBuffer buffer2 = ByteBuffer.allocate((int)len);
+          while(buffer1.hasRemaining() && ch1.read(buffer1) >=0);
+          while(buffer2.hasRemaining() && ch2.read(buffer2) >=0);
+          buffer1.flip(); buffer2.flip();
+          return buffer1.equals(buffer2);
+        } else {
+          for(long pos = 0; pos < len; pos += blockCmpBinary) {
+            long size = Math.min(blockCmpBinary, len - pos);
+            MappedByteBuffer block1 = ch1.map(FileChannel.MapMode.READ_ONLY, pos, size);
+            MappedByteBuffer block2 = ch2.map(FileChannel.MapMode.READ_ONLY, pos, size);
+            if(!block1.equals(block2)) {
+              return false;
+            }
+          }
+          return true;
+        }
+      } finally { ch2.close(); }
+    } finally { ch1.close(); }
+  }
+  
+  
+  
+  /**Checks whether the file is binary: a 0-byte in the first {@link #sizeCheckBinary} bytes, which is not contained in a text file.
+   * @return true if binary
+   * @throws IOException on file access problems
+   */
+  static boolean isBinary(Path file) throws IOException {
+    FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      ByteBuffer buffer = ByteBuffer.allocate(sizeCheckBinary);
+      while(buffer.hasRemaining() && ch.read(buffer) >=0);
+      buffer.flip();
+      while(buffer.hasRemaining()) {
+        if(buffer.get() == 0) return true;
+      }
+      return false;
+    } finally { ch.close(); }
+  }
+  
+  
+  
   private String readIgnoreComment(BufferedReader reader) 
   throws IOException
   { boolean cont;
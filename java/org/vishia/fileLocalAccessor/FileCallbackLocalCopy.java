@@ -3,12 +3,23 @@ package org.vishia.fileLocalAccessor;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.CopyOption;
 import java.nio.file.FileStore;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.DosFileAttributeView;
+import java.nio.file.attribute.DosFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.nio.file.spi.FileSystemProvider;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.vishia.event.EventWithDst;
 import org.vishia.fileRemote.FileRemote;
@@ -31,6 +42,14 @@ public class FileCallbackLocalCopy extends FileRemoteWalkerCallback {
 
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-18 Hartmut new: The files are copied in a pool of threads if nrThreads >1 is given on construction,
+   *   the walker thread only creates the destination directories and FileRemote instances. The queue of files is bounded.
+   *   {@link #finished(FileRemote)} waits for all copies. Greater files are copied with {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}
+   *   in blocks with progress information, see {@link #copyFile(Path, Path, FileRemoteProgressEvData)}.
+   *   The attributes are copied as with {@link StandardCopyOption#COPY_ATTRIBUTES}, see {@link #copyAttributes(Path, Path)}.
+   *   The threads of the pool are daemon threads, they do not prevent the end of the application if {@link #finished(FileRemote)} is not called.
+   *   The threads of the pool end after 1 second without work also if {@link #finished(FileRemote)} is not called.
+   *   A failed copy is reported with {@link FileRemoteProgressEvData#setError(String)}.
    * <li>2024-02-17 After copy adjust date and length of the new copied FileRemote. Important for next comparison without extra refresh. 
    * <li>2023-07-15 The exclusion of the first directory level with 'bFirst' is now no more necessary
    *   due to change in {@link FileAccessorLocalJava7.WalkFileTreeVisitor#preVisitDirectory(Path, java.nio.file.attribute.BasicFileAttributes)}.
@@ -69,11 +88,33 @@ public class FileCallbackLocalCopy extends FileRemoteWalkerCallback {
    * 
    */
   //@SuppressWarnings("hiding")
-  static final public String sVersion = "2024-02-17";
+  static final public String sVersion = "2026-10-18";
   
   
-  byte[] buffer = new byte[16384];
+  /**Files with this size or greater are copied with {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}. */
+  static final long sizeTransfer = 0x100000;
   
+  /**Size of one block for {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}, progress is set after each block. */
+  static final long sizeTransferBlock = 0x800000;
+  
+  
+  /**Buffer for copy via streams, one per thread. */
+  private final ThreadLocal<byte[]> buffer = new ThreadLocal<byte[]>() {
+    @Override protected byte[] initialValue() { return new byte[16384]; }
+  };
+  
+  /**Pool for copying the files, null if the files are copied in the walker thread. */
+  private final ThreadPoolExecutor executorCopy;
+
+  /**Creates daemon threads for {@link #executorCopy}, the copy should not prevent finishing the application. */
+  private static final ThreadFactory threadFactoryCopy = new ThreadFactory() {
+    @Override public Thread newThread(Runnable run) {
+      Thread thread = new Thread(run, "FileCopy");
+      thread.setDaemon(true);
+      return thread;
+    }
+  };
+
   
   /**Constructs an instance to execute copy of files in a directory trees.
    * @param dirDstStart Destination directory due to the given first FileRemote source directory on start walking.
@@ -81,10 +122,27 @@ public class FileCallbackLocalCopy extends FileRemoteWalkerCallback {
    * @param evBack The back event for progress and finish.
    */
   public FileCallbackLocalCopy(FileRemote dirSrc, FileRemote dirDstStart, FileRemoteWalkerCallback callbackUser, EventWithDst<FileRemoteProgressEvData,?> evBack) { //FileRemote.CallbackEvent evCallback){
-    super(dirSrc, dirDstStart, callbackUser, evBack);
+    this(dirSrc, dirDstStart, callbackUser, evBack, 1);
   }
   
   
+  /**Constructs an instance to execute copy of files in a directory trees with more as one thread.
+   * @param nrThreads number of threads to copy files concurrently. 1: copy in the walker thread.
+   *   If >1 then the callbackUser is invoked in one of this threads.
+   */
+  public FileCallbackLocalCopy(FileRemote dirSrc, FileRemote dirDstStart, FileRemoteWalkerCallback callbackUser
+      , EventWithDst<FileRemoteProgressEvData,?> evBack, int nrThreads) {
+    super(dirSrc, dirDstStart, callbackUser, evBack);
+    if(nrThreads >1) {                                   // the queue is bounded, if full the walker copies itself.
+      this.executorCopy = new ThreadPoolExecutor(nrThreads, nrThreads, 1, TimeUnit.SECONDS
+          , new ArrayBlockingQueue<Runnable>(4 * nrThreads), threadFactoryCopy, new ThreadPoolExecutor.CallerRunsPolicy());
+      this.executorCopy.allowCoreThreadTimeOut(true);    // releases the threads also if finished() is not called.
+    } else {
+      this.executorCopy = null;
+    }
+  }
+
+  
   
   @Override public void start ( FileRemote startDir, FileRemoteCmdEventData co) {  }
   
@@ -108,9 +166,22 @@ public class FileCallbackLocalCopy extends FileRemoteWalkerCallback {
    * Note: because the FileRemote concept the file can be located on any remote device.
    * @see org.vishia.util.SortedTreeWalkerCallback#offerLeafNode(java.lang.Object)
    */
-  @Override public Result offerLeafNode(FileRemote file, Object info) {
-//    int repeat = 5;
-    FileRemote fileDst = super.getFile2(file, true);
+  @Override public Result offerLeafNode(final FileRemote file, final Object info) {
+    final FileRemote fileDst = super.getFile2(file, true);   // in the walker thread, it changes the children of dir2Curr
+    if(this.executorCopy !=null) {
+      this.executorCopy.execute(new Runnable() {
+        @Override public void run() { copyLeafNode(file, fileDst, info); }
+      });
+    } else {
+      copyLeafNode(file, fileDst, info);
+    }
+    return Result.cont;
+  }
+  
+  
+  
+  /**Copies one file, called in the walker thread or in a thread of {@link #executorCopy}. */
+  void copyLeafNode(FileRemote file, FileRemote fileDst, Object info) {
     Path pathSrc = file.path();
     Path pathDst = fileDst.path();
     InputStream inp = null;
@@ -120,17 +191,15 @@ public class FileCallbackLocalCopy extends FileRemoteWalkerCallback {
 //      FileStore fstoreDst = Files.getFileStore(pathDst.getParent());
       @SuppressWarnings("resource") FileSystemProvider provSrc = pathSrc.getFileSystem().provider();
       @SuppressWarnings("resource") FileSystemProvider provDst = pathDst.getParent().getFileSystem().provider();
-      if(this.progress !=null) {
+      if(this.progress !=null) synchronized(this.progress) {
+        this.progress.currFile = file;
         this.progress.nrofBytesFile = file.length();
       }
       if(provSrc == provDst) {
       //if(fstoreSrc == fstoreDst) {               // files on the same device, the copy is faster than manually copy.
-        Files.copy(pathSrc, pathDst, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
-        if(this.progress !=null) {
-          this.progress.nrofBytesFileCopied = this.progress.nrofBytesFile;
-        }
+        copyFile(pathSrc, pathDst, this.progress);
       } else {
-        if(this.progress !=null) {
+        if(this.progress !=null) synchronized(this.progress) {
           this.progress.nrofBytesFileCopied = 0;
           //this.progress.nrFilesProcessed +=1;
           //this.progress.currFile = file;
@@ -141,11 +210,12 @@ public class FileCallbackLocalCopy extends FileRemoteWalkerCallback {
         if(inp == null || wr == null) {
           
         } else {
+          byte[] buffer = this.buffer.get();
           int bytes, sum = 0;
-          while( (bytes = inp.read(this.buffer)) >0){
-            wr.write(this.buffer, 0, bytes);
+          while( (bytes = inp.read(buffer)) >0){
+            wr.write(buffer, 0, bytes);
             sum += bytes;
-            if(this.progress !=null) {
+            if(this.progress !=null) synchronized(this.progress) {
               this.progress.nrofBytesFileCopied = sum;
             }
           }
@@ -156,7 +226,11 @@ public class FileCallbackLocalCopy extends FileRemoteWalkerCallback {
         this.callbackUser.offerLeafNode(file, info);
       }
     } catch(IOException exc) {
-      System.err.println(exc.toString());
+      if(this.progress !=null) {                           // the walker sends it with the done event.
+        this.progress.setError("copy " + file.getAbsolutePath() + ": " + exc.toString());
+      } else {
+        System.err.println(exc.toString());
+      }
     } finally {
       try{
         if(inp !=null) inp.close();
@@ -165,7 +239,68 @@ public class FileCallbackLocalCopy extends FileRemoteWalkerCallback {
         throw new RuntimeException(exc);
       }
     }
-    return Result.cont;
+  }
+  
+  
+  
+  /**Copies a file on the same file system. Small files are copied with {@link Files#copy(Path, Path, CopyOption...)},
+   * which may be done by the operation system without data transmission for network drives.
+   * Files with {@link #sizeTransfer} or more are copied with {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}
+   * in blocks, which does not copy the data to the Java heap, and the progress is set after any block.
+   * The attributes are copied then with {@link #copyAttributes(Path, Path)}.
+   * @param progress maybe null, elsewhere {@link FileRemoteProgressEvData#nrofBytesFileCopied} is set.
+   * @throws IOException on any file error
+   */
+  public static void copyFile(Path pathSrc, Path pathDst, FileRemoteProgressEvData progress) throws IOException {
+    long size = Files.size(pathSrc);
+    if(size < sizeTransfer) {
+      Files.copy(pathSrc, pathDst, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+    } else {
+      FileChannel chSrc = FileChannel.open(pathSrc, StandardOpenOption.READ);
+      try {
+        FileChannel chDst = FileChannel.open(pathDst, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+          long pos = 0;
+          while(pos < size) {
+            long bytes = chSrc.transferTo(pos, Math.min(sizeTransferBlock, size - pos), chDst);
+            if(bytes <=0) break;                         // the file is truncated meanwhile
+            pos += bytes;
+            if(progress !=null) synchronized(progress) {  // written also in the other threads of the pool
+              progress.nrofBytesFileCopied = pos;
+            }
+          }
+        } finally { chDst.close(); }
+      } finally { chSrc.close(); }
+      copyAttributes(pathSrc, pathDst);
+    }
+    if(progress !=null) synchronized(progress) {
+      progress.nrofBytesFileCopied = size;
+    }
+  }
+
+
+  /**Copies the attributes as {@link Files#copy(Path, Path, CopyOption...)} with {@link StandardCopyOption#COPY_ATTRIBUTES}:
+   * the time stamps, the posix permissions or the DOS attributes.
+   * @throws IOException on any file error
+   */
+  public static void copyAttributes(Path pathSrc, Path pathDst) throws IOException {
+    BasicFileAttributes attrSrc = Files.readAttributes(pathSrc, BasicFileAttributes.class);
+    BasicFileAttributeView viewDst = Files.getFileAttributeView(pathDst, BasicFileAttributeView.class);
+    viewDst.setTimes(attrSrc.lastModifiedTime(), attrSrc.lastAccessTime(), attrSrc.creationTime());  // before read only is set
+    PosixFileAttributeView posixSrc = Files.getFileAttributeView(pathSrc, PosixFileAttributeView.class);
+    if(posixSrc !=null) {
+      Files.setPosixFilePermissions(pathDst, posixSrc.readAttributes().permissions());
+    } else {
+      DosFileAttributeView dosSrc = Files.getFileAttributeView(pathSrc, DosFileAttributeView.class);
+      DosFileAttributeView dosDst = Files.getFileAttributeView(pathDst, DosFileAttributeView.class);
+      if(dosSrc !=null && dosDst !=null) {
+        DosFileAttributes dos = dosSrc.readAttributes();
+        dosDst.setArchive(dos.isArchive());
+        dosDst.setHidden(dos.isHidden());
+        dosDst.setSystem(dos.isSystem());
+        dosDst.setReadOnly(dos.isReadOnly());            // as last, the other attributes can be set not on a read only file
+      }
+    }
   }
 
   
@@ -180,7 +315,15 @@ public class FileCallbackLocalCopy extends FileRemoteWalkerCallback {
   
   
   
-  @Override public void finished ( FileRemote startDir) { }
+  /**Waits till all files are copied if the {@link #executorCopy} is used. */
+  @Override public void finished ( FileRemote startDir) { 
+    if(this.executorCopy !=null) {
+      this.executorCopy.shutdown();
+      try { 
+        while(!this.executorCopy.awaitTermination(1, TimeUnit.SECONDS)) { /*wait further*/ } 
+      } catch(InterruptedException exc) { /*return*/ }
+    }
+  }
 
 
   
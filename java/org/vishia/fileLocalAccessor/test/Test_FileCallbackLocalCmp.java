@@ -0,0 +1,68 @@
+package org.vishia.fileLocalAccessor.test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.vishia.fileLocalAccessor.FileCallbackLocalCmp;
+import org.vishia.util.FileFunctions;
+import org.vishia.util.TestOrg;
+
+/**Test of {@link FileCallbackLocalCmp#compareBinary(java.nio.file.Path, java.nio.file.Path)}
+ * for files compared in heap buffers and in memory mapped blocks of 16 MByte.
+ */
+public class Test_FileCallbackLocalCmp {
+
+  /**The block size of the comparison in {@link FileCallbackLocalCmp}. */
+  static final int sizeBlock = 0x1000000;
+
+
+  public static void main(String[] args) {
+    TestOrg test = new TestOrg("Test_FileCallbackLocalCmp", 2, args);
+    Test_FileCallbackLocalCmp thiz = new Test_FileCallbackLocalCmp();
+    thiz.testCompareBinary(test);
+    test.finish();
+  }
+
+
+  static byte[] content(int size) {
+    byte[] content = new byte[size];
+    for(int ix = 0; ix < size; ++ix) { content[ix] = (byte)(ix * 13 + (ix >> 16)); }
+    return content;
+  }
+
+
+  /**Equal and unequal files with a size lesser, equal and greater than the block size,
+   * with a difference in the first and in the last block. */
+  void testCompareBinary(TestOrg parent) {
+    TestOrg test = new TestOrg("compareBinary: equal and unequal content around the block size", 4, parent);
+    File dir = null;
+    try {
+      dir = Files.createTempDirectory("Test_FileCallbackLocalCmp").toFile();
+      File file1 = new File(dir, "file1.bin"), file2 = new File(dir, "file2.bin");
+      for(int size: new int[] { sizeBlock -1, sizeBlock, sizeBlock +1, 2 * sizeBlock + 100 }) {
+        byte[] data = content(size);
+        Files.write(file1.toPath(), data);
+        Files.write(file2.toPath(), data);
+        test.expect(FileCallbackLocalCmp.compareBinary(file1.toPath(), file2.toPath()), 5, "%d bytes equal", size);
+        int posLast = -1;
+        for(int pos: new int[] { 0, sizeBlock -1, sizeBlock, size -1 }) {
+          if(pos < size && pos != posLast) {               // size -1 may be the same as before
+            posLast = pos;
+            data[pos] ^= 0x01;
+            Files.write(file2.toPath(), data);
+            test.expect(!FileCallbackLocalCmp.compareBinary(file1.toPath(), file2.toPath()), 5, "%d bytes, difference on 0x%x", size, pos);
+            data[pos] ^= 0x01;
+          }
+        }
+        Files.write(file2.toPath(), content(size + 1));
+        test.expect(!FileCallbackLocalCmp.compareBinary(file1.toPath(), file2.toPath()), 5, "%d bytes, other length", size);
+      }
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      if(dir !=null) { FileFunctions.rmdir(dir); }
+    }
+    test.finish();
+  }
+
+}
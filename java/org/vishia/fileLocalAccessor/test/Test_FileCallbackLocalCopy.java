@@ -0,0 +1,167 @@
+package org.vishia.fileLocalAccessor.test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.EventObject;
+
+import org.vishia.event.EventConsumer;
+import org.vishia.event.EventThread_ifc;
+import org.vishia.event.EventTimerThread;
+import org.vishia.event.EventWithDst;
+import org.vishia.fileLocalAccessor.FileAccessorLocalJava7;
+import org.vishia.fileLocalAccessor.FileCallbackLocalCopy;
+import org.vishia.fileRemote.FileRemote;
+import org.vishia.fileRemote.FileRemoteCmdEventData;
+import org.vishia.fileRemote.FileRemoteProgressEvData;
+import org.vishia.util.FileFunctions;
+import org.vishia.util.TestOrg;
+
+/**Test of {@link FileCallbackLocalCopy}, the content and the attributes of the copied files.
+ */
+public class Test_FileCallbackLocalCopy {
+
+  /**A time stamp in the past, the copy should have it too. */
+  static final long timeFile = 1600000000000L;
+
+
+  public static void main(String[] args) {
+    TestOrg test = new TestOrg("Test_FileCallbackLocalCopy", 2, args);
+    Test_FileCallbackLocalCopy thiz = new Test_FileCallbackLocalCopy();
+    thiz.testCopyFileAttributes(test);
+    thiz.testCopyDirTreeParallel(test);
+    thiz.testCopyDirTreeError(test);
+    test.finish();
+    System.exit(0);                                        //the threads for FileRemote are not daemon threads
+  }
+
+
+  /**Writes a file with a content depending on the size, with {@link #timeFile} and with rwxr-x--- if posix is supported. */
+  static void writeFile(File file, int size) throws Exception {
+    byte[] content = new byte[size];
+    for(int ix = 0; ix < size; ++ix) { content[ix] = (byte)(ix * 7 + size); }
+    Path path = file.toPath();
+    Files.write(path, content);
+    if(Files.getFileAttributeView(path, PosixFileAttributeView.class) !=null) {
+      Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rwxr-x---"));
+    }
+    Files.setLastModifiedTime(path, FileTime.fromMillis(timeFile));
+  }
+
+
+  /**Returns null if the copy is equal in content, time stamp and permissions, elsewhere the difference. */
+  static String cmpCopy(File src, File dst) throws Exception {
+    Path pathSrc = src.toPath(), pathDst = dst.toPath();
+    if(!dst.exists()) return "missing";
+    if(!Arrays.equals(Files.readAllBytes(pathSrc), Files.readAllBytes(pathDst))) return "content";
+    if(Files.getLastModifiedTime(pathDst).toMillis() != timeFile) return "time stamp";
+    if(Files.getFileAttributeView(pathSrc, PosixFileAttributeView.class) !=null
+      && !Files.getPosixFilePermissions(pathSrc).equals(Files.getPosixFilePermissions(pathDst))) return "permissions";
+    return null;
+  }
+
+
+  /**The attributes are copied for small files with Files.copy as well as for greater files with transferTo. */
+  void testCopyFileAttributes(TestOrg parent) {
+    TestOrg test = new TestOrg("copyFile: content and attributes for small and great files", 4, parent);
+    File dir = null;
+    try {
+      dir = Files.createTempDirectory("Test_FileCallbackLocalCopy").toFile();
+      for(int size: new int[] { 100, 0x100000, 0x900000 + 13 }) {
+        File src = new File(dir, "src" + size), dst = new File(dir, "dst" + size);
+        writeFile(src, size);
+        FileCallbackLocalCopy.copyFile(src.toPath(), dst.toPath(), null);
+        String sError = cmpCopy(src, dst);
+        test.expect(sError == null, 5, "%d bytes copied %s", size, sError == null ? "" : sError);
+      }
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      if(dir !=null) { FileFunctions.rmdir(dir); }
+    }
+    test.finish();
+  }
+
+
+  /**A directory tree is copied in a pool of threads, the threads are daemon threads. */
+  void testCopyDirTreeParallel(TestOrg parent) {
+    TestOrg test = new TestOrg("copyDirTreeTo: files copied in 4 threads", 4, parent);
+    File dir = null;
+    try {
+      dir = Files.createTempDirectory("Test_FileCallbackLocalCopy").toFile();
+      File dirSrc = new File(dir, "src"), dirDst = new File(dir, "dst");
+      new File(dirSrc, "sub").mkdirs();
+      String[] names = new String[41];
+      for(int ix = 0; ix < names.length; ++ix) {
+        names[ix] = (ix % 2 == 0 ? "sub/f" : "f") + ix + ".bin";
+        writeFile(new File(dirSrc, names[ix]), ix == 40 ? 0x200000 : 1000 * ix);
+      }
+      FileAccessorLocalJava7.setParallelCopy(4);
+      FileRemote dirSrcRemote = FileRemote.getDir(dirSrc.getAbsolutePath());
+      FileRemote dirDstRemote = FileRemote.getDir(dirDst.getAbsolutePath());
+      dirSrcRemote.copyDirTreeTo(true, dirDstRemote, 0, null, 0, null);
+      int nrFaulty = 0;
+      String sFaulty = "";
+      for(String name: names) {
+        String sError = cmpCopy(new File(dirSrc, name), new File(dirDst, name));
+        if(sError !=null && nrFaulty++ == 0) { sFaulty = name + ": " + sError; }
+      }
+      test.expect(nrFaulty == 0, 5, "%d files copied %s", names.length, sFaulty);
+      boolean bDaemon = true;
+      for(Thread thread: Thread.getAllStackTraces().keySet()) {
+        if(thread.getName().equals("FileCopy") && !thread.isDaemon()) { bDaemon = false; }
+      }
+      test.expect(bDaemon, 5, "the copy threads are daemon threads");
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      if(dir !=null) { FileFunctions.rmdir(dir); }
+    }
+    test.finish();
+  }
+
+
+  /**A file which cannot be copied in a thread of the pool is reported in the progress of the done event. */
+  void testCopyDirTreeError(TestOrg parent) {
+    TestOrg test = new TestOrg("copyDirTreeTo: failed copy reported in the progress", 4, parent);
+    File dir = null;
+    EventTimerThread timer = new EventTimerThread("Test_FileCallbackLocalCopy");  // necessary for the progress events
+    try {
+      dir = Files.createTempDirectory("Test_FileCallbackLocalCopy").toFile();
+      File dirSrc = new File(dir, "src"), dirDst = new File(dir, "dst");
+      dirSrc.mkdirs();
+      for(int ix = 0; ix < 20; ++ix) {
+        writeFile(new File(dirSrc, "f" + ix + ".bin"), 100 * ix);
+      }
+      File dirBlock = new File(dirDst, "f7.bin");            // a not empty directory with the name of a file, not replaceable
+      dirBlock.mkdirs();
+      writeFile(new File(dirBlock, "x.bin"), 10);
+      EventConsumer consumer = new EventConsumer() {
+        @Override public int processEvent(EventObject ev) { return mEventConsumed; }
+        @Override public EventThread_ifc evThread() { return null; }
+      };
+      FileRemoteProgressEvData progress = new FileRemoteProgressEvData();
+      EventWithDst<FileRemoteProgressEvData, FileRemoteCmdEventData> evBack 
+        = new EventWithDst<FileRemoteProgressEvData, FileRemoteCmdEventData>("Test", null, consumer, timer, progress);
+      FileAccessorLocalJava7.setParallelCopy(4);
+      FileRemote dirSrcRemote = FileRemote.getDir(dirSrc.getAbsolutePath());
+      FileRemote dirDstRemote = FileRemote.getDir(dirDst.getAbsolutePath());
+      dirSrcRemote.copyDirTreeTo(true, dirDstRemote, 0, null, 0, evBack);  // executed in this thread, done is set before return
+      test.expect(progress.done(), 5, "done");
+      test.expect(progress.nrofFilesError == 1, 5, "%d file not copied", progress.nrofFilesError);
+      test.expect(progress.error() !=null && progress.error().contains("f7.bin"), 5, "error: %s", progress.error());
+      test.expect(cmpCopy(new File(dirSrc, "f8.bin"), new File(dirDst, "f8.bin")) == null, 5, "the other files are copied");
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      timer.close();
+      if(dir !=null) { FileFunctions.rmdir(dir); }
+    }
+    test.finish();
+  }
+
+}
@@ -0,0 +1,108 @@
+package org.vishia.fileLocalAccessor.test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.vishia.fileRemote.FileCluster;
+import org.vishia.fileRemote.FileMark;
+import org.vishia.fileRemote.FileRemote;
+import org.vishia.util.FileFunctions;
+import org.vishia.util.TestOrg;
+
+/**Test of {@link FileCluster#saveSnapshot(File)} and {@link FileCluster#loadSnapshot(File)}.
+ */
+public class Test_FileClusterSnapshot {
+
+  public static void main(String[] args) {
+    TestOrg test = new TestOrg("Test_FileClusterSnapshot", 2, args);
+    Test_FileClusterSnapshot thiz = new Test_FileClusterSnapshot();
+    thiz.testSaveLoad(test);
+    thiz.testSaveWhileChanging(test);
+    test.finish();
+    System.exit(0);                                        //the threads for FileRemote are not daemon threads
+  }
+
+
+  /**The children of a directory are restored from the snapshot in another cluster. */
+  void testSaveLoad(TestOrg parent) {
+    TestOrg test = new TestOrg("save and load the snapshot", 4, parent);
+    File dir = null;
+    try {
+      dir = Files.createTempDirectory("Test_FileClusterSnapshot").toFile();
+      for(int ix = 0; ix < 10; ++ix) {
+        Files.write(new File(dir, "f" + ix + ".txt").toPath(), new byte[ix]);
+      }
+      FileCluster cluster = FileRemote.clusterOfApplication;   // the walker creates the children in this cluster
+      FileRemote dirRemote = FileRemote.getDir(cluster, dir.getAbsolutePath());
+      dirRemote.refreshAndMark(true, 0, 0, 0, null, 0, null, null);
+      File fileSnapshot = File.createTempFile("Test_FileClusterSnapshot", ".txt");  // not in dir, it would change the time stamp of dir
+      cluster.saveSnapshot(fileSnapshot);
+      FileCluster cluster2 = new FileCluster();
+      cluster2.loadSnapshot(fileSnapshot);
+      FileRemote dirRemote2 = FileRemote.getDir(cluster2, dir.getAbsolutePath());
+      Map<String, FileRemote> children = dirRemote2.children();
+      test.expect(children !=null && children.size() == 10, 5, "all children from the snapshot");
+      FileRemote child = dirRemote2.getChild("f7.txt");
+      test.expect(child !=null && child.length() == 7, 5, "length of a child from the snapshot");
+      fileSnapshot.delete();
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      if(dir !=null) { FileFunctions.rmdir(dir); }
+    }
+    test.finish();
+  }
+
+
+  /**The children are added and removed in another thread, as by the watcher, while the snapshot is saved. */
+  void testSaveWhileChanging(TestOrg parent) {
+    TestOrg test = new TestOrg("save the snapshot while the children are changed", 4, parent);
+    File dir = null;
+    try {
+      dir = Files.createTempDirectory("Test_FileClusterSnapshot").toFile();
+      for(int ix = 0; ix < 100; ++ix) {
+        Files.write(new File(dir, "f" + ix + ".txt").toPath(), new byte[ix]);
+      }
+      FileCluster cluster = FileRemote.clusterOfApplication;
+      final FileRemote dirRemote = FileRemote.getDir(cluster, dir.getAbsolutePath());
+      dirRemote.refreshAndMark(true, 0, FileMark.select, 0, null, 0, null, null);
+      final boolean[] bRun = { true };
+      final Throwable[] excWriter = { null };
+      Thread writer = new Thread("Test_FileClusterSnapshot") {
+        @Override public void run() {
+          try {
+            for(int ix = 0; bRun[0]; ix = (ix +1) % 1000) {
+              FileRemote child = dirRemote.child("new" + ix + ".txt");
+              if(ix % 2 == 0) { child.internalAccess().setDeleted(); }
+            }
+          } catch(Throwable exc) { excWriter[0] = exc; }
+        }
+      };
+      writer.start();
+      File fileSnapshot = new File(dir, "snapshot.txt");
+      int nrofExceptions = 0;
+      String sException = "";
+      long timeEnd = System.currentTimeMillis() + 2000;
+      int nrofSaved = 0;
+      while(System.currentTimeMillis() < timeEnd) {
+        try {
+          cluster.saveSnapshot(fileSnapshot);
+          nrofSaved +=1;
+        } catch(Exception exc) {
+          if(nrofExceptions++ == 0) { sException = exc.toString(); }
+        }
+      }
+      bRun[0] = false;
+      writer.join();
+      test.expect(nrofExceptions == 0, 5, "%d times saved without exception %s", nrofSaved, sException);
+      test.expect(excWriter[0] == null, 5, "no exception in the writer thread %s", excWriter[0]);
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      if(dir !=null) { FileFunctions.rmdir(dir); }
+    }
+    test.finish();
+  }
+
+}
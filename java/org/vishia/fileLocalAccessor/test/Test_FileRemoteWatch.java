@@ -0,0 +1,143 @@
+package org.vishia.fileLocalAccessor.test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.vishia.fileLocalAccessor.FileAccessorLocalJava7;
+import org.vishia.fileRemote.FileCluster;
+import org.vishia.fileRemote.FileRemote;
+import org.vishia.util.FileFunctions;
+import org.vishia.util.TestOrg;
+
+/**Test of {@link FileRemote#watch(org.vishia.event.EventWithDst)} with {@link FileAccessorLocalJava7}.
+ */
+public class Test_FileRemoteWatch {
+
+  /**Time to wait for the watch thread. */
+  static final int timeout = 10000;
+
+
+  public static void main(String[] args) {
+    TestOrg test = new TestOrg("Test_FileRemoteWatch", 2, args);
+    Test_FileRemoteWatch thiz = new Test_FileRemoteWatch();
+    thiz.testWatchChanges(test);
+    thiz.testWatchWhileSnapshot(test);
+    thiz.testWatchAfterClose(test);
+    test.finish();
+    System.exit(0);                                        //the threads for FileRemote are not daemon threads
+  }
+
+
+  /**Waits till the child is present with the length, or removed if length < 0.
+   * @return true if the state is reached in {@link #timeout}.
+   */
+  static boolean waitChild(FileRemote dir, String name, long length) throws InterruptedException {
+    long timeEnd = System.currentTimeMillis() + timeout;
+    do {
+      FileRemote child = dir.getChild(name);
+      if(length < 0 ? child == null : child !=null && child.length() == length) return true;
+      Thread.sleep(10);
+    } while(System.currentTimeMillis() < timeEnd);
+    return false;
+  }
+
+
+  /**Created, changed and deleted files are updated in the children of the watched directory. */
+  void testWatchChanges(TestOrg parent) {
+    TestOrg test = new TestOrg("watch: created, changed and deleted children", 4, parent);
+    File dir = null;
+    FileRemote dirRemote = null;
+    try {
+      dir = Files.createTempDirectory("Test_FileRemoteWatch").toFile();
+      Files.write(new File(dir, "f1.txt").toPath(), new byte[10]);
+      dirRemote = FileRemote.getDir(dir.getAbsolutePath());
+      dirRemote.refreshAndMark(true, 0, 0, 0, null, 0, null, null);
+      test.expect(dirRemote.watch(null), 5, "watch supported");
+      Files.write(new File(dir, "f2.txt").toPath(), new byte[20]);
+      test.expect(waitChild(dirRemote, "f2.txt", 20), 5, "created file");
+      Files.write(new File(dir, "f1.txt").toPath(), new byte[30]);
+      test.expect(waitChild(dirRemote, "f1.txt", 30), 5, "changed file");
+      new File(dir, "f2.txt").delete();
+      test.expect(waitChild(dirRemote, "f2.txt", -1), 5, "deleted file");
+      test.expect(dirRemote.unwatch(), 5, "unwatch");
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      if(dir !=null) { FileFunctions.rmdir(dir); }
+    }
+    test.finish();
+  }
+
+
+  /**The snapshot is saved while the watch thread adds children. */
+  void testWatchWhileSnapshot(TestOrg parent) {
+    TestOrg test = new TestOrg("watch while the snapshot is saved", 4, parent);
+    File dir = null;
+    File fileSnapshot = null;
+    try {
+      dir = Files.createTempDirectory("Test_FileRemoteWatch").toFile();
+      fileSnapshot = File.createTempFile("Test_FileRemoteWatch", ".txt");
+      final File dirFiles = dir;
+      FileCluster cluster = FileRemote.clusterOfApplication;
+      FileRemote dirRemote = FileRemote.getDir(cluster, dir.getAbsolutePath());
+      dirRemote.refreshAndMark(true, 0, 0, 0, null, 0, null, null);
+      dirRemote.watch(null);
+      final int zFiles = 200;
+      final Throwable[] excWriter = { null };
+      Thread writer = new Thread("Test_FileRemoteWatch") {
+        @Override public void run() {
+          try {
+            for(int ix = 0; ix < zFiles; ++ix) {
+              Files.write(new File(dirFiles, "f" + ix + ".txt").toPath(), new byte[ix]);
+            }
+          } catch(Throwable exc) { excWriter[0] = exc; }
+        }
+      };
+      writer.start();
+      int nrofExceptions = 0;
+      String sException = "";
+      while(writer.isAlive()) {
+        try { cluster.saveSnapshot(fileSnapshot); }
+        catch(Exception exc) {
+          if(nrofExceptions++ == 0) { sException = exc.toString(); }
+        }
+      }
+      test.expect(excWriter[0] == null, 5, "files written %s", excWriter[0]);
+      test.expect(nrofExceptions == 0, 5, "snapshot without exception %s", sException);
+      test.expect(waitChild(dirRemote, "f" + (zFiles -1) + ".txt", zFiles -1), 5, "last file");
+      int nrChildren = dirRemote.children() == null ? 0 : dirRemote.children().size();
+      test.expect(nrChildren == zFiles, 5, "%d children", nrChildren);
+      dirRemote.unwatch();
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      if(fileSnapshot !=null) { fileSnapshot.delete(); }
+      if(dir !=null) { FileFunctions.rmdir(dir); }
+    }
+    test.finish();
+  }
+
+
+  /**After {@link FileAccessorLocalJava7#close()} a new watch starts a new WatchService. */
+  void testWatchAfterClose(TestOrg parent) {
+    TestOrg test = new TestOrg("watch again after close of the accessor", 4, parent);
+    File dir = null;
+    try {
+      dir = Files.createTempDirectory("Test_FileRemoteWatch").toFile();
+      FileRemote dirRemote = FileRemote.getDir(dir.getAbsolutePath());
+      dirRemote.refreshAndMark(true, 0, 0, 0, null, 0, null, null);
+      dirRemote.watch(null);
+      FileAccessorLocalJava7.getInstance().close();        // the accessor is not used furthermore in this test
+      test.expect(!dirRemote.unwatch(), 5, "no more watched after close");
+      test.expect(dirRemote.watch(null), 5, "watch again");
+      Files.write(new File(dir, "f1.txt").toPath(), new byte[5]);
+      test.expect(waitChild(dirRemote, "f1.txt", 5), 5, "created file with the new WatchService");
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      if(dir !=null) { FileFunctions.rmdir(dir); }
+    }
+    test.finish();
+  }
+
+}
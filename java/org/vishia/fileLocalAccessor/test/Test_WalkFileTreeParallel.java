@@ -0,0 +1,71 @@
+package org.vishia.fileLocalAccessor.test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.vishia.fileLocalAccessor.FileAccessorLocalJava7;
+import org.vishia.fileRemote.FileMark;
+import org.vishia.fileRemote.FileRemote;
+import org.vishia.util.FileFunctions;
+import org.vishia.util.TestOrg;
+
+/**Test of the parallel walk through a directory tree with {@link FileAccessorLocalJava7#setParallelRefresh(int)}.
+ * The sums of selected files and bytes in the directories should be the same as with walking in one thread.
+ */
+public class Test_WalkFileTreeParallel {
+
+  int nrofFiles;
+
+  long nrofBytes;
+
+
+  public static void main(String[] args) {
+    TestOrg test = new TestOrg("Test_WalkFileTreeParallel", 2, args);
+    Test_WalkFileTreeParallel thiz = new Test_WalkFileTreeParallel();
+    thiz.testSumsSelected(test);
+    test.finish();
+    System.exit(0);                                        //the threads for FileRemote are not daemon threads
+  }
+
+
+  /**Creates a tree with files in all levels, the files in a directory are counted while its sub directories are walked. */
+  void createTree(File dir, int level) throws Exception {
+    dir.mkdirs();
+    for(int ix = 0; ix < 20; ++ix) {
+      byte[] content = new byte[1 + 37 * ix + 11 * level];
+      Files.write(new File(dir, "f" + ix + ".txt").toPath(), content);
+      this.nrofFiles +=1;
+      this.nrofBytes += content.length;
+      if(level < 2 && ix % 4 == 0) {
+        createTree(new File(dir, "d" + ix), level +1);
+      }
+    }
+  }
+
+
+  void testSumsSelected(TestOrg parent) {
+    TestOrg test = new TestOrg("sums of selected files and bytes, walked in 1 and 4 threads", 4, parent);
+    File dirBase = null;
+    try {
+      dirBase = Files.createTempDirectory("Test_WalkFileTreeParallel").toFile();
+      for(int nrThreads: new int[] { 1, 4, 4, 4 }) {
+        File dir = new File(dirBase, "t" + nrThreads + "_" + System.nanoTime());  // new FileRemote instances without marks
+        this.nrofFiles = 0; this.nrofBytes = 0;
+        createTree(dir, 0);
+        FileAccessorLocalJava7.setParallelRefresh(nrThreads);
+        FileRemote dirRemote = FileRemote.getDir(dir.getAbsolutePath());
+        dirRemote.refreshAndMark(true, 0, FileMark.select, FileMark.selectSomeInDir, null, 0, null, null);
+        FileMark mark = dirRemote.mark();
+        test.expect(mark !=null && mark.nrofFilesSelected == this.nrofFiles, 5, "%d threads: %d files selected", nrThreads, this.nrofFiles);
+        test.expect(mark !=null && mark.nrofBytesSelected == this.nrofBytes, 5, "%d threads: %d bytes selected", nrThreads, this.nrofBytes);
+      }
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      FileAccessorLocalJava7.setParallelRefresh(0);
+      if(dirBase !=null) { FileFunctions.rmdir(dirBase); }
+    }
+    test.finish();
+  }
+
+}
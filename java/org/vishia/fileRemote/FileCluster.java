@@ -1,9 +1,25 @@
 package org.vishia.fileRemote;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 import org.vishia.util.Debugutil;
@@ -31,6 +47,12 @@ public class FileCluster
 {
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-18 Hartmut new: {@link #saveSnapshot(File)} and {@link #loadSnapshot(File)}: The known directory contents
+   *   can be stored and restored on next start without accessing all files. The snapshot of a directory is applied
+   *   on the first {@link FileRemote#children()} access if the time stamp of the directory is unchanged, see {@link #applySnapshot(FileRemote)}.
+   *   The children are copied under the lock of the children map, which is used by all writers in {@link FileRemote}. 
+   * <li>2026-10-18 Hartmut {@link #getFile(CharSequence, CharSequence, boolean)} is synchronized, 
+   *   because the directory tree can be walked in several threads, see {@link FileRemoteCmdEventData#setParallelWalk(int)}. 
    * <li>2023-07-15 Hartmut chg: Some errors were obviously caused on non uppercase in windows and non found path from the first level
    *   if the FileRemote was also created, but only as child from the root level. fixed.
    * <li>2023-04-02 Hartmut chg: Now uses the TreeMap instead of IndexMultiTable, it's better for debugging. 
@@ -97,7 +119,7 @@ public class FileCluster
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    * 
    */
-  public static final String version = "2023-07-15";
+  public static final String version = "2026-10-18";
   
   /**This index contains the association between paths and its FileRemote instances for all known directories.
    * It are the used directories in the application, not all of the file system. 
@@ -107,7 +129,23 @@ public class FileCluster
    */
   protected Map<String, FileRemote> idxPaths = new TreeMap<String, FileRemote>();
   
+  /**The directory contents from {@link #loadSnapshot(File)} which are not applied yet. 
+   * The key is built like {@link #idxPaths}, the value are the lines of the children in the snapshot file.
+   * It is null if nothing is loaded or all is applied or invalid. An entry is removed on {@link #applySnapshot(FileRemote)}.
+   */
+  private volatile Map<String, SnapshotDir> idxSnapshot;
+  
   
+  /**Content of one directory in the snapshot file. */
+  private static final class SnapshotDir {
+    /**Time stamp of the directory (last modified) while the children were gotten. */
+    final long date;
+    /**The lines of the children in the snapshot file, see {@link FileCluster#saveSnapshot(File)}. */
+    final List<String> children = new ArrayList<String>();
+    SnapshotDir(long date) { this.date = date; }
+  }
+  
+
   public FileCluster(){
   }
 
@@ -154,7 +192,7 @@ public class FileCluster
    * 
    * @visibility package private because used in FileRemote
    */
-  FileRemote getFile( final CharSequence sDirP1, final CharSequence sName, boolean assumeChild){
+  synchronized FileRemote getFile( final CharSequence sDirP1, final CharSequence sName, boolean assumeChild){
     //File file1 = new File(sDirP.toString());
     //String sDir1 = FileSystem.getCanonicalPath(file1); //problem: it accesses to the file system. not expected here. 
     CharSequence sDirP2 = StringFunctions_B.replace(sDirP1, '\\', '/');
@@ -325,6 +363,173 @@ public class FileCluster
   
   
   
+  /**Returns true if a snapshot is loaded with {@link #loadSnapshot(File)} which is not used completely. */
+  boolean hasSnapshot() { return this.idxSnapshot !=null; }
+  
+  
+  
+  /**Returns the key for {@link #idxPaths} and {@link #idxSnapshot}. */
+  private static String keyDir(FileRemote dir) {
+    String sPath = dir.getAbsolutePath().replace('\\', '/');
+    boolean bWindowsPath = sPath.length()>=2 && sPath.charAt(1) == ':';
+    return bWindowsPath ? sPath.toUpperCase() : sPath;
+  }
+  
+  
+  
+  /**Writes all known directory contents to a snapshot file, to restore it with {@link #loadSnapshot(File)} on the next start.
+   * All directories with gotten children ({@link FileRemote#timeChildren} !=0) and a known time stamp are written,
+   * and also the snapshot entries from a loaded snapshot which are not used till now. 
+   * The file system is not accessed for that.
+   * <br><br>
+   * The file is a text file in UTF-8 with the following lines:
+   * <pre>
+   * D date path
+   * F flags length date dateCreation dateLastAccess mark name
+   * ....
+   * </pre>
+   * One line 'D' for each directory with its last modified time, and one line 'F' for each child, file or directory.
+   * The mark are the bits of {@link FileRemote#getMark()}. 
+   * @param file the snapshot file. It is written as temporary file firstly and renamed then.
+   * @throws IOException on write error.
+   */
+  public void saveSnapshot(File file) throws IOException {
+    File fileTmp = new File(file.getAbsolutePath() + ".tmp");
+    Writer wr = new OutputStreamWriter(new FileOutputStream(fileTmp), StandardCharsets.UTF_8);
+    try {
+      synchronized(this) {
+        Set<String> written = new HashSet<String>();
+        List<FileRemote> dirs = new LinkedList<FileRemote>();
+        for(FileRemote dir: this.idxPaths.values()) {
+          if(dir.parent == null) { dirs.add(dir); }      // the roots, all other are children
+        }
+        while(!dirs.isEmpty()) {
+          FileRemote dir = dirs.remove(0);
+          Map<String, FileRemote> children1 = dir.children;
+          String key = keyDir(dir);
+          if(children1 !=null && !written.contains(key)) {
+            List<FileRemote> children;                     // copy, because the walker and the watcher may change the children
+            synchronized(children1) { children = new ArrayList<FileRemote>(children1.values()); }
+            if(dir.timeChildren !=0 && dir.date !=0) {
+              written.add(key);
+              wr.append("D ").append(Long.toString(dir.date)).append(' ').append(dir.getAbsolutePath()).append('\n');
+            }
+            for(FileRemote child: children) {
+              if(written.contains(key)) {
+                wr.append("F ").append(Integer.toHexString(child.flags)).append(' ').append(Long.toString(child.length))
+                  .append(' ').append(Long.toString(child.date)).append(' ').append(Long.toString(child.dateCreation))
+                  .append(' ').append(Long.toString(child.dateLastAccess)).append(' ').append(Integer.toHexString(child.getMark()))
+                  .append(' ').append(child.sFile).append('\n');
+              }
+              if(child.isDirectory()) { dirs.add(child); }
+            }
+          }
+        }
+        Map<String, SnapshotDir> idxSnapshot = this.idxSnapshot;
+        if(idxSnapshot !=null) {                           // not used entries remain valid for the next start.
+          for(Map.Entry<String, SnapshotDir> e: idxSnapshot.entrySet()) {
+            SnapshotDir snapshot = e.getValue();
+            if(!written.contains(e.getKey()) && !snapshot.children.isEmpty()) {
+              wr.append("D ").append(Long.toString(snapshot.date)).append(' ').append(snapshot.children.get(0)).append('\n');
+              for(String line: snapshot.children.subList(1, snapshot.children.size())) {
+                wr.append(line).append('\n');
+              }
+            }
+          }
+        }
+      }
+    } finally { wr.close(); }
+    Files.move(fileTmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+  
+  
+  
+  /**Reads a snapshot file written with {@link #saveSnapshot(File)}. 
+   * Only the lines are read and sorted to the directories, no {@link FileRemote} instance is created here 
+   * and the file system is not accessed. The content of a directory is applied on the first access to 
+   * {@link FileRemote#children()} of this directory, see {@link #applySnapshot(FileRemote)}. 
+   * @param file the snapshot file. If it does not exist, nothing is done.
+   * @throws IOException on read error.
+   */
+  public void loadSnapshot(File file) throws IOException {
+    if(!file.exists()) return;
+    Map<String, SnapshotDir> idxSnapshot = new HashMap<String, SnapshotDir>();
+    BufferedReader rd = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+    try {
+      String sLine;
+      SnapshotDir snapshot = null;
+      while( (sLine = rd.readLine()) !=null) {
+        if(sLine.startsWith("D ")) {
+          int posPath = sLine.indexOf(' ', 2);
+          snapshot = null;
+          if(posPath > 0) {
+            try {
+              snapshot = new SnapshotDir(Long.parseLong(sLine.substring(2, posPath)));
+              String sPath = sLine.substring(posPath +1);
+              snapshot.children.add(sPath);                // first entry is the path to write it again
+              boolean bWindowsPath = sPath.length()>=2 && sPath.charAt(1) == ':';
+              idxSnapshot.put(bWindowsPath ? sPath.toUpperCase() : sPath, snapshot);
+            } catch(NumberFormatException exc) { /*ignore this directory*/ }
+          }
+        } else if(snapshot !=null && sLine.startsWith("F ")) {
+          snapshot.children.add(sLine);
+        }
+      }
+    } finally { rd.close(); }
+    this.idxSnapshot = idxSnapshot.isEmpty() ? null : idxSnapshot;
+  }
+  
+  
+  
+  /**Applies the snapshot content from {@link #loadSnapshot(File)} to this directory if the snapshot contains it.
+   * It is called on the first {@link FileRemote#children()} of a directory which children are not gotten yet.
+   * The directory is checked: If its last modified time stamp is unchanged, no file was added, removed or renamed,
+   * then the children are created or set with the properties from the snapshot. Elsewhere nothing is done, 
+   * the children should be refreshed from the file system as usual.
+   * Note: A changed content of a file does not change the time stamp of the directory. 
+   * It is detected only on refresh of the files, for example with {@link FileRemote#refreshPropertiesAndChildren(boolean, org.vishia.event.EventWithDst)}.
+   * <br><br>
+   * The snapshot is only used for the local file system. 
+   * @param dir any directory.
+   * @return true if applied.
+   */
+  synchronized boolean applySnapshot(FileRemote dir) {
+    Map<String, SnapshotDir> idxSnapshot = this.idxSnapshot;
+    SnapshotDir snapshot = idxSnapshot == null ? null : idxSnapshot.remove(keyDir(dir));
+    if(idxSnapshot !=null && idxSnapshot.isEmpty()) { this.idxSnapshot = null; }
+    if(snapshot == null || dir.device == null || !dir.device.isLocalFileSystem()) return false;
+    try {                                                // only one access to the file system for the directory
+      if(Files.getLastModifiedTime(dir.path()).toMillis() != snapshot.date) return false;
+    } catch(IOException exc) {
+      return false;                                      // not existing, refresh necessary
+    }
+    for(String sLine: snapshot.children.subList(1, snapshot.children.size())) {
+      String[] parts = sLine.split(" ", 8);
+      if(parts.length == 8) {
+        try {
+          int flags = (int)Long.parseLong(parts[1], 16);
+          long length = Long.parseLong(parts[2]);
+          long date = Long.parseLong(parts[3]);
+          long dateCreation = Long.parseLong(parts[4]);
+          long dateLastAccess = Long.parseLong(parts[5]);
+          int mark = (int)Long.parseLong(parts[6], 16);
+          FileRemote child = dir.getChild(parts[7]);
+          if(child == null) {
+            child = new FileRemote(this, dir.device, dir, parts[7], length, date, dateCreation, dateLastAccess, flags, null, true);
+          } else {
+            child._setProperties(length, date, dateCreation, dateLastAccess, flags, null);
+          }
+          if(mark !=0) { child.setMarked(mark, null); }
+        } catch(NumberFormatException exc) { /*ignore this child*/ }
+      }
+    }
+    dir.date = snapshot.date;
+    dir.timeRefresh = dir.timeChildren = System.currentTimeMillis();
+    return true;
+  }
+  
+  
+  
   public Iterator<FileRemote> listSubdirs(String startDir) {
     return new ListSubdirs(startDir); //idxPaths.iterator(startDir);
   }
@@ -235,6 +235,11 @@ public class FileRemote extends File implements MarkMask_ifc, TreeNodeNamed_ifc
 
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-18 Hartmut new: {@link #watch(EventWithDst)}, {@link #unwatch()} 
+   *   to update changed children immediately instead of a whole refresh, see {@link FileRemoteAccessor#watch(FileRemote, EventWithDst)}.
+   * <li>2026-10-18 Hartmut new: {@link #children()} uses a snapshot of the {@link FileCluster} if given, see {@link FileCluster#loadSnapshot(File)}.
+   * <li>2026-10-18 Hartmut new: {@link #refreshAndSearch(int, String, int, byte[][], int, FileRemoteWalkerCallback, EventWithDst)}
+   *   implemented with {@link FileRemoteCmdEventData.Cmd#walkSearch}, more as one pattern, optional in several threads. 
    * <li>2025-12-18 {@link #moveTo(FileRemote, EventWithDst)} 
    * <li>2024-02-12 The {@link #cmdRemote(org.vishia.fileRemote.FileRemoteCmdEventData.Cmd, FileRemote, String, int, int, int, FileRemoteCmdEventData, EventWithDst)}
    *   has now beside the String selectFilter the int bMaskSel. This CAN be used (is not yet) for selection via bits (TODO test may be run),
@@ -433,7 +438,7 @@ public class FileRemote extends File implements MarkMask_ifc, TreeNodeNamed_ifc
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    * 
    */
-  public static final String version = "2025-12-18";
+  public static final String version = "2026-10-18";
 
   public final static int modeCopyReadOnlyMask = 0x00f
   , modeCopyReadOnlyNever = 0x1, modeCopyReadOnlyOverwrite = 0x3, modeCopyReadOnlyAks = 0;
@@ -571,7 +576,7 @@ public class FileRemote extends File implements MarkMask_ifc, TreeNodeNamed_ifc
    * If this field should be returned without null, especially on {@link #listFiles()} and the file is a directory, 
    * the {@link #refreshPropertiesAndChildren(boolean, EventWithDst)
    * */
-  private Map<String,FileRemote> children;
+  Map<String,FileRemote> children;
   
   /**This is the internal file object. It is handled by the device only. */
   Object oFile;
@@ -840,14 +845,23 @@ public class FileRemote extends File implements MarkMask_ifc, TreeNodeNamed_ifc
   public FileRemote getChild(CharSequence name){
     boolean bWindows = this.sDir.length() >=2 && this.sDir.charAt(1) == ':';
     String key = bWindows ? name.toString().toUpperCase() : name.toString();
-    return this.children == null ? null : this.children.get(key);
+    Map<String, FileRemote> children = this.children;
+    if(children == null) return null;
+    synchronized(children) { return children.get(key); }
   }
   
   
   /**Gets the Index of the children sorted by name.
+   * If the children are not gotten yet, but a snapshot is loaded in {@link #itsCluster}, 
+   * the children are taken from the snapshot if it is valid, see {@link FileCluster#loadSnapshot(File)}.
    * @return
    */
-  public Map<String,FileRemote> children() { return children; }
+  public Map<String,FileRemote> children() { 
+    if(this.timeChildren == 0 && this.itsCluster.hasSnapshot()) {
+      this.itsCluster.applySnapshot(this);
+    }
+    return children; 
+  }
   
  
   /**Cleans the children list. The children should be refreshed from the file system. */
@@ -989,7 +1003,9 @@ public class FileRemote extends File implements MarkMask_ifc, TreeNodeNamed_ifc
     }
     final boolean bWindows = this.sDir.length() >=2 && this.sDir.charAt(1) == ':';
     String key = bWindows ? child.sFile.toUpperCase() : child.sFile;
-    this.children.put(key, child);  //it may replace the same child with itself. But search is necessary.
+    synchronized(this.children) {    // the children map is changed by the walker and the watcher, and read for a snapshot
+      this.children.put(key, child);  //it may replace the same child with itself. But search is necessary.
+    }
     child.flags &= ~mRefreshChildPending;
   }
   
@@ -1287,6 +1303,29 @@ public class FileRemote extends File implements MarkMask_ifc, TreeNodeNamed_ifc
   
   
   
+  /**Watches this directory for changes of the children in the file system.
+   * Only the changed children are updated then, a {@link #refreshPropertiesAndChildren(boolean, EventWithDst)} is not necessary.
+   * See {@link FileRemoteAccessor#watch(FileRemote, EventWithDst)}.
+   * @param evBack maybe null, if given it is sent on any change.
+   * @return false if the device does not support watching.
+   * @throws IOException if this directory cannot be watched.
+   */
+  public boolean watch(EventWithDst<FileRemoteProgressEvData,?> evBack) throws IOException {
+    if(this.device == null){
+      this.device = FileRemote.getAccessorSelector().selectFileRemoteAccessor(getAbsolutePath());
+    }
+    return this.device.watch(this, evBack);
+  }
+  
+  
+  /**Finishes {@link #watch(EventWithDst)}. 
+   * @return false if this directory was not watched. */
+  public boolean unwatch() {
+    return this.device !=null && this.device.unwatch(this);
+  }
+  
+  
+  
   /**Refreshes a file tree and mark some files. This routine creates another thread usually, which accesses the file system
    * and invokes the callback routines. A longer access time does not influence this thread. 
    * The result is given only if the {@link FileRemoteWalkerCallback#finished(FileRemote, org.vishia.util.SortedTreeWalkerCallback.Counters)}
@@ -1340,10 +1379,36 @@ public class FileRemote extends File implements MarkMask_ifc, TreeNodeNamed_ifc
    * @param timeOrderProgress maybe null, if given then this callback is informed on any file or directory.
    */
   public void refreshAndSearch(int depth, String mask, int mark, byte[] search, FileRemoteWalkerCallback callbackUser, EventWithDst<FileRemoteProgressEvData,?> evBack) { //FileRemote.CallbackEvent evCallback) { ////
+    refreshAndSearch(depth, mask, mark, new byte[][] { search }, 1, callbackUser, evBack);
+  }
+  
+  
+  
+  /**Refreshes a file tree and search some patterns in some or all files. 
+   * The files which contains any of the patterns are marked with {@link FileMark#cmpFileDifferences}, the parent directories too.
+   * One pattern is searched with the Boyer-Moore-Horspool algorithm, more as one pattern with Aho-Corasick,
+   * see {@link org.vishia.util.ByteSearch}.
+   * @param depth at least 1 for enter in the first directory. Use 0 if all levels should entered.
+   * @param mask a mask to select directory and files
+   * @param mark bits to select files by its mark, 0 then select all (ignore mark)
+   * @param search the patterns to search, each with at least one byte.
+   * @param nrThreads number of threads to walk through the sub directories and search concurrently, 
+   *   see {@link FileRemoteCmdEventData#setParallelWalk(int)}. 1: walk in one thread.
+   * @param callbackUser not used yet.
+   * @param evBack maybe null, then the search is done in this thread. If given, the search runs in another thread
+   *   and the event is sent on finish. 
+   */
+  public void refreshAndSearch(int depth, String mask, int mark, byte[][] search, int nrThreads
+      , FileRemoteWalkerCallback callbackUser, EventWithDst<FileRemoteProgressEvData,?> evBack) {
     if(this.device == null){
       this.device = FileRemote.getAccessorSelector().selectFileRemoteAccessor(getAbsolutePath());
     }
-    //TODO implement with cmd
+    FileRemoteCmdEventData co = new FileRemoteCmdEventData();
+    co.setCmdWalkRemote(this, FileRemoteCmdEventData.Cmd.walkSearch, null, mask, mark, 100, depth);
+    co.setSearch(search);
+    co.setParallelWalk(nrThreads);
+    boolean bWait = (evBack ==null);
+    this.device.cmd(bWait, co, evBack);
   }
   
   
@@ -1871,10 +1936,11 @@ public class FileRemote extends File implements MarkMask_ifc, TreeNodeNamed_ifc
         this.parent = itsCluster.getFile(sParent, null); //new FileRemote(device, null, sParent, null, 0, 0, 0, null); 
         if(this.parent.children == null){
           //at least this is the child of the parent. All other children are unknown yet. 
-          this.parent.children = createChildrenList(); //new IndexMultiTable<String, FileRemote>(IndexMultiTable.providerString);  //TreeMap<String, FileRemote>();
+          Map<String, FileRemote> children = createChildrenList(); //new IndexMultiTable<String, FileRemote>(IndexMultiTable.providerString);  //TreeMap<String, FileRemote>();
           final boolean bWindows = this.sDir.charAt(1) == ':';
           String key = bWindows ? this.sFile.toUpperCase() : this.sFile;
-          this.parent.children.put(key, this);
+          children.put(key, this);
+          this.parent.children = children;                 // set it complete
           this.parent.timeChildren = 0; //it may be more children. Not evaluated.
         }
       }
@@ -2141,7 +2207,7 @@ public class FileRemote extends File implements MarkMask_ifc, TreeNodeNamed_ifc
     }
     boolean deleted = device.delete(this, null);
     if(deleted && parent !=null && parent.children !=null){
-      parent.children.remove(this.sFile);
+      synchronized(parent.children) { parent.children.remove(this.sFile); }
     }
     return deleted;
   }
@@ -3039,7 +3105,9 @@ public class FileRemote extends File implements MarkMask_ifc, TreeNodeNamed_ifc
       setLengthAndDate(0, 0,0,0);
       String key = FileRemote.this.sDir.length()>=3 && FileRemote.this.sDir.charAt(1)== ':' 
           ? sFile.toUpperCase() : sFile;                   // Windows: keys in upper case
-      FileRemote fdel = FileRemote.this.parent.children.remove(key);
+      Map<String, FileRemote> children = FileRemote.this.parent.children;
+      final FileRemote fdel;
+      synchronized(children) { fdel = children.remove(key); }
       return fdel == FileRemote.this;
     }
     
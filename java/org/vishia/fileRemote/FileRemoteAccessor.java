@@ -25,6 +25,8 @@ public abstract class FileRemoteAccessor implements EventConsumer
   
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-18 Hartmut new: {@link #watch(FileRemote, EventWithDst)} and {@link #unwatch(FileRemote)}, 
+   *   here not supported, implemented in {@link org.vishia.fileLocalAccessor.FileAccessorLocalJava7}.
    * <li>2023-07-22 Hartmut new: {@link #cmdFile(FileRemote, org.vishia.fileRemote.FileRemoteCmdEventData.Cmd, FileRemote, String, long, EventWithDst)}.
    *   as common solution for all Accessor, uses {@link #cmd(boolean, FileRemoteCmdEventData, EventWithDst)} for execution.
    * <li>2023-03-15 Hartmut chg: no more derived from Closeable, instead {@link #close()} defined here,
@@ -80,7 +82,7 @@ public abstract class FileRemoteAccessor implements EventConsumer
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    * 
    */
-  public static final String version = "2023-07-22";
+  public static final String version = "2026-10-18";
   
   //public final static int kOperation = 0xd00000, kFinishOk = 0xf10000, kFinishNok = 0xf10001
   //, kFinishError = 0xf1e3303, kNrofFilesAndBytes = 0xd00001, kCopyDir = 0xd0cd13;
@@ -260,6 +262,24 @@ public abstract class FileRemoteAccessor implements EventConsumer
   public abstract void abortAll ( );
   
   
+  /**Watches the directory for changes of its children in the file system.
+   * The FileRemote instances of the children are updated on any change, only the changed ones. 
+   * The implementation of this class does not support watching, it returns false. 
+   * @param dir the directory, only its children are watched, not the sub directories.
+   * @param evBack maybe null, if given this event is sent on changes with the changed directory 
+   *   in {@link FileRemoteProgressEvData#currDir}.
+   * @return false if watching is not supported.
+   * @throws IOException if the directory cannot be watched.
+   */
+  public boolean watch ( FileRemote dir, EventWithDst<FileRemoteProgressEvData,?> evBack) throws IOException { return false; }
+  
+  
+  /**Finishes watching started with {@link #watch(FileRemote, EventWithDst)}.
+   * @return false if the directory was not watched.
+   */
+  public boolean unwatch ( FileRemote dir) { return false; }
+
+  
   /**This class offers a Thread especially for {@link FileRemoteAccessor#walkFileTree(FileRemote, boolean, FileFilter, int, CallbackFile)}
    * which can be use for devices which can evaluate the files by immediately system calls without communication but with maybe waiting for response.
    * It is for the PC's file system especially. 
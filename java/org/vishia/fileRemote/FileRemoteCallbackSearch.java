@@ -7,17 +7,39 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.vishia.event.EventWithDst;
+import org.vishia.util.ByteSearch;
 import org.vishia.util.Debugutil;
 import org.vishia.util.FileSystem;
 import org.vishia.util.SortedTreeWalkerCallback;
 import org.vishia.util.StringFunctions;
 import org.vishia.util.SortedTreeWalkerCallback.Result;
 
+/**Callback for walking through a file tree to search one or more byte patterns in the files.
+ * Files which contains any of the patterns are marked with {@link FileMark#cmpFileDifferences}, 
+ * the parent directories are marked too.
+ * It is used for {@link FileRemoteCmdEventData.Cmd#walkSearch}, see {@link FileRemote#refreshAndSearch(int, String, int, byte[][], int, FileRemoteWalkerCallback, EventWithDst)}.
+ * <br><br>
+ * The search itself is done with {@link ByteSearch}. The file is read in blocks, the end of a block is kept for the next block,
+ * hence a pattern is found also if it is separated in two blocks.
+ * <br><br>
+ * The instance is thread safe for {@link #offerLeafNode(FileRemote, Object)}, 
+ * it can be used for walking in several threads, see {@link FileRemoteCmdEventData#setParallelWalk(int)}.
+ */
 public class FileRemoteCallbackSearch implements SortedTreeWalkerCallback<FileRemote, FileRemoteCmdEventData> { //extends FileRemoteWalkerCallback {
-  static final public String sVersion = "2016-12-27";
   
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-18 Hartmut new: search with {@link ByteSearch}, Boyer-Moore-Horspool or Aho-Corasick for more as one pattern.
+   *   The rest of a read block is kept for the next block, before a pattern on the block boundary was not found.
+   *   Thread safe for parallel walking, used for {@link FileRemoteCmdEventData.Cmd#walkSearch}.
+   * <li>2016-12-27 Hartmut created.
+   * </ul>
+   */
+  static final public String sVersion = "2026-10-18";
+
   class CompareCtrl {
     
     /**Some Strings for start Strings to ignore comparison to end of line.
@@ -69,10 +91,18 @@ public class FileRemoteCallbackSearch implements SortedTreeWalkerCallback<FileRe
   final static int cmp_withoutComment = 16;
   
   
-  final byte[] buffer = new byte[16384];
+  /**Size of the read buffer for the search. */
+  private final int zBuffer;
+
+  /**The buffer for reading the files, one per thread. */
+  private final ThreadLocal<byte[]> buffer;
 
-  final byte[] search;
+  /**The search engine for all patterns. */
+  private final ByteSearch search;
   
+  /**Number of files which contains any of the patterns. */
+  private final AtomicInteger nrFilesFound = new AtomicInteger();
+
   boolean aborted = false;
   
   /**Constructs an instance to execute a comparison of directory trees.
@@ -84,13 +114,18 @@ public class FileRemoteCallbackSearch implements SortedTreeWalkerCallback<FileRe
    * @param timeOrderProgress maybe null. If given this timeOrder is used to show the progression of the comparison.
    *   The timeOrder is set with data
    */
-  FileRemoteCallbackSearch(FileRemote dir1, byte[] search, FileRemoteWalkerCallback callbackUser, EventWithDst<FileRemoteProgressEvData,?> evBack) { //FileRemote.CallbackEvent evCallback){
+  public FileRemoteCallbackSearch(FileRemote dir1, byte[][] search, FileRemoteWalkerCallback callbackUser, EventWithDst<FileRemoteProgressEvData,?> evBack) { //FileRemote.CallbackEvent evCallback){
     //this.evCallback = evCallback;
     this.evBack = evBack;
-    this.progress = evBack.data();
+    this.progress = evBack == null ? null : evBack.data();
     this.callbackUser = callbackUser;
     this.dir1 = dir1;
-    this.search = search;
+    this.search = ByteSearch.create(search);
+    final int zBuffer = Math.max(0x10000, 4 * this.search.maxLength());
+    this.zBuffer = zBuffer;
+    this.buffer = new ThreadLocal<byte[]>() {
+      @Override protected byte[] initialValue() { return new byte[zBuffer]; }
+    };
     basepath1 = FileSystem.normalizePath(dir1.getAbsolutePath()).toString();
     zBasePath1 = basepath1.length();
     //} catch(Exception exc){
@@ -138,33 +173,28 @@ public class FileRemoteCallbackSearch implements SortedTreeWalkerCallback<FileRe
   @Override public Result offerLeafNode(FileRemote file, Object info)
   {
     InputStream inp = null;
-    int posB0 = 0;
     try{
       inp = file.openInputStream(0);
       if(inp != null) {
+        byte[] buffer = this.buffer.get();
+        int zKeep = this.search.maxLength() -1;        // a pattern on the end of the buffer may be continued in the next block
+        int zData = 0;
         int bytes;
-        int nFound = 1;
-        while( nFound >0 && (bytes = inp.read(this.buffer, posB0, this.buffer.length - posB0)) >0){
-          byte b1 = this.search[0];
-          int ix =0; 
-          do {
-            if(this.buffer[ix] == b1 && ix + this.search.length < this.buffer.length) {  //not found on end of buffer
-              boolean bFound = true;
-              for(int ixb = 1; ixb < this.search.length; ++ixb) {
-                if(this.buffer[ix + ixb] != this.search[ixb]) {
-                  bFound = false;
-                  break;
-                }
-              }
-              if(bFound) {
-                nFound -=1;
-              }
-            }
-          } while(nFound >0 && ++ix < bytes);
+        boolean bFound = false;
+        while( !bFound && (bytes = inp.read(buffer, zData, this.zBuffer - zData)) >0){
+          zData += bytes;
+          bFound = this.search.indexOf(buffer, 0, zData) >=0;
+          if(!bFound && zData > zKeep) {
+            System.arraycopy(buffer, zData - zKeep, buffer, 0, zKeep);
+            zData = zKeep;
+          }
         }
-        if( nFound <=0) {
-          file.setMarked(FileMark.cmpFileDifferences);
-          file.mark.setMarkParent(FileMark.cmpFileDifferences, false);
+        if(bFound) {
+          this.nrFilesFound.incrementAndGet();
+          synchronized(this) {                         // the parents are marked from several threads
+            file.setMarked(FileMark.cmpFileDifferences);
+            file.mark.setMarkParent(FileMark.cmpFileDifferences, false);
+          }
         }
       }
     } catch(IOException exc) {
@@ -187,6 +217,10 @@ public class FileRemoteCallbackSearch implements SortedTreeWalkerCallback<FileRe
   }
 
   
+  /**Returns the number of files which contains any of the patterns, also while searching. */
+  public int nrFilesFound() { return this.nrFilesFound.get(); }
+
+  
   /**Compare two files.
    * @param file1
    * @param file2 both file should be exist. It is tested before.
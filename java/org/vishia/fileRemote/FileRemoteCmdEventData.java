@@ -37,6 +37,10 @@ public class FileRemoteCmdEventData  implements Payload {
   /**Depths to walk in dir tree, 0: all. */
   private int depthWalk;
   
+  /**Number of threads to walk through sub directories concurrently, 0 or 1: walk in one thread. 
+   * See {@link #setParallelWalk(int)}. */
+  private int nrParallelWalk;
+  
   /**Designation of destination file names maybe wildcard mask. */
   private String nameDst;
   
@@ -58,6 +62,9 @@ public class FileRemoteCmdEventData  implements Payload {
   /**For {@link Cmd#chgProps}: A new time stamp. */
   long newDate;
   
+  /**For {@link Cmd#walkSearch}: the patterns to search. */
+  private byte[][] search;
+
   private SortedTreeWalkerCallback<FileRemote, FileRemoteCmdEventData> callback;  //it may be implementation specific
   
   
@@ -165,6 +172,27 @@ public class FileRemoteCmdEventData  implements Payload {
   
   public int depthWalk () { return this.depthWalk; }
   
+  public int nrParallelWalk () { return this.nrParallelWalk; }
+  
+  /**Sets the number of threads to walk through the sub directories concurrently.
+   * It should be called after the setCmd... operations, because they clean it. 
+   * If more as 1, the {@link #callback} is invoked in several threads, it should be thread safe.
+   * The {@link SortedTreeWalkerCallback#offerParentNode(Object, Object, Object)} for a directory is invoked 
+   * in the thread which walks through the parent directory, 
+   * the {@link SortedTreeWalkerCallback#finishedParentNode(Object, Object, Object)} is invoked in the thread for the directory itself,
+   * after all its sub directories are finished. 
+   * The order of the sub directories is not determined.
+   * @param nrThreads 0 or 1: walk in one thread.
+   */
+  public void setParallelWalk (int nrThreads) { this.nrParallelWalk = nrThreads; }
+  
+  /**Returns the patterns to search for {@link Cmd#walkSearch}. */
+  public byte[][] search () { return this.search; }
+  
+  /**Sets the patterns to search for {@link Cmd#walkSearch}. 
+   * It should be called after the setCmd... operations, because they clean it. */
+  public void setSearch (byte[] ... search) { this.search = search; }
+
   
   public final int modeCopyOper()
   {
@@ -202,6 +230,8 @@ public class FileRemoteCmdEventData  implements Payload {
     this.markSetDir = 0;
     this.selectFilter = null;
     this.depthWalk = 0;        //means any deepness
+    this.nrParallelWalk = 0;
+    this.search = null;
     this.nameDst = null;
     this.modeCopyOper = 0;
     this.newName = null;
@@ -258,6 +288,9 @@ public class FileRemoteCmdEventData  implements Payload {
     walkMoveDirTree,
     /**walk through two file trees with given select masks, compare the files and mark due to comparison result.*/
     walkCompare,
+    /**walk through the file tree with given select masks, search the {@link FileRemoteCmdEventData#search()} patterns
+     * in the files and mark the files which contain any pattern.*/
+    walkSearch,
     /**Abort the currently action. */
     abortAll,
     /**Abort the copy process of the current directory or skip this directory if it is asking a file. */
@@ -20,6 +20,8 @@ public class FileRemoteProgressEvData extends PayloadBack implements Serializabl
 
   /**Version, license and history.
    * <ul>
+   * <li>2026-10-18 Hartmut new: {@link #setError(String)} and {@link #nrofFilesError} for errors on files,
+   *   which does not abort the whole walking, for example a failed copy in a thread of the copy pool.
    * <li>2023-07-24 now inherits from {@link PayloadBack} which contains bDone and sError.  
    * <li>2023-03-26 {@link ProgressCmd} now contains all cmd for ask, yet in progress. 
    * <li>2023-02-21 new implements Payload and hence {@link #clean()}
@@ -60,7 +62,7 @@ public class FileRemoteProgressEvData extends PayloadBack implements Serializabl
    * 
    * 
    */
-  public final static String version = "2023-07-24";
+  public final static String version = "2026-10-18";
 
   
   
@@ -161,6 +163,9 @@ public class FileRemoteProgressEvData extends PayloadBack implements Serializabl
   /**Number of Files which are marked while walking and processing. */
   public int nrofFilesMarked;
   
+  /**Number of Files which are not processed because of an error, see {@link #setError(String)}. */
+  public int nrofFilesError;
+  
   
   
   
@@ -217,6 +222,7 @@ public class FileRemoteProgressEvData extends PayloadBack implements Serializabl
   this.nrFilesVisited = 0;
   this.nrofFilesSelected = 0;
   this.nrofFilesMarked = 0;
+  this.nrofFilesError = 0;
   this.nrofBytesAll = 0;
   this.nrofBytesFile = 0;
   this.nrofBytesFileCopied = 0;
@@ -250,6 +256,15 @@ public class FileRemoteProgressEvData extends PayloadBack implements Serializabl
   
   public boolean done ( ){ return this.bDone; }
   
+  /**Counts an error on a file. Only the first error message is stored, see {@link #error()}.
+   * It is synchronized because the files may be processed in more as one thread.
+   * @param sError message of the error
+   */
+  public synchronized void setError ( String sError ) {
+    if(this.sError == null) { this.sError = sError; }
+    this.nrofFilesError +=1;
+  }
+  
   /**This operation should be called by the executer if a non clarified situation exists.
    * The executer thread goes in wait till setAnswer is given. 
    * @param quest the quest to the application.
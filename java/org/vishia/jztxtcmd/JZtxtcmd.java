@@ -132,6 +132,8 @@ public class JZtxtcmd implements JZtxtcmdEngine, Compilable
   
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-18 Hartmut new: command line argument <code>-zmake:FILE</code>, see {@link JZtxtcmdExecuter#setZmakeBuildState(File)}.
+   * <li>2026-10-18 Hartmut new: command line argument <code>-cache:DIR</code>, see {@link JZtxtcmdScript#setParseResultCache(File)}.
    * <li>2023-08-12 Hartmut now ctor {@link #JZtxtcmd(LogMessage)} is specific exception free. The exception was nevertheless not expected 
    *   because the used syntax does not depend from user. If there is really an error, an IllegalArgumentException is thrown. 
    * <li>2021-12-30 Hartmut cleanup, some deprecated removed. Because of change in 
@@ -198,7 +200,7 @@ public class JZtxtcmd implements JZtxtcmdEngine, Compilable
    * 
    */
   //@SuppressWarnings("hiding")
-  static final public String version = "2021-01-31";
+  static final public String version = "2026-10-18";
 
   
   private static class Args{
@@ -212,6 +214,9 @@ public class JZtxtcmd implements JZtxtcmdEngine, Compilable
     /**path to some output files for debugging, maybe left null. */
     File fileTestXml;
     
+    /**File for the state of built zmake targets, maybe null. */
+    File fileZmakeState;
+    
     /**User arguments, stored as script variable "$1" till "$n" */
     List<String> userArgs = new ArrayList<String>();
   }
@@ -246,6 +251,16 @@ public class JZtxtcmd implements JZtxtcmdEngine, Compilable
           }
           return true;
         }})
+    , new MainCmd.Argument("-cache", ":DIR directory to store the parse results of the script and included scripts"
+        , new MainCmd.SetArgument(){ @Override public boolean setArgument(String val){ 
+          JZtxtcmdScript.setParseResultCache(new File(val)); 
+          return true;
+        }})
+    , new MainCmd.Argument("-zmake", ":FILE file to store the state of built zmake targets, unchanged targets are not built again"
+        , new MainCmd.SetArgument(){ @Override public boolean setArgument(String val){ 
+          argData.fileZmakeState = new File(val); 
+          return true;
+        }})
     , new MainCmd.Argument("-u", ":userArgs"
         , new MainCmd.SetArgument(){ @Override public boolean setArgument(String val){ 
           argData.userArgs.add(val); 
@@ -259,7 +274,7 @@ public class JZtxtcmd implements JZtxtcmdEngine, Compilable
       this.argData = argData;
       super.addAboutInfo("Compilation and Execution of JZcmd-Files");
       super.addAboutInfo("made by HSchorrig, Version 1.0, 2013-07-11..2014-06-09");
-      super.addHelpInfo("args JZcmd_SCRIPTFILE [-t:OUTEXT] [-debug:SCRIPTFILE.xml]");
+      super.addHelpInfo("args JZcmd_SCRIPTFILE [-t:OUTEXT] [-debug:SCRIPTFILE.xml] [-cache:DIR] [-zmake:FILE]");
       super.addArgument(argList);
       super.addHelpInfo("==Standard arguments of MainCmd==");
       super.addStandardHelpInfo();
@@ -289,6 +304,8 @@ public class JZtxtcmd implements JZtxtcmdEngine, Compilable
 INPUT          pathTo JZcmd-File to execute
 -t:OUTEXT      pathTo text-File for output
 -debug:TEST.xml pathTo XML output of parsed script
+-cache:DIR     directory to store the parse results, an unchanged script is not parsed again
+-zmake:FILE    file to store the state of built zmake targets, unchanged targets are not built again
 -u:userArgs
 --help         show the help for command line and the syntax
 --currdir=PATH Set the currdir variable.
@@ -331,6 +348,12 @@ INPUT          pathTo JZcmd-File to execute
       File fileIn = new File(args.sFileScript);
       int nrArg = 1;
       JZtxtcmdExecuter executer = new JZtxtcmdExecuter(mainCmdLine);
+      if(args.fileZmakeState !=null) {
+        try { executer.setZmakeBuildState(args.fileZmakeState); }
+        catch(IOException exc) { 
+          mainCmdLine.writeWarning("JZcmd - cannot read zmake build state, build all; " + exc.getMessage()); 
+        }
+      }
       Map<String, DataAccess.Variable<Object>> data = args.userArgs.size() >0 ? new TreeMap<String, DataAccess.Variable<Object>>() :null;
       try{
         for(String argu: args.userArgs){
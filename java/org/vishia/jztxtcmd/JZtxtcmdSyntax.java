@@ -17,6 +17,8 @@ public final class JZtxtcmdSyntax {
   
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-18 Hartmut new: <code>for parallel(var: container) {...}</code> executes the elements parallel,
+   *   see {@link JZtxtcmdScript.ForStatement#bParallel}.
    * <li>2021-12-30 Hartmut Enhancement: Now it is possible to read an include script from an operation,
    *   which is hence stored in the jar file. Syntay is: include <code>%<#?backlevel>:pkg.path.Class.operation()</code>.
    *   The <code>backlevel</code> is to built a reference current directory for further includes. 
@@ -126,7 +128,7 @@ public final class JZtxtcmdSyntax {
    * 
    */
   //@SuppressWarnings("hiding")
-  static final public String version = "2021-09-15";
+  static final public String version = "2026-10-18";
 
   
   public final static String syntax =
@@ -500,7 +502,7 @@ public final class JZtxtcmdSyntax {
     + " assignInTextExpr::= <dataPath?assign>[[ = | += <?append>] <objExpr?> \\> | \\><textExpr>\\<\\.=\\> ].\n"
     + " \n"
       //Note: the for-variable is adequate a DefVariable
-    + " forCtrl::= ( <$?forVariable> : <dataAccess?forContainer> [ && <condition> ] )  [\\{ [<statementBlock>] \\} | ; ] .\n"
+    + " forCtrl::= [ parallel <?parallel>] ( <$?forVariable> : <dataAccess?forContainer> [ && <condition> ] )  [\\{ [<statementBlock>] \\} | ; ] .\n"
     + " \n"
     + " forInText::= <$?forVariable> : <dataAccess?forContainer> [ && <condition> ] \\><textExpr>\\<\\.for[ : <$?@checkForVariable> ]\\>. \n"
     + " ##name is the name of the container element data reference\n"
@@ -0,0 +1,213 @@
+package org.vishia.util;
+
+import java.util.Arrays;
+
+/**This class searches one or more byte patterns in a byte array, for example in a buffer read from a file.
+ * Create an instance with {@link #create(byte[][])}:
+ * <ul>
+ * <li>For one pattern the Boyer-Moore-Horspool algorithm is used. It compares the last byte of the pattern first
+ *   and shifts by a table. Hence for longer patterns most of the bytes of the buffer are not regarded at all.
+ * <li>For more as one pattern the Aho-Corasick algorithm is used. The patterns are built to a deterministic automaton,
+ *   any byte of the buffer is regarded exactly one time with one table access, independent of the number of patterns.
+ * </ul>
+ * An instance is immutable after creation, it can be used in several threads concurrently.
+ * <br><br>
+ * To search in a stream, read the stream in a buffer and search. If nothing is found,
+ * keep the last {@link #maxLength()} - 1 bytes on start of the buffer and read the next bytes behind them.
+ * Then patterns which are separated between two read blocks are found too.
+ *
+ * @author Hartmut Schorrig
+ *
+ */
+public abstract class ByteSearch {
+
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-18 Hartmut created for {@link org.vishia.fileRemote.FileRemoteCallbackSearch}.
+   * </ul>
+   *
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL ist not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   */
+  public final static String version = "2026-10-18";
+
+
+  /**Length of the longest pattern. */
+  protected final int maxLength;
+
+
+  protected ByteSearch(int maxLength) { this.maxLength = maxLength; }
+
+
+  /**Creates the search instance for the given patterns.
+   * @param patterns at least one, each with at least one byte.
+   * @return an instance for Boyer-Moore-Horspool for one pattern, elsewhere for Aho-Corasick.
+   * @throws IllegalArgumentException if no pattern or an empty pattern is given.
+   */
+  public static ByteSearch create(byte[] ... patterns) {
+    if(patterns == null || patterns.length == 0) throw new IllegalArgumentException("ByteSearch: no pattern given");
+    for(byte[] pattern: patterns) {
+      if(pattern == null || pattern.length == 0) throw new IllegalArgumentException("ByteSearch: empty pattern");
+    }
+    if(patterns.length == 1) { return new Horspool(patterns[0]); }
+    else { return new AhoCorasick(patterns); }
+  }
+
+
+  /**Length of the longest pattern. The number of bytes to keep from a buffer for the next search in a stream is one less. */
+  public int maxLength() { return this.maxLength; }
+
+
+  /**Searches the patterns in the given range.
+   * @param buffer the data
+   * @param from start position, inclusive
+   * @param to end position, exclusive
+   * @return the start position of the first found pattern, -1 if nothing is found.
+   *   For more as one pattern it is the pattern which ends firstly.
+   */
+  public abstract int indexOf(byte[] buffer, int from, int to);
+
+
+
+  /**Boyer-Moore-Horspool for one pattern. */
+  private static final class Horspool extends ByteSearch {
+
+    private final byte[] pattern;
+
+    /**Shift for the byte in the buffer which is compared with the last byte of the pattern, index is the unsigned byte. */
+    private final int[] shift = new int[256];
+
+    Horspool(byte[] pattern) {
+      super(pattern.length);
+      this.pattern = pattern.clone();
+      int last = pattern.length -1;
+      Arrays.fill(this.shift, pattern.length);
+      for(int ix = 0; ix < last; ++ix) {
+        this.shift[pattern[ix] & 0xff] = last - ix;
+      }
+    }
+
+    @Override public int indexOf(byte[] buffer, int from, int to) {
+      final byte[] pattern = this.pattern;
+      final int last = pattern.length -1;
+      final byte bLast = pattern[last];
+      int pos = from;
+      while(pos + last < to) {
+        byte b = buffer[pos + last];
+        if(b == bLast) {
+          int ix = last -1;
+          while(ix >=0 && buffer[pos + ix] == pattern[ix]) { ix -=1; }
+          if(ix < 0) return pos;
+        }
+        pos += this.shift[b & 0xff];
+      }
+      return -1;
+    }
+
+    @Override public String toString() { return "Horspool: " + this.pattern.length + " bytes"; }
+  }
+
+
+
+  /**Aho-Corasick as deterministic automaton for more as one pattern. */
+  private static final class AhoCorasick extends ByteSearch {
+
+    /**Next state for the state and the unsigned byte, the failure transitions are resolved already. */
+    private final int[][] next;
+
+    /**Length of the shortest pattern which ends in this state, also regarding the failure chain, 0 if none ends. */
+    private final int[] found;
+
+    AhoCorasick(byte[][] patterns) {
+      super(maxLength(patterns));
+      int zStatesMax = 1;
+      for(byte[] pattern: patterns) { zStatesMax += pattern.length; }
+      int[][] next = new int[zStatesMax][];
+      int[] found = new int[zStatesMax];
+      next[0] = new int[256];
+      int zStates = 1;
+      for(byte[] pattern: patterns) {                      // build the trie, -1 is not existing transition, 0 is root
+        int state = 0;
+        for(byte b: pattern) {
+          int[] trans = next[state];
+          int st1 = trans[b & 0xff];
+          if(st1 <= 0) {
+            st1 = zStates++;
+            next[st1] = new int[256];
+            Arrays.fill(next[st1], -1);
+            trans[b & 0xff] = st1;
+          }
+          state = st1;
+        }
+        if(found[state] == 0 || found[state] > pattern.length) { found[state] = pattern.length; }
+      }
+      int[] fail = new int[zStates];                       // breadth first: resolve failure transitions
+      int[] queue = new int[zStates];
+      int ixQueue = 0, zQueue = 0;
+      for(int b = 0; b < 256; ++b) {
+        int st1 = next[0][b];
+        if(st1 > 0) { fail[st1] = 0; queue[zQueue++] = st1; }
+      }
+      while(ixQueue < zQueue) {
+        int state = queue[ixQueue++];
+        int stFail = fail[state];
+        if(found[stFail] !=0 && (found[state] == 0 || found[stFail] < found[state])) {
+          found[state] = found[stFail];                  // a shorter pattern ends here too
+        }
+        int[] trans = next[state];
+        for(int b = 0; b < 256; ++b) {
+          int st1 = trans[b];
+          if(st1 > 0) {
+            fail[st1] = next[stFail][b];
+            queue[zQueue++] = st1;
+          } else {
+            trans[b] = next[stFail][b];
+          }
+        }
+      }
+      this.next = Arrays.copyOf(next, zStates);
+      this.found = Arrays.copyOf(found, zStates);
+    }
+
+    private static int maxLength(byte[][] patterns) {
+      int max = 0;
+      for(byte[] pattern: patterns) { if(pattern.length > max) { max = pattern.length; } }
+      return max;
+    }
+
+    @Override public int indexOf(byte[] buffer, int from, int to) {
+      final int[][] next = this.next;
+      final int[] found = this.found;
+      int state = 0;
+      for(int pos = from; pos < to; ++pos) {
+        state = next[state][buffer[pos] & 0xff];
+        if(found[state] !=0) return pos +1 - found[state];
+      }
+      return -1;
+    }
+
+    @Override public String toString() { return "Aho-Corasick: " + this.next.length + " states"; }
+  }
+
+}
@@ -3,6 +3,7 @@ package org.vishia.util;
 import java.lang.reflect.Array;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
@@ -39,6 +40,7 @@ import org.vishia.util.DataAccess.IntegerIx;
  * <li>Use {@link #calcDataAccess(Map, Object...)} to calculate with access to other Java data.
  * <li>Use new {@link Data} to get a data storage to calculate for one thread, able to reuse in the same thread.
  * <li>Use {@link #calcDataAccess(Data, Map, Object...)} with resued data for the same thread.
+ * <li>Use {@link #calcNumeric(NumericData, Object...)} for numeric expressions in often executed loops. It does not allocate. 
  * <li>Use a ZBNF parser with a proper script and {@link SetExpr} to parse via possibility of Java data access.
  *   That is done in the JZcmd script language. 
  * </ul>
@@ -55,6 +57,14 @@ public class CalculatorExpr
   
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-18: new {@link Compiled#calc(Map, DataAccess.ActualArgs, Object[])} with the actual arguments for the data accesses,
+   *   which are evaluated before in {@link org.vishia.cmd.JZtxtcmdExecuter} for this execution.
+   * <li>2026-10-18: new {@link #compile()}: The operations are prepared to {@link Compiled} with a functional operand getter
+   *   and converted constants, the start of the expression with only constants is calculated on compile time.
+   *   The compiled form is cached, used in {@link OutTextPreparer} and {@link org.vishia.cmd.JZtxtcmdExecuter}.  
+   * <li>2026-10-18: new {@link #calcNumeric(NumericData, Object...)} with {@link NumericData}: Calculation of numeric expressions
+   *   with primitive values and a reused stack, without allocation. For the other expressions it returns false,
+   *   then the {@link #calcDataAccess(Map, Object...)} should be used.  
    * <li>2024-07-15: some docu, using {@link #calcDataAccess(Data, Map, Object...)} is now deprecated,
    *   because the accu is created anyway in each execution of {@link #calcDataAccess(Map, Object...)}
    *   and also the {@link Stack} instance can be created for the calculation (less effort, <code> new Stack();</code> is a cheap operation). 
@@ -209,7 +219,7 @@ public class CalculatorExpr
    * 
    */
   //@SuppressWarnings("hiding")
-  public final static String version = "2024-01-20";
+  public final static String version = "2026-10-18";
   
    
   /**It is the data instance for the caluclation.
@@ -250,6 +260,91 @@ public class CalculatorExpr
   }
   
    
+  /**Data for {@link CalculatorExpr#calcNumeric(NumericData, Object...)}, the accu, the operand and the stack
+   * with primitive values. The instance should be reused in the same thread, see {@link CalculatorExpr#numericDataThread()}.
+   * The types are 'I' for int, 'J' for long and 'D' for double, all integer values are stored as long. 
+   */
+  public static final class NumericData {
+    
+    /**Type and value of the accu, it is the result after calculation. */
+    private char type;
+    private long longVal;
+    private double doubleVal;
+    
+    /**Type and value of the current operand. */
+    private char type2;
+    private long longVal2;
+    private double doubleVal2;
+    
+    /**The stack, grows if necessary. */
+    private char[] stackType = new char[8];
+    private long[] stackLong = new long[8];
+    private double[] stackDouble = new double[8];
+    private int zStack;
+    
+    /**Returns the type of the result: 'I', 'J' or 'D'. */
+    public char type() { return this.type; }
+    
+    public int intValue() { return this.type == 'D' ? (int)this.doubleVal : (int)this.longVal; }
+    
+    public long longValue() { return this.type == 'D' ? (long)this.doubleVal : this.longVal; }
+    
+    public double doubleValue() { return this.type == 'D' ? this.doubleVal : this.longVal; }
+    
+    /**Sets the operand from a numeric wrapper or a numeric {@link Value}.
+     * @return false if it is not an int, long or double (also short, byte).  
+     */
+    boolean setOperand(Object val) {
+      if(val instanceof Integer || val instanceof Short || val instanceof Byte) { this.type2 = 'I'; this.longVal2 = ((Number)val).intValue(); }
+      else if(val instanceof Long)   { this.type2 = 'J'; this.longVal2 = ((Long)val).longValue(); }
+      else if(val instanceof Double) { this.type2 = 'D'; this.doubleVal2 = ((Double)val).doubleValue(); }
+      else if(val instanceof Value) {
+        Value value = (Value)val;
+        switch(value.type_) {
+          case 'I': this.type2 = 'I'; this.longVal2 = value.intVal; break;
+          case 'J': this.type2 = 'J'; this.longVal2 = value.longVal; break;
+          case 'D': this.type2 = 'D'; this.doubleVal2 = value.doubleVal; break;
+          default: return false;
+        }
+      }
+      else return false;
+      return true;
+    }
+    
+    void push() {
+      if(this.zStack == this.stackType.length) {
+        this.stackType = Arrays.copyOf(this.stackType, 2 * this.zStack);
+        this.stackLong = Arrays.copyOf(this.stackLong, 2 * this.zStack);
+        this.stackDouble = Arrays.copyOf(this.stackDouble, 2 * this.zStack);
+      }
+      this.stackType[this.zStack] = this.type;
+      this.stackLong[this.zStack] = this.longVal;
+      this.stackDouble[this.zStack] = this.doubleVal;
+      this.zStack +=1;
+    }
+    
+    /**The accu is the operand, the accu is popped from stack. */
+    void popToAccu() {
+      this.type2 = this.type; this.longVal2 = this.longVal; this.doubleVal2 = this.doubleVal;
+      this.zStack -=1;
+      this.type = this.stackType[this.zStack];
+      this.longVal = this.stackLong[this.zStack];
+      this.doubleVal = this.stackDouble[this.zStack];
+    }
+    
+    @Override public String toString() { 
+      return this.type == 'D' ? Double.toString(this.doubleVal) : this.type == '?' ? "?" : Long.toString(this.longVal); 
+    }
+  }
+  
+  
+  /**Data for {@link #calcNumeric(NumericData, Object...)} for each thread. */
+  private static final ThreadLocal<NumericData> numericDataThread = new ThreadLocal<NumericData>() {
+    @Override protected NumericData initialValue() { return new NumericData(); }
+  };
+  
+  
+  
   /**A value, maybe a constant, any given Object or an access description to a java program element.
    * 
    *
@@ -2531,6 +2626,9 @@ public class CalculatorExpr
    * in this order of operations already. It will not be checked here.
    */
   private final List<Operation> listOperations_ = new ArrayList<Operation>();
+  
+  /**Cached result of {@link #compile()}, set to null if the operations are cleared. */
+  private volatile Compiled compiled;
   //end::RPNexpr[]
   
   
@@ -2805,6 +2903,7 @@ public class CalculatorExpr
   public String setExpr(StringPartScan spExpr, Map<String, DataAccess.IntegerIx> nameVariables
   , Class<?> reflData, boolean bSpecialSyntax)
   { listOperations_.clear();
+    this.compiled = null;
     try{   
       // better possibility: use 
 //      Operation oper1 = parseOperand(spExpr, nameVariables, reflData, "!", 0);
@@ -2877,6 +2976,7 @@ public class CalculatorExpr
    */
   public String setExpr(StringPartScan spExpr, Class<?> reflData, boolean bSpecialSyntax) {
     listOperations_.clear();
+    this.compiled = null;
     Map<String, DataAccess.IntegerIx> nameVariables = new TreeMap<String, DataAccess.IntegerIx>(); 
     nameVariables.put("X", new DataAccess.IntegerIx(0));
     try{ parseExpr(spExpr, nameVariables, reflData, "!", bSpecialSyntax, 1); 
@@ -3314,6 +3414,7 @@ public class CalculatorExpr
   public int setRpnExpr(StringPartScan sExpr, Map<String, DataAccess.IntegerIx> nameVariables, Class<?> reflData) throws ParseException {
     sExpr.setIgnoreWhitespaces(true);
     this.listOperations_.clear();
+    this.compiled = null;
     boolean isFieldElements = false;
     if(sExpr.scanChar('[').scanOk()) {
       isFieldElements = true;
@@ -3410,6 +3511,7 @@ public class CalculatorExpr
    */
   public void addOperation(Operation operation){
     listOperations_.add(operation);
+    this.compiled = null;                      //compile() again with the changed operations
   }
   
   
@@ -3674,6 +3776,409 @@ public class CalculatorExpr
   
   
   
+  /**The compiled form of the expression, see {@link #compile()}. */
+  public interface Compiled {
+    /**Calculates the expression. Same as {@link CalculatorExpr#calcDataAccess(Map, Object...)}, see there. */
+    Value calc(Map<String, DataAccess.Variable<Object>> accessVars, Object... args) throws Exception;
+    
+    /**Calculates the expression with the actual arguments for the data accesses of the operands, 
+     * see {@link DataAccess#access(Object, boolean, boolean, Map, Object[], boolean, org.vishia.util.DataAccess.Dst, DataAccess.ActualArgs)}.
+     * @param actualArgs null or the actual arguments of some elements of the data accesses for this calculation. */
+    Value calc(Map<String, DataAccess.Variable<Object>> accessVars, DataAccess.ActualArgs actualArgs, Object[] args) throws Exception;
+  }
+  
+  
+  /**Gets the operand for an {@link Operation} in the compiled form, see {@link CalculatorExpr#getValue(Data, Operation, Map, Object[])}. 
+   * The stack operand is gotten with pop from {@link Data#stack}. 
+   * @return null if the operation has not an operand (unary). 
+   */
+  private interface GetOperand {
+    Value get(Data data, Map<String, DataAccess.Variable<Object>> accessVars, DataAccess.ActualArgs actualArgs, Object[] args);
+  }
+  
+  
+  /**One operation with the prepared operand getter and the unary operators as array. */
+  private static final class CompiledOperation {
+    final Operator operator;
+    final GetOperand getOperand;
+    /**null if no unary operator. */
+    final Operator[] unaryOperators;
+    /**The index to continue if the accu is {@link ExprTypes#finishBooleanExpr}, see {@link Operation#kindOperand}. */
+    final int ixFinish;
+    /**True if the operand does not depend on args or access variables, it can be calculated on compile time. */
+    final boolean bConst;
+    
+    CompiledOperation(Operation oper, GetOperand getOperand, boolean bConst) {
+      this.operator = oper.operator_;
+      this.getOperand = getOperand;
+      this.ixFinish = oper.kindOperand;
+      this.bConst = bConst;
+      if(oper.unaryOperator !=null) { this.unaryOperators = new Operator[] { oper.unaryOperator }; }
+      else if(oper.unaryOperators !=null && oper.unaryOperators.size() >0) { this.unaryOperators = oper.unaryOperators.toArray(new Operator[oper.unaryOperators.size()]); }
+      else { this.unaryOperators = null; }
+    }
+    
+    /**Executes the operation, same as in {@link CalculatorExpr#calcDataAccess(Data, Map, Object...)} 
+     * with {@link CalculatorExpr#getValue(Data, Operation, Map, Object[])}. */
+    void exec(Data data, Map<String, DataAccess.Variable<Object>> accessVars, DataAccess.ActualArgs actualArgs, Object[] args) throws Exception {
+      Value val2 = this.getOperand.get(data, accessVars, actualArgs, args);
+      if(this.operator == Operators.setOperation && data.accu.type_ != '?'){
+        ExpressionType type = data.accu.etype;
+        data.stack.push(data.accu);
+        data.accu = new Value();
+        data.accu.etype = type;
+      }
+      if(!this.operator.isUnary() && val2 !=null){
+        data.accu.etype.checkArgument(data.accu, val2);
+      }
+      if(this.unaryOperators !=null) {
+        for(Operator unary: this.unaryOperators) {
+          unary.operate(val2, null);
+        }
+      }
+      this.operator.operate(data.accu, val2);
+    }
+  }
+  
+  
+  /**The compiled expression. The operations from {@link CalculatorExpr#listOperations_} are prepared
+   * with a {@link GetOperand} which does not need to test the kind of operand on calculation.
+   * Constants are converted to {@link Value} only one time.
+   * The first operations which uses only constants are calculated on compile time, 
+   * the result is stored in {@link #accuStart} and {@link #stackStart} and copied on calculation.
+   */
+  private static final class CompiledExpr implements Compiled {
+    final CompiledOperation[] operations;
+    /**Index of the first operation to calculate, the operations before are calculated on compile time. */
+    final int ixStart;
+    /**Result of the operations before {@link #ixStart}, or null if ixStart == 0. */
+    final Value accuStart;
+    final Value[] stackStart;
+    
+    CompiledExpr(CompiledOperation[] operations) {
+      this.operations = operations;
+      Data data = new Data();
+      int ix = 0;
+      try {
+        while(ix < operations.length && operations[ix].bConst) {
+          CompiledOperation oper = operations[ix];
+          ix +=1;
+          oper.exec(data, null, null, null);
+          if(data.accu.etype == ExprTypes.finishBooleanExpr){
+            ix = oper.ixFinish;
+          }
+        }
+      } catch(Exception exc) {
+        ix = 0;                                  // the error is detected on calculation. 
+      }
+      if(ix > 0) {
+        this.ixStart = ix;
+        this.accuStart = data.accu;
+        this.stackStart = data.stack.toArray(new Value[data.stack.size()]);
+      } else {
+        this.ixStart = 0;
+        this.accuStart = null;
+        this.stackStart = null;
+      }
+    }
+    
+    @Override public Value calc(Map<String, DataAccess.Variable<Object>> accessVars, Object... args) throws Exception {
+      return calc(accessVars, null, args);
+    }
+    
+    @Override public Value calc(Map<String, DataAccess.Variable<Object>> accessVars, DataAccess.ActualArgs actualArgs, Object[] args) throws Exception {
+      Data data = new Data();
+      if(this.accuStart !=null) {
+        for(Value val: this.stackStart) {
+          Value valStack = new Value();
+          valStack.copy(val);
+          data.stack.push(valStack);
+        }
+        data.accu.copy(this.accuStart);
+      }
+      int ix = this.ixStart;
+      int ixEnd = this.operations.length;
+      while(ix < ixEnd){
+        CompiledOperation oper = this.operations[ix];
+        ix +=1;
+        oper.exec(data, accessVars, actualArgs, args);
+        if(data.accu.etype == ExprTypes.finishBooleanExpr){
+          ix = oper.ixFinish;
+        }
+      }
+      return data.accu;
+    }
+  }
+  
+  
+  
+  /**Returns the compiled form of the expression for fast calculation, 
+   * with the same result as {@link #calcDataAccess(Map, Object...)}.
+   * The compiled form is created on the first call and cached. 
+   * It should be used for expressions which are calculated often, especially conditions.
+   * <ul>
+   * <li>The kind of the operand (argument, constant, data access, stack) is tested only on compile time,
+   *   a proper {@link GetOperand} is used on calculation.
+   * <li>Constants are converted to a {@link Value} only one time.
+   * <li>The first operations which do not depend on args or variables are calculated on compile time (constant folding).
+   *   For an expression with only constants the result is calculated on compile time.
+   * </ul>
+   * Note: a {@link #setLog(Appendable)} is not regarded in the compiled form.
+   * @return the compiled form, can be used in multiple threads.
+   */
+  public Compiled compile() {
+    Compiled ret = this.compiled;
+    if(ret == null) {
+      CompiledOperation[] operations = new CompiledOperation[this.listOperations_.size()];
+      int ix = 0;
+      for(Operation oper: this.listOperations_) {
+        operations[ix++] = compileOperation(oper);
+      }
+      this.compiled = ret = new CompiledExpr(operations);
+    }
+    return ret;
+  }
+  
+  
+  
+  /**Prepares the operand getter for the operation, adequate {@link #getValue(Data, Operation, Map, Object[])}. */
+  private static CompiledOperation compileOperation(Operation oper) {
+    final Operand operand = oper.operand_;
+    if(operand !=null) {
+      if(operand.ixValue >=0) {
+        final int ixValue = operand.ixValue;
+        return new CompiledOperation(oper, (data, accessVars, actualArgs, args) -> {
+          Value val2 = new Value();
+          try { convertObj(val2, getArg(ixValue, args)); } 
+          catch(Exception exc) { setException(val2, exc); }
+          return val2;
+        }, false);
+      } 
+      else if(operand.dataConst !=null || operand.dataAccess == null && operand.textOrVar !=null) {
+        final Value valConst = new Value();
+        convertObj(valConst, operand.dataConst !=null ? operand.dataConst : operand.textOrVar);
+        return new CompiledOperation(oper, (data, accessVars, actualArgs, args) -> {
+          Value val2 = new Value();
+          val2.copy(valConst);                   // copy because the operand may be changed in calculation
+          return val2;
+        }, true);
+      }
+      else if(operand.dataAccess !=null) {
+        final DataAccess dataAccess = operand.dataAccess;
+        return new CompiledOperation(oper, (data, accessVars, actualArgs, args) -> {
+          Value val2 = new Value();
+          try { convertObj(val2, dataAccess.access(accessVars, true, false, null, args, false, null, actualArgs)); } 
+          catch(Exception exc) { setException(val2, exc); }
+          return val2;
+        }, false);
+      }
+      else {                                     // getValue uses the accessVars itself 
+        return new CompiledOperation(oper, (data, accessVars, actualArgs, args) -> {
+          Value val2 = new Value();
+          convertObj(val2, accessVars);
+          return val2;
+        }, false);
+      }
+    }
+    else if(oper.kindOperand == Operation.kStackOperand){
+      return new CompiledOperation(oper, (data, accessVars, actualArgs, args) -> {
+        Value val2 = data.accu;
+        data.accu = data.stack.pop();            //may throw Exception if the stack is emtpy.
+        return val2;
+      }, true);
+    }
+    else {
+      return new CompiledOperation(oper, (data, accessVars, actualArgs, args) -> null, true);
+    }
+  }
+  
+  
+  /**Sets the exception as value, the exception is thrown if the value is used, 
+   * but it is possible to check it with instanceof or as boolean. See {@link #getValue(Data, Operation, Map, Object[])}. */
+  private static void setException(Value val2, Exception exc) {
+    val2.type_ = 'e'; val2.oVal = exc;
+    val2.etype = ExprTypes.variableNotFoundExpr;
+  }
+  
+  
+  
+  /**Returns the {@link NumericData} for the current thread to use in {@link #calcNumeric(NumericData, Object...)}. 
+   * Note: The result in it is valid till the next calculation in the same thread. 
+   */
+  public static NumericData numericDataThread() { return numericDataThread.get(); }
+  
+  
+  /**Calculates a numeric expression with primitive values without allocation.
+   * The result is the same as with {@link #calcDataAccess(Map, Object...)}, but only if this operation returns true.
+   * It is possible for expressions which contain only +, -, * and / with unary negation
+   * and with operands which are given as int, long or double (also short, byte) in args or as constants. 
+   * For all other expressions, or if an argument has another type (especially float), or if args contains arrays,
+   * false is returned and {@link #calcDataAccess(Map, Object...)} should be used. The expression is checked while calculation, 
+   * the check is fast. Hence it can be called in any case firstly:
+   * <pre>
+   * CalculatorExpr.NumericData data = CalculatorExpr.numericDataThread();
+   * if(expr.calcNumeric(data, args)) { 
+   *   result = data.doubleValue(); 
+   * } else { 
+   *   result = expr.calcDataAccess(null, args).doubleValue(); 
+   * }
+   * </pre>
+   * @param data reused data, see {@link #numericDataThread()}. Contains the result with its type.
+   * @param args the values for the variables, see {@link #calcDataAccess(Map, Object...)}
+   * @return true if calculated, false if not possible, then the data are not valid.
+   * @throws ArithmeticException on integer division by 0, same as {@link #calcDataAccess(Map, Object...)}.
+   */
+  public boolean calcNumeric(NumericData data, Object... args) {
+    data.type = '?';
+    data.zStack = 0;
+    int ixEnd = this.listOperations_.size();
+    if(ixEnd == 0 || this.log !=null) return false;
+    if(args !=null && args.length >0 && args[0] !=null && args[0].getClass().isArray()) return false;  // args with arrays, see getValue(...)
+    for(int ix = 0; ix < ixEnd; ++ix) {
+      Operation oper = this.listOperations_.get(ix);
+      Operator op = oper.operator_;
+      if(  op != Operators.setOperation && op != Operators.addOperation && op != Operators.subOperation
+        && op != Operators.mulOperation && op != Operators.divOperation
+        || ix == 0 && op != Operators.setOperation
+        ) return false;
+      //                                                   // get the operand, see getValue(...)
+      if(oper.operand_ !=null) {
+        final Object oval2;
+        if(oper.operand_.ixValue >=0) {
+          if(args == null || oper.operand_.ixValue >= args.length) return false;
+          oval2 = args[oper.operand_.ixValue];
+        } 
+        else if(oper.operand_.dataConst !=null) { oval2 = oper.operand_.dataConst; }
+        else return false;                                 // dataAccess or text
+        if(!data.setOperand(oval2)) return false;
+      }
+      else if(oper.kindOperand == Operation.kStackOperand && data.zStack >0) {
+        data.popToAccu();
+      }
+      else return false;
+      if(op == Operators.setOperation && data.type != '?') {
+        data.push();
+      }
+      //                                                   // unary operators, only negation
+      boolean bNeg = false;
+      if(oper.unaryOperator !=null) {
+        if(oper.unaryOperator != Operators.negOperation) return false;
+        bNeg = true;
+      } 
+      else if(oper.unaryOperators !=null) {
+        for(int ixUnary = 0; ixUnary < oper.unaryOperators.size(); ++ixUnary) {
+          if(oper.unaryOperators.get(ixUnary) != Operators.negOperation) return false;
+          bNeg = !bNeg;
+        }
+      }
+      if(op == Operators.setOperation) {
+        data.type = data.type2; data.longVal = data.longVal2; data.doubleVal = data.doubleVal2;
+        if(bNeg) { negAccu(data); }
+      } else {
+        char type = data.type;
+        if(type == 'D' || data.type2 == 'D') { type = 'D'; } 
+        else if(type == 'J' || data.type2 == 'J') { type = 'J'; }
+        if(bNeg && type != data.type2) return false;  // in calcDataAccess the operand is negated in its own type after conversion, not the converted value.
+        if(type == 'D') {
+          if(data.type != 'D') { data.doubleVal = data.longVal; }
+          if(data.type2 != 'D') { data.doubleVal2 = data.longVal2; }
+        }
+        data.type = type;
+        if(bNeg) {
+          if(type == 'D') { data.doubleVal2 = -data.doubleVal2; }
+          else if(type == 'J') { data.longVal2 = -data.longVal2; }
+          else { data.longVal2 = -(int)data.longVal2; }
+        }
+        switch(type) {
+          case 'I': {
+            int val = (int)data.longVal, val2 = (int)data.longVal2;
+            if(op == Operators.addOperation) { val += val2; }
+            else if(op == Operators.subOperation) { val -= val2; }
+            else if(op == Operators.mulOperation) { val *= val2; }
+            else { val /= val2; }
+            data.longVal = val;
+          } break;
+          case 'J': {
+            if(op == Operators.addOperation) { data.longVal += data.longVal2; }
+            else if(op == Operators.subOperation) { data.longVal -= data.longVal2; }
+            else if(op == Operators.mulOperation) { data.longVal *= data.longVal2; }
+            else { data.longVal /= data.longVal2; }
+          } break;
+          default: {
+            if(op == Operators.addOperation) { data.doubleVal += data.doubleVal2; }
+            else if(op == Operators.subOperation) { data.doubleVal -= data.doubleVal2; }
+            else if(op == Operators.mulOperation) { data.doubleVal *= data.doubleVal2; }
+            else { data.doubleVal /= data.doubleVal2; }
+          }
+        }
+      }
+    }
+    return true;
+  }
+  
+  
+  private static void negAccu(NumericData data) {
+    switch(data.type) {
+      case 'I': data.longVal = -(int)data.longVal; break;
+      case 'J': data.longVal = -data.longVal; break;
+      default: data.doubleVal = -data.doubleVal;
+    }
+  }
+  
+  
+  
+  /**Gets the argument with the given index, see {@link #calcDataAccess(Map, Object...)} for arrays in args.
+   * @throws ArrayIndexOutOfBoundsException if less arguments are given.
+   */
+  private static Object getArg(int ixValue, Object[] args) {
+    int ixVar = ixValue;
+    int ix2 = -2;
+    int ixCheck = 0;
+    while(args.length >= (ixCheck+1) && args[ixCheck].getClass().isArray()) {
+      int z = Array.getLength(args[ixCheck]); 
+      if(ixVar < z) {
+        ix2 = ixVar;
+        ixVar = ixCheck;
+        break;
+      } else {
+        ixVar -= z;
+        ixCheck +=1;
+      }
+      
+    }
+    if(ix2 >=0) {                                    // access to internal array
+      Object array2 = args[ixVar];
+      if(array2 instanceof float[]) {
+        return ((float[])array2)[ix2];
+      }
+      else if(array2 instanceof int[]) {
+        return ((int[])array2)[ix2];
+      }
+      else if(array2 instanceof double[]) {
+        return ((double[])array2)[ix2];
+      }
+      else if(array2 instanceof short[]) {
+        return ((short[])array2)[ix2];
+      }
+      else if(array2 instanceof byte[]) {
+        return ((byte[])array2)[ix2];
+      }
+      else if(array2 instanceof char[]) {
+        return ((char[])array2)[ix2];
+      } 
+      else if(array2 instanceof boolean[]) {
+        return ((boolean[])array2)[ix2];
+      } 
+      else {
+        return ((Object[])array2)[ix2];
+      }
+    } else {
+      return args[ixVar];   //may throw ArrayOutOfBoundsException if less arguments
+    }
+  }
+  
+  
+  
   private Value getValue ( Data data, Operation oper
       , Map<String, DataAccess.Variable<Object>> javaVariables, Object[] args) throws Exception {
     //Get the operand either from args or from Operation
@@ -3686,50 +4191,7 @@ public class CalculatorExpr
       Object oval2 = javaVariables;  //maybe start for dataAccess
       try{
         if(oper.operand_.ixValue >=0) {
-          int ixVar = oper.operand_.ixValue;
-          int ix2 = -2;
-          int ixCheck = 0;
-          while(args.length >= (ixCheck+1) && args[ixCheck].getClass().isArray()) {
-            int z = Array.getLength(args[ixCheck]); 
-            if(ixVar < z) {
-              ix2 = ixVar;
-              ixVar = ixCheck;
-              break;
-            } else {
-              ixVar -= z;
-              ixCheck +=1;
-            }
-            
-          }
-          if(ix2 >=0) {                                    // access to internal array
-            Object array2 = args[ixVar];
-            if(array2 instanceof float[]) {
-              oval2 = ((float[])array2)[ix2];
-            }
-            else if(array2 instanceof int[]) {
-              oval2 = ((int[])array2)[ix2];
-            }
-            else if(array2 instanceof double[]) {
-              oval2 = ((double[])array2)[ix2];
-            }
-            else if(array2 instanceof short[]) {
-              oval2 = ((short[])array2)[ix2];
-            }
-            else if(array2 instanceof byte[]) {
-              oval2 = ((byte[])array2)[ix2];
-            }
-            else if(array2 instanceof char[]) {
-              oval2 = ((char[])array2)[ix2];
-            } 
-            else if(array2 instanceof boolean[]) {
-              oval2 = ((boolean[])array2)[ix2];
-            } 
-            else {
-              oval2 = ((Object[])array2)[ix2];
-            }
-          } else {
-            oval2 = args[ixVar];   //may throw ArrayOutOfBoundsException if less arguments
-          }
+          oval2 = getArg(oper.operand_.ixValue, args);
         } else if(oper.operand_.dataConst !=null) {
           oval2 = oper.operand_.dataConst;
         } else if(oper.operand_.dataAccess !=null) {
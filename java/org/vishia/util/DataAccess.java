@@ -11,6 +11,7 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -89,6 +90,17 @@ public class DataAccess {
   /**Version, history and license.
    * 
    * <ul>
+   * <li>2026-10-18: new {@link ActualArgs}: The actual arguments and identifiers for the elements evaluated for one execution
+   *   are given as argument of {@link #access(List, Object, boolean, boolean, Map, Object[], boolean, Dst, ActualArgs)}
+   *   instead to set it with {@link DatapathElement#setActualArgumentArray(Object[])} in the shared element.
+   *   Used by {@link org.vishia.cmd.JZtxtcmdExecuter}, the same datapath can be executed in more as one thread.
+   * <li>2026-10-18: new {@link DatapathElement#resolveSlot(SlotMap.Slots)}: The variable is accessed in a {@link SlotMap} 
+   *   with the index resolved one time, without search by name. Used for the local variables of {@link org.vishia.cmd.JZtxtcmdExecuter}.
+   * <li>2026-10-18: new {@link DatapathElement#boundAccess}: The field or operation found on execution is stored
+   *   together with the class of the accessed instance, see {@link BoundAccess}. The next access to an instance of the same class
+   *   uses it immediately. It is the "TODO planned" from 2023-12-27. Searching the field or operation via reflection
+   *   (exceptions on not found in the super class, getDeclaredMethods() copies the array) needs most of the time before, 
+   *   especially in {@link OutTextPreparer} which executes the same DataAccess for many data instances. 
    * <li>2024-05-19: new {@link DatapathElement#writeAccessString(Appendable)}
    * <li>2024-02-10: bugfixes while using for all other especially JZtxtCmd:
    *   <ul><li>{@link #access(DatapathElement, Object, boolean, boolean, Map, Object[], boolean, Dst)}: 
@@ -298,7 +310,7 @@ public class DataAccess {
    * 
    * 
    */
-  static final public String sVersion = "2024-02-10";
+  static final public String sVersion = "2026-10-18";
 
 
   /**Wrapper around the index as integer. An instance is member of {@link OutTextPreparer#varValues}. 
@@ -771,9 +783,22 @@ public class DataAccess {
    */
   public Object access( Object dataRoot , boolean accessPrivate, boolean bContainer
   , Map<String, IntegerIx> nameVariables, Object[] varValues, boolean bVariable , Dst dst) 
+  throws Exception{
+    return access(dataRoot, accessPrivate, bContainer, nameVariables, varValues, bVariable, dst, null);
+  }
+
+  
+  
+  /**Same as {@link #access(Object, boolean, boolean, Map, Object[], boolean, Dst)} 
+   * with the actual arguments for this access.
+   * @param actualArgs null or the actual arguments and identifiers of some elements for this execution.
+   * @since 2026-10-18
+   */
+  public Object access( Object dataRoot , boolean accessPrivate, boolean bContainer
+  , Map<String, IntegerIx> nameVariables, Object[] varValues, boolean bVariable , Dst dst, ActualArgs actualArgs) 
   throws Exception{
     if(this.oneDatapathElement!=null) {
-      Object data1 = access(this.oneDatapathElement, dataRoot, accessPrivate, bContainer, nameVariables, varValues, bVariable, dst);
+      Object data1 = access(this.oneDatapathElement, dataRoot, accessPrivate, bContainer, nameVariables, varValues, bVariable, dst, actualArgs);
       if(data1 instanceof Variable<?> && !bVariable){  //use the value of the variable.
         @SuppressWarnings("unchecked") Variable<Object> var = (Variable<Object>)data1;
         data1 = var.value;
@@ -793,7 +818,7 @@ public class DataAccess {
       else return data1;
     }
     else {
-      return access(listDatapath, dataRoot, accessPrivate, bContainer, nameVariables, varValues, bVariable, dst);
+      return access(listDatapath, dataRoot, accessPrivate, bContainer, nameVariables, varValues, bVariable, dst, actualArgs);
     }
   }
 
@@ -896,12 +921,23 @@ public class DataAccess {
    */
   public void storeValue( Object dataRoot, Object value, boolean bAccessPrivate) 
   throws Exception
+  {
+    storeValue(dataRoot, value, bAccessPrivate, null);
+  }
+  
+  
+  /**Same as {@link #storeValue(Object, Object, boolean)} with the actual arguments for the access to the destination.
+   * @param actualArgs null or the actual arguments and identifiers of some elements for this execution.
+   * @since 2026-10-18
+   */
+  public void storeValue( Object dataRoot, Object value, boolean bAccessPrivate, ActualArgs actualArgs) 
+  throws Exception
   {
     Dst dst = new Dst();
     //accesses the data object with given path. 
     //If it is a Variable, return the Variable, not its content.
     //If it is not a Variable, the dst contains the Field.
-    Object o = access(dataRoot, bAccessPrivate, false, null, null, true, dst);            //(dataRoot, bAccessPrivate, false, null, null, true, dst);
+    Object o = access(dataRoot, bAccessPrivate, false, null, null, true, dst, actualArgs);            //(dataRoot, bAccessPrivate, false, null, null, true, dst);
     if(o instanceof Variable<?>){
       @SuppressWarnings("unchecked")
       Variable<Object> var = (Variable<Object>)(o); 
@@ -1154,6 +1190,27 @@ public class DataAccess {
   ) 
   //throws ReflectiveOperationException  //only Java7
   throws Exception
+  { return access(datapathArg, dataRoot, accessPrivate, bContainer, nameVariables, varValues, bVariable, dst, null);
+  }
+
+  
+  /**Same as {@link #access(List, Object, boolean, boolean, Map, Object[], boolean, Dst)} with the actual arguments.
+   * @param actualArgs null or the actual arguments and identifiers of some elements of datapathArg for this execution,
+   *   used instead {@link DatapathElement#setActualArgumentArray(Object[])} and {@link DatapathElement#setIdent(String)}.
+   * @since 2026-10-18
+   */
+  public static Object access(
+      List<DatapathElement> datapathArg
+      , Object dataRoot
+      , boolean accessPrivate
+      , boolean bContainer
+      , Map<String, IntegerIx> nameVariables
+      , Object[] varValues
+      , boolean bVariable
+      , Dst dst
+      , ActualArgs actualArgs
+  ) 
+  throws Exception
   { //final List<DatapathElement> datapath;
     Iterator<DatapathElement> iter = datapathArg.iterator();
     DatapathElement element = iter.next();
@@ -1172,7 +1229,7 @@ public class DataAccess {
         debug();
       }
       //====>
-      data1 = access(element, data1, accessPrivate, bContainer, nameVariables, varValues, bVariable, dst);
+      data1 = access(element, data1, accessPrivate, bContainer, nameVariables, varValues, bVariable, dst, actualArgs);
       element = iter.hasNext() ? iter.next() : null;
     }//while
     //return
@@ -1223,6 +1280,33 @@ public class DataAccess {
       , boolean bVariable
       , Dst dst
   ) throws Exception {
+    return access(element, dataArg, accessPrivate, bContainer, nameVariables, varValues, bVariable, dst, null);
+  }
+  
+  
+  /**Same as {@link #access(DatapathElement, Object, boolean, boolean, Map, Object[], boolean, Dst)} with the actual arguments.
+   * @param actualArgs null or contains the actual arguments and maybe the identifier for the element for this execution.
+   *   If an identifier is given, a copy of the element is used for this access, see {@link ActualArgs#set(DatapathElement, Object[], String)}.
+   * @since 2026-10-18
+   */
+  public static Object access(
+      DatapathElement elementArg
+      , Object dataArg
+      , boolean accessPrivate
+      , boolean bContainer
+      , Map<String, IntegerIx> nameVariables
+      , Object[] varValues
+      , boolean bVariable
+      , Dst dst
+      , ActualArgs actualArgs
+  ) throws Exception {
+    DatapathElement element = elementArg;
+    Object[] fnArgs = null;                      // null: element.args or the deprecated element.fnArgs are used.
+    if(actualArgs !=null) {
+      fnArgs = actualArgs.fnArgs(elementArg);
+      String ident = actualArgs.ident(elementArg);
+      if(ident !=null) { element = copyWithIdent(elementArg, ident); }
+    }
     boolean bStatic;
     Object data1 = dataArg;
     if(data1 instanceof Class){
@@ -1284,25 +1368,28 @@ public class DataAccess {
           } else {
             if(data1 !=null){     // reference null because access before, remain null as return.
               //retain a Variable.
-              data1 = getDataPriv(element.ident, data1, accessPrivate, bContainer, true /*bVariable*/, dst);
+              Object data2 = getDataSlot(element, data1);
+              if(data2 == notBound) { data2 = getDataBound(element, data1, accessPrivate, dst); }
+              data1 = data2 != notBound ? data2 : getDataPriv(element.ident, data1, accessPrivate, bContainer, true /*bVariable*/, dst);
             }
           }
         } break;
         case '+': {  //create a new instance, call constructor
-          data1 = invokeNew(element);
+          data1 = invokeNew(element, fnArgs);
         } break;
         case '(': {
           if(data1 !=null){
             Class<?> clazz = bStatic && data1 instanceof Class<?> ? (Class<?>)data1: data1.getClass();
-            data1 = invokeMethod(element, clazz, data1, accessPrivate, varValues, false); 
+            data1 = fnArgs !=null ? invokeMethodWithGivenArgValues(element, clazz, data1, accessPrivate, false, fnArgs)
+                                  : invokeMethod(element, clazz, data1, accessPrivate, varValues, false); 
           } else {
             Debugutil.stop();                                // can occure if data before are null. Then data1 remain null
           }
           //else: let data1=null, return null
         } break;
         case '%': { 
-          data1 = element.operation_ || element.args !=null || element.fnArgs !=null 
-            ? invokeStaticMethod(element, varValues)  // data1 = invokeMethod(element, null, data1, accessPrivate, varValues, false)// 
+          data1 = element.operation_ || element.args !=null || element.fnArgs !=null || fnArgs !=null 
+            ? invokeStaticMethod(element, varValues, fnArgs)  // data1 = invokeMethod(element, null, data1, accessPrivate, varValues, false)// 
             : getStaticValue(element); 
         } break;
         case '$': {
@@ -1335,7 +1422,12 @@ public class DataAccess {
               @SuppressWarnings("unchecked")
               Map<String, DataAccess.Variable> varContainer = (Map<String, DataAccess.Variable>)data1;
               Variable<Object> newVariable = new DataAccess.Variable<Object>(element.whatisit, element.ident, null, bConstNewVariable);
-              varContainer.put(element.ident, newVariable);
+              if(element.slots !=null && data1 instanceof SlotMap<?> && ((SlotMap<?>)data1).slots == element.slots) {
+                @SuppressWarnings("unchecked") SlotMap<Variable<Object>> slotMap = (SlotMap<Variable<Object>>)data1;
+                slotMap.putSlot(element.ixSlot, newVariable);    // the index is resolved already
+              } else {
+                varContainer.put(element.ident, newVariable);
+              }
               data1 = newVariable;
             } else {
               throw new IllegalArgumentException("DataAccess.storeValue - destination should be Map<String, DataAccess.Variable>; " + dst);
@@ -1345,7 +1437,13 @@ public class DataAccess {
             data1 = getDataFromField(element.ident, null, accessPrivate, (Class<?>)data1, dst, 0); 
           } else {
             if(data1 !=null){
-              data1 = getDataPriv(element.ident, data1, accessPrivate, bContainer, bVariable, dst);
+              Object data2 = getDataSlot(element, data1);
+              if(data2 == notBound) { data2 = getDataBound(element, data1, accessPrivate, dst); }
+              if(data2 != notBound) {
+                data1 = bVariable==false && data2 instanceof Variable<?> ? ((Variable<?>)data2).value : data2;
+              } else {
+                data1 = getDataPriv(element.ident, data1, accessPrivate, bContainer, bVariable, dst);
+              }
             }
           }
         }//default
@@ -1385,7 +1483,17 @@ public class DataAccess {
    * @throws NoSuchMethodException 
    */
   protected static Object invokeNew( DatapathElement element) throws Exception 
+  { return invokeNew(element, null);
+  }
+  
+  
+  /**Same as {@link #invokeNew(DatapathElement)} with given arguments.
+   * @param fnArgs null or the actual arguments for the constructor, elsewhere the deprecated {@link DatapathElement#fnArgs} are used.
+   * @since 2026-10-18
+   */
+  protected static Object invokeNew( DatapathElement element, Object[] fnArgs) throws Exception 
   { final Class<?> clazz;
+    final Object[] args = fnArgs !=null ? fnArgs : element.fnArgs;
     if(element instanceof DatapathElementClass && ((DatapathElementClass)element).clazz !=null){
       clazz = ((DatapathElementClass)element).clazz;
     } else {
@@ -1398,7 +1506,7 @@ public class DataAccess {
     Constructor<?>[] methods = clazz.getConstructors();
     boolean bOk = false;
     Object data1 = null;
-    if(methods.length==0 && element.fnArgs ==null){
+    if(methods.length==0 && args ==null){
       //only a default constructor, it is requested
       data1 = clazz.newInstance();
       bOk = data1 !=null;
@@ -1406,7 +1514,7 @@ public class DataAccess {
       for(Constructor<?> method: methods){
         bOk = false;
         Class<?>[] paramTypes = method.getParameterTypes();
-        Object[] actArgs = checkAndConvertArgTypes(element.fnArgs, paramTypes);
+        Object[] actArgs = checkAndConvertArgTypes(args, paramTypes);
         if(actArgs !=null){
           bOk = true;
           try{ 
@@ -1428,8 +1536,8 @@ public class DataAccess {
       StringBuilder msg = new StringBuilder(1000);
       msg.append("DataAccess - constructor not found in class: >>")
          .append(clazz.getName()).append(", ") .append(element.ident) .append("(");
-      if(element.fnArgs !=null) {
-        for(Object arg: element.fnArgs) {
+      if(args !=null) {
+        for(Object arg: args) {
           msg.append(arg.getClass()).append(", ");
         }
       } else if(element.args !=null) {
@@ -1536,11 +1644,24 @@ public class DataAccess {
     Object[] givenArgs = args !=null ? args : element.fnArgs;
     if(element.ident.equals("new_draw_polygon"))
       Debugutil.stop();
+    Object[] actArgsBound = null;
+    BoundAccess bound = null;
+    if(method == null) {                                   // check whether the method is bound already to this class 
+      bound = element.getBoundAccess(clazz1, accessPrivate);
+      if(bound !=null && bound.member instanceof Method) {
+        actArgsBound = checkAndConvertArgTypes(givenArgs, ((Method)bound.member).getParameterTypes());
+        if(actArgsBound !=null) {                          // the types of the given args may be changed, then search newly.
+          method = (Method)bound.member;
+        }
+      }
+    }
+    int nrofMethodsSameName = 0;                           // only a not overloaded method can be bound.
     while( method == null && clazzcheck !=null ){          // search the method if not given
       if(accessPrivate || (clazzcheck.getModifiers() & Modifier.PUBLIC) !=0){
         Method[] methods = accessPrivate ? clazzcheck.getDeclaredMethods() : clazzcheck.getMethods();
         for(Method methodCheck: methods){                  // check all methods
           if(methodCheck.getName().equals(element.ident)){
+            nrofMethodsSameName +=1;
             if(debugMethod !=null) {
               if(debugMethod.equals(element.ident) || debugMethod.equals("")){
                 debug();
@@ -1551,9 +1672,8 @@ public class DataAccess {
             }                                              // with correct name found, check argument types
             Class<?>[] paramTypes = methodCheck.getParameterTypes();
             Object[] actArgs = checkAndConvertArgTypes(givenArgs, paramTypes);
-            if(actArgs !=null){
-              method = methodCheck;                        // also the arguments are proper
-              break;
+            if(actArgs !=null && method == null){
+              method = methodCheck;                        // also the arguments are proper, continue to count overloaded
             }
           }
         }
@@ -1565,15 +1685,20 @@ public class DataAccess {
     boolean bOk = false;
     CharSequence sError = "Method not found";
     if(method !=null) {                                    // method found or given:
-      if(element.reflAccess == null) {
-          //TODO: element.reflAccess = method;               // store if now found.
+      final Object[] actArgs;
+      if(actArgsBound !=null) {                            // bound method, setAccessible and args checked already
+        actArgs = actArgsBound;
+      } else {
+        try { method.setAccessible(accessPrivate); }
+        catch( Exception exc) {    // some setAccessible seems to be protected by security Manager, then ignore it.
+          Debugutil.stop();
+        }
+        Class<?>[] paramTypes = method.getParameterTypes();  // arguments from the method's signature
+        actArgs = checkAndConvertArgTypes(givenArgs, paramTypes); // tune it with actual arguments
+        if(actArgs !=null && bound == null && element.reflAccess == null && nrofMethodsSameName == 1) { 
+          element.addBoundAccess(new BoundAccess(clazz1, accessPrivate, method)); // bind the checked method for the next invocation on the same class.
         }
-      try { method.setAccessible(accessPrivate); }
-      catch( Exception exc) {    // some setAccessible seems to be protected by security Manager, then ignore it.
-        Debugutil.stop();
       }
-      Class<?>[] paramTypes = method.getParameterTypes();  // arguments from the method's signature
-      Object[] actArgs = checkAndConvertArgTypes(givenArgs, paramTypes); // tune it with actual arguments
       if(actArgs !=null){                                  // check if actual argument types matches.
         try{ 
           data1 = method.invoke(obj, actArgs);             // invoke
@@ -1671,6 +1796,17 @@ public class DataAccess {
    */
   protected static Object invokeStaticMethod( DatapathElement element, Object[] varValues ) 
   throws Exception
+  { return invokeStaticMethod(element, varValues, null);
+  }
+  
+  
+  /**Same as {@link #invokeStaticMethod(DatapathElement, Object[])} with given arguments.
+   * @param fnArgs null or the actual arguments for the operation, elsewhere the arguments are gotten 
+   *   from the deprecated {@link DatapathElement#fnArgs} or calculated with {@link DatapathElement#args}.
+   * @since 2026-10-18
+   */
+  protected static Object invokeStaticMethod( DatapathElement element, Object[] varValues, Object[] fnArgs ) 
+  throws Exception
   { final Class<?> clazz; 
     final String sMethod;
     if(element instanceof DatapathElementClass && ((DatapathElementClass)element).clazz !=null){
@@ -1684,7 +1820,9 @@ public class DataAccess {
       clazz = classloader.loadClass(sClass);
     }
     Object args[];
-    if(element.fnArgs != null) { //only if fnArgs not given from call, 
+    if(fnArgs !=null) {
+      args = fnArgs;
+    } else if(element.fnArgs != null) { //only if fnArgs not given from call, 
       args = element.fnArgs;
     } else if(element.args !=null) {                //then evaluate here.
       args = new Object[element.args.length];
@@ -2128,6 +2266,63 @@ public class DataAccess {
   
   
   
+  /**Returned from {@link #getDataBound(DatapathElement, Object, boolean, Dst)} if the field cannot be bound. */
+  private static final Object notBound = new Object();
+  
+  
+  /**Accesses the variable in a {@link SlotMap} with the slot index resolved in {@link DatapathElement#resolveSlot(SlotMap.Slots)}.
+   * @return {@link #notBound} if data1 is not a SlotMap with the same slots or the variable does not exist,
+   *   then the access by name should be used, which throws the proper exception if not found. 
+   */
+  private static Object getDataSlot(DatapathElement element, Object data1) {
+    if(element.slots !=null && data1 instanceof SlotMap<?>) {
+      SlotMap<?> slotMap = (SlotMap<?>)data1;
+      if(slotMap.slots == element.slots && slotMap.containsSlot(element.ixSlot)) {
+        return slotMap.getSlot(element.ixSlot);
+      }
+    }
+    return notBound;
+  }
+  
+  
+  
+  /**Accesses the field via {@link DatapathElement#boundAccess} if it is bound to the class of the instance, 
+   * or binds it firstly. Binding is only possible for a field in the class of the instance or its super classes,
+   * not for Map, TreeNodeBase, ".[]" or fields of an enclosing instance. 
+   * The found field is the same as in {@link #getDataFromField(String, Object, boolean, Class, Dst, int)},
+   * because there the super classes are searched before the enclosing classes.
+   * @return {@link #notBound} if the field is not bindable, then {@link #getDataPriv(String, Object, boolean, boolean, boolean, Dst)} should be used. 
+   */
+  private static Object getDataBound(DatapathElement element, Object instance, boolean accessPrivate, Dst dst)
+  throws IllegalAccessException
+  {
+    Class<?> clazz = instance.getClass();
+    BoundAccess bound = element.getBoundAccess(clazz, accessPrivate);
+    if(bound == null) {
+      Field field = null;
+      if(!(instance instanceof Map<?,?>) && !(instance instanceof TreeNodeBase<?,?,?>) && !element.ident.equals("[]")) {
+        Class<?> clazz1 = clazz;
+        while(field == null && clazz1 !=null) {
+          try{ field = clazz1.getDeclaredField(element.ident); }
+          catch(NoSuchFieldException exc) { clazz1 = clazz1.getSuperclass(); }
+        }
+        if(field !=null) {
+          field.setAccessible(accessPrivate);
+        }
+      }
+      element.addBoundAccess(bound = new BoundAccess(clazz, accessPrivate, field)); //field ==null: not bindable, remember it too.
+    }
+    if(!(bound.member instanceof Field)) return notBound;
+    Field field = (Field)bound.member;
+    if(dst !=null){ 
+      dst.field = field;
+      dst.obj = instance;
+    }
+    return field.get(instance);
+  }
+  
+  
+  
   /**It does not resolve the instance if it is a Variable
    * @param name
    * @param instance
@@ -2828,6 +3023,27 @@ public class DataAccess {
   
   
   
+  /**The field or operation which is bound to a class on execution, see {@link DatapathElement#boundAccess}.
+   * All elements are final. 
+   */
+  static final class BoundAccess
+  {
+    /**The class of the accessed instance, not the declaring class of {@link #member}. */
+    final Class<?> clazz;
+    
+    /**The member was searched with this setting. */
+    final boolean accessPrivate;
+    
+    /**The found Field or Method, null if the access is not bindable. */
+    final java.lang.reflect.Member member;
+    
+    BoundAccess(Class<?> clazz, boolean accessPrivate, java.lang.reflect.Member member) {
+      this.clazz = clazz; this.accessPrivate = accessPrivate; this.member = member;
+    }
+  }
+  
+  
+  
   /**Class holds one element for access to data.
    * Instances of this class can be created using {@link org.vishia.zbnf.ZbnfJavaOutput} to fill from a parse result.
    * Therefore some methods have a special naming which matches to the semantic of the used parser script.
@@ -2882,7 +3098,7 @@ public class DataAccess {
     /**List of actual arguments of a method. If null, it is not a method or the method has not arguments
      * or the arguments should be prepared in {@link DataAccess#invokeMethod(DatapathElement, Class, Object, boolean, Object[], boolean)}. 
      * @deprecated because it is a violation of the principle that this class stores only data of construction or set, not for current access. 
-     * It is used yet (2019-08) especially in {@link org.vishia.cmd.JZtxtcmdExecuter}. */
+     * It was used (2019-08) especially in {@link org.vishia.cmd.JZtxtcmdExecuter}, use {@link ActualArgs} instead. */
     @Deprecated protected Object[] fnArgs;
 
     
@@ -2894,6 +3110,26 @@ public class DataAccess {
     /**If set the source class is already . To access the value use it. */
     java.lang.reflect.Member reflAccess;
     
+    /**The fields or operations found on the last executions, each bound to the class of the accessed instance. 
+     * Set and used in {@link DataAccess#access(DatapathElement, Object, boolean, boolean, Map, Object[], boolean, Dst)}
+     * and {@link DataAccess#invokeMethodWithGivenArgValues(DatapathElement, Class, Object, boolean, boolean, Object[])}.
+     * More as one class is possible for derived data types, max. {@link #maxBoundAccess}, the last used one is the first.
+     * The array is never changed but replaced, hence it is thread safe without synchronization. 
+     * It is volatile because the DatapathElement may be used in more as one thread, for example in OutTextPreparer#execParallel(...)
+     * or in <code>for parallel</code> of JZtxtcmd: a new array should be seen with its elements. 
+     * @since 2026-10-18 */
+    private volatile BoundAccess[] boundAccess;
+    
+    private static final int maxBoundAccess = 4;
+    
+    /**If not null, the {@link #ident} is resolved to the slot index {@link #ixSlot} in a {@link SlotMap} with this slots.
+     * Set with {@link #resolveSlot(SlotMap.Slots)} one time, used for access to the variables in a SlotMap with the same slots.
+     * @since 2026-10-18 */
+    SlotMap.Slots slots;
+    
+    /**Index of {@link #ident} in {@link #slots}, valid only if {@link #slots} is not null. */
+    int ixSlot = -1;
+    
     /**Idf >=0 then the data should be accessed simple from a given List or array with this index.
      * Not using reflection. 
      */
@@ -2946,6 +3182,45 @@ public class DataAccess {
     }
     
     
+    /**Returns the access bound to this class or null, see {@link #boundAccess}. */
+    BoundAccess getBoundAccess(Class<?> clazz, boolean accessPrivate) {
+      BoundAccess[] bound = this.boundAccess;
+      if(bound !=null) {
+        for(BoundAccess bound1: bound) {
+          if(bound1.clazz == clazz && bound1.accessPrivate == accessPrivate) return bound1;
+        }
+      }
+      return null;
+    }
+    
+    /**Resolves the index of {@link #ident} in the given slots, to access the variables in a {@link SlotMap} 
+     * immediately with this index, without search. It is done only one time, if the element is resolved already 
+     * or the ident is not contained in the slots nothing is done. 
+     * For any other SlotMap instance the ident is searched by name.
+     * @return true if resolved with this slots. 
+     */
+    public boolean resolveSlot(SlotMap.Slots slots) {
+      if(this.slots == null && this.ident !=null) {
+        int ix = slots.ix(this.ident);
+        if(ix >=0) {
+          this.ixSlot = ix;
+          this.slots = slots;                              // set after ixSlot, it is the designation of resolved.
+        }
+      }
+      return this.slots == slots;
+    }
+    
+    /**Adds the access as first one, removes the oldest one if {@link #maxBoundAccess} is reached. */
+    void addBoundAccess(BoundAccess access) {
+      BoundAccess[] bound = this.boundAccess;
+      int zBound = bound == null ? 0 : Math.min(bound.length, maxBoundAccess -1);
+      BoundAccess[] boundNew = new BoundAccess[zBound +1];
+      boundNew[0] = access;
+      if(zBound >0) { System.arraycopy(bound, 0, boundNew, 1, zBound); }
+      this.boundAccess = boundNew;
+    }
+    
+    
     /**Invoked from {@link org.vishia.zbnf.ZbnfJavaOutput} or other via reflection. */
     public void set_operation(boolean val) { operation_ = val; }
     
@@ -3367,6 +3642,92 @@ public class DataAccess {
   }
  
   
+  /**Creates a copy of the element with another identifier, used for one access with an identifier given in {@link ActualArgs}.
+   * The found field or operation ({@link DatapathElement#reflAccess}, {@link DatapathElement#boundAccess}) 
+   * and the resolved {@link DatapathElement#slots} are not copied because they depend on the identifier.
+   */
+  private static DatapathElement copyWithIdent(DatapathElement src, String ident) {
+    final DatapathElement element;
+    if(src instanceof DatapathElementClass) {
+      DatapathElementClass elementClass = new DatapathElementClass();
+      elementClass.loader = ((DatapathElementClass)src).loader;
+      elementClass.clazz = ((DatapathElementClass)src).clazz;
+      element = elementClass;
+    } else {
+      element = new DatapathElement();
+    }
+    element.ident = ident;
+    element.whatisit = src.whatisit;
+    element.fnArgs = src.fnArgs;
+    element.args = src.args;
+    element.ixData = src.ixData;
+    element.indices = src.indices;
+    element.operation_ = src.operation_;
+    return element;
+  }
+  
+  
+  
+  /**The actual arguments and identifiers of some {@link DatapathElement} evaluated for one execution of an access.
+   * It is given to {@link DataAccess#access(List, Object, boolean, boolean, Map, Object[], boolean, Dst, ActualArgs)}
+   * instead to set it in the elements with {@link DatapathElement#setActualArgumentArray(Object[])} and {@link DatapathElement#setIdent(String)}.
+   * The elements are not changed, hence the same datapath can be executed in more as one thread with different arguments.
+   * An instance should be used only in one thread. The elements are searched by identity, there are usual only a few. 
+   * @since 2026-10-18
+   */
+  public static final class ActualArgs
+  {
+    private DatapathElement[] elements = new DatapathElement[4];
+    
+    private Object[][] fnArgs = new Object[4][];
+    
+    private String[] idents = new String[4];
+    
+    private int zElements;
+    
+    /**Sets the actual values for the element.
+     * @param element element of the datapath, it is not changed.
+     * @param fnArgs the actual arguments of the operation or constructor, null if not given.
+     * @param ident the actual identifier, null then {@link DatapathElement#ident} is used.
+     */
+    public void set(DatapathElement element, Object[] fnArgs, String ident) {
+      int ix = indexOf(element);
+      if(ix < 0) {
+        if(this.zElements == this.elements.length) {
+          int size = 2 * this.zElements;
+          this.elements = Arrays.copyOf(this.elements, size);
+          this.fnArgs = Arrays.copyOf(this.fnArgs, size);
+          this.idents = Arrays.copyOf(this.idents, size);
+        }
+        ix = this.zElements++;
+        this.elements[ix] = element;
+      }
+      this.fnArgs[ix] = fnArgs;
+      this.idents[ix] = ident;
+    }
+    
+    /**@return the actual arguments for the element or null if not given. */
+    public Object[] fnArgs(DatapathElement element) {
+      int ix = indexOf(element);
+      return ix <0 ? null : this.fnArgs[ix];
+    }
+    
+    /**@return the actual identifier for the element or null if not given. */
+    public String ident(DatapathElement element) {
+      int ix = indexOf(element);
+      return ix <0 ? null : this.idents[ix];
+    }
+    
+    private int indexOf(DatapathElement element) {
+      for(int ix = 0; ix < this.zElements; ++ix) {
+        if(this.elements[ix] == element) return ix;
+      }
+      return -1;
+    }
+  }
+  
+  
+  
   public static final class ObjMethod
   { public final Method method;
     public final Object obj;
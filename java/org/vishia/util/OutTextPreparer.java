@@ -16,6 +16,8 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Formatter;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -24,6 +26,11 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.vishia.msgDispatch.LogMessage;
 import org.vishia.util.Java4C.ConstRef;
@@ -358,6 +365,10 @@ public final class OutTextPreparer
   
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-18: expressions are calculated with {@link CalculatorExpr#compile()}.
+   * <li>2026-10-18: new {@link #execParallel(Collection, ExecRecord, Object, ExecutorService)} to generate many independent outputs
+   *   with the same script in several threads, with one reused {@link DataTextPreparer} per thread. 
+   *   For that new {@link DataTextPreparer#clearArguments()}. 
    * <li>2026-01-14: {@link #parseTemplates(Map, Class, Map, LogMessage)} and {@link #parse(Class, Map, Map, LogMessage)} with LogMessage.
    *   The problem occurs because a &lt;call:SUBSCRIPT...> was not found because other input files were used to parse.
    *   This parse error can be tolerate, because on runtime this script is anyway never read.
@@ -479,7 +490,7 @@ public final class OutTextPreparer
    * 
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
    */
-  public static final String version = "2024-08-30";
+  public static final String version = "2026-10-18";
   
   
   
@@ -911,6 +922,15 @@ public final class OutTextPreparer
     public void setCheck(boolean bChecks) { this.bChecks = bChecks; }
     
     
+    /**Sets all arguments and also all internal variables to null, to reuse this instance for another independent output.
+     * The {@link #setExecObj(Object)} and the settings for debug and check remain. 
+     */
+    public void clearArguments() {
+      if(this.args !=null) { Arrays.fill(this.args, null); }
+      this.argsByName = null;                    // will be built newly in execSub(...) with the new arguments.
+    }
+    
+    
     /**Executes the referenced OutText {@link #gTxtScrpt} with this given data.
      * It simplifies the call ot {@link OutTextPreparer#exec(Appendable, DataTextPreparer)}
      * @param out
@@ -3226,6 +3246,82 @@ public final class OutTextPreparer
   }
   
   
+  /**Prepares one record for {@link OutTextPreparer#execParallel(Collection, ExecRecord, Object, ExecutorService)}.
+   * @param <T> Type of the record. 
+   */
+  public interface ExecRecord<T> {
+    
+    /**Sets the arguments for the record and returns the output channel for it.
+     * It is called in the executing thread, the args are cleared before, see {@link DataTextPreparer#clearArguments()}.
+     * @param args to set the arguments with {@link DataTextPreparer#setArgument(String, Object)} 
+     * @param record the record from the given collection
+     * @return The output channel. If it is {@link Closeable} it is closed after execution. 
+     *   For example for a file <code>return Files.newBufferedWriter(path);</code>
+     *   If it is a {@link WriteDst}, its line counter is used and continued, else the lines are counted from 1.  
+     * @throws IOException on opening the output.
+     */
+    Appendable prepare(DataTextPreparer args, T record) throws IOException;
+  }
+  
+  
+  /**Executes this script for all records, each one to its own output, in the threads of the given executor. 
+   * This script is not changed on execution, hence it can be used in several threads. 
+   * Any thread uses one {@link DataTextPreparer} for all records which are executed in this thread,
+   * created with the first record and cleared before each record.
+   * The scripts which are called via &lt;:call:...> use the DataTextPreparer of the calling level, hence also one per thread.
+   * <br>
+   * The data of the records are only read in the script, other data accessed by the script, 
+   * also via &lt;:exec:...> in the execInstance, should be thread safe.  
+   * @param records The data for any output. 
+   * @param prepare sets the arguments for one record and delivers the output. 
+   * @param execInstance null or the instance for &lt;:exec:...>, see {@link DataTextPreparer#setExecObj(Object)}. 
+   * @param executor null then the {@link ForkJoinPool#commonPool()} is used. 
+   *   A ForkJoinPool as work-stealing pool is recommended, because the generation time of the records may be different.
+   * @return in order of records, for each record null if it was successfully, or the exception.
+   * @throws InterruptedException if the waiting thread is interrupted.
+   */
+  public <T> List<Exception> execParallel ( Collection<? extends T> records, final ExecRecord<T> prepare
+      , final Object execInstance, ExecutorService executor) throws InterruptedException {
+    final ThreadLocal<DataTextPreparer> argsThread = new ThreadLocal<DataTextPreparer>();
+    List<Callable<Exception>> tasks = new ArrayList<Callable<Exception>>(records.size());
+    for(final T record: records) {
+      tasks.add(new Callable<Exception>() {
+        @Override public Exception call() {
+          DataTextPreparer args = argsThread.get();
+          if(args == null) {
+            args = getArgumentData(execInstance);
+            argsThread.set(args);
+          } else {
+            args.clearArguments();
+          }
+          Exception ret = null;
+          Appendable out = null;
+          try {
+            out = prepare.prepare(args, record);
+            exec(out, args);
+          } catch(Exception exc) {
+            ret = exc;
+          } finally {
+            if(out instanceof Closeable) {
+              try { ((Closeable)out).close(); }
+              catch(IOException exc) { if(ret == null) { ret = exc; } }
+            }
+          }
+          return ret;
+        }
+      });
+    }
+    List<Future<Exception>> futures = (executor == null ? ForkJoinPool.commonPool() : executor).invokeAll(tasks);
+    List<Exception> ret = new ArrayList<Exception>(futures.size());
+    for(Future<Exception> future: futures) {
+      try { ret.add(future.get()); }
+      catch(ExecutionException exc) { ret.add(exc); }       // unexpected, a RuntimeException or Error in the task.
+    }
+    return ret;
+  }
+  
+  
+  
   /**Executes preparation for a range of cmd for internal control structures
    * @param wrCurr The output channel
    * @param args for preparation.
@@ -3419,7 +3515,7 @@ public final class OutTextPreparer
       try {                                                // only one time, set the destination data for calc
         //if(args.calcExprData == null) { args.calcExprData = new CalculatorExpr.Data(); }
         //======>>>>
-        data = cmd.expr.calcDataAccess(null, args.args);
+        data = cmd.expr.compile().calc(null, args.args);
       } catch (Exception e) {
         bDataOk = false;
         data = null;
@@ -0,0 +1,318 @@
+package org.vishia.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**This is a Map with String keys where the values for known keys are stored in an array.
+ * The known keys with their index (slot) are given with a {@link Slots} instance,
+ * which is shared between all SlotMap instances for the same purpose, for example for all calls of the same subroutine.
+ * Keys which are not known in the {@link Slots} are stored in an additional {@link TreeMap}, created on demand.
+ * <br><br>
+ * Advantage against a {@link TreeMap}: A new instance does only allocate the array,
+ * the {@link #get(Object)} and {@link #put(String, Object)} for a known key needs only a hash access to the shared slots
+ * (String hash codes are stored in the String) and does not allocate an entry.
+ * If the slot index is resolved before with {@link Slots#ix(Object)}, for example while translating a script,
+ * {@link #getSlot(int)}, {@link #containsSlot(int)} and {@link #putSlot(int, Object)} access the array immediately.
+ * {@link #putAll(Map)} from a SlotMap with the same {@link Slots} copies the array.
+ * <br><br>
+ * The iteration order is the same as in a {@link TreeMap}, sorted by the key.
+ * null is admissible as value, but not as key.
+ * This class is not thread safe, same as {@link TreeMap}.
+ *
+ * @author Hartmut Schorrig
+ *
+ * @param <V> Type of the values
+ */
+public class SlotMap<V> extends AbstractMap<String, V> {
+
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-18 Hartmut new {@link #getSlot(int)}, {@link #containsSlot(int)}, {@link #putSlot(int, Object)}
+   *   for access with the resolved index, used in {@link DataAccess} with {@link DataAccess.DatapathElement#resolveSlot(Slots)}.
+   * <li>2026-10-18 Hartmut created for the local variables in {@link org.vishia.cmd.JZtxtcmdExecuter}.
+   * </ul>
+   *
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License,
+   * published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL ist not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   *
+   */
+  public final static String version = "2026-10-18";
+
+
+  /**The known keys with its index. An instance is immutable, it can be shared between threads.
+   */
+  public static final class Slots {
+
+    /**The names sorted, the index in this array is the slot index. */
+    final String[] names;
+
+    private final Map<String, Integer> ixByName;
+
+    /**Creates the slots for the given names. Names may be contained more as one time. null is ignored. */
+    public Slots(Collection<String> names) {
+      TreeMap<String, String> sorted = new TreeMap<String, String>();
+      for(String name: names) {
+        if(name !=null) { sorted.put(name, name); }
+      }
+      this.names = sorted.keySet().toArray(new String[sorted.size()]);
+      this.ixByName = new HashMap<String, Integer>(2 * this.names.length);
+      for(int ix = 0; ix < this.names.length; ++ix) {
+        this.ixByName.put(this.names[ix], Integer.valueOf(ix));
+      }
+    }
+
+    /**Returns the slot index for the key or -1 if the key is not known. */
+    public int ix(Object key) {
+      Integer ix = this.ixByName.get(key);
+      return ix == null ? -1 : ix.intValue();
+    }
+
+    public int size() { return this.names.length; }
+
+    @Override public String toString() { return Arrays.toString(this.names); }
+  }
+
+
+  /**Marker for a null value in {@link #values}, because null designates a non existing entry. */
+  private static final Object nullValue = new Object();
+
+
+  public final Slots slots;
+
+  /**The values for the {@link Slots#names}, null if not existing, {@link #nullValue} for a null value. */
+  private final Object[] values;
+
+  /**Number of existing values in {@link #values}. */
+  private int zValues;
+
+  /**The entries for keys which are not in {@link #slots}, created on demand. */
+  private TreeMap<String, V> more;
+
+
+  /**Creates an empty map for the given slots.
+   * @param slots shared for all instances for the same purpose.
+   */
+  public SlotMap(Slots slots) {
+    this.slots = slots;
+    this.values = new Object[slots.size()];
+  }
+
+
+  @SuppressWarnings("unchecked")
+  private static <V> V value(Object val) { return val == nullValue ? null : (V)val; }
+
+
+  @Override public V get(Object key) {
+    int ix = this.slots.ix(key);
+    if(ix >=0) { return value(this.values[ix]); }
+    else if(this.more !=null) { return this.more.get(key); }
+    else return null;
+  }
+
+
+  @Override public boolean containsKey(Object key) {
+    int ix = this.slots.ix(key);
+    if(ix >=0) { return this.values[ix] !=null; }
+    else return this.more !=null && this.more.containsKey(key);
+  }
+
+
+  /**Returns the value in the slot.
+   * @param ix index of the key in {@link #slots}, resolved with {@link Slots#ix(Object)}, not -1.
+   * @return null also if the key is not contained, see {@link #containsSlot(int)}.
+   */
+  public V getSlot(int ix) { return value(this.values[ix]); }
+
+
+  /**Returns true if the key with this slot index is contained, also with a null value. 
+   * @param ix index of the key in {@link #slots}, resolved with {@link Slots#ix(Object)}, not -1.
+   */
+  public boolean containsSlot(int ix) { return this.values[ix] !=null; }
+
+
+  /**Puts the value in the slot, same as {@link #put(String, Object)} with the key of this slot.
+   * @param ix index of the key in {@link #slots}, resolved with {@link Slots#ix(Object)}, not -1.
+   * @return the previous value or null.
+   */
+  public V putSlot(int ix, V value) {
+    Object val = this.values[ix];
+    if(val == null) { this.zValues +=1; }
+    this.values[ix] = value == null ? nullValue : value;
+    return value(val);
+  }
+
+
+  @Override public V put(String key, V value) {
+    int ix = this.slots.ix(key);
+    if(ix >=0) {
+      return putSlot(ix, value);
+    } else {
+      if(key == null) throw new NullPointerException("SlotMap: null as key");
+      if(this.more == null) { this.more = new TreeMap<String, V>(); }
+      return this.more.put(key, value);
+    }
+  }
+
+
+  @Override public V remove(Object key) {
+    int ix = this.slots.ix(key);
+    if(ix >=0) {
+      Object val = this.values[ix];
+      if(val !=null) { this.zValues -=1; }
+      this.values[ix] = null;
+      return value(val);
+    }
+    else if(this.more !=null) { return this.more.remove(key); }
+    else return null;
+  }
+
+
+  /**Puts all entries. If src is a SlotMap with the same {@link Slots}, the values are copied as array.
+   */
+  @SuppressWarnings("unchecked")
+  @Override public void putAll(Map<? extends String, ? extends V> src) {
+    if(src instanceof SlotMap && ((SlotMap<?>)src).slots == this.slots && this.zValues == 0) {
+      SlotMap<? extends V> src1 = (SlotMap<? extends V>)src;
+      System.arraycopy(src1.values, 0, this.values, 0, this.values.length);
+      this.zValues = src1.zValues;
+      if(src1.more !=null) {
+        if(this.more == null) { this.more = new TreeMap<String, V>(src1.more); }
+        else { this.more.putAll(src1.more); }
+      }
+    } else {
+      super.putAll(src);
+    }
+  }
+
+
+  @Override public int size() { return this.zValues + (this.more == null ? 0 : this.more.size()); }
+
+
+  @Override public void clear() {
+    Arrays.fill(this.values, null);
+    this.zValues = 0;
+    this.more = null;
+  }
+
+
+  @Override public Set<Map.Entry<String, V>> entrySet() {
+    return new AbstractSet<Map.Entry<String, V>>() {
+      @Override public Iterator<Map.Entry<String, V>> iterator() { return new EntryIterator(); }
+      @Override public int size() { return SlotMap.this.size(); }
+      @Override public void clear() { SlotMap.this.clear(); }
+    };
+  }
+
+
+  /**Entry for a slot, writes through. */
+  private final class SlotEntry implements Map.Entry<String, V> {
+    final int ix;
+    SlotEntry(int ix) { this.ix = ix; }
+    @Override public String getKey() { return SlotMap.this.slots.names[this.ix]; }
+    @Override public V getValue() { return value(SlotMap.this.values[this.ix]); }
+    @Override public V setValue(V value) {
+      Object val = SlotMap.this.values[this.ix];
+      SlotMap.this.values[this.ix] = value == null ? nullValue : value;
+      return value(val);
+    }
+    @Override public boolean equals(Object o) {
+      if(!(o instanceof Map.Entry)) return false;
+      Map.Entry<?,?> e = (Map.Entry<?,?>)o;
+      V val = getValue();
+      return getKey().equals(e.getKey()) && (val == null ? e.getValue() == null : val.equals(e.getValue()));
+    }
+    @Override public int hashCode() { V val = getValue(); return getKey().hashCode() ^ (val == null ? 0 : val.hashCode()); }
+    @Override public String toString() { return getKey() + "=" + getValue(); }
+  }
+
+
+  /**Entry for a key in {@link SlotMap#more}, writes through. */
+  private final class MoreEntry extends AbstractMap.SimpleEntry<String, V> {
+    private static final long serialVersionUID = 1L;
+    MoreEntry(Map.Entry<String, V> src) { super(src); }
+    @Override public V setValue(V value) {
+      super.setValue(value);
+      return SlotMap.this.more.put(getKey(), value);
+    }
+  }
+
+
+  /**Iterates over the slots and {@link SlotMap#more} in the order of the keys.
+   * The entries in {@link SlotMap#more} are navigated with the key, hence removing is possible.
+   */
+  private final class EntryIterator implements Iterator<Map.Entry<String, V>> {
+
+    private int ixSlot = -1;
+
+    private Map.Entry<String, V> nextMore;
+
+    /**The last returned entry, to remove. */
+    private Map.Entry<String, V> last;
+
+    EntryIterator() {
+      nextSlot();
+      this.nextMore = SlotMap.this.more == null ? null : SlotMap.this.more.firstEntry();
+    }
+
+    private void nextSlot() {
+      Object[] values = SlotMap.this.values;
+      do { this.ixSlot +=1; } while(this.ixSlot < values.length && values[this.ixSlot] == null);
+    }
+
+    @Override public boolean hasNext() {
+      return this.ixSlot < SlotMap.this.values.length || this.nextMore !=null;
+    }
+
+    @Override public Map.Entry<String, V> next() {
+      boolean bSlot = this.ixSlot < SlotMap.this.values.length;
+      if(bSlot && this.nextMore !=null) {
+        bSlot = SlotMap.this.slots.names[this.ixSlot].compareTo(this.nextMore.getKey()) < 0;
+      }
+      if(bSlot) {
+        this.last = new SlotEntry(this.ixSlot);
+        nextSlot();
+      } else if(this.nextMore !=null) {
+        this.last = new MoreEntry(this.nextMore);
+        this.nextMore = SlotMap.this.more.higherEntry(this.nextMore.getKey());
+      } else {
+        throw new NoSuchElementException();
+      }
+      return this.last;
+    }
+
+    @Override public void remove() {
+      if(this.last == null) throw new IllegalStateException();
+      SlotMap.this.remove(this.last.getKey());
+      this.last = null;
+    }
+  }
+
+}
@@ -74,7 +74,10 @@ public class StringPartFromFileLines extends StringPartScan
   
   /**Version, history and license.
    * list of changes:
-   * <ul>2022-03-28 Hartmut bugfix: Now returns the first line as 1. Before, the first line was 0.
+   * <ul>
+   * <li>2026-10-18 Hartmut refactored: {@link #detectCharset(byte[], int, int, String, Charset)} as static routine,
+   *   used also in {@link StringPartFromMappedFile}.
+   * <li>2022-03-28 Hartmut bugfix: Now returns the first line as 1. Before, the first line was 0.
    *    Yet this is used for test, not only manual view, thats why finally fixed.
    * <li>2020-02-10 Hartmut new {@link #StringPartFromFileLines(Reader, String, int)}
    *   <br>{@link #StringPartFromFileLines(InputStream, String, int, String, Charset)} with negativ argument sizeBuffer
@@ -121,7 +124,7 @@ public class StringPartFromFileLines extends StringPartScan
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
 
    */
-  public static final String version = "2022-03-28";
+  public static final String version = "2026-10-18";
   
   //final StringBuilder buffer;
   //char[] fileBuffer = new char[1024];
@@ -370,7 +373,58 @@ public class StringPartFromFileLines extends StringPartScan
       bom = true;
       startPos = 2;
     } 
-    //the sLine is used as first content for readnextContentFromFile() too, the start text.
+    this.charset = detectCharset(inBuffer, startPos, nrofFirstBytes, sEncodingDetect, charsetDefault);
+    inpr = new InputStreamReader(input, this.charset);
+    //re-read the string with the correct charset
+    if(this.charset.equals(Charset.forName("UTF-8"))) {
+      int ix1 = nrofFirstBytes -1;
+      while( (inBuffer[ix1] & 0xc0 ) == 0x80) ix1-=1; //return to the first character of an UTF-8 sequence
+      int nrofBytesForChar = StringFunctions.nrofBytesUTF8(inBuffer[ix1]);
+      int missingBytes = ix1 + nrofBytesForChar - nrofFirstBytes;
+      if(missingBytes > 0) {
+        int nRead =  input.read(inBuffer, nrofFirstBytes, missingBytes);
+        if(nRead != missingBytes) {
+          Debugutil.stop(); //File content error.
+        }
+        nrofFirstBytes += nRead;
+      }
+    }
+    { //Use the java.nio.CharBuffer for encoding. Other variant: Build a temporary String.
+      //NOTE: if the inBuffer contains a malformed last character, the built string contains a '\ufffd' as the last character
+      //and an error is not produced.
+      String start = new String(inBuffer, startPos, nrofFirstBytes - startPos, charset);
+      this.zBuffer = start.length();
+      for(int ix = 0; ix < this.zBuffer; ++ix){
+        cBuffer[ix] = start.charAt(ix);
+      }
+      
+      //Tested variant with CharBuffer does work too, it is commented yet.
+      /*
+      CharsetDecoder charDecoder = this.charset.newDecoder();
+      CharBuffer chBuffer = CharBuffer.wrap(cBuffer, 0, cBuffer.length);
+      ByteBuffer byteBuffer = ByteBuffer.wrap(inBuffer, startPos, nrofFirstBytes - startPos);
+      CoderResult result = charDecoder.decode(byteBuffer, chBuffer, true);
+      this.zBuffer = chBuffer.position();
+      */
+    }
+    evalLineIndices(0, zBuffer);
+    readnextContentFromFile(0);   //read the start content. Read anytime. Minsize is 0
+    assign(new CharSq(0, -1));
+  }
+
+
+  
+  /**Detects the charset from the first 2 lines of the input, see argument sEncodingDetect.
+   * This routine is used for all inputs which are read as bytes, see also {@link StringPartFromMappedFile}.
+   * @param inBuffer The first bytes of the input.
+   * @param startPos position after a maybe found BOM
+   * @param nrofFirstBytes number of valid bytes in inBuffer
+   * @param sEncodingDetect If not null, this string is searched in the first 2 lines, see constructor
+   * @param charsetDefault If not null, this charset is used if no charset is found in the first lines.
+   * @return the charset to use, never null. 
+   */
+  static Charset detectCharset(byte[] inBuffer, int startPos, int nrofFirstBytes, String sEncodingDetect, Charset charsetDefault) {
+    final Charset charset;
     if(sEncodingDetect != null)
     { String sLine = new String(inBuffer, startPos, nrofFirstBytes);  //Uses the default charset, expected are characters only 00..7F  
       int posNewline = sLine.indexOf('\n'); 
@@ -397,7 +451,7 @@ public class StringPartFromFileLines extends StringPartScan
         }
         if(sCharset.length() > 0)
         { //the charset is defined in the first line:
-          this.charset = Charset.forName(sCharset);  //replace the current charset
+          charset = Charset.forName(sCharset);  //replace the current charset
         }
         else {
           spFirstLine.close();
@@ -406,52 +460,17 @@ public class StringPartFromFileLines extends StringPartScan
         //sLine = new String(inBuffer, startPos, nrofFirstChars, charset);
       } else {
         //charset not found in file or syntax faulty.
-        this.charset = charsetDefault == null ? Charset.defaultCharset() : charsetDefault;
+        charset = charsetDefault == null ? Charset.defaultCharset() : charsetDefault;
       }
       spFirstLine.close();
     }
     else {
-      this.charset = charsetDefault == null ? Charset.defaultCharset() : charsetDefault;
+      charset = charsetDefault == null ? Charset.defaultCharset() : charsetDefault;
     } 
-    inpr = new InputStreamReader(input, this.charset);
-    //re-read the string with the correct charset
-    if(this.charset.equals(Charset.forName("UTF-8"))) {
-      int ix1 = nrofFirstBytes -1;
-      while( (inBuffer[ix1] & 0xc0 ) == 0x80) ix1-=1; //return to the first character of an UTF-8 sequence
-      int nrofBytesForChar = StringFunctions.nrofBytesUTF8(inBuffer[ix1]);
-      int missingBytes = ix1 + nrofBytesForChar - nrofFirstBytes;
-      if(missingBytes > 0) {
-        int nRead =  input.read(inBuffer, nrofFirstBytes, missingBytes);
-        if(nRead != missingBytes) {
-          Debugutil.stop(); //File content error.
-        }
-        nrofFirstBytes += nRead;
-      }
-    }
-    { //Use the java.nio.CharBuffer for encoding. Other variant: Build a temporary String.
-      //NOTE: if the inBuffer contains a malformed last character, the built string contains a '\ufffd' as the last character
-      //and an error is not produced.
-      String start = new String(inBuffer, startPos, nrofFirstBytes - startPos, charset);
-      this.zBuffer = start.length();
-      for(int ix = 0; ix < this.zBuffer; ++ix){
-        cBuffer[ix] = start.charAt(ix);
-      }
-      
-      //Tested variant with CharBuffer does work too, it is commented yet.
-      /*
-      CharsetDecoder charDecoder = this.charset.newDecoder();
-      CharBuffer chBuffer = CharBuffer.wrap(cBuffer, 0, cBuffer.length);
-      ByteBuffer byteBuffer = ByteBuffer.wrap(inBuffer, startPos, nrofFirstBytes - startPos);
-      CoderResult result = charDecoder.decode(byteBuffer, chBuffer, true);
-      this.zBuffer = chBuffer.position();
-      */
-    }
-    evalLineIndices(0, zBuffer);
-    readnextContentFromFile(0);   //read the start content. Read anytime. Minsize is 0
-    assign(new CharSq(0, -1));
+    return charset;
   }
-
-
+  
+  
   
   /**Returns the line and column of the current position.
    * The line comes from an array which stores all start positions of the line, filled if the line is used.
@@ -0,0 +1,437 @@
+/****************************************************************************/
+/* Copyright/Copyleft:
+ *
+ * For this source the LGPL Lesser General Public License,
+ * published by the Free Software Foundation is valid.
+ * It means:
+ * 1) You can use this source without any restriction for any desired purpose.
+ * 2) You can redistribute copies of this source to everybody.
+ * 3) Every user of this source, also the user of redistribute copies
+ *    with or without payment, must accept this license for further using.
+ * 4) But the LPGL ist not appropriate for a whole software product,
+ *    if this source is only a part of them. It means, the user
+ *    must publish this part of source,
+ *    but don't need to publish the whole source of the own product.
+ * 5) You can study and modify (improve) this source
+ *    for own using or for redistribution, but you have to license the
+ *    modified sources likewise under this LGPL Lesser General Public License.
+ *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+ *
+ * @author Hartmut Schorrig www.vishia.org/Java
+ *
+ ****************************************************************************/
+package org.vishia.util;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+
+
+/**This class extends the StringPartScan to access the content of a file which is mapped in memory
+ * with {@link FileChannel#map(java.nio.channels.FileChannel.MapMode, long, long)}.
+ * The content is not copied into a char[] buffer as in {@link StringPartFromFileLines},
+ * the file content is accessed immediately via a {@link CharSequence} view to the {@link MappedByteBuffer}.
+ * Hence the file can be larger than the heap, and a shifting of the buffer content is never necessary.
+ * The whole file is always accessible, {@link #readNextContent(int)} need not be called.
+ * It means this class can be used especially for the {@link org.vishia.zbnf.ZbnfParser},
+ * which needs the whole content for backtracking.
+ * <br><br>
+ * <b>Single byte charsets</b>: For all charsets which use exactly one byte per character
+ * (US-ASCII, ISO-8859-x, Windows-125x etc.) the view accesses the byte and converts it via a 256-entry decode table.
+ * It is a zero-copy access.
+ * <br><br>
+ * <b>UTF-8</b>: The position of a character in the file cannot be calculated from the character index.
+ * Hence the file is decoded once on construction in windows of {@link #zWindow} characters,
+ * only the start position of each window in the file is stored. The decoded chars are not stored.
+ * On {@link CharSequence#charAt(int)} the appropriate window is decoded lazily again.
+ * Some last used windows are cached. Because parsing usually works near the current position
+ * that is a less effort.
+ * <br><br>
+ * <b>Other charsets</b> (UTF-16 etc.) are not supported, use {@link StringPartFromFileLines}.
+ * <br><br>
+ * <b>Line numbers</b>: The line number is evaluated only on demand with {@link #getLineAndColumn(int[])}.
+ * The start line of each window is stored if evaluated. The line is counted from the start of the window
+ * or from the last requested position if it is lesser. A line starts after <code>'\n'</code> or after a
+ * <code>'\r'</code> which is not followed by <code>'\n'</code>.
+ * <br><br>
+ * <b>Size limitation</b>: The positions in {@link StringPart} are int values.
+ * Hence the file should not be greater than 2 GByte.
+ * <br><br>
+ * <b>Close</b>: A {@link MappedByteBuffer} cannot be unmapped explicitly in Java.
+ * {@link #close()} removes the references, the mapping is released by the garbage collector.
+ * The file itself is closed already after construction, the mapping remains valid.
+ *
+ * @author hartmut
+ *
+ */
+public class StringPartFromMappedFile extends StringPartScan
+{
+
+  /**Version, history and license.
+   * list of changes:
+   * <ul>
+   * <li>2026-10-18 Hartmut creation, to parse large files without copy in the heap.
+   * </ul>
+   *
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License, published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL is not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   */
+  public static final String version = "2026-10-18";
+
+
+  /**Number of characters in one window for decoding (UTF-8) and for storing the line start. */
+  public static final int zWindow = 0x4000;
+
+  /**Number of windows which are hold decoded for UTF-8. */
+  private static final int nrofCachedWindows = 4;
+
+  /**The charset used for the file. */
+  final Charset charset;
+
+  /**The mapped file content. Set to null on {@link #close()}. */
+  private MappedByteBuffer mapBuffer;
+
+  /**Position of the first character in {@link #mapBuffer}, >0 if a BOM is given. */
+  private final int posBytes0;
+
+  /**Number of characters in the file. */
+  private final int zChars;
+
+  /**Decode table for single byte charsets, null for UTF-8. */
+  private final char[] decodeTable;
+
+  /**Only for UTF-8: byte position in {@link #mapBuffer} for the start of any window.
+   * The last element contains the end position of the bytes. */
+  private final int[] posBytesWindow;
+
+  /**Only for UTF-8: character position for the start of any window, adequate {@link #posBytesWindow}.
+   * A window has {@link #zWindow} or one less characters, the last one lesser.
+   * One less is possible if a surrogate pair does not fit in the window.
+   * The last element contains the number of chars. */
+  private final int[] posCharWindow;
+
+  /**Only for UTF-8: The decoder for the windows, with replacement of malformed input. */
+  private final CharsetDecoder decoder;
+
+  /**Only for UTF-8: The cached decoded windows. */
+  private final char[][] cacheWindow;
+
+  /**Only for UTF-8: The window index for {@link #cacheWindow}, -1 if not used. */
+  private final int[] cacheIxWindow;
+
+  /**Only for UTF-8: index in {@link #cacheWindow} which is replaced on next decoding, round robin. */
+  private int cacheIxReplace;
+
+  /**Only for UTF-8: index in {@link #cacheWindow} of the last access, checked first. */
+  private int cacheIxLast;
+
+  /**Line number (counted from 0) on the start of the window, evaluated on demand till {@link #nrofWindowsLine}. */
+  private int[] lineWindow;
+
+  /**Start position of the line which is current on start of the window. */
+  private int[] posLineStartWindow;
+
+  /**Number of valid entries in {@link #lineWindow}. */
+  private int nrofWindowsLine;
+
+  /**Last position for which the line was evaluated, used to continue. */
+  private int posLineLast = -1, lineLast, posLineStartLast;
+
+
+
+  /**Maps the given file. If the file contains a BOM for UTF-8, the charset is set to UTF-8.
+   * @param fromFile The file to read
+   * @param sEncodingDetect If not null, this string is searched in the first 2 lines,
+   *        read in US-ASCII or UTF-16-Format. If this string is found, the followed
+   *        string in quotion marks or as identifier with addition '-' char is read
+   *        and used as charset name. See {@link StringPartFromFileLines#StringPartFromFileLines(java.io.InputStream, String, int, String, Charset)}.
+   * @param charsetDefault If not null, this charset is used as default, if no other charset is found in the files first line,
+   *        see param sEncodingDetect. If null and not charset is found in file, the systems default charset is used.<br>
+   * @throws FileNotFoundException If the file is not found
+   * @throws IOException on any other file problem
+   * @throws UnsupportedCharsetException if the charset is not a single byte charset and not UTF-8
+   * @throws IllegalArgumentException if the file is greater than 2 GByte.
+   */
+  public StringPartFromMappedFile(File fromFile, String sEncodingDetect, Charset charsetDefault)
+  throws FileNotFoundException, IOException, IllegalCharsetNameException, UnsupportedCharsetException
+  { super();
+    long zFile = fromFile.length();
+    if(zFile >= Integer.MAX_VALUE) throw new IllegalArgumentException("file too large for StringPart: " + fromFile.getAbsolutePath());
+    setInputfile(FileSystem.normalizePath(fromFile).toString());
+    RandomAccessFile raf = new RandomAccessFile(fromFile, "r");
+    try {
+      FileChannel fileChn = raf.getChannel();
+      this.mapBuffer = fileChn.map(FileChannel.MapMode.READ_ONLY, 0, zFile);
+    } finally {
+      raf.close();                       // the mapping remains valid.
+    }
+    int zBytes = (int)zFile;
+    byte[] inBuffer = new byte[zBytes < 200 ? zBytes : 200];
+    this.mapBuffer.get(inBuffer);
+    int startPos = 0;
+    Charset charsetBom = null;
+    if(zBytes >=3 && inBuffer[0] == (byte)0xef && inBuffer[1] == (byte)0xbb && inBuffer[2] == (byte)0xbf) {
+      startPos = 3;
+      charsetBom = Charset.forName("UTF-8");
+    }
+    this.posBytes0 = startPos;
+    this.charset = charsetBom !=null ? charsetBom
+                 : StringPartFromFileLines.detectCharset(inBuffer, startPos, inBuffer.length, sEncodingDetect, charsetDefault);
+    if(this.charset.equals(Charset.forName("UTF-8"))) {
+      this.decodeTable = null;
+      this.decoder = this.charset.newDecoder();
+      this.decoder.onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+      this.cacheWindow = new char[nrofCachedWindows][];
+      this.cacheIxWindow = new int[nrofCachedWindows];
+      java.util.Arrays.fill(this.cacheIxWindow, -1);
+      //decode the whole file once to evaluate the window positions. The chars are not stored.
+      int[] posBytes = new int[(zBytes / (zWindow-1)) +2];  //at least one char per byte for UTF-8
+      int[] posChars = new int[posBytes.length];
+      CharBuffer chBuffer = CharBuffer.allocate(zWindow);
+      ByteBuffer bytes = this.mapBuffer.duplicate();
+      bytes.position(startPos);
+      this.decoder.reset();
+      int ixWindow = 0;
+      int zChars1 = 0;
+      boolean bEnd;
+      do {
+        posChars[ixWindow] = zChars1;
+        posBytes[ixWindow++] = bytes.position();
+        chBuffer.clear();
+        CoderResult result = this.decoder.decode(bytes, chBuffer, true);
+        bEnd = result.isUnderflow();
+        if(bEnd) { this.decoder.flush(chBuffer); }
+        zChars1 += chBuffer.position();
+      } while(!bEnd);
+      posBytes[ixWindow] = bytes.position();  //the end position after the last window
+      posChars[ixWindow] = zChars1;
+      this.posBytesWindow = java.util.Arrays.copyOf(posBytes, ixWindow +1);
+      this.posCharWindow = java.util.Arrays.copyOf(posChars, ixWindow +1);
+      this.zChars = zChars1;
+    } else {
+      CharsetDecoder decoder1 = this.charset.newDecoder();
+      if(decoder1.maxCharsPerByte() != 1.0f || this.charset.newEncoder().maxBytesPerChar() != 1.0f) {
+        throw new UnsupportedCharsetException(this.charset.name());
+      }
+      decoder1.onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+      byte[] bytes = new byte[256];
+      for(int ix = 0; ix < 256; ++ix) { bytes[ix] = (byte)ix; }
+      try {
+        CharBuffer table = decoder1.decode(ByteBuffer.wrap(bytes));
+        this.decodeTable = new char[256];
+        table.get(this.decodeTable);
+      } catch(CharacterCodingException exc) {
+        throw new UnsupportedCharsetException(this.charset.name());
+      }
+      this.decoder = null;
+      this.posBytesWindow = null;
+      this.posCharWindow = null;
+      this.cacheWindow = null;
+      this.cacheIxWindow = null;
+      this.zChars = zBytes - startPos;
+    }
+    this.lineWindow = new int[(this.zChars / zWindow) +1];
+    this.posLineStartWindow = new int[this.lineWindow.length];
+    assign(new CharSq(0, this.zChars));
+  }
+
+
+
+  /**Maps the given file with the given charset, without charset detection.
+   * @param fromFile The file to read
+   * @param charset if null then the systems default charset is used.
+   * @throws FileNotFoundException If the file is not found
+   * @throws IOException on any other file problem
+   * @throws UnsupportedCharsetException if the charset is not a single byte charset and not UTF-8
+   */
+  public StringPartFromMappedFile(File fromFile, Charset charset)
+  throws FileNotFoundException, IOException, UnsupportedCharsetException {
+    this(fromFile, null, charset);
+  }
+
+
+
+  /**Returns the character from the file.
+   * @param pos position of the character, counted from 0 after a BOM.
+   */
+  final char charAtFile(int pos) {
+    if(this.decodeTable !=null) {
+      return this.decodeTable[this.mapBuffer.get(this.posBytes0 + pos) & 0xff];
+    } else {
+      int ixWindow = this.cacheIxWindow[this.cacheIxLast];
+      char[] window;
+      if(ixWindow >=0 && pos >= this.posCharWindow[ixWindow] && pos < this.posCharWindow[ixWindow +1]) {
+        window = this.cacheWindow[this.cacheIxLast];       //the usual case: the same window as the last access
+      } else {
+        ixWindow = java.util.Arrays.binarySearch(this.posCharWindow, pos);
+        if(ixWindow < 0) { ixWindow = -ixWindow -2; }      //not the exact start: the window before the insertion point
+        window = getWindow(ixWindow);
+      }
+      return window[pos - this.posCharWindow[ixWindow]];
+    }
+  }
+
+
+
+  /**Only for UTF-8: Returns the decoded window, decodes it if it is not in the cache.
+   * @param ixWindow index of the window in {@link #posCharWindow}
+   * @return the decoded chars of this window.
+   */
+  private char[] getWindow(int ixWindow) {
+    for(int ix = 0; ix < nrofCachedWindows; ++ix) {
+      if(this.cacheIxWindow[ix] == ixWindow) {
+        this.cacheIxLast = ix;
+        return this.cacheWindow[ix];
+      }
+    }
+    int ix = this.cacheIxReplace;
+    if(++this.cacheIxReplace >= nrofCachedWindows) { this.cacheIxReplace = 0; }
+    char[] window = this.cacheWindow[ix];
+    if(window == null) { window = this.cacheWindow[ix] = new char[zWindow]; }
+    ByteBuffer bytes = this.mapBuffer.duplicate();
+    bytes.limit(this.posBytesWindow[ixWindow +1]).position(this.posBytesWindow[ixWindow]);
+    CharBuffer chBuffer = CharBuffer.wrap(window);
+    this.decoder.reset();
+    this.decoder.decode(bytes, chBuffer, true);
+    this.decoder.flush(chBuffer);
+    this.cacheIxWindow[ix] = ixWindow;
+    this.cacheIxLast = ix;
+    return window;
+  }
+
+
+
+  /**Returns the line and column of the current position.
+   * The line is counted from the last evaluated position if the position is after it in the same window,
+   * else from the start of the window. The line on start of all windows till the requested one
+   * is evaluated and stored on demand.
+   * @param column The leftest position in a line is 1, like usual in editors.
+   * @return line, 1 is the first line.
+   * @see org.vishia.util.StringPart#getLineAndColumn(int[])
+   */
+  @Override public int getLineAndColumn(int[] column){
+    if(this.content == null) return 0;
+    int pos = this.begin;
+    int ixWindow = pos / zWindow;
+    while(this.nrofWindowsLine <= ixWindow) {     //evaluate the line start of all windows till the requested one.
+      if(this.nrofWindowsLine == 0) {
+        this.lineWindow[0] = 0;
+        this.posLineStartWindow[0] = 0;
+      } else {
+        int ixWindowPrev = this.nrofWindowsLine -1;
+        countLines(ixWindowPrev * zWindow, this.lineWindow[ixWindowPrev], this.posLineStartWindow[ixWindowPrev], this.nrofWindowsLine * zWindow);
+        this.lineWindow[this.nrofWindowsLine] = this.lineLast;
+        this.posLineStartWindow[this.nrofWindowsLine] = this.posLineStartLast;
+      }
+      this.nrofWindowsLine +=1;
+    }
+    if(this.posLineLast >= ixWindow * zWindow && this.posLineLast <= pos) {
+      countLines(this.posLineLast, this.lineLast, this.posLineStartLast, pos);   //continue from last position
+    } else {
+      countLines(ixWindow * zWindow, this.lineWindow[ixWindow], this.posLineStartWindow[ixWindow], pos);
+    }
+    if(column !=null) {
+      column[0] = pos - this.posLineStartLast +1;
+    }
+    return this.lineLast +1;
+  }
+
+
+
+  /**Counts the lines from a given position. The result is stored in {@link #posLineLast}, {@link #lineLast}, {@link #posLineStartLast}.
+   * @param from start position
+   * @param line line (from 0) on the start position
+   * @param posLineStart start position of this line
+   * @param to end position to count, exclusive.
+   */
+  private void countLines(int from, int line, int posLineStart, int to) {
+    for(int pos = from; pos < to; ++pos) {
+      char cc = charAtFile(pos);
+      if(cc == '\n' || cc == '\r' && (pos +1 >= this.zChars || charAtFile(pos+1) != '\n')) {
+        line +=1;
+        posLineStart = pos +1;
+      }
+    }
+    this.posLineLast = to;
+    this.lineLast = line;
+    this.posLineStartLast = posLineStart;
+  }
+
+
+
+  /**Returns the charset which is used to decode the file. */
+  public Charset getCharset() { return this.charset; }
+
+
+
+  @Override
+  public void close(){
+    this.mapBuffer = null;    //the mapping is released on garbage collection.
+    if(this.cacheWindow !=null) {
+      java.util.Arrays.fill(this.cacheWindow, null);
+      java.util.Arrays.fill(this.cacheIxWindow, -1);
+    }
+    super.close();
+  }
+
+
+
+  /**The view to the file content. */
+  private class CharSq implements CharSequence
+  {
+    final int pos0, end;
+
+    CharSq(int pos0, int end) { this.pos0 = pos0; this.end = end; }
+
+    @Override public int length() { return this.end - this.pos0; }
+
+    @Override public char charAt(int index){ return charAtFile(index + this.pos0); }
+
+    @Override public CharSequence subSequence(int start, int end) {
+      return new CharSq(this.pos0 + start, this.pos0 + end);
+    }
+
+    @Override public String toString() {
+      char[] chars = new char[length()];
+      for(int ix = 0; ix < chars.length; ++ix) {
+        chars[ix] = charAtFile(this.pos0 + ix);
+      }
+      return new String(chars);
+    }
+
+  }
+
+
+
+}
@@ -0,0 +1,108 @@
+package org.vishia.util.test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.vishia.fileRemote.FileMark;
+import org.vishia.fileRemote.FileRemote;
+import org.vishia.fileRemote.FileRemoteCallbackSearch;
+import org.vishia.util.ByteSearch;
+import org.vishia.util.FileFunctions;
+import org.vishia.util.TestOrg;
+
+/**Test of {@link ByteSearch} and the search in files with {@link FileRemoteCallbackSearch}.
+ */
+public class Test_ByteSearch {
+
+  public static void main(String[] args) {
+    TestOrg test = new TestOrg("Test_ByteSearch", 2, args);
+    Test_ByteSearch thiz = new Test_ByteSearch();
+    thiz.testCompareWithSimpleSearch(test);
+    thiz.testSearchInFiles(test);
+    test.finish();
+    System.exit(0);                                        //the threads for FileRemote are not daemon threads
+  }
+
+
+  /**Returns the start position of the pattern which ends firstly, as expected from {@link ByteSearch#indexOf(byte[], int, int)}. */
+  static int simpleIndexOf(byte[] buffer, int from, int to, byte[][] patterns) {
+    for(int end = from +1; end <= to; ++end) {
+      int posFound = -1;
+      for(byte[] pattern: patterns) {
+        int pos = end - pattern.length;
+        if(pos >= from) {
+          int ix = 0;
+          while(ix < pattern.length && buffer[pos + ix] == pattern[ix]) { ix +=1; }
+          if(ix == pattern.length && pos > posFound) { posFound = pos; }  // the shortest pattern which ends here
+        }
+      }
+      if(posFound >=0) return posFound;
+    }
+    return -1;
+  }
+
+
+  /**Random data with a small alphabet and random patterns, one pattern for Horspool and more patterns for Aho-Corasick. */
+  void testCompareWithSimpleSearch(TestOrg parent) {
+    TestOrg test = new TestOrg("ByteSearch: the same results as a simple search", 4, parent);
+    Random random = new Random(1234);
+    for(int nrPatterns: new int[] { 1, 2, 5 }) {
+      int nrFaulty = 0, nrFound = 0;
+      String sFaulty = "";
+      for(int ixTest = 0; ixTest < 2000; ++ixTest) {
+        byte[][] patterns = new byte[nrPatterns][];
+        for(int ixPattern = 0; ixPattern < nrPatterns; ++ixPattern) {
+          patterns[ixPattern] = new byte[1 + random.nextInt(5)];
+          for(int ix = 0; ix < patterns[ixPattern].length; ++ix) { patterns[ixPattern][ix] = (byte)(0xfd + random.nextInt(4)); }
+        }
+        byte[] buffer = new byte[random.nextInt(60)];
+        for(int ix = 0; ix < buffer.length; ++ix) { buffer[ix] = (byte)(0xfd + random.nextInt(4)); }  //also negative bytes
+        int from = buffer.length == 0 ? 0 : random.nextInt(buffer.length);
+        ByteSearch search = ByteSearch.create(patterns);
+        int pos = search.indexOf(buffer, from, buffer.length);
+        int posExpected = simpleIndexOf(buffer, from, buffer.length, patterns);
+        if(posExpected >=0) { nrFound +=1; }
+        if(pos != posExpected && nrFaulty++ ==0) { sFaulty = search.toString() + " test " + ixTest + ": " + pos + " != " + posExpected; }
+      }
+      test.expect(nrFaulty == 0, 5, "%d patterns, %d times found %s", nrPatterns, nrFound, sFaulty);
+    }
+    boolean bException = false;
+    try { ByteSearch.create(new byte[0]); }
+    catch(IllegalArgumentException exc) { bException = true; }
+    test.expect(bException, 5, "empty pattern not admissible");
+    test.finish();
+  }
+
+
+  /**A pattern on the boundary of the read blocks should be found. */
+  void testSearchInFiles(TestOrg parent) {
+    TestOrg test = new TestOrg("FileRemoteCallbackSearch: pattern on the block boundary", 4, parent);
+    File dir = null;
+    try {
+      dir = Files.createTempDirectory("Test_ByteSearch").toFile();
+      byte[] pattern = "search-pattern".getBytes("US-ASCII");
+      int[] positions = { 0, 0x10000 - 7, 0x10000 - pattern.length, 0x10000, 3 * 0x10000 - 1 - pattern.length / 2, -1 };
+      for(int ix = 0; ix < positions.length; ++ix) {
+        byte[] content = new byte[4 * 0x10000];
+        if(positions[ix] >=0) { System.arraycopy(pattern, 0, content, positions[ix], pattern.length); }
+        Files.write(new File(dir, "f" + ix + ".bin").toPath(), content);
+      }
+      FileRemote dirRemote = FileRemote.getDir(dir.getAbsolutePath());
+      FileRemoteCallbackSearch callback = new FileRemoteCallbackSearch(dirRemote, new byte[][] { pattern }, null, null);
+      for(int ix = 0; ix < positions.length; ++ix) {
+        FileRemote file = dirRemote.child("f" + ix + ".bin");
+        callback.offerLeafNode(file, null);
+        boolean bFound = (file.getMark() & FileMark.cmpFileDifferences) !=0;
+        test.expect(bFound == (positions[ix] >=0), 5, "pattern at %d %s", positions[ix], bFound ? "found" : "not found");
+      }
+      test.expect(callback.nrFilesFound() == positions.length -1, 5, "number of files found");
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      if(dir !=null) { FileFunctions.rmdir(dir); }
+    }
+    test.finish();
+  }
+
+}
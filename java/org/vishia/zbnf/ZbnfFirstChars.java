@@ -0,0 +1,303 @@
+package org.vishia.zbnf;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.vishia.util.StringFunctions;
+
+/**This class contains the set of characters which are possible as first character of the input
+ * for a given {@link ZbnfSyntaxPrescript}. It is evaluated by {@link ZbnfParser#compile()}
+ * and stored in {@link ZbnfSyntaxPrescript#firstChars}.
+ * The parser uses it to skip alternatives, options and components which cannot match
+ * without testing them via the {@link org.vishia.util.StringPartScan} and without creating instances for parsing.
+ * <br><br>
+ * The set is always a superset of the really possible characters. If it cannot be determined exactly,
+ * for example for a regular expression or a &lt;*...> string till end chars, {@link #bAny} is set.
+ * <br><br>
+ * The first character is either the current character of the input or the character after skipped white spaces and comments.
+ * Whether white spaces are skipped depends on the parsing situation. Hence the parser checks both.
+ * Therefore a terminal symbol which starts with a white space character or with the first character of a comment start
+ * sets {@link #bAny}, because it can be found in the middle of skipped spaces and comments.
+ *
+ * @author Hartmut Schorrig
+ *
+ */
+final class ZbnfFirstChars
+{
+  /**Version, history and license.
+   * <ul>
+   * <li>2026-10-18 Hartmut created for {@link ZbnfParser#compile()}.
+   * </ul>
+   *
+   * <b>Copyright/Copyleft</b>:
+   * For this source the LGPL Lesser General Public License, published by the Free Software Foundation is valid.
+   * It means:
+   * <ol>
+   * <li> You can use this source without any restriction for any desired purpose.
+   * <li> You can redistribute copies of this source to everybody.
+   * <li> Every user of this source, also the user of redistribute copies
+   *    with or without payment, must accept this license for further using.
+   * <li> But the LPGL is not appropriate for a whole software product,
+   *    if this source is only a part of them. It means, the user
+   *    must publish this part of source,
+   *    but don't need to publish the whole source of the own product.
+   * <li> You can study and modify (improve) this source
+   *    for own using or for redistribution, but you have to license the
+   *    modified sources likewise under this LGPL Lesser General Public License.
+   *    You mustn't delete this Copyright/Copyleft inscription in this source file.
+   * </ol>
+   * If you are intent to use this sources without publishing its usage, you can get
+   * a second license subscribing a special contract with the author.
+   *
+   * @author Hartmut Schorrig = hartmut.schorrig@vishia.de
+   */
+  public static final String version = "2026-10-18";
+
+  /**Bits for the characters 0..63 and 64..127. */
+  private long bits0, bits1;
+
+  /**True if any character >= 128 is possible. Such characters are not distinguished. */
+  private boolean bNonAscii;
+
+  /**True if the set cannot be determined, all characters are possible. */
+  boolean bAny;
+
+  /**True if the prescript can match an empty input. Then the followed items determine the first character.
+   * The set should not be used to exclude the prescript. */
+  boolean bEmpty;
+
+
+  void add(char cc) {
+    if(cc < 64) { this.bits0 |= 1L << cc; }
+    else if(cc < 128) { this.bits1 |= 1L << (cc - 64); }
+    else { this.bNonAscii = true; }
+  }
+
+
+  void addRange(char from, char to) {
+    for(char cc = from; cc <= to; ++cc) { add(cc); }
+  }
+
+
+  void addChars(CharSequence chars) {
+    if(chars !=null) {
+      for(int ix = 0; ix < chars.length(); ++ix) { add(chars.charAt(ix)); }
+    }
+  }
+
+
+  /**Adds all chars from src, also {@link #bAny}, but not {@link #bEmpty}. */
+  void add(ZbnfFirstChars src) {
+    this.bits0 |= src.bits0;
+    this.bits1 |= src.bits1;
+    this.bNonAscii |= src.bNonAscii;
+    this.bAny |= src.bAny;
+  }
+
+
+  /**Returns true if cc is possible as first character. */
+  boolean contains(char cc) {
+    if(this.bAny) return true;
+    else if(cc < 64) return (this.bits0 & (1L << cc)) !=0;
+    else if(cc < 128) return (this.bits1 & (1L << (cc - 64))) !=0;
+    else return this.bNonAscii;
+  }
+
+
+  /**Returns true if the prescript cannot match if cc is the first char. */
+  boolean excludes(char cc) {
+    return !this.bAny && !this.bEmpty && !contains(cc);
+  }
+
+
+  @Override public String toString() {
+    if(this.bAny) return "any";
+    StringBuilder sb = new StringBuilder();
+    for(char cc = 0x20; cc < 128; ++cc) {
+      if(contains(cc)) { sb.append(cc); }
+    }
+    if(this.bNonAscii) { sb.append("..."); }
+    if(this.bEmpty) { sb.append("|empty"); }
+    return sb.toString();
+  }
+
+
+
+  /**Evaluates the first chars for all prescripts of a parser, used in {@link ZbnfParser#compile()}.
+   * The results are stored in {@link ZbnfSyntaxPrescript#firstChars}.
+   * The set for a prescript describes the behavior of parsing it as a whole,
+   * as done in <code>ZbnfParser.PrescriptParser.SubParser#parseSub(...)</code>.
+   */
+  static class Evaluator {
+
+    final ZbnfParser parser;
+
+    /**Prescripts which are in evaluation, to detect recursively usage of components. */
+    private final Map<ZbnfSyntaxPrescript, ZbnfSyntaxPrescript> idxInEvaluation = new IdentityHashMap<ZbnfSyntaxPrescript, ZbnfSyntaxPrescript>();
+
+    Evaluator(ZbnfParser parser) {
+      this.parser = parser;
+    }
+
+
+    /**Evaluates the prescript and all children recursively. */
+    void evaluateTree(ZbnfSyntaxPrescript prescript) {
+      if(prescript.firstChars == null) {
+        evaluatePrescript(prescript);
+      }
+      List<ZbnfSyntaxPrescript> children = prescript.getListPrescripts();
+      if(children !=null) {
+        for(ZbnfSyntaxPrescript child: children) {
+          evaluateTree(child);
+        }
+      }
+      if(prescript instanceof ZbnfSyntaxPrescript.RepetitionSyntax) {
+        ZbnfSyntaxPrescript backward = prescript.getRepetitionBackwardPrescript();
+        if(backward !=null) { evaluateTree(backward); }
+      }
+    }
+
+
+    /**Returns the first chars of a prescript which is parsed as a whole. Stores it in the prescript.
+     * If the prescript is in evaluation yet (recursive component), returns a set with {@link #bAny}, not stored.
+     */
+    ZbnfFirstChars evaluatePrescript(ZbnfSyntaxPrescript prescript) {
+      if(prescript.firstChars !=null) return prescript.firstChars;
+      ZbnfFirstChars ret = new ZbnfFirstChars();
+      if(this.idxInEvaluation.put(prescript, prescript) !=null) {
+        ret.bAny = true;                         // recursion, not determinable
+        return ret;
+      }
+      List<ZbnfSyntaxPrescript> children = prescript.getListPrescripts();
+      if(children == null) {
+        ret.bAny = true;
+      } else if(prescript.isAlternative()) {
+        for(ZbnfSyntaxPrescript alternative: children) {
+          ZbnfFirstChars alt = evaluatePrescript(alternative);
+          ret.add(alt);
+          ret.bEmpty |= alt.bEmpty;
+        }
+      } else {
+        evaluateSequence(children, ret);
+      }
+      if(prescript.isPossibleEmptyOption()) {
+        ret.bEmpty = true;
+      }
+      this.idxInEvaluation.remove(prescript);
+      prescript.firstChars = ret;
+      return ret;
+    }
+
+
+    /**Evaluates the items one after another till the first one which cannot be empty. */
+    private void evaluateSequence(List<ZbnfSyntaxPrescript> items, ZbnfFirstChars ret) {
+      for(ZbnfSyntaxPrescript item: items) {
+        ZbnfFirstChars itemChars = evaluateItem(item);
+        if(itemChars !=null) {
+          ret.add(itemChars);
+          if(!itemChars.bEmpty) {
+            return;                              // a non empty item determines the end of possible first chars
+          }
+        }
+      }
+      ret.bEmpty = true;                         // all items can be empty.
+    }
+
+
+    /**Returns the first chars of an item in a sequence.
+     * @return null if the item does not consume input (only semantic, skip spaces etc.)
+     */
+    private ZbnfFirstChars evaluateItem(ZbnfSyntaxPrescript item) {
+      ZbnfFirstChars ret;
+      switch(item.getType()) {
+        case kSkipSpaces:
+        case kOnlySemantic:
+        case kOnlyMarker:
+        case kStoreSrc:
+        case kNegativVariant:               // does not consume input
+        case kExpectedVariant: {
+          ret = null;
+        } break;
+        case kTerminalSymbol:
+        case kTerminalSymbolInComment: {
+          ret = new ZbnfFirstChars();
+          String sConst = item.getConstantSyntax();
+          if(sConst == null || sConst.length() == 0) {
+            ret.bEmpty = true;
+          } else {
+            char cc = sConst.charAt(0);
+            if(  cc == StringFunctions.cEndOfText
+              || this.parser.sWhiteSpaces.indexOf(cc) >=0
+              || this.parser.sCommentStringStart !=null && this.parser.sCommentStringStart.charAt(0) == cc
+              || this.parser.sEndlineCommentStringStart !=null && this.parser.sEndlineCommentStringStart.charAt(0) == cc
+              ) {
+              ret.bAny = true;
+            } else {
+              ret.add(cc);
+            }
+          }
+        } break;
+        case kIdentifier: {
+          ret = new ZbnfFirstChars();
+          ret.add('_'); ret.addRange('A', 'Z'); ret.addRange('a', 'z');
+        } break;
+        case kPositivNumber: {
+          ret = new ZbnfFirstChars();
+          ret.addRange('0', '9'); ret.addChars(item.getConstantSyntax());
+        } break;
+        case kIntegerNumber:
+        case kFloatNumber:
+        case kFloatWithFactor: {
+          ret = new ZbnfFirstChars();
+          ret.addRange('0', '9'); ret.add('-'); ret.add('+'); ret.addChars(item.getConstantSyntax());
+        } break;
+        case kHexNumber: {
+          ret = new ZbnfFirstChars();
+          ret.addRange('0', '9'); ret.addRange('A', 'F'); ret.addRange('a', 'f'); ret.addChars(item.getConstantSyntax());
+        } break;
+        case kNumberRadix: {
+          ret = new ZbnfFirstChars();
+          ret.addRange('0', '9'); ret.addRange('A', 'Z'); ret.addRange('a', 'z'); ret.addChars(item.getConstantSyntax());
+        } break;
+        case kQuotedString: {
+          ret = new ZbnfFirstChars();
+          ret.add(item.getConstantSyntax().charAt(0));
+        } break;
+        case kSyntaxComponent: {
+          ZbnfSyntaxPrescript cmpn = item.componentSyntax;
+          if(cmpn == null) {
+            cmpn = item.componentSyntax = this.parser.searchSyntaxPrescript(item.getDefinitionIdent());
+          }
+          if(cmpn == null) {
+            ret = new ZbnfFirstChars();
+            ret.bAny = true;
+          } else {
+            ret = evaluatePrescript(cmpn);
+          }
+        } break;
+        case kSyntaxDefinition:
+        case kAlternative:
+        case kRepetition: {
+          ret = evaluatePrescript(item);
+        } break;
+        case kSimpleOption:
+        case kAlternativeOption:
+        case kAlternativeOptionCheckEmptyFirst: {
+          ZbnfFirstChars option = evaluatePrescript(item);
+          ret = new ZbnfFirstChars();
+          ret.add(option);
+          ret.bEmpty = true;                     // an option can be empty anyway
+        } break;
+        default: {                               // strings till end chars, regular expressions etc.
+          ret = new ZbnfFirstChars();
+          ret.bAny = true;
+        }
+      }
+      return ret;
+    }
+
+  }
+
+
+}
@@ -31,10 +31,12 @@ import java.lang.reflect.*;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.UnsupportedCharsetException;
 import java.text.ParseException;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.vishia.mainCmd.MainCmd;
 import org.vishia.mainCmd.MainCmdLoggingStream;
@@ -172,6 +174,12 @@ public final class ZbnfJavaOutput
 {
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-18 Hartmut new {@link ClassAccessors}: the found methods, fields and member classes of a destination class
+   *   are stored once per class and name. The search via reflection with exceptions on 'not found' needs most of the time. 
+   * <li>2026-10-18 Hartmut new {@link #setIncremental(boolean)}: writes the top level results while parsing
+   *   via {@link ZbnfParser#setResultListener(ZbnfParser.ResultListener)}, see {@link IncrementalWriter}.
+   *   For that {@link #writeChildResult(DstInstanceAndClass, ZbnfParseResultItem, Class, int)} 
+   *   and {@link #finishComponentResult(DstInstanceAndClass, DstInstanceAndClass)} are separated from writeZbnfResult(...).
    * <li>2023-08-02 Hartmut ExceptionMessage improved in searchAddMethodAndInvoke(...)
    * <li>2022-04-28 Hartmut in {@link #writeZbnfResult(DstInstanceAndClass, ZbnfParseResultItem, Class, int)}: 
    *   Store source of parsing if {@link SetSrcInfo_ifc} is given on a destination class.
@@ -256,7 +264,7 @@ public final class ZbnfJavaOutput
    * <li>descr: Change of description of elements.
    * </ul> 
    */
-  public static final String sVersion = "2022-04-28";
+  public static final String sVersion = "2026-10-18";
   
   /**Helper Instance to bundle a class to search methods or fields and the associated instance.
    * It is the destination to search elements via semantic in its {@link #clazz} and store the data in the {@link #instance}.
@@ -292,11 +300,106 @@ public final class ZbnfJavaOutput
       this.shouldAdd = shouldAdd; 
     }
   }
+  
+  
+  
+  /**Cache of the reflection access to one destination class.
+   * The reflection methods getDeclaredMethod(...) and getDeclaredField(...) throw an exception if the element is not found.
+   * That is the usual case while searching set_, add_, new_ methods and fields in the class and its super classes
+   * for each parse result item. Creating the exception with its stack trace needs most of the calculation time.
+   * Hence the found element or the information 'not found' is stored here, once per class and name (and argument types).
+   * The instance is gotten via {@link #get(Class)}, it is associated to the class via a {@link ClassValue},
+   * which does not prevent unloading of the class. It is thread safe, used for all ZbnfJavaOutput instances. 
+   */
+  static final class ClassAccessors
+  {
+    private static final ClassValue<ClassAccessors> cache = new ClassValue<ClassAccessors>() {
+      @Override protected ClassAccessors computeValue(Class<?> type) { return new ClassAccessors(type); }
+    };
+    
+    /**Stored in the maps for 'not found', because a ConcurrentHashMap does not accept null. */
+    private static final Object notFound = new Object();
+    
+    final Class<?> clazz;
+    
+    /**Key is name(argType,argType...). Value is a {@link Method} or {@link #notFound}. */
+    private final ConcurrentHashMap<String, Object> declaredMethods = new ConcurrentHashMap<String, Object>();
+    
+    /**Key is the name. Value is a {@link Field} or {@link #notFound}. */
+    private final ConcurrentHashMap<String, Object> declaredFields = new ConcurrentHashMap<String, Object>();
+    
+    /**Key is the name. Value is a public {@link Field} also from super classes or {@link #notFound}. */
+    private final ConcurrentHashMap<String, Object> publicFields = new ConcurrentHashMap<String, Object>();
+    
+    /**Public member classes, key is the simple name. Set on first usage. */
+    private volatile Map<String, Class<?>> memberClasses;
+    
+    private ClassAccessors(Class<?> clazz) { this.clazz = clazz; }
+    
+    static ClassAccessors get(Class<?> clazz) { return cache.get(clazz); }
+    
+    /**Same as {@link Class#getDeclaredMethod(String, Class...)} but returns null instead throwing NoSuchMethodException.
+     * @param argTypes null or empty for a method without arguments.
+     */
+    Method getDeclaredMethod(String name, Class<?>[] argTypes) {
+      StringBuilder key = new StringBuilder(name).append('(');
+      if(argTypes !=null) {
+        for(Class<?> argType: argTypes) { key.append(argType.getName()).append(','); }
+      }
+      String sKey = key.toString();
+      Object ret = this.declaredMethods.get(sKey);
+      if(ret == null) {
+        try { ret = this.clazz.getDeclaredMethod(name, argTypes); }
+        catch(NoSuchMethodException exc) { ret = notFound; }
+        this.declaredMethods.put(sKey, ret);
+      }
+      return ret == notFound ? null : (Method)ret;
+    }
+    
+    /**Same as {@link Class#getDeclaredField(String)} but returns null instead throwing NoSuchFieldException. */
+    Field getDeclaredField(String name) {
+      Object ret = this.declaredFields.get(name);
+      if(ret == null) {
+        try { ret = this.clazz.getDeclaredField(name); }
+        catch(NoSuchFieldException exc) { ret = notFound; }
+        this.declaredFields.put(name, ret);
+      }
+      return ret == notFound ? null : (Field)ret;
+    }
+    
+    /**Same as {@link Class#getField(String)} but returns null instead throwing NoSuchFieldException. */
+    Field getField(String name) {
+      Object ret = this.publicFields.get(name);
+      if(ret == null) {
+        try { ret = this.clazz.getField(name); }
+        catch(NoSuchFieldException exc) { ret = notFound; }
+        this.publicFields.put(name, ret);
+      }
+      return ret == notFound ? null : (Field)ret;
+    }
+    
+    /**Returns the public member class from {@link Class#getClasses()} with the given simple name or null. */
+    Class<?> getMemberClass(String simpleName) {
+      Map<String, Class<?>> classes = this.memberClasses;
+      if(classes == null) {
+        classes = new HashMap<String, Class<?>>();
+        for(Class<?> clazz: this.clazz.getClasses()) {
+          String name = clazz.getSimpleName();
+          if(!classes.containsKey(name)) { classes.put(name, clazz); }  //first one wins as in the array order
+        }
+        this.memberClasses = classes;
+      }
+      return classes.get(simpleName);
+    }
+  }
 
 
 
   private final LogMessage report;
   
+  /**If set, the parse result is written while parsing. See {@link #setIncremental(boolean)}. */
+  private boolean bIncremental;
+  
   /**If it is set, only set_ or add_-methods and new_-methods are accepted,
    * no fields and no inner classes as container.
    */
@@ -364,6 +467,15 @@ public final class ZbnfJavaOutput
    */
   public void setFieldsOnly(boolean value){ this.bOnlyFields = value; }
   
+  /**If set, {@link #parseFileAndFillJavaObject(Class, Object, StringPartScan, String)} and the other parseFileAndFillJavaObject(...) 
+   * write the top level results in the destination while parsing, and removes it from the parse result.
+   * Then the parse result in memory does not depend on the size of the input but only on the size of one top level result.
+   * See {@link ZbnfParser#setResultListener(ZbnfParser.ResultListener)}. 
+   * If the input has a syntax error, the result is written partially.
+   * The source text of the whole input ({@link SetSrcInfo_ifc}) is not supported in this mode.
+   */
+  public void setIncremental(boolean value){ this.bIncremental = value; }
+  
   /**Sets the behavior if no appropriate method or field is found for a parser result.
    * @param value true, than no exception is thrown in this case. 
    *              Instead the problem is noted in the returned String.
@@ -531,6 +643,27 @@ public final class ZbnfJavaOutput
   ) 
   throws IllegalArgumentException, IllegalAccessException, InstantiationException
   {
+    writeSrcInfo(dstArg, zbnfComponent);
+    { //skip into the component resultItem:
+      Iterator<ZbnfParseResultItem> iterChildren = zbnfComponent.iteratorChildren();
+      DstInstanceAndClass dst = dstArg;
+      //
+      //This is the loop over all result items of this component.
+      //
+      while(iterChildren.hasNext()) { 
+        ZbnfParseResultItem childItem = iterChildren.next();
+        dst = writeChildResult(dst, childItem, mainDstClass, recursion);
+      } //while
+      finishComponentResult(dst, dstArg);
+    }
+  }
+  
+  
+  
+  /**Writes the line, column, file and source text of the result item in the destination 
+   * if the destination instance implements {@link SetLineColumn_ifc} or {@link SetSrcInfo_ifc}.
+   */
+  private void writeSrcInfo(DstInstanceAndClass dstArg, ZbnfParseResultItem zbnfComponent) {
     //write column, line and file into it if expected from the instance type: 
     if(dstArg.instance instanceof SetLineColumn_ifc){
       SetLineColumn_ifc check = (SetLineColumn_ifc) dstArg.instance;
@@ -549,96 +682,113 @@ public final class ZbnfJavaOutput
       SetSrcInfo_ifc check = (SetSrcInfo_ifc) dstArg.instance;
       check.setSrcInfo(zbnfComponent.getParsedText());
     }
-    { //skip into the component resultItem:
-      Iterator<ZbnfParseResultItem> iterChildren = zbnfComponent.iteratorChildren();
-      DstInstanceAndClass dst = dstArg;
-      //
-      //This is the loop over all result items of this component.
-      //
-      while(iterChildren.hasNext()) { 
-        ZbnfParseResultItem childItem = iterChildren.next();
-        ZbnfSyntaxPrescript childSyntax = childItem.syntaxItem();
-        if(  childSyntax.sDefinitionIdent !=null 
-            //&& childSyntax.eType == ZbnfSyntaxPrescript.EType.kSyntaxComponent
-            && childSyntax.sDefinitionIdent.contains("ExprPart")
-            ) {
-          Debugutil.stop();
-        }
-        if(  childSyntax.sDefinitionIdent !=null 
-            && childSyntax.eType == ZbnfSyntaxPrescript.EType.kSyntaxComponent
-            && childSyntax.sDefinitionIdent.contains("real_literal")
-            ) {
-          Debugutil.stop();
+  }
+  
+  
+  
+  /**Writes one child of a component, called in {@link #writeZbnfResult(DstInstanceAndClass, ZbnfParseResultItem, Class, int)}
+   * for each child and in {@link IncrementalWriter} for each top level result.
+   * @param dst The current destination for the child
+   * @param childItem The result item
+   * @param mainDstClass The main class to search instances for {@link #bNewFromType}
+   * @param recursion
+   * @return The destination for the next child. It is changed if the result is a non-component, which creates a new destination.
+   */
+  private DstInstanceAndClass writeChildResult(DstInstanceAndClass dst, ZbnfParseResultItem childItem, Class<?> mainDstClass, int recursion)
+  throws IllegalArgumentException, IllegalAccessException, InstantiationException
+  {
+    ZbnfSyntaxPrescript childSyntax = childItem.syntaxItem();
+    if(  childSyntax.sDefinitionIdent !=null 
+        //&& childSyntax.eType == ZbnfSyntaxPrescript.EType.kSyntaxComponent
+        && childSyntax.sDefinitionIdent.contains("ExprPart")
+        ) {
+      Debugutil.stop();
+    }
+    if(  childSyntax.sDefinitionIdent !=null 
+        && childSyntax.eType == ZbnfSyntaxPrescript.EType.kSyntaxComponent
+        && childSyntax.sDefinitionIdent.contains("real_literal")
+        ) {
+      Debugutil.stop();
+    }
+    final String semantic1 = childItem.getSemantic();
+    /**If the semantic is determined to store in an attribute in xml, the @ is ignored here: */
+    final String semantic = semantic1.startsWith("@") ? semantic1.substring(1) : semantic1;
+    if(semantic.length() >0){ ///
+      if(semantic.equals("arrayIndex"))
+        stop();
+      report.reportln(MainCmdLogging_ifc.fineDebug, recursion, "ZbnfJavaOutput: " + semantic + ":");
+      if(childItem.isComponent() 
+        ) { //Try to save the content also if it is an component:
+        int posSep = semantic.lastIndexOf('/');  //check whether 2-stage semantic for text storage
+        String semanticCmpn = semantic;
+        if(posSep >0) {
+          semanticCmpn = semantic.substring(0,posSep);
         }
-        final String semantic1 = childItem.getSemantic();
-        /**If the semantic is determined to store in an attribute in xml, the @ is ignored here: */
-        final String semantic = semantic1.startsWith("@") ? semantic1.substring(1) : semantic1;
-        if(semantic.length() >0){ ///
-          if(semantic.equals("arrayIndex"))
-            stop();
-          report.reportln(MainCmdLogging_ifc.fineDebug, recursion, "ZbnfJavaOutput: " + semantic + ":");
-          if(childItem.isComponent() 
-            ) { //Try to save the content also if it is an component:
-            int posSep = semantic.lastIndexOf('/');  //check whether 2-stage semantic for text storage
-            String semanticCmpn = semantic;
-            if(posSep >0) {
-              semanticCmpn = semantic.substring(0,posSep);
-            }
-            //Search an instance (field or method result) which represents the semantic of the component. 
-            // That instance will be used to fill the parse result of the component.
-            DstInstanceAndClass dstChild = searchComponentsDestination
-              ( semanticCmpn, childItem                //the semantic of the component.
-              , dst, mainDstClass    //instance where the field or method for the component should be found.
-              );
-            if(childItem.isOption() && childItem.getParsedString() != null)
-            { if(posSep >=0) {
-                //It is [<?obj/@attr>... then store in the found dstChild without @attr in the attr as String.
-                //This is new since 2019, this form is not used in the past. 
-                String semanticForText = semantic.substring(posSep+1);
-                if(semanticForText.length() >0) { //[<?semantic/> forces only create cmpn, no text storage.
-                  //Note: may start with "@...", not important here. The "@" will be removed for the name (important only for XML)
-                  searchDestinationAndWriteResult(semanticForText, dstChild, mainDstClass, childItem);
-                }
-              } else {
-                //It is usual [<?obj>... then store the text in set_obj(String val) in the current dst.
-                //It is the compatible behavior since 2008
-                searchDestinationAndWriteResult(semantic, dst, mainDstClass, childItem);
-              }
-            
-            }
-            
-            if(dstChild != null) {
-              //writes the sub result to the found dstChild.
-              writeZbnfResult(dstChild, childItem, mainDstClass, recursion+1);
-              if(dstChild.shouldAdd)
-              { searchAddMethodAndInvoke(semanticCmpn, dst, dstChild);  //add child in dst.
-              }
-            }
-          }
-          else
-          { //write the content of the resultItem into the outputInstance:
-            if(semantic.equals("_end")){
-              if(dst.shouldAdd)
-              { searchAddMethodAndInvoke(dst.semantic, dst.parentResult, dst);  //add child in dst.
-              }
-              dst = dst.parentResult;
-            } else {
-              DstInstanceAndClass dstChild = searchDestinationAndWriteResult(semantic, dst, mainDstClass, childItem);
-              if(dstChild !=null) {
-                dst = dstChild;  //continue with writing to the child instance,
-                //switch to the parent instance with capability of child.
-              }
+        //Search an instance (field or method result) which represents the semantic of the component. 
+        // That instance will be used to fill the parse result of the component.
+        DstInstanceAndClass dstChild = searchComponentsDestination
+          ( semanticCmpn, childItem                //the semantic of the component.
+          , dst, mainDstClass    //instance where the field or method for the component should be found.
+          );
+        if(childItem.isOption() && childItem.getParsedString() != null)
+        { if(posSep >=0) {
+            //It is [<?obj/@attr>... then store in the found dstChild without @attr in the attr as String.
+            //This is new since 2019, this form is not used in the past. 
+            String semanticForText = semantic.substring(posSep+1);
+            if(semanticForText.length() >0) { //[<?semantic/> forces only create cmpn, no text storage.
+              //Note: may start with "@...", not important here. The "@" will be removed for the name (important only for XML)
+              searchDestinationAndWriteResult(semanticForText, dstChild, mainDstClass, childItem);
             }
+          } else {
+            //It is usual [<?obj>... then store the text in set_obj(String val) in the current dst.
+            //It is the compatible behavior since 2008
+            searchDestinationAndWriteResult(semantic, dst, mainDstClass, childItem);
           }
-        } //semantic given
-      } //while
-      int ctError = 1000;
-      while(dst !=dstArg && dst.parentResult !=null && --ctError >=0) {
-        if(dst.shouldAdd)
-        { searchAddMethodAndInvoke(dst.semantic, dst.parentResult, dst);  //add child in dst.
+        
         }
         
+        if(dstChild != null) {
+          //writes the sub result to the found dstChild.
+          writeZbnfResult(dstChild, childItem, mainDstClass, recursion+1);
+          if(dstChild.shouldAdd)
+          { searchAddMethodAndInvoke(semanticCmpn, dst, dstChild);  //add child in dst.
+          }
+        }
       }
+      else
+      { //write the content of the resultItem into the outputInstance:
+        if(semantic.equals("_end")){
+          if(dst.shouldAdd)
+          { searchAddMethodAndInvoke(dst.semantic, dst.parentResult, dst);  //add child in dst.
+          }
+          dst = dst.parentResult;
+        } else {
+          DstInstanceAndClass dstChild = searchDestinationAndWriteResult(semantic, dst, mainDstClass, childItem);
+          if(dstChild !=null) {
+            dst = dstChild;  //continue with writing to the child instance,
+            //switch to the parent instance with capability of child.
+          }
+        }
+      }
+    } //semantic given
+    return dst;
+  }
+  
+  
+  
+  /**Adds the destination instances created by non-component items to its parents after all children are written.
+   * @param dst the current destination after the last child.
+   * @param dstArg the destination of the component.
+   */
+  private void finishComponentResult(DstInstanceAndClass dst, DstInstanceAndClass dstArg)
+  throws IllegalArgumentException, IllegalAccessException, InstantiationException
+  {
+    int ctError = 1000;
+    while(dst !=dstArg && dst.parentResult !=null && --ctError >=0) {
+      if(dst.shouldAdd)
+      { searchAddMethodAndInvoke(dst.semantic, dst.parentResult, dst);  //add child in dst.
+      }
+      
     }
   }
    
@@ -660,11 +810,7 @@ public final class ZbnfJavaOutput
     { int ixArgTypes = 0;
       do
       { Class<?>[] argTypes = argTypesVariants[ixArgTypes];
-        try{ method = outputClass.getDeclaredMethod(name, argTypes);}
-        catch(NoSuchMethodException exception){ 
-          method = null; 
-          //System.out.println("ZbnfJavaOutput - search method, not found, try argument types; " + name + "; in class; " + outputClass.getName());
-        }
+        method = ClassAccessors.get(outputClass).getDeclaredMethod(name, argTypes);
         if(method !=null && retVariant !=null) {
           retVariant[0] = ixArgTypes;
         }
@@ -711,7 +857,6 @@ public final class ZbnfJavaOutput
     if(semantic.equals("ExprPart"))
       Debugutil.stop();
     
-    Class<?>[] clazzes= mainDstClazz.getClasses();
     String sInstanceType;
     ZbnfSyntaxPrescript componentSyntax = zbnfElement.getComponentSyntax();
     if(componentSyntax !=null) {                           // it is the common case, calling a component
@@ -724,13 +869,7 @@ public final class ZbnfJavaOutput
     if(Character.isLowerCase(sInstanceType.charAt(0))) {
       sInstanceType = Character.toUpperCase(sInstanceType.charAt(0)) + sInstanceType.substring(1);
     }
-    Class<?> dstClass = null;
-    for(Class<?> clazz: clazzes) {
-      String sClassNameTest = clazz.getSimpleName();
-      if(sClassNameTest.equals(sInstanceType)) {
-        dstClass = clazz; break;
-      }
-    }
+    Class<?> dstClass = ClassAccessors.get(mainDstClazz).getMemberClass(sInstanceType);
     if(dstClass !=null) {
       Object dst;
       try{  
@@ -919,13 +1058,12 @@ public final class ZbnfJavaOutput
               semanticLowerCase = firstChar >='a' && firstChar <='z' ? semantic : Character.toLowerCase(firstChar) + semantic.substring(1);
               if(semanticLowerCase.equals("operator"))
                 stop();
-              try{ 
-                Field element = clazz.getDeclaredField(semanticLowerCase);
+              Field element = ClassAccessors.get(clazz).getDeclaredField(semanticLowerCase);
+              if(element !=null) {
                 //an element with the desired name is found, write the value to it:
                 report.report(MainCmdLogging_ifc.fineDebug, semanticLowerCase);
                 child = getComponentsOutputField(semantic, element, parentDst.instance);
               }
-              catch(NoSuchFieldException exception){}
             }
             //else
             { //if(bStrict) throw new IllegalArgumentException("cannot found: " + sMethodToFind);
@@ -1158,10 +1296,7 @@ public final class ZbnfJavaOutput
               if(semanticLowerCase.equals("cssHtml"))
                 stop();
               do
-              { try{ element = searchClass.getDeclaredField(semanticLowerCase);}
-                catch(NoSuchFieldException exception)
-                { element = null; 
-                }
+              { element = ClassAccessors.get(searchClass).getDeclaredField(semanticLowerCase);
               } while(  element == null    //search in all super classes.
                      && (searchClass = searchClass.getSuperclass()) != null
                      && searchClass != Object.class
@@ -1302,13 +1437,13 @@ public final class ZbnfJavaOutput
   { boolean bok = false;
     if(line >=0)
     { DataAccess.DatapathElement datapath = new DataAccess.DatapathElement("inputLine_");
-      try
-      { //if an field inputColumn_ is found, write to it.
-        Field elementColumn = destComponent.clazz.getField("inputLine_");
-        elementColumn.setInt(destComponent.instance, line);
+      //if an field inputColumn_ is found, write to it.
+      Field elementColumn = ClassAccessors.get(destComponent.clazz).getField("inputLine_");
+      if(elementColumn !=null)
+      { elementColumn.setInt(destComponent.instance, line);
         bok = true;  //successfull, no exception
       }
-      catch(NoSuchFieldException exception)
+      else
       { /**do nothing if the field isn't found.*/ 
         //not an element with the postulated name found,
         //search an appropriate method:
@@ -1356,6 +1491,10 @@ public final class ZbnfJavaOutput
   
   
   
+  /**Argument types for the method <code>set_inputColumn_<i>semantic</i>(int)</code>, see {@link #trySetInputColumn(String, DstInstanceAndClass, int)}. */
+  private static final Class<?>[] argTypesInputColumn = { Integer.TYPE };
+  
+  
   /**Tries if an field <code>inputColumn_<i>semantic</i></code> or a method
    * <code>set_inputColumn_<i>semantic</i></code> exists and set resp. calls it.
    * If such a field or method isn't found, nothing is done. It is oksy.
@@ -1369,27 +1508,24 @@ public final class ZbnfJavaOutput
   private void trySetInputColumn(String semantic, DstInstanceAndClass destComponent, int column) 
   throws IllegalAccessException
   { if(column >=0)
-    { try
-      { //if an field inputColumn_ is found, write to it.
-        Field elementColumn = destComponent.clazz.getField("inputColumn_" + semantic);
-        elementColumn.setInt(destComponent.instance, column);
+    { ClassAccessors accessors = ClassAccessors.get(destComponent.clazz);
+      //if an field inputColumn_ is found, write to it.
+      Field elementColumn = accessors.getField("inputColumn_" + semantic);
+      if(elementColumn !=null)
+      { elementColumn.setInt(destComponent.instance, column);
       }
-      catch(NoSuchFieldException exception)
+      else
       { /**do nothing if the field isn't found.*/ 
         //not an element with the postulated name found,
         //search an appropriate method:
-        Method method;
-        Class[] argTypes1 = new Class[1]; 
-        argTypes1[0] = Integer.TYPE;
-        try
-        { method = destComponent.clazz.getDeclaredMethod("set_inputColumn_" + semantic, argTypes1);
-          Object[] argMethod1 = new Object[1];
+        Method method = accessors.getDeclaredMethod("set_inputColumn_" + semantic, argTypesInputColumn);
+        if(method !=null)
+        { Object[] argMethod1 = new Object[1];
           argMethod1[0] = new Integer(column);
-          method.invoke(destComponent.instance, argMethod1);
-        }
-        catch(NoSuchMethodException exception1){ /**do nothing if the field isn't found.*/ }
-        catch(InvocationTargetException exc)
-        { throw new IllegalAccessException(exc.getMessage()); 
+          try{ method.invoke(destComponent.instance, argMethod1); }
+          catch(InvocationTargetException exc)
+          { throw new IllegalAccessException(exc.getMessage()); 
+          }
         }
       }
     }  
@@ -1666,8 +1802,20 @@ public final class ZbnfJavaOutput
   
   public String parseFileAndFillJavaObject(Class resultType, Object result, StringPartScan spInput, String sFileInput) {
     String sError = null;
+    final IncrementalWriter writer;
+    if(this.bIncremental) {
+      this.errors = null;
+      writer = new IncrementalWriter(resultType, result);
+      this.parser.setResultListener(writer);
+    } else {
+      writer = null;
+    }
     //parse the file:
-    boolean bOk = parser.parse(spInput);
+    boolean bOk;
+    try { bOk = parser.parse(spInput); }
+    finally { 
+      if(writer !=null) { this.parser.setResultListener(null); }
+    }
     if(!bOk)
     { final String sParserError = parser.getSyntaxErrorReport();
       sError = "ZbnfJavaOutput - ERROR syntax in input file; " + sFileInput + "\n" + sParserError;
@@ -1679,8 +1827,14 @@ public final class ZbnfJavaOutput
     //zbnfParser.reportStore(report, MainCmdLogging_ifc.debug);
     if(sError == null)
     { /*store the whole parse result in the instance 'result', using the 'resultType'. */ 
-      System.out.println("ZbnfJavaOutput - fillin;" + resultType.getCanonicalName());
-      try{ setContent(resultType, result, parser.getFirstParseResult()); } 
+      try{ 
+        if(writer !=null) {
+          writer.throwException();           //the results are written already while parsing.
+        } else {
+          System.out.println("ZbnfJavaOutput - fillin;" + resultType.getCanonicalName());
+          setContent(resultType, result, parser.getFirstParseResult()); 
+        }
+      } 
       catch (IllegalAccessException exc)
       { sError = "ZbnfJavaOutput - ERROR access to elements;. Hint: The elements should be public!: " + exc.getMessage();
       } 
@@ -1725,6 +1879,60 @@ public final class ZbnfJavaOutput
   
   
   
+  /**Writes the top level results while parsing, see {@link #setIncremental(boolean)}. 
+   * The first exception on writing stops writing, it is thrown after parsing in {@link #throwException()}.
+   */
+  private class IncrementalWriter implements ZbnfParser.ResultListener {
+    
+    final DstInstanceAndClass dstTop;
+    
+    final Class<?> mainDstClass;
+    
+    /**The current destination, changed by non-component results. */
+    DstInstanceAndClass dst;
+    
+    boolean bFirst = true;
+    
+    Exception exc;
+    
+    IncrementalWriter(Class<?> topLevelClass, Object topLevelInstance) {
+      this.mainDstClass = topLevelClass;
+      this.dst = this.dstTop = new DstInstanceAndClass(null, "topLevel", topLevelInstance, topLevelClass, false);
+    }
+    
+    @Override public boolean committedResult(ZbnfParseResultItem item, ZbnfParseResultItem topLevelItem) {
+      if(this.exc == null) {
+        try {
+          if(this.bFirst) {
+            this.bFirst = false;
+            writeSrcInfo(this.dstTop, topLevelItem);
+          }
+          this.dst = writeChildResult(this.dst, item, this.mainDstClass, 1);
+        } catch(IllegalArgumentException | IllegalAccessException | InstantiationException exc) {
+          this.exc = exc;
+        }
+      }
+      return true;  //the item is not used furthermore.
+    }
+    
+    @Override public void finishedParsing(boolean bOk) {
+      if(bOk && this.exc == null) {
+        try { finishComponentResult(this.dst, this.dstTop); }
+        catch(IllegalArgumentException | IllegalAccessException | InstantiationException exc) {
+          this.exc = exc;
+        }
+      }
+    }
+    
+    void throwException() throws IllegalArgumentException, IllegalAccessException, InstantiationException {
+      if(this.exc instanceof IllegalAccessException) throw (IllegalAccessException)this.exc;
+      else if(this.exc instanceof InstantiationException) throw (InstantiationException)this.exc;
+      else if(this.exc instanceof IllegalArgumentException) throw (IllegalArgumentException)this.exc;
+    }
+  }
+  
+  
+  
   /**Adds an error. This method is called if {@link #bExceptionIfnotFound} = false.
    * @param problem The text.
    */
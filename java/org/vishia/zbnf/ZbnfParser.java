@@ -24,20 +24,31 @@
 package org.vishia.zbnf;
 
 //import java.io.InputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.UnsupportedCharsetException;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -53,6 +64,7 @@ import org.vishia.util.StringPartScan;
 import org.vishia.util.TreeNode_ifc;
 import org.vishia.util.TreeNodeBase;
 import org.vishia.util.StringPartFromFileLines;
+import org.vishia.util.StringPartFromMappedFile;
 import org.vishia.util.StringFormatter;
 import org.vishia.xmlSimple.XmlNode;
 import org.vishia.xmlSimple.XmlNodeSimple;
@@ -134,6 +146,22 @@ public class ZbnfParser
   
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-18 Hartmut new: {@link #writeParseResult(OutputStream)} and {@link #readParseResult(InputStream, String, long)}
+   *   to store a parse result in a file and use it instead parsing again, for example for a cache of unchanged inputs.
+   * <li>2026-10-18 Hartmut new: {@link #setResultListener(ResultListener)} to get the top level results while parsing, 
+   *   and remove it from the parse result. Used in {@link ZbnfJavaOutput#setIncremental(boolean)}.
+   * <li>2026-10-18 Hartmut new: {@link CompiledSyntax} via {@link #getCompiledSyntax()} and ctor {@link #ZbnfParser(LogMessage, Args, CompiledSyntax)}
+   *   to use the same syntax in several parser instances without parsing the syntax again. 
+   *   {@link #parseAll(Collection, Executor)} parses files in several threads, each with its own parser instance.
+   * <li>2026-10-18 Hartmut chg: {@link #alreadyParsedCmpn} is now a memo for packrat parsing, switched on with {@link Args#setMemoComponents(int)}.
+   *   It stores also not matching components. It is limited in size, the eldest used entry is removed. 
+   *   The key is a {@link MemoKey} instead a formatted String, the results are copied on storing and replaying,
+   *   because the items in the store may be changed after storing. The memo is only filled if it is switched on.
+   *   If the component is called with another semantic the result item for the component is replaced.
+   * <li>2026-10-18 Hartmut new: {@link #compile()} evaluates {@link ZbnfFirstChars} for all syntax prescripts. 
+   *   Then {@link SubParser#isExcludedByFirstChar(ZbnfSyntaxPrescript, StringPartScan)} skips alternatives, options and components 
+   *   which cannot match the current input character without a test of the whole syntax and without instances for parsing.
+   * <li>2026-10-18 Hartmut new: {@link #parseMappedFile(File, String, Charset)} to parse large files via {@link StringPartFromMappedFile}. 
    * <li>2022-06-01: {@link #clean()} to remove temporary stuff.  
    * <li>2022-04-29: Hartmut using {@link ZbnfSyntaxPrescript.EType#kStoreSrc}:
    *   This seems a good opportunity to store the source to an element or component. 
@@ -326,7 +354,7 @@ public class ZbnfParser
    * <li>2006-05-00 JcHartmut: creation
    * </ul>
    */
-  public static final String sVersion = "2022-04-30";
+  public static final String sVersion = "2026-10-18";
 
   /** Helpfull empty string to build some spaces in strings. */
   static private final String sEmpty = "                                                                                                                                                                                                                                                                                                                          ";
@@ -339,9 +367,14 @@ public class ZbnfParser
     /**True than a repeated usage of the same syntax component on the same source position
      * uses the older parsed result. It is default false because this new feature
      * since 2019-12 is not exceeding tested yet.
+     * Since 2026-10 also a not matching component is memorized. See {@link #setMemoComponents(int)}.
      */
     boolean bUseResultlet;
     
+    /**Maximal number of memorized component parse results, used if {@link #bUseResultlet} is set. 
+     * The eldest used result is removed if more results are stored. */
+    int maxMemoComponents = 10000;
+    
     public Args(int maxParseResultEntriesOnError) {
       this.maxParseResultEntriesOnError = maxParseResultEntriesOnError;
     }
@@ -350,10 +383,137 @@ public class ZbnfParser
       this.maxParseResultEntriesOnError = 20;
     }
     
+    /**Switches on the memorizing of parse results of components (packrat parsing).
+     * If alternatives start with the same component, it is parsed only one time on the same input position,
+     * both if it matches or not. Then the copy of the memorized parse result is used. 
+     * It prevents exponential parsing time for nested syntax, for example expressions.
+     * @param maxEntries maximal number of memorized results, the eldest used is removed. 0: switch off.
+     * @return this to concatenate.
+     */
+    public Args setMemoComponents(int maxEntries) {
+      this.bUseResultlet = maxEntries >0;
+      this.maxMemoComponents = maxEntries;
+      return this;
+    }
+    
     
   }
   
   public final Args args;
+  
+  
+  /**The syntax of a parser and its settings, which are not changed while parsing.
+   * An instance is gotten from {@link ZbnfParser#getCompiledSyntax()} after the syntax is set and compiled.
+   * It is used to create some parser instances with the same syntax, 
+   * see {@link ZbnfParser#ZbnfParser(LogMessage, Args, CompiledSyntax)}, without parsing the syntax again.
+   * Any parser instance has its own state for parsing, the parse result and the error information.
+   * That is necessary for using in several threads, see {@link ZbnfParser#parseAll(Collection, Executor)}.
+   * <br><br>
+   * The syntax prescripts are not changed while parsing, only the reference to used components
+   * ({@link ZbnfSyntaxPrescript#componentSyntax}) may be set on first usage, which is resolved already by {@link ZbnfParser#compile()}.
+   * All references are final, hence the content is visible for all threads after construction.
+   */
+  public static final class CompiledSyntax {
+    final ZbnfSyntaxPrescript mainScript;
+    final Map<String, ZbnfSyntaxPrescript> subPrescripts;
+    final Map<String, String> keywords;
+    final Map<String, String> xmlnsList;
+    final String sCommentStringStart, sCommentStringEnd, sEndlineCommentStringStart, sWhiteSpaces;
+    final boolean bStoreComment, bStoreEndlineComment, bStoreNewline, bStoreOneSpaceOnWhitespaces, bStoreWhiteSpaces;
+    final boolean bConstantSyntaxAsParseResult, bXmlSrcline, bXmlSrctext;
+    final String sInputEncodingKeyword, sInputEncoding;
+    final Charset charsetInput;
+    
+    CompiledSyntax(ZbnfParser src) {
+      this.mainScript = src.mainScript;
+      this.subPrescripts = Collections.unmodifiableMap(new TreeMap<String, ZbnfSyntaxPrescript>(src.listSubPrescript));
+      this.keywords = Collections.unmodifiableMap(new TreeMap<String, String>(src.listKeywords));
+      this.xmlnsList = src.xmlnsList == null ? null : Collections.unmodifiableMap(new TreeMap<String, String>(src.xmlnsList));
+      this.sCommentStringStart = src.sCommentStringStart;
+      this.sCommentStringEnd = src.sCommentStringEnd;
+      this.sEndlineCommentStringStart = src.sEndlineCommentStringStart;
+      this.sWhiteSpaces = src.sWhiteSpaces;
+      this.bStoreComment = src.bStoreComment;
+      this.bStoreEndlineComment = src.bStoreEndlineComment;
+      this.bStoreNewline = src.bStoreNewline;
+      this.bStoreOneSpaceOnWhitespaces = src.bStoreOneSpaceOnWhitespaces;
+      this.bStoreWhiteSpaces = src.bStoreWhiteSpaces;
+      this.bConstantSyntaxAsParseResult = src.bConstantSyntaxAsParseResult;
+      this.bXmlSrcline = src.builderTreeNodeXml.bXmlSrcline;
+      this.bXmlSrctext = src.builderTreeNodeXml.bXmlSrctext;
+      this.sInputEncodingKeyword = src.sInputEncodingKeyword;
+      this.sInputEncoding = src.sInputEncoding;
+      this.charsetInput = src.charsetInput;
+    }
+    
+    /**Returns the syntax prescript for the given component name or null. */
+    public ZbnfSyntaxPrescript getPrescript(String name) { return this.subPrescripts.get(name); }
+    
+    public ZbnfSyntaxPrescript mainScript() { return this.mainScript; }
+  }
+  
+  
+  /**Result of parsing one file with {@link ZbnfParser#parseAll(Collection, Executor)}. */
+  public static final class ParseFileResult {
+    
+    /**The parsed file. */
+    public final File file;
+    
+    /**The parser used for this file. It contains the parse result, see {@link ZbnfParser#getFirstParseResult()}
+     * and {@link ZbnfParser#getResultTree()}, or the information about the syntax error. */
+    public final ZbnfParser parser;
+    
+    /**True if the file is parsed without error. */
+    public boolean bOk;
+    
+    /**null if {@link #bOk}, else the syntax error report or the message of an exception. */
+    public String sError;
+    
+    /**Set if an exception has occurred, for example the file is not readable. */
+    public Exception exception;
+    
+    ParseFileResult(File file, ZbnfParser parser) {
+      this.file = file;
+      this.parser = parser;
+    }
+    
+    @Override public String toString() { return this.file.getName() + (this.bOk ? ": ok" : ": " + this.sError); }
+  }
+  
+  
+  /**Interface to get the parse result while parsing, see {@link ZbnfParser#setResultListener(ResultListener)}.
+   * Like SAX for XML the result is delivered in pieces. 
+   * Any piece is a child of the top level result item, a component with its children or a simple result.
+   * It is delivered if its parsing is finished and the syntax of the main script does not offer an alternative
+   * which may use another result. It is if the next item of the main script or the next repetition 
+   * of a repetition in the main script is started. 
+   * Hence a main script <code>main::= { &lt;item> } \e.</code> delivers each item after parsing.
+   * <br><br>
+   * If the main syntax consists of alternatives or contains <code>[? ...]</code> on top level, 
+   * all results are delivered after parsing.
+   * <br><br>
+   * Note: If the parsing fails later, the results are delivered already. {@link #finishedParsing(boolean)} informs about.
+   */
+  public interface ResultListener {
+    
+    /**Called if a child of the top level result is parsed.
+     * @param item the result item, component or simple item. Its children can be evaluated in this routine.
+     * @param topLevelItem The top level result item, parent of item. 
+     *   Note: It is not complete yet, only usable for example to get the semantic or the file.
+     * @return true if the item is processed and can be removed from the parse result. 
+     *   Then the memory for the parse result is not increased by the number of top level items.
+     *   The item should not be used after this call then.
+     *   false: Let the item in the parse result. Then it is available after parsing in the whole parse result too. 
+     */
+    boolean committedResult(ZbnfParseResultItem item, ZbnfParseResultItem topLevelItem);
+    
+    /**Called after parsing.
+     * @param bOk true if parsing was successful. false: The delivered results are not valid, see {@link ZbnfParser#getSyntaxErrorReport()}.
+     */
+    void finishedParsing(boolean bOk);
+  }
+  
+  
 
   /*package private*/ final static int mXmlSrcline_xmlWrmode = 0x1, mXmlSrctext_xmlWrmode = 0x2;
 
@@ -540,23 +700,7 @@ public class ZbnfParser
       { log.reportParsing("parseComp ", idReportComponentParsing, resultlet.syntaxPrescript, sReportParentComponents, input, (int)input.getCurrentPosition(), nRecursion, bOk);
       }
       if(bOk){
-        if(ixStoreStart < parserStoreInPrescript.items.size()){
-          ZbnfParserStore.ParseResultItemImplement parseResultStart = parserStoreInPrescript.items.get(ixStoreStart);
-          //Build a part of the XML tree from the start parse result without parent.
-          int size = parserStoreInPrescript.items.size() - ixStoreStart;
-          resultlet.parseResult = new ParseResultItemImplement[size];
-          for(int ix = 0; ix < size; ++ix) {
-            this.resultlet.parseResult[ix] = this.parserStoreInPrescript.items.get(ixStoreStart + ix);
-          }
-          //resultlet.xmlResult = builderTreeNodeXml.buildTreeNodeRepresentationXml(null, parseResultStart, true);
-        } else {
-          //it is possible that the parsing is ok but a parse result is not produced because it is a check only
-          //or it has empty options.
-          this.resultlet.parseResult = null; //xmlResult = null;
-        }
-        resultlet.endPosText = input.getCurrentPosition();
-        String key = String.format("%9d", resultlet.startPosText) + resultlet.syntaxPrescript.sDefinitionIdent;
-        alreadyParsedCmpn.put(key, resultlet);
+        this.resultlet.endPosText = input.getCurrentPosition();
       }
       if(ZbnfParser.this.log1.logComponents !=null) {
         ZbnfParser.this.log1.componentsWhileParsing.setLength(zComponentsWhileParsing);  //note use local variable because recursive usage.
@@ -745,6 +889,10 @@ public class ZbnfParser
         if(syntaxPrescript.getSemantic()!=null)
         { sSemanticForError = syntaxPrescript.getSemantic();
         }
+        if(syntaxPrescript.sSubSyntax == null && isExcludedByFirstChar(syntaxPrescript, input)) {
+          saveError("<" + syntaxPrescript.sDefinitionIdent + ">");   //cannot match, not necessary to test it.
+          return false;
+        }
 
 //        if(sSemanticForStoring1 != null && sSemanticForStoring1.equals("CLASS_C"))
 //          Assert.stop();
@@ -826,6 +974,9 @@ public class ZbnfParser
           { idxAlternative +=1;
             ZbnfSyntaxPrescript alternativePrescript = iter.next();
             String semanticOfAlternative = alternativePrescript.getSemantic();
+            if(isExcludedByFirstChar(alternativePrescript, input)) {
+              continue;                        //the first char does not match, test the next alternative
+            }
             if(semanticOfAlternative !=null) {
               SubParser alternativParser = new SubParser(this, parentResultItem, this.bDoNotStoreData || syntaxPrescript.bDonotStoreData,  nRecursion+1); //false);
               bOk = alternativParser.parseSub(alternativePrescript, "..|..|.."/*sSemanticForError*/, ZbnfParserStore.kOption, null, "@", parentResultItem, bSkipSpaceAndComment, null, recursion+1);
@@ -1010,6 +1161,7 @@ public class ZbnfParser
                 bSkipSpaceAndComment = false; //after a parsed item, maybe spaces or not depending on syntax 
                 if(bOk)
                 { idxPrescript +=1; 
+                  deliverResultsIfTopLevel();
                 }
               }
             }  
@@ -1400,6 +1552,53 @@ public class ZbnfParser
       }
   
       
+      /**Delivers the top level results to the {@link ZbnfParser#resultListener} 
+       * if this is the SubParser of the main script and the results are delivered while parsing.
+       * Called after an item of the prescript or an item of a repetition is parsed.
+       */
+      private void deliverResultsIfTopLevel() {
+        if(  ZbnfParser.this.ixResultNotDelivered >0 && this.parentParser == null 
+          && PrescriptParser.this == ZbnfParser.this.prescriptParserTopLevel) {
+          deliverResults();
+        }
+      }
+      
+      
+      /**Checks whether the prescript cannot match because of the current character of the input.
+       * It uses {@link ZbnfSyntaxPrescript#firstChars} which is only set after {@link ZbnfParser#compile()}.
+       * Both, the current character and the character after white spaces and comments are checked,
+       * because the skipping of white spaces depends on the syntax inside the prescript.
+       * @param prescript The prescript to test
+       * @param inp the input, position is not changed.
+       * @return true if the prescript can never match on the current position. 
+       *   false if it may match or the first chars are not evaluated.
+       */
+      private boolean isExcludedByFirstChar(ZbnfSyntaxPrescript prescript, StringPartScan inp) {
+        ZbnfFirstChars firstChars = prescript.firstChars;
+        if(firstChars == null || firstChars.bAny || firstChars.bEmpty || inp.length() == 0) {
+          return false;
+        }
+        char cc = inp.getCurrentChar();
+        if(firstChars.contains(cc)) {
+          return false;
+        }
+        if(  sWhiteSpaces.indexOf(cc) < 0 
+          && (sCommentStringStart == null || sCommentStringStart.charAt(0) != cc)
+          && (sEndlineCommentStringStart == null || sEndlineCommentStringStart.charAt(0) != cc)
+          ) {
+          return true;                         //not a white space, comment not possible.
+        }
+        if(inp != input) {
+          return false;                        //parseWhiteSpaceAndComment() works only with input
+        }
+        long posInput = input.getCurrentPosition();
+        parseWhiteSpaceAndComment();
+        boolean bExcluded = input.length() >0 && !firstChars.contains(input.getCurrentChar());
+        input.setCurrentPosition(posInput);
+        return bExcluded;
+      }
+      
+      
       private boolean parseWhiteSpaceAndComment() //ZbnfParserStore parseResult)
       { return parseWhiteSpaceAndCommentOrTerminalSymbol(null, null);
       }
@@ -1861,29 +2060,26 @@ public class ZbnfParser
       , boolean bAddParseResultFromPrevious
       ) throws ParseException
       { boolean bOk;
-        String sKeySearchAlreadyParsed = String.format("%9d", input.getCurrentPosition()) + syntaxCmpn.sDefinitionIdent;
-        ParseResultlet resultlet = alreadyParsedCmpn.get(sKeySearchAlreadyParsed);
-        if(resultlet !=null && ZbnfParser.this.args.bUseResultlet){
+        if(isExcludedByFirstChar(syntaxCmpn, sInputP)) {
+          return false;                        //cannot match, do not create a PrescriptParser
+        }
+        final MemoKey memoKey;
+        final ParseResultlet memo;
+        if(ZbnfParser.this.args.bUseResultlet && !bResultToAssignIntoNextComponent && !bAddParseResultFromPrevious) {
+          memoKey = new MemoKey(syntaxCmpn, sInputP, bSkipSpaceAndComment);
+          memo = alreadyParsedCmpn.get(memoKey);
+        } else {
+          memoKey = null; memo = null;
+        }
+        final String sSemanticCmpn = sSemanticForStoring !=null && sSemanticForStoring.equals("@") 
+                                   ? syntaxCmpn.getSemantic() : sSemanticForStoring;
+        if(memo !=null && !memo.bOk) {
+          //The same syntax component was already tested on this position without success. 
+          bOk = false;
+        }
+        else if(memo !=null && replayResultlet(memo, sInputP, parentSyntaxItem, sSemanticCmpn, parentResultItem, bDoNotStoreData)) {
           //The same syntax component was already successfully parsed on this position. 
-          //Get it result. Do not repeat a maybe complex parsing:
-          //The store of the resultlet should not be a member of the current:
-          ZbnfParserStore parserStoreInPrescript = PrescriptParser.this.parserStoreInPrescript;
-          int ixStore = parserStoreInPrescript.items.size();
-          if(resultlet.parseResult !=null && resultlet.parseResult.length >=1) {
-            ParseResultItemImplement parent = parserStoreInPrescript.items.get(ixStore -1);
-            parent.offsetAfterEnd = resultlet.parseResult.length +1;
-            resultlet.parseResult[0].parent = parent;  //The last one.
-            
-          }
-          for(ParseResultItemImplement resultitem: resultlet.parseResult) {
-            int diff = resultitem.idxOwn - ixStore;
-            resultitem.idxOwn = ixStore;
-            resultitem.store = parserStoreInPrescript;
-            parserStoreInPrescript.items.add(resultitem);
-            ixStore +=1;
-          }
-          parserStoreInPrescript.item = null; //should not be used.
-          PrescriptParser.this.input.setCurrentPosition(resultlet.endPosText);
+          //The copy of its result is used. Do not repeat a maybe complex parsing.
           bOk = true;
         }
         else {  
@@ -1920,7 +2116,7 @@ public class ZbnfParser
             , syntaxCmpn.sDefinitionIdent
             , sInputP, posInputbase
             );
-            
+            int ixStoreStart = store1.items.size();
             bOk = componentsPrescriptParser.parsePrescript1
                   ( sSemanticForStoring, parentSyntaxItem, parentResultItem1, store1
                   , bAddParseResultFromPrevious ? parseResultToOtherComponent : null
@@ -1928,6 +2124,14 @@ public class ZbnfParser
                   , bDoNotStoreData
                   , nRecursion +2
                   );
+            if(memoKey !=null) {
+              ParseResultlet resultlet = componentsPrescriptParser.resultlet;
+              resultlet.bOk = bOk;
+              if(bOk) {
+                resultlet.setResult(store1, ixStoreStart, parentSyntaxItem, sSemanticCmpn, bDoNotStoreData);
+              }
+              alreadyParsedCmpn.put(memoKey, resultlet);
+            }
             stop();
           }
           if(bOk)
@@ -1958,6 +2162,70 @@ public class ZbnfParser
         
       
       
+      /**Adds a copy of the memorized parse result of a component to the store, and sets the input position after it.
+       * If the component was stored with a result item for the component itself 
+       * and the calling syntax item is another one, this first item is replaced by an item with the semantic of the caller.
+       * That is not possible for components with a super item type (<code>component:SuperType::=...</code>), 
+       * because the stored result depends on the caller.
+       * @return false if the resultlet cannot be used for the given caller. Then the component should be parsed.
+       */
+      private boolean replayResultlet(ParseResultlet memo, StringPartScan sInputP, ZbnfSyntaxPrescript parentSyntaxItem
+          , String sSemanticCmpn, ZbnfParserStore.ParseResultItemImplement parentResultItem, boolean bDoNotStoreData) {
+        boolean bCmpnItem = sSemanticCmpn !=null && sSemanticCmpn.length() >0 && !bDoNotStoreData;
+        final boolean bReplaceCmpnItem;
+        if(  memo.parentSyntaxItem == parentSyntaxItem && memo.bDoNotStoreData == bDoNotStoreData
+          && (sSemanticCmpn == null ? memo.sSemanticCmpn == null : sSemanticCmpn.equals(memo.sSemanticCmpn))) {
+          bReplaceCmpnItem = false;                        //same caller, same result
+        }
+        else if(bCmpnItem != memo.bCmpnItem) {
+          return false;                                    //one with, other without own result item for component
+        }
+        else if(bCmpnItem) {
+          if(  !memo.bReplaceableCmpnItem 
+            || parentSyntaxItem !=null && parentSyntaxItem.sSuperItemType !=null
+            || memo.syntaxPrescript.sSuperItemType !=null 
+            || sSemanticCmpn.indexOf('=') >0               //semantic=value is not supported here
+            ) {
+            return false;
+          }
+          bReplaceCmpnItem = true;
+        }
+        else {
+          bReplaceCmpnItem = false;                        //only the inner items of the component are stored, independent of caller
+        }
+        ZbnfParserStore store = PrescriptParser.this.parserStoreInPrescript;
+        if(memo.parseResult !=null) {
+          int ixStore = store.items.size();
+          ParseResultItemImplement[] items = new ParseResultItemImplement[memo.parseResult.length];
+          for(int ix = 0; ix < items.length; ++ix) {
+            ParseResultItemImplement src = memo.parseResult[ix];
+            final ParseResultItemImplement item;
+            if(ix == 0 && bReplaceCmpnItem) {
+              item = new ParseResultItemImplement(src, store, sSemanticCmpn, parentSyntaxItem);
+              if(args.bStoreInputForComponent || parentSyntaxItem !=null && parentSyntaxItem.bStoreAsString) {
+                item.sInput = sInputP.getPart((int)memo.startPosText, (int)(memo.endPosText - memo.startPosText)).toString();
+              } else {
+                item.sInput = null;
+              }
+            } else {
+              item = new ParseResultItemImplement(src, store, src.sSemantic, src.elementSyntax);
+            }
+            int ixParent = memo.ixParent[ix];
+            item.parent = ixParent >=0 ? items[ixParent] : parentResultItem;
+            item.idxOwn = ixStore + ix;
+            items[ix] = item;
+            store.items.add(item);
+            if(ixParent < 0 && parentResultItem !=null) {
+              parentResultItem.setSrcLineColumnFileInParent(item.start, item.end, item.srcLine, item.srcColumn, item.sFile);
+            }
+          }
+          store.item = null; //should not be used.
+        }
+        sInputP.setCurrentPosition(memo.endPosText);
+        return true;
+      }
+      
+      
       private boolean addResultOrSubsyntax(CharSequence sResult, long srcBegin, int srcLine, int srcColumn, String srcFile, String sSemanticForStoring, ZbnfParserStore.ParseResultItemImplement parentResultItem, ZbnfSyntaxPrescript syntaxItem) throws ParseException
       { boolean bOk;
 //        if(sSemanticForStoring !=null && sSemanticForStoring.equals("ST/@Text"))
@@ -2270,6 +2538,9 @@ public class ZbnfParser
               PrescriptParser.this.parserStoreInPrescript.setCurrentPosition(ixCurrentStore);
             }
           }
+          if(bOk && bOkForward) {
+            deliverResultsIfTopLevel();
+          }
   
         } while(bRepeatContinue);
         if(nReportLevel >= nLevelReportParsing) report.reportln(idReportParsing, "parseRep-finish;        " + input.getCurrentPosition()+ " " + input.getCurrent(30) + sEmpty.substring(0, nRecursion) + " } parse repetition finished, nr:" + countRepetition);
@@ -2522,12 +2793,27 @@ public class ZbnfParser
   //private final int[] column = new int[1];
 
  
+  /**Set with {@link #setResultListener(ResultListener)}. */
+  private ResultListener resultListener;
+  
+  /**Index in {@link #parserStoreTopLevel} of the first item which is not delivered to the {@link #resultListener} yet.
+   * -1 if the results are not delivered while parsing. */
+  int ixResultNotDelivered = -1;
+  
   /**Already parsed components with the same input text which should be requested in another context. 
    * The usage of the already detected parse result speeds up the parsing process. 
    * The syntax may be designed with such reused parts especially. 
-   * The key contains the component syntax name and the position in the input.
+   * Also a not matching component is stored, to prevent parsing again.
+   * The key contains the component syntax and the position in the input.
+   * The number of entries is limited by {@link Args#maxMemoComponents}, the eldest used entry is removed.
+   * It is only used if {@link Args#bUseResultlet} is set.
    * */
-  final TreeMap<String, ParseResultlet> alreadyParsedCmpn = new TreeMap<String, ParseResultlet>();
+  @SuppressWarnings("serial") 
+  final Map<MemoKey, ParseResultlet> alreadyParsedCmpn = new LinkedHashMap<MemoKey, ParseResultlet>(256, 0.75f, true) {
+    @Override protected boolean removeEldestEntry(Map.Entry<MemoKey, ParseResultlet> eldest) {
+      return size() > ZbnfParser.this.args.maxMemoComponents;
+    }
+  };
   
   /**Creates a empty parser instance. 
    * @param report A report output
@@ -2984,6 +3270,76 @@ public class ZbnfParser
   }
   
   
+  /**Prepares the syntax for faster parsing.
+   * For all syntax prescripts the possible first characters of the input are evaluated and stored 
+   * in the prescripts. The usage of components are resolved.
+   * While parsing, alternatives, options and components are skipped without further test 
+   * if the current character cannot be the start of them. 
+   * Especially syntax with many alternatives of keywords or terminal symbols are parsed faster.
+   * <br><br>
+   * This routine should be invoked after {@link #setSyntax(StringPartScan)} and after the settings of
+   * {@link #setWhiteSpaces(String)}, {@link #setLinemode(boolean)}, {@link #setSkippingComment(String, String, boolean)}
+   * because the first characters depends on white spaces and comment start. 
+   * It is not necessary to invoke it, the parser works without this preparation as before.
+   * <br><br>
+   * Note: On a syntax error the information about the expected syntax may be less detailed, 
+   * because not all alternatives are tested.  
+   */
+  public void compile() {
+    ZbnfFirstChars.Evaluator evaluator = new ZbnfFirstChars.Evaluator(this);
+    if(this.mainScript !=null) {
+      evaluator.evaluateTree(this.mainScript);
+    }
+    for(ZbnfSyntaxPrescript prescript: this.listSubPrescript.values()) {
+      evaluator.evaluateTree(prescript);
+    }
+  }
+  
+  
+  /**Sets a listener which gets the parse results while parsing. 
+   * See {@link ResultListener}.
+   * @param listener null to switch off.
+   */
+  public void setResultListener(ResultListener listener) {
+    this.resultListener = listener;
+  }
+  
+  
+  /**Delivers all top level result items which are not delivered yet to the {@link #resultListener}
+   * and removes them from {@link #parserStoreTopLevel} if the listener allows it.
+   */
+  void deliverResults() {
+    ZbnfParserStore store = this.parserStoreTopLevel;
+    int zItems = store.items.size();
+    if(this.ixResultNotDelivered < 1 || zItems <= this.ixResultNotDelivered) return;
+    ParseResultItemImplement topLevelItem = store.items.get(0);
+    boolean bRemove = true;
+    for(int ix = this.ixResultNotDelivered; ix < zItems; ++ix) {
+      ParseResultItemImplement item = store.items.get(ix);
+      if(item.parent == topLevelItem) {
+        bRemove &= this.resultListener.committedResult(item, topLevelItem);
+      }
+    }
+    if(bRemove) {
+      store.items.subList(this.ixResultNotDelivered, zItems).clear();
+      store.item = null;
+    } else {
+      this.ixResultNotDelivered = zItems;
+    }
+  }
+  
+  
+  /**Returns the syntax of this parser to use for other parser instances, especially in other threads.
+   * It calls {@link #compile()} before.
+   * The syntax of this parser should not be changed after them, because the syntax prescripts are shared.
+   * @return a new instance.
+   */
+  public CompiledSyntax getCompiledSyntax() {
+    compile();
+    return new CompiledSyntax(this);
+  }
+  
+  
   /**Sets the line mode or not. The line mode means, a new line character
    * is not recognize as whitespace, it must considered in syntax prescript
    * as a signifying element.
@@ -3092,6 +3448,77 @@ public class ZbnfParser
     finally { spInput.close(); }
     return bOk;
   }
+  
+  
+  /**Parses some files with the syntax of this parser, maybe in several threads.
+   * For each file a new parser instance is created with the {@link #getCompiledSyntax()} of this parser.
+   * The files are parsed with {@link #parseFile(File)} in the given executor, 
+   * for example a {@link java.util.concurrent.ExecutorService} with a thread pool. 
+   * This parser instance itself is not used for parsing. 
+   * The {@link #report} of this instance is used for all parser instances, it should be thread safe.
+   * <br><br>
+   * The routine returns if all files are parsed.
+   * @param files to parse
+   * @param executor to execute parsing. Use <code>Runnable::run</code> to parse in the current thread.
+   * @return list of results in order of files. Any result contains the parser with the parse result or error. 
+   * @throws InterruptedException if the waiting thread is interrupted. 
+   */
+  public List<ParseFileResult> parseAll(Collection<File> files, Executor executor) throws InterruptedException {
+    final CompiledSyntax syntax = getCompiledSyntax();
+    List<FutureTask<ParseFileResult>> tasks = new ArrayList<FutureTask<ParseFileResult>>(files.size());
+    for(final File file: files) {
+      FutureTask<ParseFileResult> task = new FutureTask<ParseFileResult>(new Callable<ParseFileResult>() {
+        @Override public ParseFileResult call() {
+          ParseFileResult result = new ParseFileResult(file, new ZbnfParser(ZbnfParser.this.report, ZbnfParser.this.args, syntax));
+          try {
+            result.bOk = result.parser.parseFile(file);
+            if(!result.bOk) {
+              result.sError = result.parser.getSyntaxErrorReport();
+            }
+          } catch(Exception exc) {
+            result.bOk = false;
+            result.exception = exc;
+            result.sError = exc.getMessage();
+          }
+          return result;
+        }
+      });
+      tasks.add(task);
+      executor.execute(task);
+    }
+    List<ParseFileResult> results = new ArrayList<ParseFileResult>(tasks.size());
+    for(FutureTask<ParseFileResult> task: tasks) {
+      try {
+        results.add(task.get());
+      } catch(ExecutionException exc) {
+        throw new RuntimeException(exc.getCause());        //not expected, exceptions are caught in call()
+      }
+    }
+    return results;
+  }
+
+
+
+  
+  /**Parses a given file which is mapped in memory, produces a parse result.
+   * The file content is not copied into the heap, see {@link StringPartFromMappedFile}.
+   * Use it for large files with a single byte charset or UTF-8.
+   * @param fInput The file to read
+   * @param sEncodingDetect If not null, this string is searched in the first 2 lines to detect the charset,
+   *        see {@link #parseFile(File, int, String, Charset)}.
+   * @param charset If not null, this charset is used as default, if no other charset is found in the files first line.
+   * @return true if successfully parsed, false then use {@link #getSyntaxErrorReport()}
+   * @throws UnsupportedCharsetException if the charset is not a single byte charset and not UTF-8. 
+   */
+  public boolean parseMappedFile(File fInput, String sEncodingDetect, Charset charset) 
+  throws IllegalCharsetNameException, UnsupportedCharsetException, FileNotFoundException, IOException 
+  {
+    StringPartScan spInput = new StringPartFromMappedFile(fInput, sEncodingDetect, charset); 
+    boolean bOk = false; 
+    try{ bOk = parse(spInput); }
+    finally { spInput.close(); }
+    return bOk;
+  }
 
 
 
@@ -3194,9 +3621,25 @@ public class ZbnfParser
     { addParseResult = null; 
     }
     String sSemantic = mainScript.getDefinitionIdent();
+    this.ixResultNotDelivered = -1;
+    if(this.resultListener !=null && !mainScript.isAlternative()) {
+      this.ixResultNotDelivered = 1;                         //after the top level item.
+      for(ZbnfSyntaxPrescript item: mainScript.getListPrescripts()) {
+        if(item.getType() == EType.kAlternativeOptionCheckEmptyFirst) {
+          this.ixResultNotDelivered = -1;                    //results may be removed by backtracking to fork point
+        }
+      }
+    }
     try
     { boolean bOk = prescriptParserTopLevel.parsePrescript1
                   (sSemantic, mainScript, null, parserStoreTopLevel, addParseResult, false, false, 0);
+      if(this.resultListener !=null) {
+        if(bOk) {
+          this.ixResultNotDelivered = 1;
+          deliverResults();
+        }
+        this.resultListener.finishedParsing(bOk);
+      }
       return bOk;
     }
     catch(Exception exc)
@@ -3460,6 +3903,39 @@ public class ZbnfParser
   
   
   
+  /**Creates a parser instance with a given syntax. The syntax is not parsed again. 
+   * The parser instance has its own state for parsing. 
+   * Some instances with the same syntax can be used in several threads.
+   * @param report A report output. It should be thread safe if instances are used in several threads.
+   * @param args Arguments, they are only read.
+   * @param syntax from {@link #getCompiledSyntax()} of another parser. 
+   */
+  public ZbnfParser( LogMessage report, ZbnfParser.Args args, CompiledSyntax syntax)
+  { this(report, args);
+    this.mainScript = syntax.mainScript;
+    this.listSubPrescript.putAll(syntax.subPrescripts);
+    this.listKeywords.putAll(syntax.keywords);
+    this.xmlnsList = syntax.xmlnsList == null ? null : new TreeMap<String, String>(syntax.xmlnsList);
+    this.sCommentStringStart = syntax.sCommentStringStart;
+    this.sCommentStringEnd = syntax.sCommentStringEnd;
+    this.sEndlineCommentStringStart = syntax.sEndlineCommentStringStart;
+    this.sWhiteSpaces = syntax.sWhiteSpaces;
+    this.bStoreComment = syntax.bStoreComment;
+    this.bStoreEndlineComment = syntax.bStoreEndlineComment;
+    this.bStoreNewline = syntax.bStoreNewline;
+    this.bStoreOneSpaceOnWhitespaces = syntax.bStoreOneSpaceOnWhitespaces;
+    this.bStoreWhiteSpaces = syntax.bStoreWhiteSpaces;
+    this.bConstantSyntaxAsParseResult = syntax.bConstantSyntaxAsParseResult;
+    this.builderTreeNodeXml.bXmlSrcline = syntax.bXmlSrcline;
+    this.builderTreeNodeXml.bXmlSrctext = syntax.bXmlSrctext;
+    this.sInputEncodingKeyword = syntax.sInputEncodingKeyword;
+    this.sInputEncoding = syntax.sInputEncoding;
+    this.charsetInput = syntax.charsetInput;
+  }
+  
+  
+  
+  
   /** Returns the first parse result item to start stepping to the results.
    * See samples at interface ParseResultItem.
    *
@@ -3500,6 +3976,80 @@ public class ZbnfParser
   }
 
 
+  /**Writes the parse result in a binary form to out. It can be read with {@link #readParseResult(InputStream, String, long)}
+   * by a parser with the same syntax, instead parsing the same input again.
+   * The syntax items of the result are written as index in the syntax prescripts, see {@link #syntaxItemsIndexed()}.
+   * @param out It is not closed here.
+   */
+  public void writeParseResult(OutputStream out) throws IOException {
+    List<ZbnfSyntaxPrescript> syntaxItems = syntaxItemsIndexed();
+    Map<ZbnfSyntaxPrescript, Integer> ixSyntax = new IdentityHashMap<ZbnfSyntaxPrescript, Integer>();
+    for(int ix = 0; ix < syntaxItems.size(); ++ix) { ixSyntax.put(syntaxItems.get(ix), Integer.valueOf(ix)); }
+    DataOutputStream wr = new DataOutputStream(out);
+    wr.writeUTF(this.mainScript.getDefinitionIdent());
+    wr.writeInt(syntaxItems.size());
+    this.parserStoreTopLevel.write(wr, ixSyntax);
+    wr.flush();
+  }
+
+
+  /**Reads a parse result written with {@link #writeParseResult(OutputStream)}. 
+   * After them the result is available as after {@link #parse(StringPartScan)}, see {@link #getFirstParseResult()}.
+   * @param inp It is not closed here.
+   * @param sInputfile if not null then it is the input file stored in the result items, instead the file on writing.
+   * @param zBytes number of bytes in inp, for example the file length. Lengths read from inp are checked against it.
+   * @return false if the stored result does not match to this syntax. Then it should be parsed.
+   * @throws IOException on read error or faulty content.
+   */
+  public boolean readParseResult(InputStream inp, String sInputfile, long zBytes) throws IOException {
+    List<ZbnfSyntaxPrescript> syntaxItems = syntaxItemsIndexed();
+    DataInputStream rd = new DataInputStream(inp);
+    if(  !rd.readUTF().equals(this.mainScript.getDefinitionIdent())
+      || rd.readInt() != syntaxItems.size()) {
+      return false;
+    }
+    for(ZbnfSyntaxPrescript item: syntaxItems) {            //the component syntax is set on parsing on demand, 
+      if(item.eType == EType.kSyntaxComponent && item.componentSyntax == null) {  //but it is used in the result.
+        item.componentSyntax = searchSyntaxPrescript(item.getDefinitionIdent());
+      }
+    }
+    this.parserStoreTopLevel = ZbnfParserStore.read(rd, syntaxItems, sInputfile, zBytes);
+    return true;
+  }
+
+
+  /**Returns all syntax prescripts, the main script and all sub prescripts with its children, in a determined order.
+   * The order depends only on the syntax, hence the index in the list can be used to identify a prescript
+   * for the same syntax in another parser instance.
+   */
+  private List<ZbnfSyntaxPrescript> syntaxItemsIndexed() {
+    List<ZbnfSyntaxPrescript> ret = new ArrayList<ZbnfSyntaxPrescript>();
+    Map<ZbnfSyntaxPrescript, ZbnfSyntaxPrescript> idxDone = new IdentityHashMap<ZbnfSyntaxPrescript, ZbnfSyntaxPrescript>();
+    addSyntaxItemsIndexed(this.mainScript, ret, idxDone);
+    for(ZbnfSyntaxPrescript prescript: this.listSubPrescript.values()) {  //sorted by name
+      addSyntaxItemsIndexed(prescript, ret, idxDone);
+    }
+    return ret;
+  }
+
+
+  private static void addSyntaxItemsIndexed(ZbnfSyntaxPrescript prescript, List<ZbnfSyntaxPrescript> dst
+      , Map<ZbnfSyntaxPrescript, ZbnfSyntaxPrescript> idxDone) {
+    if(prescript !=null && idxDone.put(prescript, prescript) == null) {
+      dst.add(prescript);
+      List<ZbnfSyntaxPrescript> children = prescript.getListPrescripts();
+      if(children !=null) {
+        for(ZbnfSyntaxPrescript child: children) {
+          addSyntaxItemsIndexed(child, dst, idxDone);
+        }
+      }
+      if(prescript instanceof ZbnfSyntaxPrescript.RepetitionSyntax) {
+        addSyntaxItemsIndexed(prescript.getRepetitionBackwardPrescript(), dst, idxDone);
+      }
+    }
+  }
+
+
   public TreeNode_ifc<XmlNodeSimple<ZbnfParseResultItem>, ZbnfParseResultItem> getResultNode(){
     if(parserStoreTopLevel.items.size()>0) { 
       ZbnfParserStore.ParseResultItemImplement firstItem = parserStoreTopLevel.items.get(0);
@@ -3679,9 +4229,26 @@ public class ZbnfParser
     final long startPosText;
     long endPosText;
     
+    /**False if the component does not match on {@link #startPosText}. */
+    boolean bOk;
     
+    /**Copies of the parse result items of the component, null if the component has not produced any result. */
     ParseResultItemImplement[] parseResult;
     
+    /**For any item in {@link #parseResult} the index of its parent in parseResult, -1 if the parent is outside.*/
+    int[] ixParent;
+    
+    /**The calling context of the stored result. */
+    ZbnfSyntaxPrescript parentSyntaxItem;
+    String sSemanticCmpn;
+    boolean bDoNotStoreData;
+    
+    /**True if the first item in {@link #parseResult} is the result item for the component itself. */
+    boolean bCmpnItem;
+    
+    /**True if the first item for the component can be replaced for another caller. */
+    boolean bReplaceableCmpnItem;
+    
     //XmlNode xmlResult;
     
     ParseResultlet(ZbnfSyntaxPrescript syntaxPrescript, long startPosText){
@@ -3690,7 +4257,70 @@ public class ZbnfParser
     }
 
     
-    @Override public final String toString(){ return syntaxPrescript.sDefinitionIdent; }
+    /**Stores copies of the results of the component from ixStart till end of the store. 
+     * Copies are necessary because the items in the store may be changed later. */
+    void setResult(ZbnfParserStore store, int ixStart, ZbnfSyntaxPrescript parentSyntaxItem, String sSemanticCmpn, boolean bDoNotStoreData) {
+      this.parentSyntaxItem = parentSyntaxItem;
+      this.sSemanticCmpn = sSemanticCmpn;
+      this.bDoNotStoreData = bDoNotStoreData;
+      this.bCmpnItem = sSemanticCmpn !=null && sSemanticCmpn.length() >0 && !bDoNotStoreData;
+      int size = store.items.size() - ixStart;
+      if(size <= 0) {
+        //it is possible that the parsing is ok but a parse result is not produced because it is a check only
+        //or it has empty options.
+        this.parseResult = null;
+        this.ixParent = null;
+        this.bReplaceableCmpnItem = !this.bCmpnItem;
+      } else {
+        this.parseResult = new ParseResultItemImplement[size];
+        this.ixParent = new int[size];
+        for(int ix = 0; ix < size; ++ix) {
+          ParseResultItemImplement item = store.items.get(ixStart + ix);
+          this.parseResult[ix] = new ParseResultItemImplement(item, null, item.sSemantic, item.elementSyntax);
+          int ixParent = item.parent == null ? -1 : item.parent.idxOwn - ixStart;
+          if(ixParent >= ix || ixParent >=0 && store.items.get(ixStart + ixParent) != item.parent) {
+            ixParent = -1;                                 //parent is not part of this result
+          }
+          this.ixParent[ix] = ixParent;
+        }
+        ParseResultItemImplement item0 = this.parseResult[0];
+        this.bReplaceableCmpnItem = this.bCmpnItem && item0.elementSyntax == parentSyntaxItem 
+                                 && item0.offsetAfterEnd == size && this.ixParent[0] == -1;
+      }
+    }
+    
+    
+    @Override public final String toString(){ return syntaxPrescript.sDefinitionIdent + (bOk ? "@" : "-fail@") + startPosText; }
+  }
+  
+  
+  /**Key for {@link ZbnfParser#alreadyParsedCmpn}: The component syntax on a position in the input.
+   * The skip of white spaces and comments on start is part of the key because it changes the result.
+   */
+  static final class MemoKey
+  {
+    final ZbnfSyntaxPrescript syntax;
+    final StringPartScan input;
+    final long pos;
+    final boolean bSkipSpaceAndComment;
+    
+    MemoKey(ZbnfSyntaxPrescript syntax, StringPartScan input, boolean bSkipSpaceAndComment) {
+      this.syntax = syntax;
+      this.input = input;
+      this.pos = input.getCurrentPosition();
+      this.bSkipSpaceAndComment = bSkipSpaceAndComment;
+    }
+    
+    @Override public int hashCode() {
+      return (System.identityHashCode(this.syntax) * 31 + (int)this.pos) * 2 + (this.bSkipSpaceAndComment ? 1 : 0);
+    }
+    
+    @Override public boolean equals(Object obj) {
+      if(!(obj instanceof MemoKey)) return false;
+      MemoKey other = (MemoKey)obj;
+      return this.syntax == other.syntax && this.input == other.input && this.pos == other.pos 
+          && this.bSkipSpaceAndComment == other.bSkipSpaceAndComment;
+    }
   }
   
   
@@ -29,10 +29,16 @@
  ****************************************************************************/
 package org.vishia.zbnf; 
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.vishia.util.CheckVs;
 import org.vishia.util.Debugutil;
@@ -71,6 +77,10 @@ class ZbnfParserStore
 {
   /**Version, history and license.
    * <ul>
+   * <li>2026-10-18 Hartmut new: {@link #write(DataOutputStream, Map)} and {@link #read(DataInputStream, List, String, long)}
+   *   to store a parse result in a file, used by {@link ZbnfParser#writeParseResult(java.io.OutputStream)}.
+   * <li>2026-10-18 Hartmut new: Copy constructor of {@link ParseResultItemImplement} 
+   *   used to replay a memorized component parse result, see {@link ZbnfParser.Args#setMemoComponents(int)}.
    * <li>2022-04-28 Hartmut {@link #addIdentifier(String, ZbnfSyntaxPrescript, String, ZbnfParseResultItem, int, int, String)}
    *  and {@link #writeContentAsList(Appendable)}: enhanced to store the source of numeric values.
    * <li>2022-02-08 Hartmut
@@ -146,7 +156,7 @@ class ZbnfParserStore
    * @author Hartmut Schorrig = hartmut.schorrig@vishia.de, www.vishia.org
    * 
    */
-  public static final String sVersion = "2022-04-28";
+  public static final String sVersion = "2026-10-18";
 
   
   /** Constant to detect the entry describes a terminate symbol. -32767*/
@@ -308,6 +318,45 @@ class ZbnfParserStore
     }
 
 
+    /**Creates a copy of a result item for another position in a store.
+     * Used to replay a memorized parse result of a component.
+     * The {@link #parent} and {@link #idxOwn} should be set by the caller.
+     * @param src The item to copy
+     * @param store The store where the item is to add
+     * @param sSemantic The semantic, may be other than in src if the component is used with another semantic.
+     * @param elementSyntax The syntax item which has determined the item.
+     */
+    ParseResultItemImplement(ParseResultItemImplement src, ZbnfParserStore store, String sSemantic, ZbnfSyntaxPrescript elementSyntax) {
+      this.store = store;
+      this.sSemantic = sSemantic;
+      this.elementSyntax = elementSyntax;
+      this.syntaxIdent = src.syntaxIdent;
+      this.sInput = src.sInput;
+      this.kind = src.kind;
+      this.nrofAlternative = src.nrofAlternative;
+      this.parsedString = src.parsedString;
+      this.parsedIntegerNumber = src.parsedIntegerNumber;
+      this.parsedFloatNumber = src.parsedFloatNumber;
+      this.offsetAfterEnd = src.offsetAfterEnd;
+      this.start = src.start;
+      this.end = src.end;
+      this.srcLine = src.srcLine;
+      this.srcColumn = src.srcColumn;
+      this.srcPos = src.srcPos;
+      this.sFile = src.sFile;
+    }
+
+
+    /**Creates an empty item to fill with the data read from a stored parse result, see {@link ZbnfParserStore#read(DataInputStream, List, String, long)}.
+     * @param sSemantic The semantic as stored, without "name=value" evaluation.
+     */
+    ParseResultItemImplement(ZbnfParserStore store, String sSemantic, ZbnfSyntaxPrescript elementSyntax) {
+      this.store = store;
+      this.sSemantic = sSemantic;
+      this.elementSyntax = elementSyntax;
+    }
+
+
     /**Gets the semantic of the item.
      *
      */
@@ -988,7 +1037,7 @@ class ZbnfParserStore
     int nrItems = zItems - idxStore;
     ParseResultItemImplement itemStart = this.items.get(idxStore);
     String sT1 = itemStart.getSuperItemType();
-    if(sT1 !=null) { 
+    if(sT1 !=null && zItems > idxStore +1) { 
       ParseResultItemImplement itemNext = this.items.get(idxStore+1);
       if(itemNext.getIdxAfterComponent() == zItems) {      // only one child in the component
         String sT2 = itemNext.getSuperItemType();
@@ -1294,6 +1343,137 @@ class ZbnfParserStore
   { return items.iterator();
   }
 
+
+  /**Identification of the binary format of {@link #write(DataOutputStream, Map)}. Change it if the format is changed. */
+  private static final int idStoredFormat = 0x5a620001;
+
+
+  /**Minimal number of bytes of one item written in {@link #write(DataOutputStream, Map)}, with 5 null strings. */
+  private static final int zBytesItemMin = 4 + 4 + 5*4 + 4 + 4 + 8 + 8 + 1 + 4 + 8 + 8 + 4 + 4 + 8;
+
+
+  /**Writes all items in a binary form, which can be read with {@link #read(DataInputStream, List, String, long)}.
+   * The {@link ParseResultItemImplement#elementSyntax} is written as index in the given map.
+   * Strings are written only one time, repetitions as index. The {@link ParseResultItemImplement#treeNodeXml} is not written,
+   * it is built on demand after reading.
+   * @param out destination
+   * @param ixSyntax index for all syntax prescripts. A syntax which is not contained here is written as -1, read as null.
+   */
+  void write(DataOutputStream out, Map<ZbnfSyntaxPrescript, Integer> ixSyntax) throws IOException {
+    Map<String, Integer> ixStrings = new HashMap<String, Integer>();
+    Map<ParseResultItemImplement, Integer> ixItems = new IdentityHashMap<ParseResultItemImplement, Integer>();
+    out.writeInt(idStoredFormat);
+    out.writeInt(this.items.size());
+    for(int ix = 0; ix < this.items.size(); ++ix) {
+      ParseResultItemImplement item = this.items.get(ix);
+      ixItems.put(item, Integer.valueOf(ix));
+      Integer ixParent = item.parent == null ? null : ixItems.get(item.parent);
+      Integer ixElementSyntax = item.elementSyntax == null ? null : ixSyntax.get(item.elementSyntax);
+      out.writeInt(ixParent == null ? -1 : ixParent.intValue());
+      out.writeInt(ixElementSyntax == null ? -1 : ixElementSyntax.intValue());
+      writeString(out, item.sSemantic, ixStrings);
+      writeString(out, item.sInput, ixStrings);
+      writeString(out, item.parsedString, ixStrings);
+      writeString(out, item.sFile, ixStrings);
+      writeString(out, item.syntaxIdent, ixStrings);
+      out.writeInt(item.kind);
+      out.writeInt(item.nrofAlternative);
+      out.writeLong(item.parsedIntegerNumber);
+      out.writeDouble(item.parsedFloatNumber);
+      out.writeBoolean(item.isAdded);
+      out.writeInt(item.offsetAfterEnd);
+      out.writeLong(item.start);
+      out.writeLong(item.end);
+      out.writeInt(item.srcLine);
+      out.writeInt(item.srcColumn);
+      out.writeLong(item.srcPos);
+    }
+  }
+
+
+  /**Reads a parse result written with {@link #write(DataOutputStream, Map)}.
+   * @param inp the stored data
+   * @param syntaxItems the syntax prescripts in order of the index used on writing.
+   * @param sFile if not null then it replaces the stored {@link ParseResultItemImplement#sFile} in all items which have a file.
+   *   Usual the file of the input is written in all items, it may be another path yet. 
+   * @param zBytes number of bytes of the stored data, for example the file length. The number of items and the length of strings
+   *   are checked against it, so that faulty data do not allocate a faulty size of memory.
+   * @return the store
+   * @throws IOException also if the format is faulty.
+   */
+  static ZbnfParserStore read(DataInputStream inp, List<ZbnfSyntaxPrescript> syntaxItems, String sFile, long zBytes) throws IOException {
+    if(inp.readInt() != idStoredFormat) throw new IOException("ZbnfParserStore.read - faulty format");
+    ZbnfParserStore store = new ZbnfParserStore();
+    List<String> strings = new ArrayList<String>();
+    int zItems = inp.readInt();
+    if(zItems < 0 || zItems > zBytes / zBytesItemMin) throw new IOException("ZbnfParserStore.read - faulty number of items");
+    store.items.ensureCapacity(zItems);
+    for(int ix = 0; ix < zItems; ++ix) {
+      int ixParent = inp.readInt();
+      int ixElementSyntax = inp.readInt();
+      if(ixParent >= ix || ixElementSyntax >= syntaxItems.size()) throw new IOException("ZbnfParserStore.read - faulty index");
+      ParseResultItemImplement item = new ParseResultItemImplement(store, readString(inp, strings, zBytes)
+          , ixElementSyntax < 0 ? null : syntaxItems.get(ixElementSyntax));
+      item.parent = ixParent < 0 ? null : store.items.get(ixParent);
+      item.sInput = readString(inp, strings, zBytes);
+      item.parsedString = readString(inp, strings, zBytes);
+      item.sFile = readString(inp, strings, zBytes);
+      if(sFile !=null && item.sFile !=null) { item.sFile = sFile; }
+      item.syntaxIdent = readString(inp, strings, zBytes);
+      item.kind = inp.readInt();
+      item.nrofAlternative = inp.readInt();
+      item.parsedIntegerNumber = inp.readLong();
+      item.parsedFloatNumber = inp.readDouble();
+      item.isAdded = inp.readBoolean();
+      item.offsetAfterEnd = inp.readInt();
+      item.start = inp.readLong();
+      item.end = inp.readLong();
+      item.srcLine = inp.readInt();
+      item.srcColumn = inp.readInt();
+      item.srcPos = inp.readLong();
+      item.idxOwn = ix;
+      store.items.add(item);
+    }
+    store.item = zItems == 0 ? null : store.items.get(zItems-1);
+    return store;
+  }
+
+
+  /**Writes -1 for null, the index of an already written string or -2, the length and the UTF-8 bytes. */
+  private static void writeString(DataOutputStream out, String str, Map<String, Integer> ixStrings) throws IOException {
+    if(str == null) { out.writeInt(-1); }
+    else {
+      Integer ix = ixStrings.get(str);
+      if(ix !=null) { out.writeInt(ix.intValue()); }
+      else {
+        ixStrings.put(str, Integer.valueOf(ixStrings.size()));
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(-2);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+      }
+    }
+  }
+
+
+  /**Counterpart to {@link #writeString(DataOutputStream, String, Map)}. 
+   * @param zBytes the length of a string cannot be greater than the stored data. */
+  private static String readString(DataInputStream inp, List<String> strings, long zBytes) throws IOException {
+    int ix = inp.readInt();
+    if(ix == -1) return null;
+    else if(ix == -2) {
+      int zString = inp.readInt();
+      if(zString < 0 || zString > zBytes) throw new IOException("ZbnfParserStore.read - faulty string length");
+      byte[] bytes = new byte[zString];
+      inp.readFully(bytes);
+      String str = new String(bytes, StandardCharsets.UTF_8);
+      strings.add(str);
+      return str;
+    }
+    else if(ix >=0 && ix < strings.size()) return strings.get(ix);
+    else throw new IOException("ZbnfParserStore.read - faulty string index");
+  }
+
   
   
   /*package private*/ static class BuilderTreeNodeXml 
@@ -243,6 +243,7 @@ public class ZbnfSyntaxPrescript
   /**Version, history and license.
    * list of changes:
    * <ul>
+   * <li>2026-10-18 Hartmut new: {@link #firstChars} set by {@link ZbnfParser#compile()}, used to skip not matching syntax while parsing. 
    * <li>2022-05-13 Hartmut new: {@link #bOnlyOneEach} with designation ?& not relevant for parser, only for {@link GenZbnfJavaData} 
    * <li>2022-04-30: Hartmut new: {@link EType#kStoreSrc} as new feature writing <code>&lt;@?semantic></code>.
    *   This seems to be the really good variant to store the source to a part of syntax.
@@ -294,7 +295,7 @@ public class ZbnfSyntaxPrescript
    * <li> 2006-05-00: Hartmut creation
    * </ul>
    */
-  public static final String version = "2022-05-13";
+  public static final String version = "2026-10-18";
   
   static int objId_ = 1000;
   
@@ -352,6 +353,11 @@ public class ZbnfSyntaxPrescript
    */
   protected ZbnfSyntaxPrescript componentSyntax;
   
+  /**Possible first characters of the input for this prescript. 
+   * It is null if {@link ZbnfParser#compile()} was not invoked, then it is not used. (since 2026-10)
+   */
+  ZbnfFirstChars firstChars;
+  
   /**If set the parse result and all sub results are not stored as data. 
    * They may be usually stored as {@link #bStoreAsString}*/
   boolean bDonotStoreData;
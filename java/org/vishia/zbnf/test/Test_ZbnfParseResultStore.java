@@ -0,0 +1,155 @@
+package org.vishia.zbnf.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.vishia.cmd.JZtxtcmdScript;
+import org.vishia.jztxtcmd.JZtxtcmdSyntax;
+import org.vishia.msgDispatch.LogMessage;
+import org.vishia.msgDispatch.LogMessageStream;
+import org.vishia.util.FileFunctions;
+import org.vishia.util.StringPartScan;
+import org.vishia.util.TestOrg;
+import org.vishia.zbnf.ZbnfParser;
+
+/**Test of {@link ZbnfParser#writeParseResult(java.io.OutputStream)} and {@link ZbnfParser#readParseResult(java.io.InputStream, String, long)}
+ * and the parse result cache of {@link JZtxtcmdScript#setParseResultCache(File)}.
+ */
+public class Test_ZbnfParseResultStore {
+
+  static final String script =
+      "==JZtxtcmd==\n"
+    + "String g1 = \"abc\"; List lst = [ \"x\", \"y\" ];\n"
+    + "sub add(Num a, Num b) {\n"
+    + "  Num c = a + b;\n"
+    + "  <+out>add=<&c><.+n>\n"
+    + "}\n"
+    + "main() {\n"
+    + "  for(e: lst) { call add(a = 1, b = 2); }\n"
+    + "}\n";
+
+
+  final LogMessage log = new LogMessageStream(System.out);
+
+
+  public static void main(String[] args) {
+    TestOrg test = new TestOrg("Test_ZbnfParseResultStore", 2, args);
+    Test_ZbnfParseResultStore thiz = new Test_ZbnfParseResultStore();
+    thiz.testWriteRead(test);
+    thiz.testCorruptedData(test);
+    thiz.testCorruptedCacheFile(test);
+    test.finish();
+  }
+
+
+  ZbnfParser newParser() throws Exception {
+    ZbnfParser parser = new ZbnfParser(this.log);
+    parser.setSyntax(JZtxtcmdSyntax.syntax);
+    return parser;
+  }
+
+
+  byte[] parseAndWrite(ZbnfParser parser) throws Exception {
+    boolean bOk = parser.parse(new StringPartScan(script));
+    if(!bOk) throw new IllegalArgumentException(parser.getSyntaxErrorReport());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    parser.writeParseResult(out);
+    return out.toByteArray();
+  }
+
+
+  /**The result read from the written result should be the same. */
+  void testWriteRead(TestOrg parent) {
+    TestOrg test = new TestOrg("write and read a parse result", 4, parent);
+    try {
+      ZbnfParser parser = newParser();
+      byte[] data = parseAndWrite(parser);
+      StringBuilder sParsed = new StringBuilder();
+      parser.writeResultAsTextList(sParsed);
+      ZbnfParser parser2 = newParser();
+      boolean bRead = parser2.readParseResult(new ByteArrayInputStream(data), null, data.length);
+      test.expect(bRead, 5, "read the written result");
+      StringBuilder sRead = new StringBuilder();
+      parser2.writeResultAsTextList(sRead);
+      test.expect(sParsed, sRead, 5, "same result as parsed");
+    } catch(Exception exc) {
+      test.exception(exc);
+    }
+    test.finish();
+  }
+
+
+  /**Faulty data, especially faulty lengths, should not cause a RuntimeException or OutOfMemoryError, only an IOException. */
+  void testCorruptedData(TestOrg parent) {
+    TestOrg test = new TestOrg("read corrupted parse result", 4, parent);
+    try {
+      byte[] data = parseAndWrite(newParser());
+      ZbnfParser parser2 = newParser();
+      int nrofUnexpected = 0, nrofIOException = 0;
+      String sUnexpected = "";
+      for(int ix = 0; ix < data.length; ++ix) {
+        for(byte b: new byte[] { (byte)0x80, (byte)0x7f }) {   // negative or great length or index
+          byte[] data2 = data.clone();
+          data2[ix] = b;
+          try {
+            parser2.readParseResult(new ByteArrayInputStream(data2), null, data2.length);
+          } catch(IOException exc) {
+            nrofIOException +=1;
+          } catch(Throwable exc) {
+            if(nrofUnexpected++ ==0) { sUnexpected = exc.toString() + " @" + ix; }
+          }
+        }
+      }
+      test.expect(nrofIOException > 0, 5, "faulty content detected, %d times", nrofIOException);
+      test.expect(nrofUnexpected == 0, 5, "no other exception %s", sUnexpected);
+      for(int zData: new int[] { 0, 3, data.length /2, data.length -1 }) {
+        boolean bIOException = false;
+        try {
+          parser2.readParseResult(new ByteArrayInputStream(data, 0, zData), null, zData);
+        } catch(IOException exc) {
+          bIOException = true;
+        }
+        test.expect(bIOException, 5, "truncated data, %d bytes: IOException", zData);
+      }
+    } catch(Exception exc) {
+      test.exception(exc);
+    }
+    test.finish();
+  }
+
+
+  /**A faulty cache file should be detected, then the script is parsed again. */
+  void testCorruptedCacheFile(TestOrg parent) {
+    TestOrg test = new TestOrg("JZtxtcmdScript with corrupted parse result cache", 4, parent);
+    File dir = null;
+    try {
+      dir = Files.createTempDirectory("Test_ZbnfParseResultStore").toFile();
+      File fileScript = new File(dir, "test.jzTc");
+      File dirCache = new File(dir, "cache");
+      Files.write(fileScript.toPath(), script.getBytes("UTF-8"));
+      JZtxtcmdScript.setParseResultCache(dirCache);
+      JZtxtcmdScript script1 = JZtxtcmdScript.createScriptFromFile(fileScript, this.log, null);
+      File[] filesCache = dirCache.listFiles();
+      test.expect(filesCache !=null && filesCache.length == 1, 5, "cache file written");
+      JZtxtcmdScript script2 = JZtxtcmdScript.createScriptFromFile(fileScript, this.log, null);
+      test.expect(script2.getSubroutine("add") !=null && script1.getSubroutine("add") !=null, 5, "script from cache");
+      for(File fileCache: filesCache) {                    // write a negative string length into the items
+        byte[] data = Files.readAllBytes(fileCache.toPath());
+        for(int ix = data.length /4; ix < data.length; ix += 97) { data[ix] = (byte)0x80; }
+        Files.write(fileCache.toPath(), data);
+      }
+      JZtxtcmdScript script3 = JZtxtcmdScript.createScriptFromFile(fileScript, this.log, null);
+      test.expect(script3.getSubroutine("add") !=null, 5, "script parsed again with corrupted cache file");
+    } catch(Exception exc) {
+      test.exception(exc);
+    } finally {
+      JZtxtcmdScript.setParseResultCache(null);
+      if(dir !=null) { FileFunctions.rmdir(dir); }
+    }
+    test.finish();
+  }
+
+}